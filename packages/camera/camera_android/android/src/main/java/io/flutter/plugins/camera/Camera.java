@@ -15,6 +15,7 @@ import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.TotalCaptureResult;
 import android.hardware.camera2.params.OutputConfiguration;
@@ -28,6 +29,7 @@ import android.os.Build.VERSION_CODES;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.Range;
 import android.util.Size;
@@ -57,6 +59,9 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamLatencyTracker;
+import io.flutter.plugins.camera.media.ImageStreamLatencyTracker.Stage;
+import io.flutter.plugins.camera.media.ImageStreamOptions;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
@@ -66,9 +71,12 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @FunctionalInterface
 interface ErrorCallback {
@@ -80,6 +88,13 @@ class Camera
         ImageReader.OnImageAvailableListener {
   private static final String TAG = "Camera";
 
+  /**
+   * The number of JPEG buffers of {@link #pictureImageReader}. Pictures are saved straight from
+   * these buffers while one of them remains free, and copied out of them otherwise, see {@link
+   * PictureImageBudget}.
+   */
+  @VisibleForTesting static final int MAX_PENDING_PICTURES = 4;
+
   /**
    * Holds all of the camera features/settings and will be used to update the request builder when
    * one changes.
@@ -115,10 +130,31 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /**
+   * Writes captured pictures to storage, so that file I/O does not hold up the capture callbacks
+   * running on {@link #backgroundHandler}.
+   */
+  private ExecutorService imageSaverExecutor;
+
+  /**
+   * Decides whether pictures are saved straight from the buffers of {@link #pictureImageReader},
+   * or copied out first so that the reader does not run out of buffers.
+   */
+  private final PictureImageBudget pictureImageBudget =
+      new PictureImageBudget(MAX_PENDING_PICTURES);
+
+  /** True when saved pictures are flushed to storage before they are reported as taken. */
+  private volatile boolean syncPicturesToDisk;
+
   CameraDeviceWrapper cameraDevice;
   CameraCaptureSession captureSession;
   @VisibleForTesting ImageReader pictureImageReader;
   ImageStreamReader imageStreamReader;
+  /** The options the current image stream was started with. */
+  @NonNull private ImageStreamOptions imageStreamOptions = ImageStreamOptions.DEFAULT;
+
+  /** Transforms the frames of the current image stream on the GPU, if its options ask for it. */
+  @VisibleForTesting @Nullable ImageStreamGpuStage imageStreamGpuStage;
   /** {@link CaptureRequest.Builder} for the camera preview */
   CaptureRequest.Builder previewRequestBuilder;
 
@@ -128,6 +164,21 @@ class Camera
   /** True when the preview is paused. */
   @VisibleForTesting boolean pausedPreview;
 
+  /**
+   * True when the image stream surface should stay part of the capture session while no stream is
+   * running, see {@link #setPersistentImageStreamSession(boolean)}.
+   */
+  private boolean persistentImageStreamSession;
+
+  /** True when the current capture session was configured with the image stream surface. */
+  @VisibleForTesting boolean imageStreamSurfaceConfigured;
+
+  /** True while frames are streamed by {@link #startPreviewWithImageStream}. */
+  private boolean imageStreamRunning;
+
+  /** The sink Dart currently listens to the image stream with, kept to resume it after a switch. */
+  @Nullable private volatile EventChannel.EventSink imageStreamSink;
+
   private File captureFile;
 
   /** Holds the current capture timeouts */
@@ -137,6 +188,21 @@ class Camera
 
   Messages.Result<String> flutterResult;
 
+  /** The burst currently being captured, or null if a single picture or nothing is captured. */
+  @Nullable private PictureBurst pictureBurst;
+
+  /**
+   * Incremented whenever {@link #switchCamera} replaces the camera device, so that late callbacks
+   * of the replaced device can be told apart from those of the current one.
+   */
+  private int cameraDeviceGeneration;
+
+  /** Receives the switch latency once the first frame of the camera switched to has arrived. */
+  @Nullable private volatile Messages.Result<Long> switchCameraResult;
+
+  /** The {@link SystemClock#elapsedRealtimeNanos()} at which the pending switch started. */
+  private long switchCameraStartedAt;
+
   /** A CameraDeviceWrapper implementation that forwards calls to a CameraDevice. */
   private class DefaultCameraDeviceWrapper implements CameraDeviceWrapper {
     private final CameraDevice cameraDevice;
@@ -235,7 +301,11 @@ class Camera
 
   @Override
   public void onConverged() {
-    takePictureAfterPrecapture();
+    if (pictureBurst != null) {
+      takePictureBurstAfterPrecapture();
+    } else {
+      takePictureAfterPrecapture();
+    }
   }
 
   @Override
@@ -348,43 +418,72 @@ class Camera
       return;
     }
 
-    // Always capture using JPEG format.
-    pictureImageReader =
-        ImageReader.newInstance(
-            resolutionFeature.getCaptureSize().getWidth(),
-            resolutionFeature.getCaptureSize().getHeight(),
-            ImageFormat.JPEG,
-            1);
-
-    imageStreamReader =
-        new ImageStreamReader(
-            resolutionFeature.getPreviewSize().getWidth(),
-            resolutionFeature.getPreviewSize().getHeight(),
-            this.imageFormatGroup,
-            1);
+    // Always capture using JPEG format. Readers left over from the camera that was switched away
+    // from are kept as long as their size still fits, which saves reallocating their buffers.
+    final Size captureSize = resolutionFeature.getCaptureSize();
+    if (pictureImageReader == null
+        || pictureImageReader.getWidth() != captureSize.getWidth()
+        || pictureImageReader.getHeight() != captureSize.getHeight()) {
+      closePictureImageReader();
+      pictureImageReader =
+          ImageReader.newInstance(
+              captureSize.getWidth(),
+              captureSize.getHeight(),
+              ImageFormat.JPEG,
+              MAX_PENDING_PICTURES);
+    }
+
+    final Size previewSize = resolutionFeature.getPreviewSize();
+    if (imageStreamReader == null
+        || imageStreamReader.getWidth() != previewSize.getWidth()
+        || imageStreamReader.getHeight() != previewSize.getHeight()) {
+      if (imageStreamReader != null) {
+        imageStreamReader.close();
+      }
+      imageStreamReader =
+          new ImageStreamReader(
+              previewSize.getWidth(), previewSize.getHeight(), this.imageFormatGroup, 1);
+    }
+    imageStreamReader
+        .getLatencyTracker()
+        .setRealtimeSensorTimestamps(
+            cameraProperties.getSensorInfoTimestampSource()
+                == CameraMetadata.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME);
 
     // Open the camera.
+    final int generation = cameraDeviceGeneration;
     CameraManager cameraManager = CameraUtils.getCameraManager(activity);
     cameraManager.openCamera(
         cameraProperties.getCameraName(),
         new CameraDevice.StateCallback() {
           @Override
           public void onOpened(@NonNull CameraDevice device) {
+            if (generation != cameraDeviceGeneration) {
+              // The camera was switched again before this one finished opening.
+              device.close();
+              return;
+            }
             cameraDevice = new DefaultCameraDeviceWrapper(device);
             try {
               // only send initialization if we werent already recording and switching cameras
               Runnable onSuccess =
                   recordingVideo
                       ? null
-                      : () ->
-                          dartMessenger.sendCameraInitializedEvent(
-                              resolutionFeature.getPreviewSize().getWidth(),
-                              resolutionFeature.getPreviewSize().getHeight(),
-                              cameraFeatures.getExposureLock().getValue(),
-                              cameraFeatures.getAutoFocus().getValue(),
-                              cameraFeatures.getExposurePoint().checkIsSupported(),
-                              cameraFeatures.getFocusPoint().checkIsSupported());
-              startPreview(onSuccess);
+                      : () -> {
+                        dartMessenger.sendCameraInitializedEvent(
+                            resolutionFeature.getPreviewSize().getWidth(),
+                            resolutionFeature.getPreviewSize().getHeight(),
+                            cameraFeatures.getExposureLock().getValue(),
+                            cameraFeatures.getAutoFocus().getValue(),
+                            cameraFeatures.getExposurePoint().checkIsSupported(),
+                            cameraFeatures.getFocusPoint().checkIsSupported());
+                        reportCameraSwitchOnNextFrame();
+                      };
+              if (imageStreamRunning) {
+                resumeImageStream(onSuccess);
+              } else {
+                startPreview(onSuccess);
+              }
             } catch (Exception e) {
               String message =
                   (e.getMessage() == null)
@@ -401,6 +500,10 @@ class Camera
           @Override
           public void onClosed(@NonNull CameraDevice camera) {
             Log.i(TAG, "open | onClosed");
+            if (generation != cameraDeviceGeneration) {
+              // A camera that was switched away from; its replacement is already in use.
+              return;
+            }
 
             // Prevents calls to methods that would otherwise result in IllegalStateException
             // exceptions.
@@ -412,6 +515,9 @@ class Camera
           @Override
           public void onDisconnected(@NonNull CameraDevice cameraDevice) {
             Log.i(TAG, "open | onDisconnected");
+            if (generation != cameraDeviceGeneration) {
+              return;
+            }
 
             close();
             dartMessenger.sendCameraErrorEvent("The camera was disconnected.");
@@ -420,6 +526,9 @@ class Camera
           @Override
           public void onError(@NonNull CameraDevice cameraDevice, int errorCode) {
             Log.i(TAG, "open | onError");
+            if (generation != cameraDeviceGeneration) {
+              return;
+            }
 
             close();
             String errorDescription;
@@ -472,6 +581,10 @@ class Camera
     previewRequestBuilder.addTarget(flutterSurface);
 
     List<Surface> remainingSurfaces = Arrays.asList(surfaces);
+    imageStreamSurfaceConfigured =
+        persistentImageStreamSession
+            && imageStreamReader != null
+            && remainingSurfaces.contains(imageStreamReader.getSurface());
     if (templateType != CameraDevice.TEMPLATE_PREVIEW) {
       // If it is not preview mode, add all surfaces as targets
       // except the surface used for still capture as this should
@@ -516,6 +629,7 @@ class Camera
           @Override
           public void onConfigureFailed(@NonNull CameraCaptureSession cameraCaptureSession) {
             Log.i(TAG, "CameraCaptureSession onConfigureFailed");
+            failCameraSwitch("Failed to configure camera session.");
             dartMessenger.sendCameraErrorEvent("Failed to configure camera session.");
           }
 
@@ -594,13 +708,20 @@ class Camera
   }
 
   private void startCapture(boolean record, boolean stream) throws CameraAccessException {
+    startCapture(record, stream, null);
+  }
+
+  private void startCapture(boolean record, boolean stream, @Nullable Runnable onSuccessCallback)
+      throws CameraAccessException {
     List<Surface> surfaces = new ArrayList<>();
-    Runnable successCallback = null;
+    Runnable successCallback = onSuccessCallback;
     if (record) {
       surfaces.add(mediaRecorder.getSurface());
       successCallback = () -> mediaRecorder.start();
     }
-    if (stream && imageStreamReader != null) {
+    if (stream && imageStreamGpuStage != null) {
+      surfaces.add(imageStreamGpuStage.getInputSurface());
+    } else if (stream && imageStreamReader != null) {
       surfaces.add(imageStreamReader.getSurface());
     }
 
@@ -633,6 +754,57 @@ class Camera
       return;
     }
 
+    startStillCapture();
+  }
+
+  /**
+   * Takes {@code count} pictures in a row on the camera and returns the paths to the resulting
+   * files, in the order they were captured.
+   *
+   * <p>Focus and exposure are converged once, after which all pictures are requested in a single
+   * {@link CameraCaptureSession#captureBurst} call. Each picture is written to storage as soon as
+   * it arrives, while the following ones are still being captured. Bursts may be larger than the
+   * {@link #MAX_PENDING_PICTURES} buffers of the JPEG reader: pictures that arrive while storage
+   * lags behind are copied out of the reader, see {@link PictureImageBudget}.
+   */
+  public void takePictureBurst(int count, @NonNull final Messages.Result<List<String>> result) {
+    if (count < 1) {
+      result.error(
+          new Messages.FlutterError(
+              "invalidArgument", "A burst must contain at least one picture", null));
+      return;
+    }
+    // Only take one picture at a time.
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error(
+          new Messages.FlutterError(
+              "captureAlreadyActive", "Picture is currently already being captured", null));
+      return;
+    }
+
+    pictureBurst =
+        new PictureBurst(
+            count,
+            applicationContext.getCacheDir(),
+            syncPicturesToDisk,
+            new PictureBurst.Callback() {
+              @Override
+              public void onComplete(@NonNull List<String> absolutePaths) {
+                dartMessenger.finish(result, absolutePaths);
+              }
+
+              @Override
+              public void onError(@NonNull String errorCode, @Nullable String errorMessage) {
+                dartMessenger.error(result, errorCode, errorMessage, null);
+              }
+            });
+    captureTimeouts.reset();
+
+    startStillCapture();
+  }
+
+  /** Converges focus and exposure, after which {@link #onConverged()} captures the picture(s). */
+  private void startStillCapture() {
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
@@ -645,6 +817,18 @@ class Camera
     }
   }
 
+  /** Reports an error to whichever capture, a single picture or a burst, is in progress. */
+  private void onStillCaptureError(@NonNull String errorCode, @Nullable String errorMessage) {
+    final PictureBurst burst = pictureBurst;
+    if (burst == null) {
+      dartMessenger.error(flutterResult, errorCode, errorMessage, null);
+      return;
+    }
+    pictureBurst = null;
+    burst.onError(errorCode, errorMessage);
+    cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+  }
+
   /**
    * Run the precapture sequence for capturing a still image. This method should be called when a
    * response is received in {@link #cameraCaptureCallback} from lockFocus().
@@ -661,8 +845,7 @@ class Camera
 
       // Repeating request to refresh preview session.
       refreshPreviewCaptureSession(
-          null,
-          (code, message) -> dartMessenger.error(flutterResult, "cameraAccess", message, null));
+          null, (code, message) -> onStillCaptureError("cameraAccess", message));
 
       // Start precapture.
       cameraCaptureCallback.setCameraState(CameraState.STATE_WAITING_PRECAPTURE_START);
@@ -688,16 +871,102 @@ class Camera
     Log.i(TAG, "captureStillPicture");
     cameraCaptureCallback.setCameraState(CameraState.STATE_CAPTURING);
 
-    if (cameraDevice == null) {
+    final CaptureRequest.Builder stillBuilder = createStillCaptureRequestBuilder();
+    if (stillBuilder == null) {
+      return;
+    }
+
+    CameraCaptureSession.CaptureCallback captureCallback =
+        new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureCompleted(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull TotalCaptureResult result) {
+            unlockAutoFocus();
+          }
+        };
+
+    try {
+      Log.i(TAG, "sending capture request");
+      captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
+    } catch (CameraAccessException e) {
+      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
+    }
+  }
+
+  /**
+   * Captures all pictures of {@link #pictureBurst} with the focus and exposure that were just
+   * converged. This method should be called when a response is received in {@link
+   * #cameraCaptureCallback} from lockFocus().
+   */
+  private void takePictureBurstAfterPrecapture() {
+    Log.i(TAG, "captureStillPictureBurst");
+    cameraCaptureCallback.setCameraState(CameraState.STATE_CAPTURING);
+
+    final PictureBurst burst = pictureBurst;
+    final CaptureRequest.Builder stillBuilder = createStillCaptureRequestBuilder();
+    if (burst == null || stillBuilder == null) {
       return;
     }
+
+    CameraCaptureSession.CaptureCallback captureCallback =
+        new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureFailed(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull CaptureFailure failure) {
+            // The image of a failed capture may still arrive, only its metadata is lost then.
+            if (!failure.wasImageCaptured()) {
+              burst.onCaptureFailed("Capture failed with reason " + failure.getReason());
+              onBurstPictureSettled(burst);
+            }
+          }
+
+          @Override
+          public void onCaptureSequenceCompleted(
+              @NonNull CameraCaptureSession session, int sequenceId, long frameNumber) {
+            unlockAutoFocus();
+          }
+
+          @Override
+          public void onCaptureSequenceAborted(
+              @NonNull CameraCaptureSession session, int sequenceId) {
+            if (pictureBurst == burst) {
+              onStillCaptureError("captureFailed", "The burst was aborted");
+            }
+            unlockAutoFocus();
+          }
+        };
+
+    try {
+      Log.i(TAG, "sending burst capture request");
+      captureSession.captureBurst(
+          Collections.nCopies(burst.getCount(), stillBuilder.build()),
+          captureCallback,
+          backgroundHandler);
+    } catch (CameraAccessException e) {
+      onStillCaptureError("cameraAccess", e.getMessage());
+    }
+  }
+
+  /**
+   * Returns a builder for still pictures that match the preview's zoom, features and orientation,
+   * or null if the camera is unavailable, in which case the error has been reported.
+   */
+  @Nullable
+  private CaptureRequest.Builder createStillCaptureRequestBuilder() {
+    if (cameraDevice == null) {
+      return null;
+    }
     // This is the CaptureRequest.Builder that is used to take a picture.
     CaptureRequest.Builder stillBuilder;
     try {
       stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
     } catch (CameraAccessException e) {
-      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
-      return;
+      onStillCaptureError("cameraAccess", e.getMessage());
+      return null;
     }
     stillBuilder.addTarget(pictureImageReader.getSurface());
 
@@ -717,24 +986,7 @@ class Camera
         lockedOrientation == null
             ? getDeviceOrientationManager().getPhotoOrientation()
             : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
-
-    CameraCaptureSession.CaptureCallback captureCallback =
-        new CameraCaptureSession.CaptureCallback() {
-          @Override
-          public void onCaptureCompleted(
-              @NonNull CameraCaptureSession session,
-              @NonNull CaptureRequest request,
-              @NonNull TotalCaptureResult result) {
-            unlockAutoFocus();
-          }
-        };
-
-    try {
-      Log.i(TAG, "sending capture request");
-      captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
-    } catch (CameraAccessException e) {
-      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
-    }
+    return stillBuilder;
   }
 
   @SuppressWarnings("deprecation")
@@ -832,7 +1084,11 @@ class Camera
   public void startVideoRecording(@Nullable EventChannel imageStreamChannel) {
     prepareRecording();
 
+    closeImageStreamGpuStage();
+    // A stream that runs along with the recording stops together with it.
+    imageStreamRunning = false;
     if (imageStreamChannel != null) {
+      imageStreamOptions = ImageStreamOptions.DEFAULT;
       setStreamHandler(imageStreamChannel);
     }
     initialCameraFacing = cameraProperties.getLensFacing();
@@ -864,7 +1120,9 @@ class Camera
     cameraFeatures.setFpsRange(cameraFeatureFactory.createFpsRangeFeature(cameraProperties));
 
     recordingVideo = false;
+    imageStreamRunning = false;
     try {
+      // Closing the renderer waits until it no longer draws into the recorder's surface.
       closeRenderer();
       captureSession.abortCaptures();
       mediaRecorder.stop();
@@ -1184,8 +1442,17 @@ class Camera
     }
 
     Log.i(TAG, "startPreview");
-    createCaptureSession(
-        CameraDevice.TEMPLATE_PREVIEW, onSuccessCallback, pictureImageReader.getSurface());
+    if (persistentImageStreamSession && imageStreamReader != null) {
+      // The stream surface is configured but not targeted until a stream is started.
+      createCaptureSession(
+          CameraDevice.TEMPLATE_PREVIEW,
+          onSuccessCallback,
+          pictureImageReader.getSurface(),
+          imageStreamReader.getSurface());
+    } else {
+      createCaptureSession(
+          CameraDevice.TEMPLATE_PREVIEW, onSuccessCallback, pictureImageReader.getSurface());
+    }
   }
 
   private void startPreviewWithVideoRendererStream(@Nullable Runnable onSuccessCallback)
@@ -1226,12 +1493,175 @@ class Camera
 
   public void startPreviewWithImageStream(EventChannel imageStreamChannel)
       throws CameraAccessException {
+    startPreviewWithImageStream(imageStreamChannel, ImageStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Starts the preview and streams frames to {@code imageStreamChannel}.
+   *
+   * @param imageStreamChannel the channel frames are sent over.
+   * @param options controls how many frames may wait for delivery and which ones are dropped.
+   */
+  public void startPreviewWithImageStream(
+      EventChannel imageStreamChannel, @NonNull ImageStreamOptions options)
+      throws CameraAccessException {
+    imageStreamOptions = options;
+    closeImageStreamGpuStage();
+    if (options.gpuTransform) {
+      prepareImageStreamGpuStage(options);
+    }
     setStreamHandler(imageStreamChannel);
 
-    startCapture(false, true);
+    if (imageStreamGpuStage == null && canToggleImageStreamTarget()) {
+      setImageStreamTargeted(true);
+    } else {
+      startCapture(false, true);
+    }
+    imageStreamRunning = true;
     Log.i(TAG, "startPreviewWithImageStream");
   }
 
+  /**
+   * Streams the frames of a newly opened camera with the options and sink of the image stream that
+   * was running before the camera was switched.
+   */
+  private void resumeImageStream(@Nullable Runnable onSuccessCallback)
+      throws CameraAccessException {
+    if (imageStreamOptions.gpuTransform) {
+      prepareImageStreamGpuStage(imageStreamOptions);
+    }
+    final EventChannel.EventSink sink = imageStreamSink;
+    if (sink != null) {
+      // Dart keeps listening across the switch, so onListen isn't called again for the new reader.
+      setImageStreamImageAvailableListener(sink);
+    }
+    startCapture(false, true, onSuccessCallback);
+  }
+
+  /**
+   * Stops sending frames to the image stream and continues with the regular preview.
+   *
+   * <p>With a persistent image stream session the capture session is kept, and only the repeating
+   * request stops targeting the image stream surface.
+   */
+  public void stopImageStream() throws CameraAccessException, InterruptedException {
+    imageStreamRunning = false;
+    if (imageStreamGpuStage == null && canToggleImageStreamTarget()) {
+      setImageStreamTargeted(false);
+    } else {
+      closeImageStreamGpuStage();
+      startPreview(null);
+    }
+  }
+
+  /** Frees the in-flight slot of a streamed frame that Dart has finished handling. */
+  public void acknowledgeImageStreamFrame() {
+    ImageStreamReader reader = getStreamingImageStreamReader();
+    if (reader != null) {
+      reader.acknowledgeFrame();
+    }
+  }
+
+  private void prepareImageStreamGpuStage(@NonNull ImageStreamOptions options) {
+    final Size previewSize = cameraFeatures.getResolution().getPreviewSize();
+    Thread.UncaughtExceptionHandler uncaughtExceptionHandler =
+        (thread, ex) -> dartMessenger.sendCameraErrorEvent("Failed to transform streamed frames.");
+    try {
+      imageStreamGpuStage =
+          new ImageStreamGpuStage(
+              options, previewSize.getWidth(), previewSize.getHeight(), uncaughtExceptionHandler);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new Messages.FlutterError(
+          "imageStreamFailed", "Interrupted while preparing the GPU transform", null);
+    }
+  }
+
+  private void closeImageStreamGpuStage() {
+    if (imageStreamGpuStage != null) {
+      imageStreamGpuStage.close();
+      imageStreamGpuStage = null;
+    }
+  }
+
+  /** Returns the reader that frames of the current image stream arrive at. */
+  @Nullable
+  private ImageStreamReader getStreamingImageStreamReader() {
+    return imageStreamGpuStage != null
+        ? imageStreamGpuStage.getImageStreamReader()
+        : imageStreamReader;
+  }
+
+  /**
+   * Sets whether the capture session keeps the image stream surface configured while no stream is
+   * running.
+   *
+   * <p>Starting or stopping an image stream otherwise rebuilds the capture session, which freezes
+   * the preview and makes focus and exposure converge again. A persistent session is configured
+   * once with the preview, still capture and image stream surfaces, after which starting or
+   * stopping a stream only changes the targets of the repeating request.
+   *
+   * <p>The capture session is rebuilt once when the mode changes. While an image stream is running
+   * or a video is being recorded, the session is kept and the change takes effect when the stream
+   * or recording stops.
+   *
+   * @param persistent whether to keep the image stream surface configured.
+   */
+  public void setPersistentImageStreamSession(boolean persistent)
+      throws CameraAccessException, InterruptedException {
+    if (persistent == persistentImageStreamSession) {
+      return;
+    }
+    persistentImageStreamSession = persistent;
+    if (captureSession == null || recordingVideo) {
+      return;
+    }
+    if (imageStreamRunning) {
+      // The session of a stream on the CPU already holds the stream surface, so stopping the stream
+      // only has to remove it from the targets once the session is persistent. Without a persistent
+      // session, or with a GPU stream, stopping the stream rebuilds the session as usual.
+      imageStreamSurfaceConfigured =
+          persistent && imageStreamGpuStage == null && imageStreamReader != null;
+      return;
+    }
+    if (persistent != imageStreamSurfaceConfigured) {
+      // Add or remove the stream surface now, so that the first stream already starts instantly
+      // and a session that no longer streams doesn't keep its buffers attached.
+      startPreview(null);
+    }
+  }
+
+  /**
+   * Sets whether pictures are flushed to storage before their paths are returned.
+   *
+   * <p>By default a picture is reported as soon as it has been written, while the system may still
+   * hold it in its caches. Flushing guarantees that the file survives a crash or power loss right
+   * after the picture was taken, at the cost of a slower capture.
+   *
+   * @param syncToDisk whether to flush pictures to storage.
+   */
+  public void setSyncPicturesToDisk(boolean syncToDisk) {
+    syncPicturesToDisk = syncToDisk;
+  }
+
+  private boolean canToggleImageStreamTarget() {
+    return persistentImageStreamSession
+        && imageStreamSurfaceConfigured
+        && captureSession != null
+        && !recordingVideo;
+  }
+
+  private void setImageStreamTargeted(boolean targeted) {
+    Surface imageStreamSurface = imageStreamReader.getSurface();
+    if (targeted) {
+      previewRequestBuilder.addTarget(imageStreamSurface);
+    } else {
+      previewRequestBuilder.removeTarget(imageStreamSurface);
+    }
+    refreshPreviewCaptureSession(
+        null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+  }
+
   /**
    * This a callback object for the {@link ImageReader}. "onImageAvailable" will be called when a
    * still image is ready to be saved.
@@ -1240,30 +1670,64 @@ class Camera
   public void onImageAvailable(ImageReader reader) {
     Log.i(TAG, "onImageAvailable");
 
-    // Use acquireNextImage since image reader is only for one image.
+    // Use acquireNextImage so that the pictures of a burst are saved in the order they were taken.
     Image image = reader.acquireNextImage();
     if (image == null) {
       return;
     }
 
-    backgroundHandler.post(
+    final PictureBurst burst = pictureBurst;
+    if (burst != null) {
+      ImageSaver saver = burst.onImageAvailable(image);
+      if (saver != null) {
+        // The camera delivers the whole burst without waiting for storage, so once the reader is
+        // about to run out of buffers the remaining pictures are copied out of them.
+        getImageSaverExecutor().execute(pictureImageBudget.prepare(saver));
+      }
+      onBurstPictureSettled(burst);
+      return;
+    }
+
+    // The next picture can be taken while this one is still being saved, so the result must not be
+    // read from the field once saving has finished.
+    final Messages.Result<String> result = flutterResult;
+    final ImageSaver saver =
         new ImageSaver(
             image,
             captureFile,
+            syncPicturesToDisk,
             new ImageSaver.Callback() {
               @Override
               public void onComplete(@NonNull String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
+                dartMessenger.finish(result, absolutePath);
               }
 
               @Override
               public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
+                dartMessenger.error(result, errorCode, errorMessage, null);
               }
-            }));
+            });
+    getImageSaverExecutor().execute(pictureImageBudget.prepare(saver));
     cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
   }
 
+  /** Returns to the preview state once the camera has delivered or failed all of the burst. */
+  private void onBurstPictureSettled(@NonNull PictureBurst burst) {
+    if (pictureBurst == burst && burst.isCaptureComplete()) {
+      pictureBurst = null;
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+    }
+  }
+
+  @NonNull
+  private ExecutorService getImageSaverExecutor() {
+    if (imageSaverExecutor == null) {
+      imageSaverExecutor =
+          Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "CameraImageSaver"));
+    }
+    return imageSaverExecutor;
+  }
+
   @VisibleForTesting
   void prepareRecording() {
     final File outputDir = applicationContext.getCacheDir();
@@ -1291,26 +1755,91 @@ class Camera
         new EventChannel.StreamHandler() {
           @Override
           public void onListen(Object o, EventChannel.EventSink imageStreamSink) {
+            Camera.this.imageStreamSink = imageStreamSink;
             setImageStreamImageAvailableListener(imageStreamSink);
           }
 
           @Override
           public void onCancel(Object o) {
-            if (imageStreamReader == null) {
+            imageStreamSink = null;
+            ImageStreamReader reader = getStreamingImageStreamReader();
+            if (reader == null) {
               return;
             }
 
-            imageStreamReader.removeListener(backgroundHandler);
+            reader.removeListener(backgroundHandler);
           }
         });
   }
 
   void setImageStreamImageAvailableListener(final EventChannel.EventSink imageStreamSink) {
-    if (imageStreamReader == null) {
+    ImageStreamReader reader = getStreamingImageStreamReader();
+    if (reader == null) {
       return;
     }
 
-    imageStreamReader.subscribeListener(this.captureProps, imageStreamSink, backgroundHandler);
+    reader.setOptions(imageStreamOptions);
+    reader.subscribeListener(this.captureProps, imageStreamSink, backgroundHandler);
+  }
+
+  /** Returns counters describing the frames that have been streamed to Dart. */
+  @NonNull
+  public Messages.PlatformImageStreamStatistics getImageStreamStatistics() {
+    long deliveredFrames = 0;
+    long droppedFrames = 0;
+    long frameAllocations = 0;
+    long bufferAllocations = 0;
+    long reusedFrames = 0;
+    ImageStreamReader reader = getStreamingImageStreamReader();
+    if (reader != null) {
+      deliveredFrames = reader.getDeliveredFrameCount();
+      droppedFrames = reader.getDroppedFrameCount();
+      frameAllocations = reader.getBufferPool().getFrameAllocationCount();
+      bufferAllocations = reader.getBufferPool().getBufferAllocationCount();
+      reusedFrames = reader.getBufferPool().getReusedFrameCount();
+    }
+    return new Messages.PlatformImageStreamStatistics.Builder()
+        .setDeliveredFrames(deliveredFrames)
+        .setDroppedFrames(droppedFrames)
+        .setFrameAllocations(frameAllocations)
+        .setBufferAllocations(bufferAllocations)
+        .setReusedFrames(reusedFrames)
+        .build();
+  }
+
+  /** Returns percentiles of how long recently streamed frames took to reach Dart. */
+  @NonNull
+  public Messages.PlatformImageStreamLatency getImageStreamLatency() {
+    Messages.PlatformImageStreamLatency.Builder builder =
+        new Messages.PlatformImageStreamLatency.Builder().setRecordedFrames(0L);
+    ImageStreamReader reader = getStreamingImageStreamReader();
+    if (reader == null) {
+      return builder.build();
+    }
+    ImageStreamLatencyTracker tracker = reader.getLatencyTracker();
+    return builder
+        .setRecordedFrames(tracker.getRecordedFrameCount())
+        .setSensorToAcquire(latencyToPigeon(tracker.getPercentiles(Stage.SENSOR_TO_ACQUIRE)))
+        .setAcquireToConverted(latencyToPigeon(tracker.getPercentiles(Stage.ACQUIRE_TO_CONVERTED)))
+        .setConvertedToPosted(latencyToPigeon(tracker.getPercentiles(Stage.CONVERTED_TO_POSTED)))
+        .setPostedToDelivered(latencyToPigeon(tracker.getPercentiles(Stage.POSTED_TO_DELIVERED)))
+        .setSensorToDelivered(latencyToPigeon(tracker.getPercentiles(Stage.SENSOR_TO_DELIVERED)))
+        .build();
+  }
+
+  @Nullable
+  private static Messages.PlatformLatencyPercentiles latencyToPigeon(
+      @Nullable ImageStreamLatencyTracker.Percentiles percentiles) {
+    if (percentiles == null) {
+      return null;
+    }
+    return new Messages.PlatformLatencyPercentiles.Builder()
+        .setSampleCount((long) percentiles.sampleCount)
+        .setP50Micros(TimeUnit.NANOSECONDS.toMicros(percentiles.p50))
+        .setP90Micros(TimeUnit.NANOSECONDS.toMicros(percentiles.p90))
+        .setP99Micros(TimeUnit.NANOSECONDS.toMicros(percentiles.p99))
+        .setMaxMicros(TimeUnit.NANOSECONDS.toMicros(percentiles.max))
+        .build();
   }
 
   void closeCaptureSession() {
@@ -1327,10 +1856,18 @@ class Camera
 
     stopAndReleaseCamera();
 
-    if (pictureImageReader != null) {
-      pictureImageReader.close();
-      pictureImageReader = null;
+    if (pictureBurst != null) {
+      pictureBurst.onError("cameraAccess", "Camera was closed during a burst capture");
+      pictureBurst = null;
+    }
+    failCameraSwitch("Camera was closed during the switch");
+    closePictureImageReader();
+    if (imageSaverExecutor != null) {
+      imageSaverExecutor.shutdown();
+      imageSaverExecutor = null;
     }
+    closeImageStreamGpuStage();
+    imageStreamRunning = false;
     if (imageStreamReader != null) {
       imageStreamReader.close();
       imageStreamReader = null;
@@ -1344,6 +1881,20 @@ class Camera
     stopBackgroundThread();
   }
 
+  private void closePictureImageReader() {
+    if (pictureImageReader == null) {
+      return;
+    }
+    if (imageSaverExecutor != null) {
+      // Pictures that are still being saved read from the buffers of the reader, so it is only
+      // closed once they have been written.
+      imageSaverExecutor.execute(pictureImageReader::close);
+    } else {
+      pictureImageReader.close();
+    }
+    pictureImageReader = null;
+  }
+
   private void stopAndReleaseCamera() {
     if (cameraDevice != null) {
       cameraDevice.close();
@@ -1415,6 +1966,101 @@ class Camera
     }
   }
 
+  /**
+   * Switches to another camera without tearing this one down.
+   *
+   * <p>The background thread is kept, and so are the picture and image stream readers as long as
+   * the new camera uses the same sizes. Only the camera device and its capture session are
+   * reopened. Once the first preview frame of the new camera has been captured, {@code result}
+   * receives the time the switch took, in microseconds. An active image stream keeps streaming to
+   * the same sink with the same options, now with the frames of the new camera.
+   *
+   * @param properties describes the camera to switch to.
+   * @param result receives the switch latency in microseconds.
+   */
+  public void switchCamera(
+      @NonNull CameraProperties properties, @NonNull Messages.Result<Long> result) {
+    if (recordingVideo) {
+      result.error(
+          new Messages.FlutterError(
+              "switchCameraFailed", "Use setDescriptionWhileRecording while recording", null));
+      return;
+    }
+    if (switchCameraResult != null
+        || cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error(
+          new Messages.FlutterError(
+              "switchCameraFailed", "The camera is busy switching or capturing", null));
+      return;
+    }
+
+    switchCameraStartedAt = SystemClock.elapsedRealtimeNanos();
+    switchCameraResult = result;
+
+    cameraDeviceGeneration++;
+    stopAndReleaseCamera();
+    // The new camera may use a different preview size, so a running stream is resumed on a new GPU
+    // stage once the camera has been opened.
+    closeImageStreamGpuStage();
+    if (imageStreamReader != null) {
+      // Frames of the previous camera that are still queued must not reach Dart anymore.
+      imageStreamReader.removeListener(backgroundHandler);
+    }
+
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
+    getDeviceOrientationManager().stop();
+    cameraProperties = properties;
+    cameraFeatures =
+        CameraFeatures.init(
+            cameraFeatureFactory,
+            cameraProperties,
+            activity,
+            dartMessenger,
+            videoCaptureSettings.resolutionPreset);
+    if (lockedOrientation != null) {
+      cameraFeatures.getSensorOrientation().lockCaptureOrientation(lockedOrientation);
+    }
+
+    try {
+      open(imageFormatGroup);
+    } catch (CameraAccessException e) {
+      failCameraSwitch(e.getMessage());
+    }
+  }
+
+  /** Reports the pending camera switch once the next frame of the new camera has been captured. */
+  private void reportCameraSwitchOnNextFrame() {
+    final Messages.Result<Long> result = switchCameraResult;
+    if (result == null) {
+      return;
+    }
+    Runnable report =
+        () -> {
+          if (switchCameraResult != result) {
+            return;
+          }
+          switchCameraResult = null;
+          long elapsed = SystemClock.elapsedRealtimeNanos() - switchCameraStartedAt;
+          dartMessenger.finish(result, TimeUnit.NANOSECONDS.toMicros(elapsed));
+        };
+    if (pausedPreview) {
+      // No frames are captured while the preview is paused.
+      report.run();
+    } else {
+      cameraCaptureCallback.setOnNextCaptureCompleted(report);
+    }
+  }
+
+  /** Fails the pending camera switch, if there is one. */
+  private void failCameraSwitch(@Nullable String message) {
+    final Messages.Result<Long> result = switchCameraResult;
+    if (result != null) {
+      switchCameraResult = null;
+      dartMessenger.error(result, "switchCameraFailed", message, null);
+    }
+  }
+
   public void dispose() {
     Log.i(TAG, "dispose");
 
@@ -64,7 +64,9 @@ final class CameraApiImpl implements Messages.CameraApi {
             new Messages.CameraGlobalEventApi(messenger),
             new Messages.CameraEventApi(messenger, String.valueOf(cameraId)));
     CameraProperties cameraProperties =
-        new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity));
+        new CameraPropertiesImpl(
+            cameraName,
+            CameraCharacteristicsCache.getInstance(activity).getCameraCharacteristics(cameraName));
     Integer fps = (settings.getFps() == null) ? null : settings.getFps().intValue();
     Integer videoBitrate =
         (settings.getVideoBitrate() == null) ? null : settings.getVideoBitrate().intValue();
@@ -123,7 +125,7 @@ final class CameraApiImpl implements Messages.CameraApi {
       return Collections.emptyList();
     }
     try {
-      return CameraUtils.getAvailableCameras(activity);
+      return CameraUtils.getAvailableCameras(CameraCharacteristicsCache.getInstance(activity));
     } catch (CameraAccessException e) {
       throw new RuntimeException(e);
     }
@@ -175,6 +177,12 @@ final class CameraApiImpl implements Messages.CameraApi {
     camera.takePicture(result);
   }
 
+  @Override
+  public void takePictureBurst(
+      @NonNull Long count, @NonNull Messages.Result<List<String>> result) {
+    camera.takePictureBurst(count.intValue(), result);
+  }
+
   @Override
   public void startVideoRecording(@NonNull Boolean enableStream) {
     camera.startVideoRecording(enableStream ? imageStreamChannel : null);
@@ -271,9 +279,10 @@ final class CameraApiImpl implements Messages.CameraApi {
   }
 
   @Override
-  public void startImageStream() {
+  public void startImageStream(@NonNull Messages.PlatformImageStreamOptions options) {
     try {
-      camera.startPreviewWithImageStream(imageStreamChannel);
+      camera.startPreviewWithImageStream(
+          imageStreamChannel, CameraUtils.imageStreamOptionsFromPigeon(options));
     } catch (CameraAccessException e) {
       throw new Messages.FlutterError("CameraAccessException", e.getMessage(), null);
     }
@@ -283,12 +292,46 @@ final class CameraApiImpl implements Messages.CameraApi {
   public void stopImageStream() {
     try {
       // Don't wait for start preview
-      camera.startPreview(null);
+      camera.stopImageStream();
+    } catch (Exception e) {
+      throw new Messages.FlutterError(e.getClass().getName(), e.getMessage(), null);
+    }
+  }
+
+  @Override
+  public void acknowledgeImageStreamFrame() {
+    // Acknowledgements can arrive after the camera has been disposed.
+    if (camera != null) {
+      camera.acknowledgeImageStreamFrame();
+    }
+  }
+
+  @Override
+  public void setPersistentImageStreamSession(@NonNull Boolean persistent) {
+    try {
+      camera.setPersistentImageStreamSession(persistent);
     } catch (Exception e) {
       throw new Messages.FlutterError(e.getClass().getName(), e.getMessage(), null);
     }
   }
 
+  @Override
+  public void setSyncPicturesToDisk(@NonNull Boolean syncToDisk) {
+    camera.setSyncPicturesToDisk(syncToDisk);
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformImageStreamStatistics getImageStreamStatistics() {
+    return camera.getImageStreamStatistics();
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformImageStreamLatency getImageStreamLatency() {
+    return camera.getImageStreamLatency();
+  }
+
   @NonNull
   @Override
   public Double getMaxZoomLevel() {
@@ -338,12 +381,29 @@ final class CameraApiImpl implements Messages.CameraApi {
   public void setDescriptionWhileRecording(@NonNull String cameraName) {
     try {
       camera.setDescriptionWhileRecording(
-          new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity)));
+          new CameraPropertiesImpl(
+              cameraName,
+              CameraCharacteristicsCache.getInstance(activity)
+                  .getCameraCharacteristics(cameraName)));
     } catch (CameraAccessException e) {
       throw new Messages.FlutterError("CameraAccessException", e.getMessage(), null);
     }
   }
 
+  @Override
+  public void switchCamera(@NonNull String cameraName, @NonNull Messages.Result<Long> result) {
+    try {
+      camera.switchCamera(
+          new CameraPropertiesImpl(
+              cameraName,
+              CameraCharacteristicsCache.getInstance(activity)
+                  .getCameraCharacteristics(cameraName)),
+          result);
+    } catch (CameraAccessException e) {
+      result.error(new Messages.FlutterError("CameraAccessException", e.getMessage(), null));
+    }
+  }
+
   @Override
   public void dispose() {
     if (camera != null) {
@@ -11,6 +11,7 @@ import android.hardware.camera2.CaptureResult;
 import android.hardware.camera2.TotalCaptureResult;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
@@ -25,6 +26,7 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraState cameraState;
   private final CaptureTimeoutsWrapper captureTimeouts;
   private final CameraCaptureProperties captureProps;
+  @Nullable private volatile Runnable onNextCaptureCompleted;
 
   // Lookup keys for state; overrideable for unit tests since Mockito can't mock them.
   @VisibleForTesting @NonNull
@@ -76,6 +78,15 @@ class CameraCaptureCallback extends CaptureCallback {
     cameraState = state;
   }
 
+  /**
+   * Sets a listener that is run once, after the next capture has completed.
+   *
+   * @param listener to run, or null to remove a listener that has not run yet.
+   */
+  public void setOnNextCaptureCompleted(@Nullable Runnable listener) {
+    onNextCaptureCompleted = listener;
+  }
+
   private void process(CaptureResult result) {
     Integer aeState = result.get(aeStateKey);
     Integer afState = result.get(afStateKey);
@@ -175,6 +186,12 @@ class CameraCaptureCallback extends CaptureCallback {
       @NonNull CaptureRequest request,
       @NonNull TotalCaptureResult result) {
     process(result);
+
+    final Runnable listener = onNextCaptureCompleted;
+    if (listener != null) {
+      onNextCaptureCompleted = null;
+      listener.run();
+    }
   }
 
   /** An interface that describes the different state changes implementers can be informed about. */
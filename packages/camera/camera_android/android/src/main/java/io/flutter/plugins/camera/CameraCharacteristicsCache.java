@@ -0,0 +1,117 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.content.Context;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the camera ID list and the {@link CameraCharacteristics} of every camera.
+ *
+ * <p>Both come from binder calls into the camera service, which take tens of milliseconds on some
+ * devices, while they only change when an external camera is connected or disconnected. Those
+ * events are observed through a {@link CameraManager.AvailabilityCallback}, which drops the
+ * affected entries so that they are read again on next use.
+ */
+class CameraCharacteristicsCache {
+  @Nullable private static CameraCharacteristicsCache instance;
+
+  private final CameraManager cameraManager;
+  private final Map<String, CameraCharacteristics> characteristics = new HashMap<>();
+  @Nullable private String[] cameraIdList;
+
+  @VisibleForTesting
+  final CameraManager.AvailabilityCallback availabilityCallback =
+      new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String cameraId) {
+          onCameraAvailabilityChanged(cameraId, true);
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String cameraId) {
+          onCameraAvailabilityChanged(cameraId, false);
+        }
+      };
+
+  /**
+   * Returns the cache shared by every camera of the process, creating it on first use.
+   *
+   * @param context is any context of the application.
+   */
+  @NonNull
+  static synchronized CameraCharacteristicsCache getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance =
+          new CameraCharacteristicsCache(
+              CameraUtils.getCameraManager(context.getApplicationContext()));
+      instance.cameraManager.registerAvailabilityCallback(
+          instance.availabilityCallback, new Handler(Looper.getMainLooper()));
+    }
+    return instance;
+  }
+
+  /**
+   * Creates a cache that reads from {@code cameraManager}, without observing camera availability.
+   */
+  @VisibleForTesting
+  CameraCharacteristicsCache(@NonNull CameraManager cameraManager) {
+    this.cameraManager = cameraManager;
+  }
+
+  /** Returns the IDs of the connected cameras, see {@link CameraManager#getCameraIdList()}. */
+  @NonNull
+  synchronized String[] getCameraIdList() throws CameraAccessException {
+    if (cameraIdList == null) {
+      cameraIdList = cameraManager.getCameraIdList();
+    }
+    return cameraIdList.clone();
+  }
+
+  /**
+   * Returns the characteristics of a camera, see {@link
+   * CameraManager#getCameraCharacteristics(String)}.
+   */
+  @NonNull
+  synchronized CameraCharacteristics getCameraCharacteristics(@NonNull String cameraId)
+      throws CameraAccessException {
+    CameraCharacteristics cached = characteristics.get(cameraId);
+    if (cached == null) {
+      cached = cameraManager.getCameraCharacteristics(cameraId);
+      characteristics.put(cameraId, cached);
+    }
+    return cached;
+  }
+
+  private synchronized void onCameraAvailabilityChanged(
+      @NonNull String cameraId, boolean available) {
+    // Cameras also become unavailable and available again whenever they are opened and closed,
+    // which does not change any characteristics. Only cameras the cached list does not know yet
+    // and external cameras, which may have been disconnected, invalidate the cache.
+    if (available) {
+      if (cameraIdList != null && !Arrays.asList(cameraIdList).contains(cameraId)) {
+        cameraIdList = null;
+      }
+      return;
+    }
+    CameraCharacteristics cached = characteristics.get(cameraId);
+    Integer lensFacing = cached == null ? null : cached.get(CameraCharacteristics.LENS_FACING);
+    if (lensFacing != null && lensFacing == CameraMetadata.LENS_FACING_EXTERNAL) {
+      characteristics.remove(cameraId);
+      cameraIdList = null;
+    }
+  }
+}
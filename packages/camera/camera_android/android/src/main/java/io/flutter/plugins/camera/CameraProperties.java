@@ -240,6 +240,23 @@ public interface CameraProperties {
    */
   int getSensorOrientation();
 
+  /**
+   * Returns the time base of the timestamps of images captured by the camera.
+   *
+   * <p><strong>Possible values:</strong>
+   *
+   * <ul>
+   *   <li>@see android.hardware.camera2.CameraMetadata.SENSOR_INFO_TIMESTAMP_SOURCE_UNKNOWN
+   *   <li>@see android.hardware.camera2.CameraMetadata.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME
+   * </ul>
+   *
+   * <p>By default maps to the @see
+   * android.hardware.camera2.CameraCharacteristics#SENSOR_INFO_TIMESTAMP_SOURCE key.
+   *
+   * @return int Time base of the timestamps of images captured by the camera.
+   */
+  int getSensorInfoTimestampSource();
+
   /**
    * Returns a level which generally classifies the overall set of the camera device functionality.
    *
@@ -26,8 +26,17 @@ public class CameraPropertiesImpl implements CameraProperties {
 
   public CameraPropertiesImpl(@NonNull String cameraName, @NonNull CameraManager cameraManager)
       throws CameraAccessException {
+    this(cameraName, cameraManager.getCameraCharacteristics(cameraName));
+  }
+
+  /**
+   * Creates properties for a camera whose characteristics have already been read, for example
+   * from the {@link CameraCharacteristicsCache}.
+   */
+  public CameraPropertiesImpl(
+      @NonNull String cameraName, @NonNull CameraCharacteristics cameraCharacteristics) {
     this.cameraName = cameraName;
-    this.cameraCharacteristics = cameraManager.getCameraCharacteristics(cameraName);
+    this.cameraCharacteristics = cameraCharacteristics;
   }
 
   @NonNull
@@ -153,6 +162,11 @@ public class CameraPropertiesImpl implements CameraProperties {
     return cameraCharacteristics.get(CameraCharacteristics.SENSOR_ORIENTATION);
   }
 
+  @Override
+  public int getSensorInfoTimestampSource() {
+    return cameraCharacteristics.get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE);
+  }
+
   @Override
   public int getHardwareLevel() {
     return cameraCharacteristics.get(CameraCharacteristics.INFO_SUPPORTED_HARDWARE_LEVEL);
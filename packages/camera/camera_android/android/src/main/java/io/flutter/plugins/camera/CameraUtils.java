@@ -7,16 +7,19 @@ package io.flutter.plugins.camera;
 import android.app.Activity;
 import android.content.Context;
 import android.graphics.ImageFormat;
+import android.graphics.Rect;
 import android.hardware.camera2.CameraAccessException;
 import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamOptions;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -67,7 +70,20 @@ public final class CameraUtils {
   public static List<Messages.PlatformCameraDescription> getAvailableCameras(
       @NonNull Activity activity) throws CameraAccessException {
     CameraManager cameraManager = (CameraManager) activity.getSystemService(Context.CAMERA_SERVICE);
-    String[] cameraNames = cameraManager.getCameraIdList();
+    return getAvailableCameras(new CameraCharacteristicsCache(cameraManager));
+  }
+
+  /**
+   * Gets all the available cameras for the device, reading them from {@code cache}.
+   *
+   * @param cache The cache of the camera IDs and characteristics.
+   * @return A map of all the available cameras, with their name as their key.
+   * @throws CameraAccessException when the camera could not be accessed.
+   */
+  @NonNull
+  static List<Messages.PlatformCameraDescription> getAvailableCameras(
+      @NonNull CameraCharacteristicsCache cache) throws CameraAccessException {
+    String[] cameraNames = cache.getCameraIdList();
     List<Messages.PlatformCameraDescription> cameras = new ArrayList<>();
     for (String cameraName : cameraNames) {
       int cameraId;
@@ -80,7 +96,7 @@ public final class CameraUtils {
         continue;
       }
 
-      CameraCharacteristics characteristics = cameraManager.getCameraCharacteristics(cameraName);
+      CameraCharacteristics characteristics = cache.getCameraCharacteristics(cameraName);
       int sensorOrientation = characteristics.get(CameraCharacteristics.SENSOR_ORIENTATION);
 
       int lensFacing = characteristics.get(CameraCharacteristics.LENS_FACING);
@@ -277,4 +293,62 @@ public final class CameraUtils {
     }
     throw new IllegalStateException("Unreachable code");
   }
+
+  /**
+   * Converts a PlatformImageStreamDropPolicy from Pigeon to a FrameDropPolicy.
+   *
+   * @param policy A PlatformImageStreamDropPolicy.
+   * @return The corresponding FrameDropPolicy.
+   */
+  @NonNull
+  public static ImageStreamOptions.FrameDropPolicy frameDropPolicyFromPigeon(
+      @NonNull Messages.PlatformImageStreamDropPolicy policy) {
+    switch (policy) {
+      case DROP_OLDEST:
+        return ImageStreamOptions.FrameDropPolicy.DROP_OLDEST;
+      case DROP_NEWEST:
+        return ImageStreamOptions.FrameDropPolicy.DROP_NEWEST;
+    }
+    throw new IllegalStateException("Unreachable code");
+  }
+
+  /**
+   * Converts PlatformImageStreamOptions from Pigeon to ImageStreamOptions.
+   *
+   * @param options PlatformImageStreamOptions.
+   * @return The corresponding ImageStreamOptions.
+   */
+  @NonNull
+  public static ImageStreamOptions imageStreamOptionsFromPigeon(
+      @NonNull Messages.PlatformImageStreamOptions options) {
+    Long maxFramesInFlight = options.getMaxFramesInFlight();
+    Rect cropRect = null;
+    if (options.getCropWidth() != null && options.getCropHeight() != null) {
+      int left = intOrDefault(options.getCropLeft(), 0);
+      int top = intOrDefault(options.getCropTop(), 0);
+      cropRect =
+          new Rect(
+              left,
+              top,
+              left + options.getCropWidth().intValue(),
+              top + options.getCropHeight().intValue());
+    }
+    return new ImageStreamOptions(
+        maxFramesInFlight == null
+            ? ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT
+            : maxFramesInFlight.intValue(),
+        frameDropPolicyFromPigeon(options.getDropPolicy()),
+        cropRect,
+        intOrDefault(options.getTargetWidth(), 0),
+        intOrDefault(options.getTargetHeight(), 0),
+        intOrDefault(options.getSubsampleFactor(), 1),
+        options.getLumaOnly(),
+        options.getCompactEncoding(),
+        options.getGpuTransform(),
+        options.getRotationDegrees().intValue());
+  }
+
+  private static int intOrDefault(@Nullable Long value, int defaultValue) {
+    return value == null ? defaultValue : value.intValue();
+  }
 }
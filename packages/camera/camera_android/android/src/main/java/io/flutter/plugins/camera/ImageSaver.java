@@ -6,14 +6,21 @@ package io.flutter.plugins.camera;
 
 import android.media.Image;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
-/** Saves a JPEG {@link Image} into the specified {@link File}. */
+/**
+ * Saves a JPEG {@link Image} into the specified {@link File}.
+ *
+ * <p>The JPEG plane is written straight from the image's direct buffer to a {@link FileChannel},
+ * without being copied to the Java heap first, unless {@link #copyImage()} was called.
+ */
 public class ImageSaver implements Runnable {
 
   /** The JPEG image */
@@ -22,38 +29,71 @@ public class ImageSaver implements Runnable {
   /** The file we save the image into. */
   private final File file;
 
+  /** Whether the file is flushed to storage before completion is reported. */
+  private final boolean syncToDisk;
+
   /** Used to report the status of the save action. */
   private final Callback callback;
 
+  /** The JPEG data copied out of {@link #image}, or null while the image is still open. */
+  @Nullable private ByteBuffer copiedData;
+
   /**
    * Creates an instance of the ImageSaver runnable
    *
    * @param image - The image to save
    * @param file - The file to save the image to
+   * @param syncToDisk - Whether to flush the file and its metadata to storage before reporting
+   *     completion, so that it survives a crash or power loss right after the callback. This makes
+   *     saving slower.
    * @param callback - The callback that is run on completion, or when an error is encountered.
    */
-  ImageSaver(@NonNull Image image, @NonNull File file, @NonNull Callback callback) {
+  ImageSaver(
+      @NonNull Image image, @NonNull File file, boolean syncToDisk, @NonNull Callback callback) {
     this.image = image;
     this.file = file;
+    this.syncToDisk = syncToDisk;
     this.callback = callback;
   }
 
+  /**
+   * Copies the JPEG data to the Java heap and closes the image right away, so that its buffer is
+   * returned to the {@link android.media.ImageReader} before the picture has been saved.
+   */
+  void copyImage() {
+    if (copiedData != null) {
+      return;
+    }
+    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+    ByteBuffer data = ByteBuffer.allocate(buffer.remaining());
+    data.put(buffer);
+    data.flip();
+    copiedData = data;
+    image.close();
+  }
+
   @Override
   public void run() {
-    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-    byte[] bytes = new byte[buffer.remaining()];
-    buffer.get(bytes);
+    ByteBuffer buffer = copiedData != null ? copiedData : image.getPlanes()[0].getBuffer();
     FileOutputStream output = null;
     try {
       output = FileOutputStreamFactory.create(file);
-      output.write(bytes);
+      FileChannel channel = output.getChannel();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (syncToDisk) {
+        channel.force(true);
+      }
 
       callback.onComplete(file.getAbsolutePath());
 
     } catch (IOException e) {
       callback.onError("IOError", "Failed saving image");
     } finally {
-      image.close();
+      if (copiedData == null) {
+        image.close();
+      }
       if (null != output) {
         try {
           output.close();
@@ -0,0 +1,103 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import io.flutter.plugins.camera.media.ImageStreamOptions;
+import io.flutter.plugins.camera.media.ImageStreamReader;
+import io.flutter.plugins.camera.media.ImageStreamResampler;
+
+/**
+ * Crops, scales and rotates image stream frames on the GPU before they are copied for Dart.
+ *
+ * <p>The camera renders into the input surface of a {@link VideoRenderer}, which draws every frame
+ * into an RGBA {@link ImageStreamReader} that already has the size and orientation of the streamed
+ * frames. The whole transform thereby happens in a single draw call, and the CPU only copies the
+ * reduced frame.
+ */
+class ImageStreamGpuStage {
+  /**
+   * How many rendered images the reader holds. One is being copied while the renderer draws the
+   * next one.
+   */
+  private static final int MAX_IMAGES = 2;
+
+  private final ImageStreamReader imageStreamReader;
+  private final VideoRenderer renderer;
+  private final Surface inputSurface;
+
+  /**
+   * Creates the stage and waits until its render thread is ready.
+   *
+   * @param options are the options of the stream, which must use the {@link
+   *     ImageStreamOptions#gpuTransform}.
+   * @param inputWidth is the width of the frames the camera renders into the stage.
+   * @param inputHeight is the height of the frames the camera renders into the stage.
+   * @param uncaughtExceptionHandler handles errors of the render thread.
+   */
+  ImageStreamGpuStage(
+      @NonNull ImageStreamOptions options,
+      int inputWidth,
+      int inputHeight,
+      @NonNull Thread.UncaughtExceptionHandler uncaughtExceptionHandler)
+      throws InterruptedException {
+    // The crop and output size are computed the same way as for streams transformed on the CPU.
+    ImageStreamResampler.Geometry geometry =
+        ImageStreamResampler.computeGeometry(options, inputWidth, inputHeight);
+    boolean swapsAxes = options.rotationDegrees % 180 != 0;
+    int outputWidth = swapsAxes ? geometry.outputHeight : geometry.outputWidth;
+    int outputHeight = swapsAxes ? geometry.outputWidth : geometry.outputHeight;
+
+    imageStreamReader =
+        new ImageStreamReader(outputWidth, outputHeight, PixelFormat.RGBA_8888, MAX_IMAGES);
+    // Rendered images are stamped with the time they were drawn, not with the sensor timestamp.
+    imageStreamReader.getLatencyTracker().setRealtimeSensorTimestamps(false);
+    renderer =
+        new VideoRenderer(
+            imageStreamReader.getSurface(),
+            inputWidth,
+            inputHeight,
+            outputWidth,
+            outputHeight,
+            uncaughtExceptionHandler);
+    renderer.setRotation(options.rotationDegrees);
+    if (options.cropRect != null) {
+      renderer.setCrop(
+          new Rect(
+              geometry.left,
+              geometry.top,
+              geometry.left + geometry.width,
+              geometry.top + geometry.height));
+    }
+    inputSurface = renderer.getInputSurface();
+  }
+
+  /** Returns the surface the camera renders frames into. */
+  @NonNull
+  Surface getInputSurface() {
+    return inputSurface;
+  }
+
+  /** Returns the reader that receives the transformed frames. */
+  @NonNull
+  ImageStreamReader getImageStreamReader() {
+    return imageStreamReader;
+  }
+
+  /**
+   * Stops rendering and releases the reader.
+   *
+   * <p>The reader is only closed once the renderer has released its EGL surface on the render
+   * thread, so that no frame that was still queued is swapped into the surface of a closed reader.
+   */
+  void close() {
+    // Returns after the render thread has run its cleanup and finished.
+    renderer.close();
+    imageStreamReader.close();
+  }
+}
@@ -167,6 +167,18 @@ public class Messages {
     }
   }
 
+  /** Pigeon equivalent of [ImageStreamFrameDropPolicy]. */
+  public enum PlatformImageStreamDropPolicy {
+    DROP_OLDEST(0),
+    DROP_NEWEST(1);
+
+    final int index;
+
+    PlatformImageStreamDropPolicy(final int index) {
+      this.index = index;
+    }
+  }
+
   /**
    * Pigeon equivalent of [CameraDescription].
    *
@@ -721,7 +733,893 @@ public class Messages {
     }
 
     /** Constructor is non-public to enforce null safety; use Builder. */
-    PlatformMediaSettings() {}
+    PlatformMediaSettings() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformMediaSettings that = (PlatformMediaSettings) o;
+      return resolutionPreset.equals(that.resolutionPreset)
+          && Objects.equals(fps, that.fps)
+          && Objects.equals(videoBitrate, that.videoBitrate)
+          && Objects.equals(audioBitrate, that.audioBitrate)
+          && enableAudio.equals(that.enableAudio);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(resolutionPreset, fps, videoBitrate, audioBitrate, enableAudio);
+    }
+
+    public static final class Builder {
+
+      private @Nullable PlatformResolutionPreset resolutionPreset;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setResolutionPreset(@NonNull PlatformResolutionPreset setterArg) {
+        this.resolutionPreset = setterArg;
+        return this;
+      }
+
+      private @Nullable Long fps;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFps(@Nullable Long setterArg) {
+        this.fps = setterArg;
+        return this;
+      }
+
+      private @Nullable Long videoBitrate;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setVideoBitrate(@Nullable Long setterArg) {
+        this.videoBitrate = setterArg;
+        return this;
+      }
+
+      private @Nullable Long audioBitrate;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setAudioBitrate(@Nullable Long setterArg) {
+        this.audioBitrate = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean enableAudio;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEnableAudio(@NonNull Boolean setterArg) {
+        this.enableAudio = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformMediaSettings build() {
+        PlatformMediaSettings pigeonReturn = new PlatformMediaSettings();
+        pigeonReturn.setResolutionPreset(resolutionPreset);
+        pigeonReturn.setFps(fps);
+        pigeonReturn.setVideoBitrate(videoBitrate);
+        pigeonReturn.setAudioBitrate(audioBitrate);
+        pigeonReturn.setEnableAudio(enableAudio);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(resolutionPreset);
+      toListResult.add(fps);
+      toListResult.add(videoBitrate);
+      toListResult.add(audioBitrate);
+      toListResult.add(enableAudio);
+      return toListResult;
+    }
+
+    static @NonNull PlatformMediaSettings fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformMediaSettings pigeonResult = new PlatformMediaSettings();
+      Object resolutionPreset = pigeonVar_list.get(0);
+      pigeonResult.setResolutionPreset((PlatformResolutionPreset) resolutionPreset);
+      Object fps = pigeonVar_list.get(1);
+      pigeonResult.setFps((Long) fps);
+      Object videoBitrate = pigeonVar_list.get(2);
+      pigeonResult.setVideoBitrate((Long) videoBitrate);
+      Object audioBitrate = pigeonVar_list.get(3);
+      pigeonResult.setAudioBitrate((Long) audioBitrate);
+      Object enableAudio = pigeonVar_list.get(4);
+      pigeonResult.setEnableAudio((Boolean) enableAudio);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Pigeon equivalent of [AndroidCameraImageStreamOptions].
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformImageStreamOptions {
+    private @Nullable Long maxFramesInFlight;
+
+    public @Nullable Long getMaxFramesInFlight() {
+      return maxFramesInFlight;
+    }
+
+    public void setMaxFramesInFlight(@Nullable Long setterArg) {
+      this.maxFramesInFlight = setterArg;
+    }
+
+    private @NonNull PlatformImageStreamDropPolicy dropPolicy;
+
+    public @NonNull PlatformImageStreamDropPolicy getDropPolicy() {
+      return dropPolicy;
+    }
+
+    public void setDropPolicy(@NonNull PlatformImageStreamDropPolicy setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"dropPolicy\" is null.");
+      }
+      this.dropPolicy = setterArg;
+    }
+
+    private @Nullable Long cropLeft;
+
+    public @Nullable Long getCropLeft() {
+      return cropLeft;
+    }
+
+    public void setCropLeft(@Nullable Long setterArg) {
+      this.cropLeft = setterArg;
+    }
+
+    private @Nullable Long cropTop;
+
+    public @Nullable Long getCropTop() {
+      return cropTop;
+    }
+
+    public void setCropTop(@Nullable Long setterArg) {
+      this.cropTop = setterArg;
+    }
+
+    private @Nullable Long cropWidth;
+
+    public @Nullable Long getCropWidth() {
+      return cropWidth;
+    }
+
+    public void setCropWidth(@Nullable Long setterArg) {
+      this.cropWidth = setterArg;
+    }
+
+    private @Nullable Long cropHeight;
+
+    public @Nullable Long getCropHeight() {
+      return cropHeight;
+    }
+
+    public void setCropHeight(@Nullable Long setterArg) {
+      this.cropHeight = setterArg;
+    }
+
+    private @Nullable Long targetWidth;
+
+    public @Nullable Long getTargetWidth() {
+      return targetWidth;
+    }
+
+    public void setTargetWidth(@Nullable Long setterArg) {
+      this.targetWidth = setterArg;
+    }
+
+    private @Nullable Long targetHeight;
+
+    public @Nullable Long getTargetHeight() {
+      return targetHeight;
+    }
+
+    public void setTargetHeight(@Nullable Long setterArg) {
+      this.targetHeight = setterArg;
+    }
+
+    private @Nullable Long subsampleFactor;
+
+    public @Nullable Long getSubsampleFactor() {
+      return subsampleFactor;
+    }
+
+    public void setSubsampleFactor(@Nullable Long setterArg) {
+      this.subsampleFactor = setterArg;
+    }
+
+    private @NonNull Boolean lumaOnly;
+
+    public @NonNull Boolean getLumaOnly() {
+      return lumaOnly;
+    }
+
+    public void setLumaOnly(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"lumaOnly\" is null.");
+      }
+      this.lumaOnly = setterArg;
+    }
+
+    private @NonNull Boolean compactEncoding;
+
+    public @NonNull Boolean getCompactEncoding() {
+      return compactEncoding;
+    }
+
+    public void setCompactEncoding(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"compactEncoding\" is null.");
+      }
+      this.compactEncoding = setterArg;
+    }
+
+    private @NonNull Boolean gpuTransform;
+
+    public @NonNull Boolean getGpuTransform() {
+      return gpuTransform;
+    }
+
+    public void setGpuTransform(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"gpuTransform\" is null.");
+      }
+      this.gpuTransform = setterArg;
+    }
+
+    private @NonNull Long rotationDegrees;
+
+    public @NonNull Long getRotationDegrees() {
+      return rotationDegrees;
+    }
+
+    public void setRotationDegrees(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rotationDegrees\" is null.");
+      }
+      this.rotationDegrees = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformImageStreamOptions() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformImageStreamOptions that = (PlatformImageStreamOptions) o;
+      return Objects.equals(maxFramesInFlight, that.maxFramesInFlight)
+          && dropPolicy.equals(that.dropPolicy)
+          && Objects.equals(cropLeft, that.cropLeft)
+          && Objects.equals(cropTop, that.cropTop)
+          && Objects.equals(cropWidth, that.cropWidth)
+          && Objects.equals(cropHeight, that.cropHeight)
+          && Objects.equals(targetWidth, that.targetWidth)
+          && Objects.equals(targetHeight, that.targetHeight)
+          && Objects.equals(subsampleFactor, that.subsampleFactor)
+          && lumaOnly.equals(that.lumaOnly)
+          && compactEncoding.equals(that.compactEncoding)
+          && gpuTransform.equals(that.gpuTransform)
+          && rotationDegrees.equals(that.rotationDegrees);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          maxFramesInFlight, dropPolicy, cropLeft, cropTop, cropWidth, cropHeight, targetWidth,
+          targetHeight, subsampleFactor, lumaOnly, compactEncoding, gpuTransform, rotationDegrees);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long maxFramesInFlight;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxFramesInFlight(@Nullable Long setterArg) {
+        this.maxFramesInFlight = setterArg;
+        return this;
+      }
+
+      private @Nullable PlatformImageStreamDropPolicy dropPolicy;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDropPolicy(@NonNull PlatformImageStreamDropPolicy setterArg) {
+        this.dropPolicy = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropLeft;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropLeft(@Nullable Long setterArg) {
+        this.cropLeft = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropTop;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropTop(@Nullable Long setterArg) {
+        this.cropTop = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropWidth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropWidth(@Nullable Long setterArg) {
+        this.cropWidth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropHeight;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropHeight(@Nullable Long setterArg) {
+        this.cropHeight = setterArg;
+        return this;
+      }
+
+      private @Nullable Long targetWidth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setTargetWidth(@Nullable Long setterArg) {
+        this.targetWidth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long targetHeight;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setTargetHeight(@Nullable Long setterArg) {
+        this.targetHeight = setterArg;
+        return this;
+      }
+
+      private @Nullable Long subsampleFactor;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSubsampleFactor(@Nullable Long setterArg) {
+        this.subsampleFactor = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean lumaOnly;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setLumaOnly(@NonNull Boolean setterArg) {
+        this.lumaOnly = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean compactEncoding;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCompactEncoding(@NonNull Boolean setterArg) {
+        this.compactEncoding = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean gpuTransform;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setGpuTransform(@NonNull Boolean setterArg) {
+        this.gpuTransform = setterArg;
+        return this;
+      }
+
+      private @Nullable Long rotationDegrees;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setRotationDegrees(@NonNull Long setterArg) {
+        this.rotationDegrees = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformImageStreamOptions build() {
+        PlatformImageStreamOptions pigeonReturn = new PlatformImageStreamOptions();
+        pigeonReturn.setMaxFramesInFlight(maxFramesInFlight);
+        pigeonReturn.setDropPolicy(dropPolicy);
+        pigeonReturn.setCropLeft(cropLeft);
+        pigeonReturn.setCropTop(cropTop);
+        pigeonReturn.setCropWidth(cropWidth);
+        pigeonReturn.setCropHeight(cropHeight);
+        pigeonReturn.setTargetWidth(targetWidth);
+        pigeonReturn.setTargetHeight(targetHeight);
+        pigeonReturn.setSubsampleFactor(subsampleFactor);
+        pigeonReturn.setLumaOnly(lumaOnly);
+        pigeonReturn.setCompactEncoding(compactEncoding);
+        pigeonReturn.setGpuTransform(gpuTransform);
+        pigeonReturn.setRotationDegrees(rotationDegrees);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(13);
+      toListResult.add(maxFramesInFlight);
+      toListResult.add(dropPolicy);
+      toListResult.add(cropLeft);
+      toListResult.add(cropTop);
+      toListResult.add(cropWidth);
+      toListResult.add(cropHeight);
+      toListResult.add(targetWidth);
+      toListResult.add(targetHeight);
+      toListResult.add(subsampleFactor);
+      toListResult.add(lumaOnly);
+      toListResult.add(compactEncoding);
+      toListResult.add(gpuTransform);
+      toListResult.add(rotationDegrees);
+      return toListResult;
+    }
+
+    static @NonNull PlatformImageStreamOptions fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformImageStreamOptions pigeonResult = new PlatformImageStreamOptions();
+      Object maxFramesInFlight = pigeonVar_list.get(0);
+      pigeonResult.setMaxFramesInFlight((Long) maxFramesInFlight);
+      Object dropPolicy = pigeonVar_list.get(1);
+      pigeonResult.setDropPolicy((PlatformImageStreamDropPolicy) dropPolicy);
+      Object cropLeft = pigeonVar_list.get(2);
+      pigeonResult.setCropLeft((Long) cropLeft);
+      Object cropTop = pigeonVar_list.get(3);
+      pigeonResult.setCropTop((Long) cropTop);
+      Object cropWidth = pigeonVar_list.get(4);
+      pigeonResult.setCropWidth((Long) cropWidth);
+      Object cropHeight = pigeonVar_list.get(5);
+      pigeonResult.setCropHeight((Long) cropHeight);
+      Object targetWidth = pigeonVar_list.get(6);
+      pigeonResult.setTargetWidth((Long) targetWidth);
+      Object targetHeight = pigeonVar_list.get(7);
+      pigeonResult.setTargetHeight((Long) targetHeight);
+      Object subsampleFactor = pigeonVar_list.get(8);
+      pigeonResult.setSubsampleFactor((Long) subsampleFactor);
+      Object lumaOnly = pigeonVar_list.get(9);
+      pigeonResult.setLumaOnly((Boolean) lumaOnly);
+      Object compactEncoding = pigeonVar_list.get(10);
+      pigeonResult.setCompactEncoding((Boolean) compactEncoding);
+      Object gpuTransform = pigeonVar_list.get(11);
+      pigeonResult.setGpuTransform((Boolean) gpuTransform);
+      Object rotationDegrees = pigeonVar_list.get(12);
+      pigeonResult.setRotationDegrees((Long) rotationDegrees);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Pigeon equivalent of [AndroidImageStreamStatistics].
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformImageStreamStatistics {
+    private @NonNull Long deliveredFrames;
+
+    public @NonNull Long getDeliveredFrames() {
+      return deliveredFrames;
+    }
+
+    public void setDeliveredFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"deliveredFrames\" is null.");
+      }
+      this.deliveredFrames = setterArg;
+    }
+
+    private @NonNull Long droppedFrames;
+
+    public @NonNull Long getDroppedFrames() {
+      return droppedFrames;
+    }
+
+    public void setDroppedFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"droppedFrames\" is null.");
+      }
+      this.droppedFrames = setterArg;
+    }
+
+    private @NonNull Long frameAllocations;
+
+    public @NonNull Long getFrameAllocations() {
+      return frameAllocations;
+    }
+
+    public void setFrameAllocations(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"frameAllocations\" is null.");
+      }
+      this.frameAllocations = setterArg;
+    }
+
+    private @NonNull Long bufferAllocations;
+
+    public @NonNull Long getBufferAllocations() {
+      return bufferAllocations;
+    }
+
+    public void setBufferAllocations(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bufferAllocations\" is null.");
+      }
+      this.bufferAllocations = setterArg;
+    }
+
+    private @NonNull Long reusedFrames;
+
+    public @NonNull Long getReusedFrames() {
+      return reusedFrames;
+    }
+
+    public void setReusedFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"reusedFrames\" is null.");
+      }
+      this.reusedFrames = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformImageStreamStatistics() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformImageStreamStatistics that = (PlatformImageStreamStatistics) o;
+      return deliveredFrames.equals(that.deliveredFrames)
+          && droppedFrames.equals(that.droppedFrames)
+          && frameAllocations.equals(that.frameAllocations)
+          && bufferAllocations.equals(that.bufferAllocations)
+          && reusedFrames.equals(that.reusedFrames);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          deliveredFrames, droppedFrames, frameAllocations, bufferAllocations, reusedFrames);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long deliveredFrames;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDeliveredFrames(@NonNull Long setterArg) {
+        this.deliveredFrames = setterArg;
+        return this;
+      }
+
+      private @Nullable Long droppedFrames;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDroppedFrames(@NonNull Long setterArg) {
+        this.droppedFrames = setterArg;
+        return this;
+      }
+
+      private @Nullable Long frameAllocations;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFrameAllocations(@NonNull Long setterArg) {
+        this.frameAllocations = setterArg;
+        return this;
+      }
+
+      private @Nullable Long bufferAllocations;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBufferAllocations(@NonNull Long setterArg) {
+        this.bufferAllocations = setterArg;
+        return this;
+      }
+
+      private @Nullable Long reusedFrames;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setReusedFrames(@NonNull Long setterArg) {
+        this.reusedFrames = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformImageStreamStatistics build() {
+        PlatformImageStreamStatistics pigeonReturn = new PlatformImageStreamStatistics();
+        pigeonReturn.setDeliveredFrames(deliveredFrames);
+        pigeonReturn.setDroppedFrames(droppedFrames);
+        pigeonReturn.setFrameAllocations(frameAllocations);
+        pigeonReturn.setBufferAllocations(bufferAllocations);
+        pigeonReturn.setReusedFrames(reusedFrames);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(deliveredFrames);
+      toListResult.add(droppedFrames);
+      toListResult.add(frameAllocations);
+      toListResult.add(bufferAllocations);
+      toListResult.add(reusedFrames);
+      return toListResult;
+    }
+
+    static @NonNull PlatformImageStreamStatistics fromList(
+        @NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformImageStreamStatistics pigeonResult = new PlatformImageStreamStatistics();
+      Object deliveredFrames = pigeonVar_list.get(0);
+      pigeonResult.setDeliveredFrames((Long) deliveredFrames);
+      Object droppedFrames = pigeonVar_list.get(1);
+      pigeonResult.setDroppedFrames((Long) droppedFrames);
+      Object frameAllocations = pigeonVar_list.get(2);
+      pigeonResult.setFrameAllocations((Long) frameAllocations);
+      Object bufferAllocations = pigeonVar_list.get(3);
+      pigeonResult.setBufferAllocations((Long) bufferAllocations);
+      Object reusedFrames = pigeonVar_list.get(4);
+      pigeonResult.setReusedFrames((Long) reusedFrames);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Pigeon equivalent of [AndroidLatencyPercentiles].
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformLatencyPercentiles {
+    private @NonNull Long sampleCount;
+
+    public @NonNull Long getSampleCount() {
+      return sampleCount;
+    }
+
+    public void setSampleCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sampleCount\" is null.");
+      }
+      this.sampleCount = setterArg;
+    }
+
+    private @NonNull Long p50Micros;
+
+    public @NonNull Long getP50Micros() {
+      return p50Micros;
+    }
+
+    public void setP50Micros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p50Micros\" is null.");
+      }
+      this.p50Micros = setterArg;
+    }
+
+    private @NonNull Long p90Micros;
+
+    public @NonNull Long getP90Micros() {
+      return p90Micros;
+    }
+
+    public void setP90Micros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p90Micros\" is null.");
+      }
+      this.p90Micros = setterArg;
+    }
+
+    private @NonNull Long p99Micros;
+
+    public @NonNull Long getP99Micros() {
+      return p99Micros;
+    }
+
+    public void setP99Micros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p99Micros\" is null.");
+      }
+      this.p99Micros = setterArg;
+    }
+
+    private @NonNull Long maxMicros;
+
+    public @NonNull Long getMaxMicros() {
+      return maxMicros;
+    }
+
+    public void setMaxMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxMicros\" is null.");
+      }
+      this.maxMicros = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformLatencyPercentiles() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformLatencyPercentiles that = (PlatformLatencyPercentiles) o;
+      return sampleCount.equals(that.sampleCount)
+          && p50Micros.equals(that.p50Micros)
+          && p90Micros.equals(that.p90Micros)
+          && p99Micros.equals(that.p99Micros)
+          && maxMicros.equals(that.maxMicros);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sampleCount, p50Micros, p90Micros, p99Micros, maxMicros);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long sampleCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSampleCount(@NonNull Long setterArg) {
+        this.sampleCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p50Micros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP50Micros(@NonNull Long setterArg) {
+        this.p50Micros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p90Micros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP90Micros(@NonNull Long setterArg) {
+        this.p90Micros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p99Micros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP99Micros(@NonNull Long setterArg) {
+        this.p99Micros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxMicros(@NonNull Long setterArg) {
+        this.maxMicros = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformLatencyPercentiles build() {
+        PlatformLatencyPercentiles pigeonReturn = new PlatformLatencyPercentiles();
+        pigeonReturn.setSampleCount(sampleCount);
+        pigeonReturn.setP50Micros(p50Micros);
+        pigeonReturn.setP90Micros(p90Micros);
+        pigeonReturn.setP99Micros(p99Micros);
+        pigeonReturn.setMaxMicros(maxMicros);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(sampleCount);
+      toListResult.add(p50Micros);
+      toListResult.add(p90Micros);
+      toListResult.add(p99Micros);
+      toListResult.add(maxMicros);
+      return toListResult;
+    }
+
+    static @NonNull PlatformLatencyPercentiles fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformLatencyPercentiles pigeonResult = new PlatformLatencyPercentiles();
+      Object sampleCount = pigeonVar_list.get(0);
+      pigeonResult.setSampleCount((Long) sampleCount);
+      Object p50Micros = pigeonVar_list.get(1);
+      pigeonResult.setP50Micros((Long) p50Micros);
+      Object p90Micros = pigeonVar_list.get(2);
+      pigeonResult.setP90Micros((Long) p90Micros);
+      Object p99Micros = pigeonVar_list.get(3);
+      pigeonResult.setP99Micros((Long) p99Micros);
+      Object maxMicros = pigeonVar_list.get(4);
+      pigeonResult.setMaxMicros((Long) maxMicros);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Pigeon equivalent of [AndroidImageStreamLatency].
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformImageStreamLatency {
+    private @NonNull Long recordedFrames;
+
+    public @NonNull Long getRecordedFrames() {
+      return recordedFrames;
+    }
+
+    public void setRecordedFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"recordedFrames\" is null.");
+      }
+      this.recordedFrames = setterArg;
+    }
+
+    private @Nullable PlatformLatencyPercentiles sensorToAcquire;
+
+    public @Nullable PlatformLatencyPercentiles getSensorToAcquire() {
+      return sensorToAcquire;
+    }
+
+    public void setSensorToAcquire(@Nullable PlatformLatencyPercentiles setterArg) {
+      this.sensorToAcquire = setterArg;
+    }
+
+    private @Nullable PlatformLatencyPercentiles acquireToConverted;
+
+    public @Nullable PlatformLatencyPercentiles getAcquireToConverted() {
+      return acquireToConverted;
+    }
+
+    public void setAcquireToConverted(@Nullable PlatformLatencyPercentiles setterArg) {
+      this.acquireToConverted = setterArg;
+    }
+
+    private @Nullable PlatformLatencyPercentiles convertedToPosted;
+
+    public @Nullable PlatformLatencyPercentiles getConvertedToPosted() {
+      return convertedToPosted;
+    }
+
+    public void setConvertedToPosted(@Nullable PlatformLatencyPercentiles setterArg) {
+      this.convertedToPosted = setterArg;
+    }
+
+    private @Nullable PlatformLatencyPercentiles postedToDelivered;
+
+    public @Nullable PlatformLatencyPercentiles getPostedToDelivered() {
+      return postedToDelivered;
+    }
+
+    public void setPostedToDelivered(@Nullable PlatformLatencyPercentiles setterArg) {
+      this.postedToDelivered = setterArg;
+    }
+
+    private @Nullable PlatformLatencyPercentiles sensorToDelivered;
+
+    public @Nullable PlatformLatencyPercentiles getSensorToDelivered() {
+      return sensorToDelivered;
+    }
+
+    public void setSensorToDelivered(@Nullable PlatformLatencyPercentiles setterArg) {
+      this.sensorToDelivered = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformImageStreamLatency() {}
 
     @Override
     public boolean equals(Object o) {
@@ -731,95 +1629,110 @@ public class Messages {
       if (o == null || getClass() != o.getClass()) {
         return false;
       }
-      PlatformMediaSettings that = (PlatformMediaSettings) o;
-      return resolutionPreset.equals(that.resolutionPreset)
-          && Objects.equals(fps, that.fps)
-          && Objects.equals(videoBitrate, that.videoBitrate)
-          && Objects.equals(audioBitrate, that.audioBitrate)
-          && enableAudio.equals(that.enableAudio);
+      PlatformImageStreamLatency that = (PlatformImageStreamLatency) o;
+      return recordedFrames.equals(that.recordedFrames)
+          && Objects.equals(sensorToAcquire, that.sensorToAcquire)
+          && Objects.equals(acquireToConverted, that.acquireToConverted)
+          && Objects.equals(convertedToPosted, that.convertedToPosted)
+          && Objects.equals(postedToDelivered, that.postedToDelivered)
+          && Objects.equals(sensorToDelivered, that.sensorToDelivered);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(resolutionPreset, fps, videoBitrate, audioBitrate, enableAudio);
+      return Objects.hash(
+          recordedFrames, sensorToAcquire, acquireToConverted, convertedToPosted, postedToDelivered,
+          sensorToDelivered);
     }
 
     public static final class Builder {
 
-      private @Nullable PlatformResolutionPreset resolutionPreset;
+      private @Nullable Long recordedFrames;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setResolutionPreset(@NonNull PlatformResolutionPreset setterArg) {
-        this.resolutionPreset = setterArg;
+      public @NonNull Builder setRecordedFrames(@NonNull Long setterArg) {
+        this.recordedFrames = setterArg;
         return this;
       }
 
-      private @Nullable Long fps;
+      private @Nullable PlatformLatencyPercentiles sensorToAcquire;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setFps(@Nullable Long setterArg) {
-        this.fps = setterArg;
+      public @NonNull Builder setSensorToAcquire(@Nullable PlatformLatencyPercentiles setterArg) {
+        this.sensorToAcquire = setterArg;
         return this;
       }
 
-      private @Nullable Long videoBitrate;
+      private @Nullable PlatformLatencyPercentiles acquireToConverted;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setVideoBitrate(@Nullable Long setterArg) {
-        this.videoBitrate = setterArg;
+      public @NonNull Builder setAcquireToConverted(@Nullable PlatformLatencyPercentiles setterArg) {
+        this.acquireToConverted = setterArg;
         return this;
       }
 
-      private @Nullable Long audioBitrate;
+      private @Nullable PlatformLatencyPercentiles convertedToPosted;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setAudioBitrate(@Nullable Long setterArg) {
-        this.audioBitrate = setterArg;
+      public @NonNull Builder setConvertedToPosted(@Nullable PlatformLatencyPercentiles setterArg) {
+        this.convertedToPosted = setterArg;
         return this;
       }
 
-      private @Nullable Boolean enableAudio;
+      private @Nullable PlatformLatencyPercentiles postedToDelivered;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setEnableAudio(@NonNull Boolean setterArg) {
-        this.enableAudio = setterArg;
+      public @NonNull Builder setPostedToDelivered(@Nullable PlatformLatencyPercentiles setterArg) {
+        this.postedToDelivered = setterArg;
         return this;
       }
 
-      public @NonNull PlatformMediaSettings build() {
-        PlatformMediaSettings pigeonReturn = new PlatformMediaSettings();
-        pigeonReturn.setResolutionPreset(resolutionPreset);
-        pigeonReturn.setFps(fps);
-        pigeonReturn.setVideoBitrate(videoBitrate);
-        pigeonReturn.setAudioBitrate(audioBitrate);
-        pigeonReturn.setEnableAudio(enableAudio);
+      private @Nullable PlatformLatencyPercentiles sensorToDelivered;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSensorToDelivered(@Nullable PlatformLatencyPercentiles setterArg) {
+        this.sensorToDelivered = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformImageStreamLatency build() {
+        PlatformImageStreamLatency pigeonReturn = new PlatformImageStreamLatency();
+        pigeonReturn.setRecordedFrames(recordedFrames);
+        pigeonReturn.setSensorToAcquire(sensorToAcquire);
+        pigeonReturn.setAcquireToConverted(acquireToConverted);
+        pigeonReturn.setConvertedToPosted(convertedToPosted);
+        pigeonReturn.setPostedToDelivered(postedToDelivered);
+        pigeonReturn.setSensorToDelivered(sensorToDelivered);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(5);
-      toListResult.add(resolutionPreset);
-      toListResult.add(fps);
-      toListResult.add(videoBitrate);
-      toListResult.add(audioBitrate);
-      toListResult.add(enableAudio);
+      ArrayList<Object> toListResult = new ArrayList<>(6);
+      toListResult.add(recordedFrames);
+      toListResult.add(sensorToAcquire);
+      toListResult.add(acquireToConverted);
+      toListResult.add(convertedToPosted);
+      toListResult.add(postedToDelivered);
+      toListResult.add(sensorToDelivered);
       return toListResult;
     }
 
-    static @NonNull PlatformMediaSettings fromList(@NonNull ArrayList<Object> pigeonVar_list) {
-      PlatformMediaSettings pigeonResult = new PlatformMediaSettings();
-      Object resolutionPreset = pigeonVar_list.get(0);
-      pigeonResult.setResolutionPreset((PlatformResolutionPreset) resolutionPreset);
-      Object fps = pigeonVar_list.get(1);
-      pigeonResult.setFps((Long) fps);
-      Object videoBitrate = pigeonVar_list.get(2);
-      pigeonResult.setVideoBitrate((Long) videoBitrate);
-      Object audioBitrate = pigeonVar_list.get(3);
-      pigeonResult.setAudioBitrate((Long) audioBitrate);
-      Object enableAudio = pigeonVar_list.get(4);
-      pigeonResult.setEnableAudio((Boolean) enableAudio);
+    static @NonNull PlatformImageStreamLatency fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformImageStreamLatency pigeonResult = new PlatformImageStreamLatency();
+      Object recordedFrames = pigeonVar_list.get(0);
+      pigeonResult.setRecordedFrames((Long) recordedFrames);
+      Object sensorToAcquire = pigeonVar_list.get(1);
+      pigeonResult.setSensorToAcquire((PlatformLatencyPercentiles) sensorToAcquire);
+      Object acquireToConverted = pigeonVar_list.get(2);
+      pigeonResult.setAcquireToConverted((PlatformLatencyPercentiles) acquireToConverted);
+      Object convertedToPosted = pigeonVar_list.get(3);
+      pigeonResult.setConvertedToPosted((PlatformLatencyPercentiles) convertedToPosted);
+      Object postedToDelivered = pigeonVar_list.get(4);
+      pigeonResult.setPostedToDelivered((PlatformLatencyPercentiles) postedToDelivered);
+      Object sensorToDelivered = pigeonVar_list.get(5);
+      pigeonResult.setSensorToDelivered((PlatformLatencyPercentiles) sensorToDelivered);
       return pigeonResult;
     }
   }
@@ -876,15 +1789,30 @@ public class Messages {
             return value == null ? null : PlatformFlashMode.values()[((Long) value).intValue()];
           }
         case (byte) 136:
-          return PlatformCameraDescription.fromList((ArrayList<Object>) readValue(buffer));
+          {
+            Object value = readValue(buffer);
+            return value == null
+                ? null
+                : PlatformImageStreamDropPolicy.values()[((Long) value).intValue()];
+          }
         case (byte) 137:
-          return PlatformCameraState.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformCameraDescription.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 138:
-          return PlatformSize.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformCameraState.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 139:
-          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformSize.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 140:
+          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 141:
           return PlatformMediaSettings.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 142:
+          return PlatformImageStreamOptions.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 143:
+          return PlatformImageStreamStatistics.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 144:
+          return PlatformLatencyPercentiles.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 145:
+          return PlatformImageStreamLatency.fromList((ArrayList<Object>) readValue(buffer));
         default:
           return super.readValueOfType(type, buffer);
       }
@@ -913,21 +1841,36 @@ public class Messages {
       } else if (value instanceof PlatformFlashMode) {
         stream.write(135);
         writeValue(stream, value == null ? null : ((PlatformFlashMode) value).index);
-      } else if (value instanceof PlatformCameraDescription) {
+      } else if (value instanceof PlatformImageStreamDropPolicy) {
         stream.write(136);
+        writeValue(stream, value == null ? null : ((PlatformImageStreamDropPolicy) value).index);
+      } else if (value instanceof PlatformCameraDescription) {
+        stream.write(137);
         writeValue(stream, ((PlatformCameraDescription) value).toList());
       } else if (value instanceof PlatformCameraState) {
-        stream.write(137);
+        stream.write(138);
         writeValue(stream, ((PlatformCameraState) value).toList());
       } else if (value instanceof PlatformSize) {
-        stream.write(138);
+        stream.write(139);
         writeValue(stream, ((PlatformSize) value).toList());
       } else if (value instanceof PlatformPoint) {
-        stream.write(139);
+        stream.write(140);
         writeValue(stream, ((PlatformPoint) value).toList());
       } else if (value instanceof PlatformMediaSettings) {
-        stream.write(140);
+        stream.write(141);
         writeValue(stream, ((PlatformMediaSettings) value).toList());
+      } else if (value instanceof PlatformImageStreamOptions) {
+        stream.write(142);
+        writeValue(stream, ((PlatformImageStreamOptions) value).toList());
+      } else if (value instanceof PlatformImageStreamStatistics) {
+        stream.write(143);
+        writeValue(stream, ((PlatformImageStreamStatistics) value).toList());
+      } else if (value instanceof PlatformLatencyPercentiles) {
+        stream.write(144);
+        writeValue(stream, ((PlatformLatencyPercentiles) value).toList());
+      } else if (value instanceof PlatformImageStreamLatency) {
+        stream.write(145);
+        writeValue(stream, ((PlatformImageStreamLatency) value).toList());
       } else {
         super.writeValue(stream, value);
       }
@@ -982,6 +1925,11 @@ public class Messages {
     void unlockCaptureOrientation();
     /** Takes a picture on the camera with the given ID and returns a path to the resulting file. */
     void takePicture(@NonNull Result<String> result);
+    /**
+     * Takes [count] pictures in a row on the camera with the given ID and returns the paths to the
+     * resulting files, in capture order.
+     */
+    void takePictureBurst(@NonNull Long count, @NonNull Result<List<String>> result);
     /** Starts recording a video on the camera with the given ID. */
     void startVideoRecording(@NonNull Boolean enableStream);
     /**
@@ -995,9 +1943,20 @@ public class Messages {
     /** Resumes previously paused video recording on the camera with the given ID. */
     void resumeVideoRecording();
     /** Begins streaming frames from the camera. */
-    void startImageStream();
+    void startImageStream(@NonNull PlatformImageStreamOptions options);
     /** Stops streaming frames from the camera. */
     void stopImageStream();
+    /**
+     * Signals that Dart has finished handling a streamed frame, which frees its slot of
+     * [PlatformImageStreamOptions.maxFramesInFlight].
+     */
+    void acknowledgeImageStreamFrame();
+    /** Returns counters describing the frames streamed since the camera was initialized. */
+    @NonNull
+    PlatformImageStreamStatistics getImageStreamStatistics();
+    /** Returns percentiles of how long recently streamed frames took to reach Dart. */
+    @NonNull
+    PlatformImageStreamLatency getImageStreamLatency();
     /** Sets the flash mode of the camera with the given ID. */
     void setFlashMode(@NonNull PlatformFlashMode flashMode, @NonNull VoidResult result);
     /** Sets the exposure mode of the camera with the given ID. */
@@ -1048,6 +2007,25 @@ public class Messages {
      * <p>This should be called only while video recording is active.
      */
     void setDescriptionWhileRecording(@NonNull String description);
+    /**
+     * Switches the camera to the one with the given name, reusing the resources of the current
+     * camera where possible.
+     *
+     * <p>Returns how long the switch took until the first frame of the new camera, in
+     * microseconds.
+     */
+    void switchCamera(@NonNull String cameraName, @NonNull Result<Long> result);
+    /**
+     * Sets whether the capture session keeps the image stream surface configured while no image
+     * stream is active, so that starting and stopping the stream only changes the targets of the
+     * repeating request.
+     */
+    void setPersistentImageStreamSession(@NonNull Boolean persistent);
+    /**
+     * Sets whether pictures are flushed to storage before their paths are returned, so that they
+     * survive a crash or power loss right after being taken.
+     */
+    void setSyncPicturesToDisk(@NonNull Boolean syncToDisk);
 
     /** The codec used by CameraApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -1241,6 +2219,38 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.takePictureBurst"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long countArg = (Long) args.get(0);
+                Result<List<String>> resultCallback =
+                    new Result<List<String>>() {
+                      public void success(List<String> result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takePictureBurst(countArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -1346,8 +2356,10 @@ public class Messages {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformImageStreamOptions optionsArg = (PlatformImageStreamOptions) args.get(0);
                 try {
-                  api.startImageStream();
+                  api.startImageStream(optionsArg);
                   wrapped.add(0, null);
                 } catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -1381,6 +2393,75 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.acknowledgeImageStreamFrame"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.acknowledgeImageStreamFrame();
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.getImageStreamStatistics"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformImageStreamStatistics output = api.getImageStreamStatistics();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.getImageStreamLatency"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformImageStreamLatency output = api.getImageStreamLatency();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -1778,6 +2859,87 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.switchCamera" + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String cameraNameArg = (String) args.get(0);
+                Result<Long> resultCallback =
+                    new Result<Long>() {
+                      public void success(Long result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.switchCamera(cameraNameArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.setPersistentImageStreamSession"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean persistentArg = (Boolean) args.get(0);
+                try {
+                  api.setPersistentImageStreamSession(persistentArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android.CameraApi.setSyncPicturesToDisk"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean syncToDiskArg = (Boolean) args.get(0);
+                try {
+                  api.setSyncPicturesToDisk(syncToDiskArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /**
@@ -0,0 +1,169 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tracks the pictures of a single burst capture and reports all of their paths at once.
+ *
+ * <p>Every image the camera delivers is handed out as an {@link ImageSaver} for its own file, so
+ * that earlier pictures are written to storage while later ones are still being captured. Once
+ * every requested picture has either been saved or failed, the {@link Callback} is invoked exactly
+ * once, with the paths in capture order.
+ */
+class PictureBurst {
+  /** Receives the outcome of a burst. */
+  interface Callback {
+    /** Called with the paths of all pictures, in the order they were captured. */
+    void onComplete(@NonNull List<String> absolutePaths);
+
+    /** Called instead of {@link #onComplete} if any picture of the burst could not be taken. */
+    void onError(@NonNull String errorCode, @Nullable String errorMessage);
+  }
+
+  private final int count;
+  private final File outputDirectory;
+  private final boolean syncToDisk;
+  private final Callback callback;
+  private final String[] paths;
+  private final boolean[] settled;
+
+  private int receivedImages;
+  private int failedCaptures;
+  private int settledPictures;
+  @Nullable private String errorCode;
+  @Nullable private String errorMessage;
+  private boolean finished;
+
+  /**
+   * Creates a new burst.
+   *
+   * @param count is the number of pictures requested from the camera.
+   * @param outputDirectory is the directory the pictures are saved to.
+   * @param syncToDisk is whether every picture is flushed to storage before it counts as saved.
+   * @param callback is notified once every picture has been saved or failed.
+   */
+  PictureBurst(
+      int count, @NonNull File outputDirectory, boolean syncToDisk, @NonNull Callback callback) {
+    if (count < 1) {
+      throw new IllegalArgumentException("count must be at least 1, got " + count);
+    }
+    this.count = count;
+    this.outputDirectory = outputDirectory;
+    this.syncToDisk = syncToDisk;
+    this.callback = callback;
+    this.paths = new String[count];
+    this.settled = new boolean[count];
+  }
+
+  /** Returns the number of pictures requested from the camera. */
+  int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns a saver that saves {@code image} as the next picture of the burst, or null if the image
+   * was not needed or no file could be created for it, in which case it has been closed.
+   */
+  @Nullable
+  synchronized ImageSaver onImageAvailable(@NonNull Image image) {
+    if (finished || receivedImages + failedCaptures >= count) {
+      image.close();
+      return null;
+    }
+    final int index = receivedImages++;
+    File file;
+    try {
+      file = File.createTempFile("CAP", ".jpg", outputDirectory);
+    } catch (IOException | SecurityException e) {
+      image.close();
+      settle(index, null, "cannotCreateFile", e.getMessage());
+      return null;
+    }
+    return new ImageSaver(
+        image,
+        file,
+        syncToDisk,
+        new ImageSaver.Callback() {
+          @Override
+          public void onComplete(@NonNull String absolutePath) {
+            settle(index, absolutePath, null, null);
+          }
+
+          @Override
+          public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+            settle(index, null, errorCode, errorMessage);
+          }
+        });
+  }
+
+  /** Records that the camera failed to produce one of the requested pictures. */
+  synchronized void onCaptureFailed(@Nullable String errorMessage) {
+    if (receivedImages + failedCaptures >= count) {
+      return;
+    }
+    failedCaptures++;
+    recordError("captureFailed", errorMessage);
+    finishIfSettled();
+  }
+
+  /** Fails the whole burst right away, for errors that stop any further picture from arriving. */
+  synchronized void onError(@NonNull String errorCode, @Nullable String errorMessage) {
+    recordError(errorCode, errorMessage);
+    failedCaptures = count - receivedImages;
+    finishIfSettled();
+  }
+
+  /** Returns whether the camera has delivered or failed every picture of the burst. */
+  synchronized boolean isCaptureComplete() {
+    return receivedImages + failedCaptures >= count;
+  }
+
+  private synchronized void settle(
+      int index,
+      @Nullable String absolutePath,
+      @Nullable String errorCode,
+      @Nullable String errorMessage) {
+    // ImageSaver may report an error after completion if closing the file fails.
+    if (absolutePath == null) {
+      recordError(errorCode, errorMessage);
+    }
+    if (settled[index]) {
+      finishIfSettled();
+      return;
+    }
+    settled[index] = true;
+    paths[index] = absolutePath;
+    settledPictures++;
+    finishIfSettled();
+  }
+
+  private void recordError(@Nullable String errorCode, @Nullable String errorMessage) {
+    if (this.errorCode == null) {
+      this.errorCode = errorCode == null ? "captureFailed" : errorCode;
+      this.errorMessage = errorMessage;
+    }
+  }
+
+  private void finishIfSettled() {
+    if (finished || settledPictures + failedCaptures < count) {
+      return;
+    }
+    finished = true;
+    if (errorCode != null) {
+      callback.onError(errorCode, errorMessage);
+    } else {
+      callback.onComplete(new ArrayList<>(Arrays.asList(paths)));
+    }
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the JPEG {@link android.media.ImageReader} from running out of buffers while pictures are
+ * being saved.
+ *
+ * <p>{@link ImageSaver} writes a picture straight from the buffer of its image, so the image stays
+ * open until the picture has been saved. Once {@link android.media.ImageReader#acquireNextImage()}
+ * has handed out as many images as the reader holds, it throws instead of returning the next one.
+ * Pictures are therefore only saved from their image while at least one buffer of the reader
+ * remains free; otherwise the picture is copied to the Java heap and its image closed right away.
+ *
+ * <p>{@link #prepare(ImageSaver)} must only be called from the thread that acquires the images.
+ */
+class PictureImageBudget {
+  private final int maxImages;
+  private final AtomicInteger openImages = new AtomicInteger();
+
+  /**
+   * Creates a new budget.
+   *
+   * @param maxImages is the maximum number of images of the reader that can be acquired at once.
+   */
+  PictureImageBudget(int maxImages) {
+    if (maxImages < 1) {
+      throw new IllegalArgumentException("maxImages must be at least 1, got " + maxImages);
+    }
+    this.maxImages = maxImages;
+  }
+
+  /**
+   * Returns a runnable that saves the picture of {@code saver}.
+   *
+   * <p>If keeping the image open until then could leave the reader without a free buffer for the
+   * next picture, the picture is copied out of its image first.
+   */
+  @NonNull
+  Runnable prepare(@NonNull final ImageSaver saver) {
+    // Only the thread that acquires images increments the count, so it can't grow between the
+    // check and the increment.
+    if (openImages.get() >= maxImages - 1) {
+      saver.copyImage();
+      return saver;
+    }
+    openImages.incrementAndGet();
+    return () -> {
+      try {
+        saver.run();
+      } finally {
+        openImages.decrementAndGet();
+      }
+    };
+  }
+
+  /** Returns how many images are kept open until their pictures have been saved. */
+  int getOpenImageCount() {
+    return openImages.get();
+  }
+}
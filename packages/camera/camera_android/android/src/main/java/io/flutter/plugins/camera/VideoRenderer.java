@@ -6,6 +6,7 @@ package io.flutter.plugins.camera;
 
 import static android.os.SystemClock.uptimeMillis;
 
+import android.graphics.Rect;
 import android.graphics.SurfaceTexture;
 import android.opengl.EGL14;
 import android.opengl.EGLConfig;
@@ -19,9 +20,12 @@ import android.opengl.GLUtils;
 import android.opengl.Matrix;
 import android.os.Handler;
 import android.os.HandlerThread;
+import android.os.Looper;
 import android.util.Log;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -38,6 +42,10 @@ import java.nio.ByteOrder;
  * <p>This leaves the solution to be routing the recording through a surface texture and performing
  * a matrix transformation on it manually to get the correct orientation. This only happens when
  * setDescription is called mid video recording.
+ *
+ * <p>The same pipeline also rotates, crops and downscales image stream frames on the GPU, in which
+ * case the input is sized like the camera output and the output surface belongs to a smaller
+ * ImageReader, see {@link ImageStreamGpuStage}.
  */
 public class VideoRenderer {
 
@@ -90,18 +98,22 @@ public class VideoRenderer {
   EGLDisplay display;
   EGLContext context;
   EGLSurface surface;
-  private Thread thread;
+  private HandlerThread renderThread;
+  private Handler renderHandler;
   private final Surface outputSurface;
   SurfaceTexture inputSurfaceTexture;
   private Surface inputSurface;
 
-  private HandlerThread surfaceTextureFrameAvailableHandler;
-  final Object surfaceTextureAvailableFrameLock = new Object();
-  Boolean surfaceTextureFrameAvailable = false;
+  private final float[] surfaceTextureMatrix = new float[16];
+  private final float[] croppedTextureMatrix = new float[16];
+  private final FrameCounters frameCounters = new FrameCounters();
 
   final int recordingWidth;
   final int recordingHeight;
+  private final int inputWidth;
+  private final int inputHeight;
   private int rotation = 0;
+  @Nullable private volatile float[] textureCropMatrix;
 
   private final Object lock = new Object();
 
@@ -123,20 +135,93 @@ public class VideoRenderer {
       int recordingWidth,
       int recordingHeight,
       @NonNull Thread.UncaughtExceptionHandler uncaughtExceptionHandler) {
+    this(
+        outputSurface,
+        recordingWidth,
+        recordingHeight,
+        recordingWidth,
+        recordingHeight,
+        uncaughtExceptionHandler);
+  }
+
+  /**
+   * Creates a renderer whose input has a different size than its output, so that every frame is
+   * scaled while it is drawn.
+   *
+   * @param outputSurface is the surface frames are drawn to.
+   * @param inputWidth is the width of the frames the camera produces.
+   * @param inputHeight is the height of the frames the camera produces.
+   * @param outputWidth is the width of the frames drawn to {@code outputSurface}.
+   * @param outputHeight is the height of the frames drawn to {@code outputSurface}.
+   * @param uncaughtExceptionHandler handles errors of the render thread.
+   */
+  public VideoRenderer(
+      @NonNull Surface outputSurface,
+      int inputWidth,
+      int inputHeight,
+      int outputWidth,
+      int outputHeight,
+      @NonNull Thread.UncaughtExceptionHandler uncaughtExceptionHandler) {
     this.outputSurface = outputSurface;
-    this.recordingHeight = recordingHeight;
-    this.recordingWidth = recordingWidth;
+    this.inputWidth = inputWidth;
+    this.inputHeight = inputHeight;
+    this.recordingHeight = outputHeight;
+    this.recordingWidth = outputWidth;
     this.uncaughtExceptionHandler = uncaughtExceptionHandler;
     startOpenGL();
     Log.d(TAG, "VideoRenderer setup complete");
   }
 
-  /** Stop rendering and cleanup resources. */
+  /**
+   * Stop rendering and cleanup resources.
+   *
+   * <p>Frames that are already being drawn are finished first, as the OpenGL resources are
+   * released on the render thread. This waits until the render thread has finished, so that the
+   * output surface is no longer drawn to once this returns and can be stopped or released.
+   */
   public void close() {
-    thread.interrupt();
-    surfaceTextureFrameAvailableHandler.quitSafely();
-    cleanupOpenGL();
-    inputSurfaceTexture.release();
+    renderHandler.post(
+        () -> {
+          Log.d(
+              TAG,
+              "Rendered "
+                  + getRenderedFrameCount()
+                  + " frames, dropped "
+                  + getDroppedFrameCount()
+                  + ", late "
+                  + getLateFrameCount());
+          inputSurfaceTexture.setOnFrameAvailableListener(null);
+          cleanupOpenGL();
+          inputSurfaceTexture.release();
+        });
+    renderThread.quitSafely();
+    try {
+      renderThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      Log.w(TAG, "Interrupted while waiting for the render thread to finish", e);
+    }
+  }
+
+  /** Returns how many frames have been drawn to the output surface. */
+  public long getRenderedFrameCount() {
+    return frameCounters.getRenderedFrames();
+  }
+
+  /**
+   * Returns how many frames from the camera were replaced by a newer frame before they could be
+   * drawn.
+   */
+  public long getDroppedFrameCount() {
+    return frameCounters.getDroppedFrames();
+  }
+
+  /**
+   * Returns how many frames took longer to draw than the interval to the frame before them, which
+   * means that the renderer was not keeping up with the camera.
+   */
+  public long getLateFrameCount() {
+    return frameCounters.getLateFrames();
   }
 
   private void cleanupOpenGL() {
@@ -258,24 +343,13 @@ public class VideoRenderer {
       GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureHandles[0]);
 
       inputSurfaceTexture = new SurfaceTexture(getTexId());
-      inputSurfaceTexture.setDefaultBufferSize(recordingWidth, recordingHeight);
-      surfaceTextureFrameAvailableHandler = new HandlerThread("FrameHandlerThread");
-      surfaceTextureFrameAvailableHandler.start();
+      inputSurfaceTexture.setDefaultBufferSize(inputWidth, inputHeight);
+
       inputSurface = new Surface(inputSurfaceTexture);
 
+      // Frames are drawn from the listener, which runs on the render thread that owns the context.
       inputSurfaceTexture.setOnFrameAvailableListener(
-          new SurfaceTexture.OnFrameAvailableListener() {
-            @Override
-            public void onFrameAvailable(SurfaceTexture surfaceTexture) {
-              synchronized (surfaceTextureAvailableFrameLock) {
-                if (surfaceTextureFrameAvailable)
-                  Log.w(TAG, "Frame available before processing other frames. dropping frames");
-                surfaceTextureFrameAvailable = true;
-                surfaceTextureAvailableFrameLock.notifyAll();
-              }
-            }
-          },
-          new Handler(surfaceTextureFrameAvailableHandler.getLooper()));
+          surfaceTexture -> renderFrame(), new Handler(Looper.myLooper()));
       lock.notifyAll();
     }
   }
@@ -283,39 +357,35 @@ public class VideoRenderer {
   /** Starts and configures Video Renderer. */
   private void startOpenGL() {
     Log.d(TAG, "Starting OpenGL Thread");
-    thread =
-        new Thread() {
-          @Override
-          public void run() {
-
-            configureOpenGL();
-
-            try {
-              // Continuously pull frames from input surface texture and use videoRenderer to modify
-              // to correct rotation.
-              while (!Thread.interrupted()) {
-
-                synchronized (surfaceTextureAvailableFrameLock) {
-                  while (!surfaceTextureFrameAvailable) {
-                    surfaceTextureAvailableFrameLock.wait(500);
-                  }
-                  surfaceTextureFrameAvailable = false;
-                }
-
-                inputSurfaceTexture.updateTexImage();
-
-                float[] surfaceTextureMatrix = new float[16];
-                inputSurfaceTexture.getTransformMatrix(surfaceTextureMatrix);
-
-                draw(recordingWidth, recordingHeight, surfaceTextureMatrix);
-              }
-            } catch (InterruptedException e) {
-              Log.d(TAG, "thread interrupted while waiting for frames");
-            }
-          }
-        };
-    thread.setUncaughtExceptionHandler(uncaughtExceptionHandler);
-    thread.start();
+    renderThread = new HandlerThread("VideoRenderer");
+    renderThread.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+    renderThread.start();
+    renderHandler = new Handler(renderThread.getLooper());
+    renderHandler.post(this::configureOpenGL);
+  }
+
+  /**
+   * Draws the next frame of the input surface texture. Called on the render thread whenever the
+   * camera has produced a frame.
+   */
+  private void renderFrame() {
+    long renderStart = System.nanoTime();
+    inputSurfaceTexture.updateTexImage();
+    long timestamp = inputSurfaceTexture.getTimestamp();
+    if (!frameCounters.onFrameLatched(timestamp)) {
+      return;
+    }
+
+    inputSurfaceTexture.getTransformMatrix(surfaceTextureMatrix);
+    float[] texMatrix = surfaceTextureMatrix;
+    float[] cropMatrix = textureCropMatrix;
+    if (cropMatrix != null) {
+      Matrix.multiplyMM(croppedTextureMatrix, 0, surfaceTextureMatrix, 0, cropMatrix, 0);
+      texMatrix = croppedTextureMatrix;
+    }
+
+    draw(recordingWidth, recordingHeight, texMatrix);
+    frameCounters.onFrameRendered(System.nanoTime() - renderStart);
   }
 
   public int getTexId() {
@@ -334,6 +404,26 @@ public class VideoRenderer {
     this.rotation = rotation;
   }
 
+  /**
+   * Restricts the drawn frames to a region of the input, which is then stretched over the whole
+   * output.
+   *
+   * @param crop is the region in pixels of the input frames, or null to draw the whole frame.
+   */
+  public void setCrop(@Nullable Rect crop) {
+    if (crop == null) {
+      textureCropMatrix = null;
+      return;
+    }
+    // Texture coordinates start at the bottom left of the frame, pixels at the top left.
+    float[] m = new float[16];
+    Matrix.setIdentityM(m, 0);
+    Matrix.translateM(
+        m, 0, (float) crop.left / inputWidth, (float) (inputHeight - crop.bottom) / inputHeight, 0);
+    Matrix.scaleM(m, 0, (float) crop.width() / inputWidth, (float) crop.height() / inputHeight, 1);
+    textureCropMatrix = m;
+  }
+
   private int loadShader(int type, String code) {
 
     int shader = GLES20.glCreateShader(type);
@@ -377,4 +467,59 @@ public class VideoRenderer {
       Log.w(TAG, "eglSwapBuffers() " + GLUtils.getEGLErrorString(EGL14.eglGetError()));
     }
   }
+
+  /**
+   * Counts the frames of a renderer, based on the timestamps of the frames latched from the input
+   * surface texture.
+   *
+   * <p>A surface texture notifies its listener once for every frame, but may replace a frame that
+   * is still waiting to be latched with a newer one. The notification of the replaced frame then
+   * latches the frame that was already drawn, which is how skipped frames are detected.
+   */
+  @VisibleForTesting
+  static class FrameCounters {
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long lastInterval;
+    private long renderedFrames;
+    private long droppedFrames;
+    private long lateFrames;
+
+    /**
+     * Records that a frame has been latched, and returns whether it is new and should be drawn. A
+     * frame that was already latched before means that a frame was skipped.
+     */
+    synchronized boolean onFrameLatched(long timestamp) {
+      if (timestamp == lastTimestamp) {
+        droppedFrames++;
+        return false;
+      }
+      lastInterval = lastTimestamp == Long.MIN_VALUE ? 0 : timestamp - lastTimestamp;
+      lastTimestamp = timestamp;
+      return true;
+    }
+
+    /**
+     * Records that the frame latched last has been drawn.
+     *
+     * @param renderNanos is how long latching and drawing the frame took.
+     */
+    synchronized void onFrameRendered(long renderNanos) {
+      renderedFrames++;
+      if (lastInterval > 0 && renderNanos > lastInterval) {
+        lateFrames++;
+      }
+    }
+
+    synchronized long getRenderedFrames() {
+      return renderedFrames;
+    }
+
+    synchronized long getDroppedFrames() {
+      return droppedFrames;
+    }
+
+    synchronized long getLateFrames() {
+      return lateFrames;
+    }
+  }
 }
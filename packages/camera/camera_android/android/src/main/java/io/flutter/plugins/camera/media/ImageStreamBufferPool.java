@@ -0,0 +1,267 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ring of reusable frame buffers for the image stream.
+ *
+ * <p>Every {@link Frame} owns one byte array per plane together with the map structure that is
+ * sent to Dart, so that a stream in steady state does not allocate per frame. A frame is acquired
+ * on the camera background thread, filled from an {@link android.media.Image}, and released once
+ * the event sink has encoded it on the main thread.
+ *
+ * <p>Plane buffers are sized lazily from the first frame written into them, since the row stride
+ * of an {@link android.media.ImageReader} is only known once it has produced an image. As long as
+ * the stream geometry does not change, every subsequent frame reuses the same arrays.
+ */
+public class ImageStreamBufferPool {
+  private final int capacity;
+  private final ArrayDeque<Frame> freeFrames;
+  private final Object lock = new Object();
+
+  private int createdFrames;
+  // Incremented by clear(), so that frames created before are not returned to the ring.
+  private int generation;
+  private long frameAllocationCount;
+  private long bufferAllocationCount;
+  private long reusedFrameCount;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamBufferPool}.
+   *
+   * @param capacity is the maximum number of frames that are kept for reuse.
+   */
+  public ImageStreamBufferPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+    }
+    this.capacity = capacity;
+    this.freeFrames = new ArrayDeque<>(capacity);
+  }
+
+  /**
+   * Returns a frame that can be filled with image data.
+   *
+   * <p>A released frame is reused when one is available. Otherwise a new frame is created; frames
+   * created while the ring is already at capacity are not kept once released.
+   */
+  @NonNull
+  public Frame acquire() {
+    synchronized (lock) {
+      Frame frame = freeFrames.pollFirst();
+      if (frame != null) {
+        frame.free = false;
+        reusedFrameCount++;
+        return frame;
+      }
+      frameAllocationCount++;
+      boolean pooled = createdFrames < capacity;
+      if (pooled) {
+        createdFrames++;
+      }
+      return new Frame(this, pooled, generation);
+    }
+  }
+
+  /**
+   * Returns a frame to the ring once its contents are no longer needed.
+   *
+   * @param frame is the frame previously returned by {@link #acquire()}.
+   */
+  public void release(@NonNull Frame frame) {
+    if (!frame.pooled) {
+      return;
+    }
+    synchronized (lock) {
+      if (frame.generation != generation) {
+        // The frame was in flight while the pool was cleared.
+        return;
+      }
+      if (!frame.free) {
+        frame.free = true;
+        freeFrames.addLast(frame);
+      }
+    }
+  }
+
+  /**
+   * Drops all pooled frames so that their buffers can be garbage collected.
+   *
+   * <p>Frames that are in flight while the pool is cleared are not returned to it when released.
+   */
+  public void clear() {
+    synchronized (lock) {
+      freeFrames.clear();
+      createdFrames = 0;
+      generation++;
+    }
+  }
+
+  /** Returns the maximum number of frames that are kept for reuse. */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Returns how many frames have been created since this pool was created. */
+  public long getFrameAllocationCount() {
+    synchronized (lock) {
+      return frameAllocationCount;
+    }
+  }
+
+  /** Returns how many plane byte arrays have been allocated since this pool was created. */
+  public long getBufferAllocationCount() {
+    synchronized (lock) {
+      return bufferAllocationCount;
+    }
+  }
+
+  /** Returns how many times a previously released frame was handed out again. */
+  public long getReusedFrameCount() {
+    synchronized (lock) {
+      return reusedFrameCount;
+    }
+  }
+
+  private void onBufferAllocated() {
+    synchronized (lock) {
+      bufferAllocationCount++;
+    }
+  }
+
+  /**
+   * A single reusable frame.
+   *
+   * <p>Frames are not thread safe; a frame must only be touched by the thread that currently owns
+   * it, i.e. between {@link ImageStreamBufferPool#acquire()} and {@link
+   * ImageStreamBufferPool#release(Frame)}.
+   */
+  public static class Frame {
+    private final ImageStreamBufferPool pool;
+    private final boolean pooled;
+    private final int generation;
+    private final Map<String, Object> frameData = new HashMap<>();
+    private final List<Map<String, Object>> planes = new ArrayList<>();
+    private final List<byte[]> planeBuffers = new ArrayList<>();
+    private ByteBuffer envelopeBuffer;
+    @Nullable private Object attachment;
+    // Whether the frame is in the ring of free frames. Guarded by the lock of the pool.
+    private boolean free;
+
+    private Frame(@NonNull ImageStreamBufferPool pool, boolean pooled, int generation) {
+      this.pool = pool;
+      this.pooled = pooled;
+      this.generation = generation;
+    }
+
+    /**
+     * Returns a byte array of exactly {@code size} bytes for the plane at {@code index}.
+     *
+     * <p>The array is reused between frames and only reallocated when the required size changes.
+     */
+    @NonNull
+    public byte[] getPlaneBuffer(int index, int size) {
+      while (planeBuffers.size() <= index) {
+        planeBuffers.add(null);
+      }
+      byte[] buffer = planeBuffers.get(index);
+      if (buffer == null || buffer.length != size) {
+        buffer = new byte[size];
+        planeBuffers.set(index, buffer);
+        pool.onBufferAllocated();
+      }
+      return buffer;
+    }
+
+    /**
+     * Returns a little-endian buffer for an {@link ImageStreamEnvelope}, backed by an array of
+     * exactly {@code size} bytes and positioned at its start.
+     *
+     * <p>The buffer is reused between frames and only reallocated when the required size changes.
+     */
+    @NonNull
+    public ByteBuffer getEnvelopeBuffer(int size) {
+      if (envelopeBuffer == null || envelopeBuffer.capacity() != size) {
+        envelopeBuffer = ByteBuffer.wrap(new byte[size]).order(ByteOrder.LITTLE_ENDIAN);
+        pool.onBufferAllocated();
+      }
+      envelopeBuffer.clear();
+      return envelopeBuffer;
+    }
+
+    /**
+     * Returns the list of plane maps sent to Dart, resized to exactly {@code planeCount} entries.
+     */
+    @NonNull
+    public List<Map<String, Object>> getPlanes(int planeCount) {
+      while (planes.size() > planeCount) {
+        planes.remove(planes.size() - 1);
+      }
+      while (planes.size() < planeCount) {
+        planes.add(new HashMap<>());
+      }
+      return planes;
+    }
+
+    /**
+     * Returns the object attached to this frame by {@link #setAttachment(Object)}, or null.
+     *
+     * <p>The attachment is kept when the frame is reused, so that an owner can reuse an object per
+     * frame instead of allocating one for every frame.
+     */
+    @Nullable
+    public Object getAttachment() {
+      return attachment;
+    }
+
+    /** Attaches {@code attachment} to this frame, see {@link #getAttachment()}. */
+    public void setAttachment(@Nullable Object attachment) {
+      this.attachment = attachment;
+    }
+
+    /** Returns the top-level map that is sent to Dart for this frame. */
+    @NonNull
+    public Map<String, Object> getFrameData() {
+      return frameData;
+    }
+
+    /** Whether this frame is returned to the ring when released. */
+    public boolean isPooled() {
+      return pooled;
+    }
+
+    /**
+     * Stores an int in {@code map}, skipping the boxing allocation when the value is unchanged.
+     */
+    static void putInt(@NonNull Map<String, Object> map, @NonNull String key, int value) {
+      Object current = map.get(key);
+      if (current instanceof Integer && (Integer) current == value) {
+        return;
+      }
+      map.put(key, value);
+    }
+
+    /**
+     * Stores a double in {@code map}, skipping the boxing allocation when the value is unchanged.
+     */
+    static void putDouble(@NonNull Map<String, Object> map, @NonNull String key, double value) {
+      Object current = map.get(key);
+      if (current instanceof Double && (Double) current == value) {
+        return;
+      }
+      map.put(key, value);
+    }
+  }
+}
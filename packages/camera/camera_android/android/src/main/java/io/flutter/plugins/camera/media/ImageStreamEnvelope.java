@@ -0,0 +1,109 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes a streamed frame as a single byte array, so that the event channel only has to write one
+ * value per frame instead of a map of fields and a list of plane maps.
+ *
+ * <p>The header is written first, and the caller then writes the bytes of every plane straight into
+ * the envelope, so that plane data is copied out of the {@link android.media.Image} only once.
+ *
+ * <p>All values are little-endian. The layout is:
+ *
+ * <pre>
+ * int32   version ({@link #VERSION})
+ * int32   format
+ * int32   width
+ * int32   height
+ * int64   sensorTimestamp, see {@link android.media.Image#getTimestamp()}
+ * int64   sensorExposureTime, or -1 if unknown
+ * float64 lensAperture, or NaN if unknown
+ * float64 sensorSensitivity, or NaN if unknown
+ * int32   planeCount
+ * planeCount times:
+ *   int32 bytesPerRow
+ *   int32 bytesPerPixel
+ *   int32 length
+ * the bytes of every plane, in order
+ * </pre>
+ */
+public final class ImageStreamEnvelope {
+  /** The version written at the start of every envelope. */
+  public static final int VERSION = 2;
+
+  /** The size of the fixed part of the header, in bytes. */
+  public static final int HEADER_SIZE = 52;
+
+  /** The size of the header of every plane, in bytes. */
+  public static final int PLANE_HEADER_SIZE = 12;
+
+  private ImageStreamEnvelope() {}
+
+  /**
+   * Sizes the envelope buffer of {@code frame} and writes the fixed part of the header into it.
+   *
+   * <p>The caller then writes one plane header per plane with {@link #putPlaneHeader}, followed by
+   * the bytes of every plane into {@link ByteBuffer#array()}, starting at the position of the
+   * returned buffer.
+   *
+   * @param frame is the pooled frame that owns the envelope buffer.
+   * @param format is the image format sent to Dart.
+   * @param width is the width of the streamed image.
+   * @param height is the height of the streamed image.
+   * @param sensorTimestamp is the sensor timestamp of the image in nanoseconds.
+   * @param lensAperture is the lens aperture of the capture, if known.
+   * @param sensorExposureTime is the exposure time of the capture in nanoseconds, if known.
+   * @param sensorSensitivity is the sensor sensitivity of the capture, if known.
+   * @param planeCount is the number of planes of the frame.
+   * @param planeDataSize is the combined length of all planes, in bytes.
+   * @return the envelope buffer, positioned at the first plane header, which is reused once {@code
+   *     frame} is released.
+   */
+  @NonNull
+  public static ByteBuffer putHeader(
+      @NonNull ImageStreamBufferPool.Frame frame,
+      int format,
+      int width,
+      int height,
+      long sensorTimestamp,
+      @Nullable Float lensAperture,
+      @Nullable Long sensorExposureTime,
+      @Nullable Integer sensorSensitivity,
+      int planeCount,
+      int planeDataSize) {
+    ByteBuffer envelope =
+        frame.getEnvelopeBuffer(HEADER_SIZE + planeCount * PLANE_HEADER_SIZE + planeDataSize);
+    envelope.putInt(VERSION);
+    envelope.putInt(format);
+    envelope.putInt(width);
+    envelope.putInt(height);
+    envelope.putLong(sensorTimestamp);
+    envelope.putLong(sensorExposureTime == null ? -1 : sensorExposureTime);
+    envelope.putDouble(lensAperture == null ? Double.NaN : lensAperture);
+    envelope.putDouble(sensorSensitivity == null ? Double.NaN : sensorSensitivity);
+    envelope.putInt(planeCount);
+    return envelope;
+  }
+
+  /**
+   * Writes the header of the next plane.
+   *
+   * @param envelope is the buffer returned by {@link #putHeader}.
+   * @param bytesPerRow is the row stride of the plane.
+   * @param bytesPerPixel is the pixel stride of the plane.
+   * @param length is the length of the plane, in bytes.
+   */
+  public static void putPlaneHeader(
+      @NonNull ByteBuffer envelope, int bytesPerRow, int bytesPerPixel, int length) {
+    envelope.putInt(bytesPerRow);
+    envelope.putInt(bytesPerPixel);
+    envelope.putInt(length);
+  }
+}
@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Records how long streamed frames spend between the sensor and Dart, over a rolling window of the
+ * most recently delivered frames.
+ *
+ * <p>Every delivered frame is stamped when the sensor exposed it ({@link
+ * android.media.Image#getTimestamp()}), when it was acquired from the {@link
+ * android.media.ImageReader}, when its conversion finished, when it was posted to the main thread
+ * and once the event sink had sent it. Recording a frame only writes into preallocated arrays, so
+ * it is cheap enough to stay enabled in production builds; percentiles are computed when they are
+ * requested.
+ */
+public class ImageStreamLatencyTracker {
+  /** The interval between two of the timestamps recorded for every frame. */
+  public enum Stage {
+    /** From sensor exposure until the frame was acquired from the image reader. */
+    SENSOR_TO_ACQUIRE,
+    /** From acquisition until the frame had been copied and converted. */
+    ACQUIRE_TO_CONVERTED,
+    /** From the end of conversion until the frame was posted to the main thread. */
+    CONVERTED_TO_POSTED,
+    /** From posting until the event sink had sent the frame to Dart. */
+    POSTED_TO_DELIVERED,
+    /** From sensor exposure until the event sink had sent the frame to Dart. */
+    SENSOR_TO_DELIVERED,
+  }
+
+  /** The number of recent frames percentiles are computed over by default. */
+  public static final int DEFAULT_WINDOW_SIZE = 256;
+
+  /** Percentiles of a single {@link Stage}, in nanoseconds. */
+  public static final class Percentiles {
+    public final int sampleCount;
+    public final long p50;
+    public final long p90;
+    public final long p99;
+    public final long max;
+
+    Percentiles(int sampleCount, long p50, long p90, long p99, long max) {
+      this.sampleCount = sampleCount;
+      this.p50 = p50;
+      this.p90 = p90;
+      this.p99 = p99;
+      this.max = max;
+    }
+  }
+
+  private final int windowSize;
+  private final long[][] samples;
+  private int sampleCount;
+  private int nextSample;
+  private long recordedFrameCount;
+  private boolean realtimeSensorTimestamps;
+
+  /** Creates a tracker that keeps the last {@link #DEFAULT_WINDOW_SIZE} frames. */
+  public ImageStreamLatencyTracker() {
+    this(DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Creates a new instance of the {@link ImageStreamLatencyTracker}.
+   *
+   * @param windowSize is the number of recent frames percentiles are computed over.
+   */
+  public ImageStreamLatencyTracker(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be at least 1, got " + windowSize);
+    }
+    this.windowSize = windowSize;
+    this.samples = new long[Stage.values().length][windowSize];
+  }
+
+  /**
+   * Sets the time base of the sensor timestamps of the camera.
+   *
+   * <p>Cameras that report {@link
+   * android.hardware.camera2.CameraMetadata#SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME} stamp images
+   * with {@link SystemClock#elapsedRealtimeNanos()}. All other cameras use a time base that roughly
+   * matches {@link SystemClock#uptimeMillis()}, so stages that start at the sensor are approximate
+   * for them.
+   *
+   * @param realtimeSensorTimestamps whether sensor timestamps use the realtime clock.
+   */
+  public synchronized void setRealtimeSensorTimestamps(boolean realtimeSensorTimestamps) {
+    this.realtimeSensorTimestamps = realtimeSensorTimestamps;
+  }
+
+  /** Returns the current time in the time base of the sensor timestamps, in nanoseconds. */
+  public long now() {
+    boolean realtime;
+    synchronized (this) {
+      realtime = realtimeSensorTimestamps;
+    }
+    return realtime ? SystemClock.elapsedRealtimeNanos() : System.nanoTime();
+  }
+
+  /**
+   * Records the timestamps of a delivered frame, all in the time base of {@link #now()}.
+   *
+   * @param sensorTimestamp is the time the sensor exposed the frame.
+   * @param acquiredAt is the time the frame was acquired from the image reader.
+   * @param convertedAt is the time the frame had been copied and converted.
+   * @param postedAt is the time the frame was posted to the main thread.
+   * @param deliveredAt is the time the event sink had sent the frame.
+   */
+  public synchronized void record(
+      long sensorTimestamp, long acquiredAt, long convertedAt, long postedAt, long deliveredAt) {
+    int index = nextSample;
+    samples[Stage.SENSOR_TO_ACQUIRE.ordinal()][index] = acquiredAt - sensorTimestamp;
+    samples[Stage.ACQUIRE_TO_CONVERTED.ordinal()][index] = convertedAt - acquiredAt;
+    samples[Stage.CONVERTED_TO_POSTED.ordinal()][index] = postedAt - convertedAt;
+    samples[Stage.POSTED_TO_DELIVERED.ordinal()][index] = deliveredAt - postedAt;
+    samples[Stage.SENSOR_TO_DELIVERED.ordinal()][index] = deliveredAt - sensorTimestamp;
+    nextSample = (index + 1) % windowSize;
+    sampleCount = Math.min(sampleCount + 1, windowSize);
+    recordedFrameCount++;
+  }
+
+  /** Returns how many frames have been recorded since this tracker was created. */
+  public synchronized long getRecordedFrameCount() {
+    return recordedFrameCount;
+  }
+
+  /**
+   * Returns the percentiles of {@code stage} over the frames currently in the window, or null if
+   * no frame has been recorded yet.
+   */
+  @Nullable
+  public Percentiles getPercentiles(@NonNull Stage stage) {
+    long[] sorted;
+    synchronized (this) {
+      if (sampleCount == 0) {
+        return null;
+      }
+      sorted = Arrays.copyOf(samples[stage.ordinal()], sampleCount);
+    }
+    Arrays.sort(sorted);
+    return new Percentiles(
+        sorted.length,
+        percentile(sorted, 50),
+        percentile(sorted, 90),
+        percentile(sorted, 99),
+        sorted[sorted.length - 1]);
+  }
+
+  /** Returns the nearest-rank {@code percent}-th percentile of the ascending {@code sorted}. */
+  private static long percentile(@NonNull long[] sorted, int percent) {
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
@@ -0,0 +1,211 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.Rect;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/** Options that control how frames are delivered by an {@link ImageStreamReader}. */
+public class ImageStreamOptions {
+  /** Which frame to discard when the in-flight limit has been reached. */
+  public enum FrameDropPolicy {
+    /**
+     * Discards the oldest frame not yet delivered, so that the newest one is sent as soon as a slot
+     * is free.
+     */
+    DROP_OLDEST,
+    /** Discards the incoming frame and keeps the ones already in flight. */
+    DROP_NEWEST,
+  }
+
+  /** Value of {@link #maxFramesInFlight} that disables the in-flight limit. */
+  public static final int UNLIMITED_FRAMES_IN_FLIGHT = 0;
+
+  /** Options that deliver every frame, matching the behavior before backpressure was added. */
+  @NonNull
+  public static final ImageStreamOptions DEFAULT =
+      new ImageStreamOptions(UNLIMITED_FRAMES_IN_FLIGHT, FrameDropPolicy.DROP_OLDEST);
+
+  /**
+   * The maximum number of frames that may be in flight at the same time, or {@link
+   * #UNLIMITED_FRAMES_IN_FLIGHT}.
+   *
+   * <p>A frame is in flight from the time it has been converted until Dart acknowledges that it has
+   * finished handling it, see {@link ImageStreamReader#acknowledgeFrame()}.
+   */
+  public final int maxFramesInFlight;
+
+  /** The frame to discard once {@link #maxFramesInFlight} frames are in flight. */
+  @NonNull public final FrameDropPolicy dropPolicy;
+
+  /**
+   * The region of the camera image to stream, in pixels of the full image, or null to stream the
+   * whole image.
+   */
+  @Nullable public final Rect cropRect;
+
+  /**
+   * The width frames are scaled down to after cropping, or 0 to derive it from {@link
+   * #subsampleFactor}.
+   */
+  public final int targetWidth;
+
+  /**
+   * The height frames are scaled down to after cropping, or 0 to derive it from {@link
+   * #subsampleFactor}.
+   */
+  public final int targetHeight;
+
+  /**
+   * The factor the cropped region is divided by in both dimensions when no target size is set, so
+   * that only every n-th pixel of every n-th row is streamed.
+   */
+  public final int subsampleFactor;
+
+  /**
+   * Whether only the luma (Y) plane of YUV frames is streamed, as {@link
+   * ImageStreamReader#IMAGE_FORMAT_Y8} frames.
+   */
+  public final boolean lumaOnly;
+
+  /**
+   * Whether frames are sent to Dart as a single {@link ImageStreamEnvelope} byte array instead of a
+   * map of fields and planes.
+   */
+  public final boolean compactEncoding;
+
+  /**
+   * Whether frames are cropped, scaled and rotated on the GPU, and streamed as RGBA, instead of
+   * being transformed on the CPU.
+   */
+  public final boolean gpuTransform;
+
+  /**
+   * The clockwise rotation applied by the {@link #gpuTransform}, in degrees. Always a multiple of
+   * 90 from 0 to 270.
+   */
+  public final int rotationDegrees;
+
+  public ImageStreamOptions(int maxFramesInFlight, @NonNull FrameDropPolicy dropPolicy) {
+    this(maxFramesInFlight, dropPolicy, null, 0, 0, 1);
+  }
+
+  public ImageStreamOptions(
+      int maxFramesInFlight,
+      @NonNull FrameDropPolicy dropPolicy,
+      @Nullable Rect cropRect,
+      int targetWidth,
+      int targetHeight,
+      int subsampleFactor) {
+    this(
+        maxFramesInFlight,
+        dropPolicy,
+        cropRect,
+        targetWidth,
+        targetHeight,
+        subsampleFactor,
+        /* lumaOnly= */ false);
+  }
+
+  public ImageStreamOptions(
+      int maxFramesInFlight,
+      @NonNull FrameDropPolicy dropPolicy,
+      @Nullable Rect cropRect,
+      int targetWidth,
+      int targetHeight,
+      int subsampleFactor,
+      boolean lumaOnly) {
+    this(
+        maxFramesInFlight,
+        dropPolicy,
+        cropRect,
+        targetWidth,
+        targetHeight,
+        subsampleFactor,
+        lumaOnly,
+        /* compactEncoding= */ false);
+  }
+
+  public ImageStreamOptions(
+      int maxFramesInFlight,
+      @NonNull FrameDropPolicy dropPolicy,
+      @Nullable Rect cropRect,
+      int targetWidth,
+      int targetHeight,
+      int subsampleFactor,
+      boolean lumaOnly,
+      boolean compactEncoding) {
+    this(
+        maxFramesInFlight,
+        dropPolicy,
+        cropRect,
+        targetWidth,
+        targetHeight,
+        subsampleFactor,
+        lumaOnly,
+        compactEncoding,
+        /* gpuTransform= */ false,
+        /* rotationDegrees= */ 0);
+  }
+
+  public ImageStreamOptions(
+      int maxFramesInFlight,
+      @NonNull FrameDropPolicy dropPolicy,
+      @Nullable Rect cropRect,
+      int targetWidth,
+      int targetHeight,
+      int subsampleFactor,
+      boolean lumaOnly,
+      boolean compactEncoding,
+      boolean gpuTransform,
+      int rotationDegrees) {
+    if (maxFramesInFlight < 0) {
+      throw new IllegalArgumentException(
+          "maxFramesInFlight must not be negative, got " + maxFramesInFlight);
+    }
+    if (targetWidth < 0 || targetHeight < 0 || (targetWidth == 0) != (targetHeight == 0)) {
+      throw new IllegalArgumentException(
+          "targetWidth and targetHeight must both be positive or both be 0, got "
+              + targetWidth
+              + "x"
+              + targetHeight);
+    }
+    if (subsampleFactor < 1) {
+      throw new IllegalArgumentException(
+          "subsampleFactor must be at least 1, got " + subsampleFactor);
+    }
+    if (rotationDegrees < 0 || rotationDegrees >= 360 || rotationDegrees % 90 != 0) {
+      throw new IllegalArgumentException(
+          "rotationDegrees must be 0, 90, 180 or 270, got " + rotationDegrees);
+    }
+    if (rotationDegrees != 0 && !gpuTransform) {
+      throw new IllegalArgumentException("rotationDegrees requires gpuTransform");
+    }
+    this.maxFramesInFlight = maxFramesInFlight;
+    this.dropPolicy = dropPolicy;
+    this.cropRect = cropRect;
+    this.targetWidth = targetWidth;
+    this.targetHeight = targetHeight;
+    this.subsampleFactor = subsampleFactor;
+    this.lumaOnly = lumaOnly;
+    this.compactEncoding = compactEncoding;
+    this.gpuTransform = gpuTransform;
+    this.rotationDegrees = rotationDegrees;
+  }
+
+  /** Whether frames are dropped once {@link #maxFramesInFlight} frames are in flight. */
+  public boolean hasInFlightLimit() {
+    return maxFramesInFlight != UNLIMITED_FRAMES_IN_FLIGHT;
+  }
+
+  /**
+   * Whether frames are cropped or scaled on the CPU before they are sent to Dart, which is never
+   * the case for streams that use the {@link #gpuTransform}.
+   */
+  public boolean hasFrameTransform() {
+    return !gpuTransform && (cropRect != null || targetWidth != 0 || subsampleFactor != 1);
+  }
+}
@@ -11,12 +11,12 @@ import android.os.Handler;
 import android.os.Looper;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
 
@@ -30,8 +30,44 @@ public class ImageStreamReader {
    */
   private final int dartImageFormat;
 
+  /**
+   * The value of {@link ImageFormat#Y8}, which is only defined from API 29 on, but is sent to Dart
+   * as a plain identifier for single-plane luma frames on every API level.
+   */
+  public static final int IMAGE_FORMAT_Y8 = 0x20203859;
+
+  /**
+   * The number of frames that can be on their way to Dart in addition to the images held by the
+   * {@link ImageReader}: one being converted on the background thread and one waiting to be
+   * delivered on the main thread.
+   */
+  private static final int FRAMES_IN_TRANSIT = 2;
+
   private final ImageReader imageReader;
   private final ImageStreamReaderUtils imageStreamReaderUtils;
+  private final ImageStreamBufferPool bufferPool;
+  private final ImageStreamResampler resampler = new ImageStreamResampler();
+  private final ImageStreamLatencyTracker latencyTracker = new ImageStreamLatencyTracker();
+  private final Handler mainHandler;
+
+  /**
+   * Frames that have been converted and posted to {@link #mainHandler} but not yet delivered to
+   * Dart, oldest first. Also guards {@link #options}, {@link #heldFrame} and the frame counters.
+   */
+  private final ArrayDeque<PendingFrame> pendingFrames = new ArrayDeque<>();
+
+  /**
+   * The newest converted frame, kept back because Dart has not yet acknowledged enough frames to
+   * free a slot for it. Only used with {@link ImageStreamOptions.FrameDropPolicy#DROP_OLDEST}.
+   */
+  private PendingFrame heldFrame;
+
+  /** Frames delivered to Dart that Dart has not acknowledged yet. */
+  private int unacknowledgedFrameCount;
+
+  @NonNull private ImageStreamOptions options = ImageStreamOptions.DEFAULT;
+  private long deliveredFrameCount;
+  private long droppedFrameCount;
 
   /**
    * Creates a new instance of the {@link ImageStreamReader}.
@@ -44,9 +80,31 @@ public class ImageStreamReader {
       @NonNull ImageReader imageReader,
       int dartImageFormat,
       @NonNull ImageStreamReaderUtils imageStreamReaderUtils) {
+    this(
+        imageReader,
+        dartImageFormat,
+        imageStreamReaderUtils,
+        new ImageStreamBufferPool(1 + FRAMES_IN_TRANSIT));
+  }
+
+  /**
+   * Creates a new instance of the {@link ImageStreamReader}.
+   *
+   * @param imageReader is the image reader that will receive frames
+   * @param imageStreamReaderUtils is an instance of {@link ImageStreamReaderUtils}
+   * @param bufferPool is the {@link ImageStreamBufferPool} frames are copied into
+   */
+  @VisibleForTesting
+  public ImageStreamReader(
+      @NonNull ImageReader imageReader,
+      int dartImageFormat,
+      @NonNull ImageStreamReaderUtils imageStreamReaderUtils,
+      @NonNull ImageStreamBufferPool bufferPool) {
     this.imageReader = imageReader;
     this.dartImageFormat = dartImageFormat;
     this.imageStreamReaderUtils = imageStreamReaderUtils;
+    this.bufferPool = bufferPool;
+    this.mainHandler = new Handler(Looper.getMainLooper());
   }
 
   /**
@@ -62,28 +120,83 @@ public class ImageStreamReader {
     this.imageReader =
         ImageReader.newInstance(width, height, computeStreamImageFormat(imageFormat), maxImages);
     this.imageStreamReaderUtils = new ImageStreamReaderUtils();
+    this.bufferPool = new ImageStreamBufferPool(maxImages + FRAMES_IN_TRANSIT);
+    this.mainHandler = new Handler(Looper.getMainLooper());
   }
 
   /**
    * Returns the image format to stream based on a requested input format. Usually it's the same
-   * except when dart is requesting NV21. In that case we stream YUV420 and process it into NV21
-   * before sending the frames over.
+   * except when dart is requesting NV21 or Y8. In that case we stream YUV420 and process it into
+   * NV21, or only copy its luma plane, before sending the frames over.
    *
    * @param dartImageFormat is the image format dart is requesting.
    * @return the image format that should be streamed from the camera.
    */
   @VisibleForTesting
   public static int computeStreamImageFormat(int dartImageFormat) {
-    if (dartImageFormat == ImageFormat.NV21) {
+    if (dartImageFormat == ImageFormat.NV21 || dartImageFormat == IMAGE_FORMAT_Y8) {
       return ImageFormat.YUV_420_888;
     } else {
       return dartImageFormat;
     }
   }
 
+  /**
+   * Returns the image format of the frames sent to Dart with the given options. Streams of YUV420
+   * images are reduced to their luma plane when {@link ImageStreamOptions#lumaOnly} is set.
+   */
+  private int computeOutputImageFormat(@NonNull ImageStreamOptions options) {
+    if (options.lumaOnly && computeStreamImageFormat(dartImageFormat) == ImageFormat.YUV_420_888) {
+      return IMAGE_FORMAT_Y8;
+    }
+    return dartImageFormat;
+  }
+
+  /**
+   * Sets the options used for frames delivered from now on.
+   *
+   * @param options is the {@link ImageStreamOptions} chosen when the stream was started.
+   */
+  public void setOptions(@NonNull ImageStreamOptions options) {
+    synchronized (pendingFrames) {
+      this.options = options;
+    }
+  }
+
+  /**
+   * Frees the slot of a frame that Dart has finished handling.
+   *
+   * <p>With an in-flight limit, a frame occupies a slot from the time it is converted until Dart
+   * acknowledges it. If a frame was kept back because no slot was free, it is delivered now. Must
+   * be called on the main thread.
+   */
+  public void acknowledgeFrame() {
+    final PendingFrame frameToPost;
+    synchronized (pendingFrames) {
+      if (unacknowledgedFrameCount == 0) {
+        // The acknowledgement is for a frame of a stream that has since been stopped.
+        return;
+      }
+      unacknowledgedFrameCount--;
+      frameToPost = heldFrame;
+      if (frameToPost != null) {
+        heldFrame = null;
+        pendingFrames.addLast(frameToPost);
+      }
+    }
+    if (frameToPost != null) {
+      frameToPost.postedAt = latencyTracker.now();
+      mainHandler.post(frameToPost);
+    }
+  }
+
   /**
    * Processes a new frame (image) from the image reader and send the frame to Dart.
    *
+   * <p>If the in-flight limit of the current {@link ImageStreamOptions} has been reached, either
+   * this frame or the oldest frame that has not been delivered yet is dropped, depending on the
+   * drop policy.
+   *
    * @param image is the image which needs processed as an {@link Image}
    * @param captureProps is the capture props from the camera class as {@link
    *     CameraCaptureProperties}
@@ -95,42 +208,203 @@ public class ImageStreamReader {
       @NonNull Image image,
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink) {
+    long acquiredAt = latencyTracker.now();
+    final ImageStreamOptions currentOptions;
+    synchronized (pendingFrames) {
+      currentOptions = options;
+    }
+    if (!shouldConvertFrame()) {
+      image.close();
+      return;
+    }
+
+    final ImageStreamBufferPool.Frame frame = bufferPool.acquire();
+    boolean enqueued = false;
     try {
-      Map<String, Object> imageBuffer = new HashMap<>();
+      int width = image.getWidth();
+      int height = image.getHeight();
+      int outputImageFormat = computeOutputImageFormat(currentOptions);
+      ImageStreamResampler.Geometry geometry = null;
+      if (currentOptions.hasFrameTransform() && outputImageFormat != ImageFormat.JPEG) {
+        geometry = ImageStreamResampler.computeGeometry(currentOptions, width, height);
+        width = geometry.outputWidth;
+        height = geometry.outputHeight;
+      }
 
-      // Get plane data ready
-      if (dartImageFormat == ImageFormat.NV21) {
-        imageBuffer.put("planes", parsePlanesForNv21(image));
+      Object payload;
+      if (currentOptions.compactEncoding) {
+        payload =
+            encodeEnvelope(image, frame, outputImageFormat, geometry, width, height, captureProps);
       } else {
-        imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
-      }
+        // Get plane data ready
+        List<Map<String, Object>> planes;
+        if (geometry != null) {
+          if (outputImageFormat == ImageFormat.NV21) {
+            planes = parsePlanesForNv21(image, frame, geometry);
+          } else if (outputImageFormat == IMAGE_FORMAT_Y8) {
+            planes = parsePlanesForLuma(image, frame, geometry);
+          } else {
+            planes = parsePlanesForYuv(image, frame, geometry);
+          }
+        } else if (outputImageFormat == ImageFormat.NV21) {
+          planes = parsePlanesForNv21(image, frame);
+        } else if (outputImageFormat == IMAGE_FORMAT_Y8) {
+          planes = parsePlanesForLuma(image, frame);
+        } else {
+          planes = parsePlanesForYuvOrJpeg(image, frame);
+        }
 
-      imageBuffer.put("width", image.getWidth());
-      imageBuffer.put("height", image.getHeight());
-      imageBuffer.put("format", dartImageFormat);
-      imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
-      imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
-      Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
-      imageBuffer.put(
-          "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
-
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(() -> imageStreamSink.success(imageBuffer));
-      image.close();
+        Map<String, Object> imageBuffer = frame.getFrameData();
+        imageBuffer.put("planes", planes);
+        ImageStreamBufferPool.Frame.putInt(imageBuffer, "width", width);
+        ImageStreamBufferPool.Frame.putInt(imageBuffer, "height", height);
+        ImageStreamBufferPool.Frame.putInt(imageBuffer, "format", outputImageFormat);
+        imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
+        imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
+        Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
+        if (sensorSensitivity == null) {
+          imageBuffer.put("sensorSensitivity", null);
+        } else {
+          ImageStreamBufferPool.Frame.putDouble(
+              imageBuffer, "sensorSensitivity", (double) sensorSensitivity);
+        }
+        payload = imageBuffer;
+      }
 
+      PendingFrame pendingFrame = getPendingFrame(frame);
+      pendingFrame.set(
+          payload, imageStreamSink, image.getTimestamp(), acquiredAt, latencyTracker.now());
+      enqueueFrame(pendingFrame);
+      enqueued = true;
     } catch (IllegalStateException e) {
       // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(
+      mainHandler.post(
           () ->
               imageStreamSink.error(
                   "IllegalStateException",
                   "Caught IllegalStateException: " + e.getMessage(),
                   null));
+    } finally {
+      // Any other failure must not leak the frame out of the ring either.
+      if (!enqueued) {
+        bufferPool.release(frame);
+      }
       image.close();
     }
   }
 
+  /** Returns the {@link PendingFrame} that is reused for every delivery of {@code frame}. */
+  @NonNull
+  private PendingFrame getPendingFrame(@NonNull ImageStreamBufferPool.Frame frame) {
+    PendingFrame pendingFrame = (PendingFrame) frame.getAttachment();
+    if (pendingFrame == null) {
+      pendingFrame = new PendingFrame(frame);
+      frame.setAttachment(pendingFrame);
+    }
+    return pendingFrame;
+  }
+
+  /**
+   * Returns the number of frames that occupy a slot of the in-flight limit: those waiting for
+   * delivery and those delivered to Dart but not yet acknowledged. Must be called while holding
+   * the lock of {@link #pendingFrames}.
+   */
+  private int framesInFlight() {
+    return pendingFrames.size() + unacknowledgedFrameCount;
+  }
+
+  /**
+   * Returns whether an incoming frame should be converted, or dropped right away because the
+   * in-flight limit has been reached and the drop policy keeps the frames already in flight.
+   */
+  private boolean shouldConvertFrame() {
+    synchronized (pendingFrames) {
+      if (!options.hasInFlightLimit()
+          || framesInFlight() < options.maxFramesInFlight
+          || options.dropPolicy != ImageStreamOptions.FrameDropPolicy.DROP_NEWEST) {
+        return true;
+      }
+      droppedFrameCount++;
+      return false;
+    }
+  }
+
+  /**
+   * Posts a converted frame to the main thread, first evicting the oldest waiting frames if the
+   * in-flight limit would otherwise be exceeded.
+   *
+   * <p>If all slots are taken by frames that Dart has not acknowledged yet, the frame is kept back
+   * instead, replacing any frame kept back before, and posted by {@link #acknowledgeFrame()}.
+   */
+  private void enqueueFrame(@NonNull PendingFrame pendingFrame) {
+    boolean post = true;
+    synchronized (pendingFrames) {
+      if (options.hasInFlightLimit()) {
+        while (framesInFlight() >= options.maxFramesInFlight && !pendingFrames.isEmpty()) {
+          dropFrame(pendingFrames.pollFirst());
+        }
+        if (framesInFlight() >= options.maxFramesInFlight) {
+          if (heldFrame != null) {
+            dropFrame(heldFrame);
+          }
+          heldFrame = pendingFrame;
+          post = false;
+        }
+      }
+      if (post) {
+        pendingFrames.addLast(pendingFrame);
+      }
+    }
+    if (post) {
+      pendingFrame.postedAt = latencyTracker.now();
+      mainHandler.post(pendingFrame);
+    }
+  }
+
+  /**
+   * Drops a frame that has not been delivered and returns it to the ring. Must be called while
+   * holding the lock of {@link #pendingFrames}, after the frame has been removed from it.
+   */
+  private void dropFrame(@NonNull PendingFrame pendingFrame) {
+    mainHandler.removeCallbacks(pendingFrame);
+    bufferPool.release(pendingFrame.frame);
+    droppedFrameCount++;
+  }
+
+  /** Cancels all frames that are still waiting for delivery. */
+  private void discardPendingFrames() {
+    synchronized (pendingFrames) {
+      PendingFrame discardedFrame;
+      while ((discardedFrame = pendingFrames.pollFirst()) != null) {
+        mainHandler.removeCallbacks(discardedFrame);
+        bufferPool.release(discardedFrame.frame);
+      }
+      if (heldFrame != null) {
+        mainHandler.removeCallbacks(heldFrame);
+        bufferPool.release(heldFrame.frame);
+        heldFrame = null;
+      }
+      unacknowledgedFrameCount = 0;
+    }
+  }
+
+  /** Returns how many frames have been delivered to Dart since this reader was created. */
+  public long getDeliveredFrameCount() {
+    synchronized (pendingFrames) {
+      return deliveredFrameCount;
+    }
+  }
+
+  /**
+   * Returns how many frames have been dropped because of the in-flight limit since this reader was
+   * created.
+   */
+  public long getDroppedFrameCount() {
+    synchronized (pendingFrames) {
+      return droppedFrameCount;
+    }
+  }
+
   /**
    * Given an input image, will return a list of maps suitable to send back to dart where each map
    * describes the image plane.
@@ -138,25 +412,27 @@ public class ImageStreamReader {
    * <p>For Yuv / Jpeg, we do no further processing on the frame so we simply send it as-is.
    *
    * @param image - the image to process.
+   * @param frame - the pooled frame the plane data is copied into.
    * @return parsed map describing the image planes to be sent to dart.
    */
   @NonNull
-  public List<Map<String, Object>> parsePlanesForYuvOrJpeg(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
+  public List<Map<String, Object>> parsePlanesForYuvOrJpeg(
+      @NonNull Image image, @NonNull ImageStreamBufferPool.Frame frame) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    List<Map<String, Object>> planes = frame.getPlanes(imagePlanes.length);
 
-    // For YUV420 and JPEG, just send the data as-is for each plane.
-    for (Image.Plane plane : image.getPlanes()) {
+    // For YUV420, JPEG and frames already transformed on the GPU, send the data as-is.
+    for (int i = 0; i < imagePlanes.length; i++) {
+      Image.Plane plane = imagePlanes[i];
       ByteBuffer buffer = plane.getBuffer();
 
-      byte[] bytes = new byte[buffer.remaining()];
+      byte[] bytes = frame.getPlaneBuffer(i, buffer.remaining());
       buffer.get(bytes, 0, bytes.length);
 
-      Map<String, Object> planeBuffer = new HashMap<>();
-      planeBuffer.put("bytesPerRow", plane.getRowStride());
-      planeBuffer.put("bytesPerPixel", plane.getPixelStride());
+      Map<String, Object> planeBuffer = planes.get(i);
+      ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", plane.getRowStride());
+      ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", plane.getPixelStride());
       planeBuffer.put("bytes", bytes);
-
-      planes.add(planeBuffer);
     }
     return planes;
   }
@@ -165,31 +441,327 @@ public class ImageStreamReader {
    * Given an input image, will return a single-plane NV21 image. Assumes YUV420 as an input type.
    *
    * @param image - the image to process.
+   * @param frame - the pooled frame the converted data is written into.
    * @return parsed map describing the image planes to be sent to dart.
    */
   @NonNull
-  public List<Map<String, Object>> parsePlanesForNv21(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
+  public List<Map<String, Object>> parsePlanesForNv21(
+      @NonNull Image image, @NonNull ImageStreamBufferPool.Frame frame) {
+    List<Map<String, Object>> planes = frame.getPlanes(1);
 
     // We will convert the YUV data to NV21 which is a single-plane image
-    ByteBuffer bytes =
-        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
-            image.getPlanes(), image.getWidth(), image.getHeight());
-
-    Map<String, Object> planeBuffer = new HashMap<>();
-    planeBuffer.put("bytesPerRow", image.getWidth());
-    planeBuffer.put("bytesPerPixel", 1);
-    planeBuffer.put("bytes", bytes.array());
-    planes.add(planeBuffer);
+    byte[] bytes =
+        frame.getPlaneBuffer(
+            0, ImageStreamReaderUtils.nv21BufferSize(image.getWidth(), image.getHeight()));
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+        image.getPlanes(), image.getWidth(), image.getHeight(), bytes);
+
+    Map<String, Object> planeBuffer = planes.get(0);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", image.getWidth());
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
     return planes;
   }
 
+  /**
+   * Given a YUV420 input image, will return a list of three tightly packed planes that only contain
+   * the region described by {@code geometry}, scaled to its output size.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame the plane data is written into.
+   * @param geometry - the region to stream and the size to scale it to.
+   * @return parsed map describing the image planes to be sent to dart.
+   */
+  @NonNull
+  public List<Map<String, Object>> parsePlanesForYuv(
+      @NonNull Image image,
+      @NonNull ImageStreamBufferPool.Frame frame,
+      @NonNull ImageStreamResampler.Geometry geometry) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    List<Map<String, Object>> planes = frame.getPlanes(imagePlanes.length);
+
+    for (int i = 0; i < imagePlanes.length; i++) {
+      // The chroma planes of YUV420 have half the resolution of the luma plane.
+      int scale = i == 0 ? 1 : 2;
+      int outputWidth = geometry.outputWidth / scale;
+      int outputHeight = geometry.outputHeight / scale;
+      Image.Plane plane = imagePlanes[i];
+
+      byte[] bytes = frame.getPlaneBuffer(i, outputWidth * outputHeight);
+      resamplePlane(plane, geometry, scale, bytes, 0);
+
+      Map<String, Object> planeBuffer = planes.get(i);
+      ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", outputWidth);
+      ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+      planeBuffer.put("bytes", bytes);
+    }
+    return planes;
+  }
+
+  /**
+   * Given a YUV420 input image, will return a single-plane NV21 image that only contains the region
+   * described by {@code geometry}, scaled to its output size.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame the converted data is written into.
+   * @param geometry - the region to stream and the size to scale it to.
+   * @return parsed map describing the image planes to be sent to dart.
+   */
+  @NonNull
+  public List<Map<String, Object>> parsePlanesForNv21(
+      @NonNull Image image,
+      @NonNull ImageStreamBufferPool.Frame frame,
+      @NonNull ImageStreamResampler.Geometry geometry) {
+    List<Map<String, Object>> planes = frame.getPlanes(1);
+    Image.Plane[] imagePlanes = image.getPlanes();
+    int outputWidth = geometry.outputWidth;
+    int outputHeight = geometry.outputHeight;
+
+    byte[] bytes =
+        frame.getPlaneBuffer(0, ImageStreamReaderUtils.nv21BufferSize(outputWidth, outputHeight));
+    resampleNv21(imagePlanes, geometry, bytes, 0);
+
+    Map<String, Object> planeBuffer = planes.get(0);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", outputWidth);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+    return planes;
+  }
+
+  /**
+   * Given a YUV420 input image, will return a list containing only its luma (Y) plane.
+   *
+   * <p>The plane is copied as-is, including its row padding, and described by its row stride.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame the plane data is copied into.
+   * @return parsed map describing the image planes to be sent to dart.
+   */
+  @NonNull
+  public List<Map<String, Object>> parsePlanesForLuma(
+      @NonNull Image image, @NonNull ImageStreamBufferPool.Frame frame) {
+    List<Map<String, Object>> planes = frame.getPlanes(1);
+    Image.Plane plane = image.getPlanes()[0];
+    ByteBuffer buffer = plane.getBuffer();
+
+    byte[] bytes = frame.getPlaneBuffer(0, buffer.remaining());
+    buffer.get(bytes, 0, bytes.length);
+
+    Map<String, Object> planeBuffer = planes.get(0);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", plane.getRowStride());
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", plane.getPixelStride());
+    planeBuffer.put("bytes", bytes);
+    return planes;
+  }
+
+  /**
+   * Given a YUV420 input image, will return a list containing only its luma (Y) plane, tightly
+   * packed and limited to the region described by {@code geometry}, scaled to its output size.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame the plane data is written into.
+   * @param geometry - the region to stream and the size to scale it to.
+   * @return parsed map describing the image planes to be sent to dart.
+   */
+  @NonNull
+  public List<Map<String, Object>> parsePlanesForLuma(
+      @NonNull Image image,
+      @NonNull ImageStreamBufferPool.Frame frame,
+      @NonNull ImageStreamResampler.Geometry geometry) {
+    List<Map<String, Object>> planes = frame.getPlanes(1);
+    Image.Plane plane = image.getPlanes()[0];
+
+    byte[] bytes = frame.getPlaneBuffer(0, geometry.outputWidth * geometry.outputHeight);
+    resamplePlane(plane, geometry, 1, bytes, 0);
+
+    Map<String, Object> planeBuffer = planes.get(0);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerRow", geometry.outputWidth);
+    ImageStreamBufferPool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+    return planes;
+  }
+
+  /**
+   * Writes a frame straight into the {@link ImageStreamEnvelope} of {@code frame}, so that its
+   * planes are copied out of {@code image} once, without going through the plane buffers.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame that owns the envelope.
+   * @param format - the image format sent to Dart.
+   * @param geometry - the region to stream and the size to scale it to, or null to stream the
+   *     image as-is.
+   * @param width - the width of the streamed image.
+   * @param height - the height of the streamed image.
+   * @param captureProps - the capture properties of the last capture result.
+   * @return the envelope, which is reused once {@code frame} is released.
+   */
+  @NonNull
+  private byte[] encodeEnvelope(
+      @NonNull Image image,
+      @NonNull ImageStreamBufferPool.Frame frame,
+      int format,
+      @Nullable ImageStreamResampler.Geometry geometry,
+      int width,
+      int height,
+      @NonNull CameraCaptureProperties captureProps) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    // NV21 and luma frames have a single plane.
+    int planeCount =
+        format == ImageFormat.NV21 || format == IMAGE_FORMAT_Y8 ? 1 : imagePlanes.length;
+    int planeDataSize = 0;
+    for (int i = 0; i < planeCount; i++) {
+      planeDataSize += getEnvelopePlaneLength(imagePlanes[i], i, format, geometry, width, height);
+    }
+
+    ByteBuffer envelope =
+        ImageStreamEnvelope.putHeader(
+            frame,
+            format,
+            width,
+            height,
+            image.getTimestamp(),
+            captureProps.getLastLensAperture(),
+            captureProps.getLastSensorExposureTime(),
+            captureProps.getLastSensorSensitivity(),
+            planeCount,
+            planeDataSize);
+    for (int i = 0; i < planeCount; i++) {
+      Image.Plane plane = imagePlanes[i];
+      int length = getEnvelopePlaneLength(plane, i, format, geometry, width, height);
+      if (format == ImageFormat.NV21 || geometry != null) {
+        // Converted and resampled planes are tightly packed.
+        int scale = i == 0 ? 1 : 2;
+        ImageStreamEnvelope.putPlaneHeader(envelope, width / scale, 1, length);
+      } else {
+        ImageStreamEnvelope.putPlaneHeader(
+            envelope, plane.getRowStride(), plane.getPixelStride(), length);
+      }
+    }
+
+    byte[] out = envelope.array();
+    int offset = envelope.position();
+    for (int i = 0; i < planeCount; i++) {
+      Image.Plane plane = imagePlanes[i];
+      int length = getEnvelopePlaneLength(plane, i, format, geometry, width, height);
+      if (format == ImageFormat.NV21) {
+        if (geometry != null) {
+          resampleNv21(imagePlanes, geometry, out, offset);
+        } else {
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(imagePlanes, width, height, out, offset);
+        }
+      } else if (geometry != null) {
+        resamplePlane(plane, geometry, i == 0 ? 1 : 2, out, offset);
+      } else {
+        plane.getBuffer().get(out, offset, length);
+      }
+      offset += length;
+    }
+    return out;
+  }
+
+  /** Returns the number of bytes the plane at {@code index} occupies in an envelope. */
+  private static int getEnvelopePlaneLength(
+      @NonNull Image.Plane plane,
+      int index,
+      int format,
+      @Nullable ImageStreamResampler.Geometry geometry,
+      int width,
+      int height) {
+    if (format == ImageFormat.NV21) {
+      return ImageStreamReaderUtils.nv21BufferSize(width, height);
+    }
+    if (geometry != null) {
+      // The chroma planes of YUV420 have half the resolution of the luma plane.
+      int scale = index == 0 ? 1 : 2;
+      return (width / scale) * (height / scale);
+    }
+    return plane.getBuffer().remaining();
+  }
+
+  /**
+   * Resamples the region described by {@code geometry} of a plane into {@code out}, tightly packed.
+   *
+   * @param scale - how many pixels of the image each sample of the plane covers in both
+   *     dimensions, i.e. 2 for the chroma planes of YUV420 and 1 otherwise.
+   */
+  private void resamplePlane(
+      @NonNull Image.Plane plane,
+      @NonNull ImageStreamResampler.Geometry geometry,
+      int scale,
+      @NonNull byte[] out,
+      int offset) {
+    resampler.resamplePlane(
+        plane.getBuffer(),
+        plane.getRowStride(),
+        plane.getPixelStride(),
+        geometry.left / scale,
+        geometry.top / scale,
+        geometry.width / scale,
+        geometry.height / scale,
+        geometry.outputWidth / scale,
+        geometry.outputHeight / scale,
+        out,
+        offset,
+        1);
+  }
+
+  /**
+   * Resamples the region described by {@code geometry} of a YUV420 image into {@code out} as NV21.
+   */
+  private void resampleNv21(
+      @NonNull Image.Plane[] imagePlanes,
+      @NonNull ImageStreamResampler.Geometry geometry,
+      @NonNull byte[] out,
+      int offset) {
+    int imageSize = geometry.outputWidth * geometry.outputHeight;
+    resamplePlane(imagePlanes[0], geometry, 1, out, offset);
+    // NV21 interleaves the chroma planes, with the V value of each pixel pair first.
+    for (int i = 1; i <= 2; i++) {
+      Image.Plane plane = imagePlanes[i];
+      resampler.resamplePlane(
+          plane.getBuffer(),
+          plane.getRowStride(),
+          plane.getPixelStride(),
+          geometry.left / 2,
+          geometry.top / 2,
+          geometry.width / 2,
+          geometry.height / 2,
+          geometry.outputWidth / 2,
+          geometry.outputHeight / 2,
+          out,
+          offset + (i == 2 ? imageSize : imageSize + 1),
+          2);
+    }
+  }
+
+  /** Returns the tracker that records how long delivered frames took to reach Dart. */
+  @NonNull
+  public ImageStreamLatencyTracker getLatencyTracker() {
+    return latencyTracker;
+  }
+
+  /** Returns the pool that frames are copied into before being sent to Dart. */
+  @NonNull
+  public ImageStreamBufferPool getBufferPool() {
+    return bufferPool;
+  }
+
   /** Returns the image reader surface. */
   @NonNull
   public Surface getSurface() {
     return imageReader.getSurface();
   }
 
+  /** Returns the width of the frames received from the camera. */
+  public int getWidth() {
+    return imageReader.getWidth();
+  }
+
+  /** Returns the height of the frames received from the camera. */
+  public int getHeight() {
+    return imageReader.getHeight();
+  }
+
   /**
    * Subscribes the image stream reader to handle incoming images using onImageAvailable().
    *
@@ -219,10 +791,77 @@ public class ImageStreamReader {
    */
   public void removeListener(@NonNull Handler handler) {
     imageReader.setOnImageAvailableListener(null, handler);
+    discardPendingFrames();
   }
 
   /** Closes the image reader. */
   public void close() {
+    discardPendingFrames();
     imageReader.close();
+    bufferPool.clear();
+  }
+
+  /**
+   * A converted frame that is waiting to be delivered to Dart on the main thread.
+   *
+   * <p>Each pooled frame keeps its pending frame as its attachment, which is filled again by {@link
+   * #set} every time the frame is reused.
+   */
+  private class PendingFrame implements Runnable {
+    final ImageStreamBufferPool.Frame frame;
+    Object payload;
+    EventChannel.EventSink imageStreamSink;
+    long sensorTimestamp;
+    long acquiredAt;
+    long convertedAt;
+    long postedAt;
+
+    PendingFrame(@NonNull ImageStreamBufferPool.Frame frame) {
+      this.frame = frame;
+    }
+
+    /**
+     * @param payload is the value sent to Dart, either the frame map or an {@link
+     *     ImageStreamEnvelope} backed by the buffers of {@code frame}.
+     * @param sensorTimestamp is the sensor timestamp of the image the frame was copied from.
+     * @param acquiredAt is the time the image was acquired, see {@link ImageStreamLatencyTracker}.
+     * @param convertedAt is the time the frame had been copied and converted.
+     */
+    void set(
+        @NonNull Object payload,
+        @NonNull EventChannel.EventSink imageStreamSink,
+        long sensorTimestamp,
+        long acquiredAt,
+        long convertedAt) {
+      this.payload = payload;
+      this.imageStreamSink = imageStreamSink;
+      this.sensorTimestamp = sensorTimestamp;
+      this.acquiredAt = acquiredAt;
+      this.convertedAt = convertedAt;
+    }
+
+    @Override
+    public void run() {
+      synchronized (pendingFrames) {
+        // The frame was dropped or discarded after it had been posted.
+        if (!pendingFrames.remove(this)) {
+          return;
+        }
+        deliveredFrameCount++;
+        if (options.hasInFlightLimit()) {
+          // The slot stays taken until Dart acknowledges the frame.
+          unacknowledgedFrameCount++;
+        }
+      }
+      try {
+        imageStreamSink.success(payload);
+        latencyTracker.record(
+            sensorTimestamp, acquiredAt, convertedAt, postedAt, latencyTracker.now());
+      } finally {
+        // The event sink encodes the frame synchronously, so its buffers can be reused as soon as
+        // success() returns.
+        bufferPool.release(frame);
+      }
+    }
   }
 }
@@ -2,7 +2,7 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 //
-// Note: the code in this file is taken directly from the official Google MLKit example:
+// Note: the NV21 conversion in this file is adapted from the official Google MLKit example:
 // https://github.com/googlesamples/mlkit
 
 package io.flutter.plugins.camera.media;
@@ -12,6 +12,8 @@ import androidx.annotation.NonNull;
 import java.nio.ByteBuffer;
 
 public class ImageStreamReaderUtils {
+  private final Yuv420ToNv21Converter nv21Converter = new Yuv420ToNv21Converter();
+
   /**
    * Converts YUV_420_888 to NV21 bytebuffer.
    *
@@ -34,121 +36,56 @@ public class ImageStreamReaderUtils {
   @NonNull
   public ByteBuffer yuv420ThreePlanesToNV21(
       @NonNull Image.Plane[] yuv420888planes, int width, int height) {
-    int imageSize = width * height;
-    byte[] out = new byte[imageSize + 2 * (imageSize / 4)];
-
-    if (areUVPlanesNV21(yuv420888planes, width, height)) {
-      // Copy the Y values.
-      yuv420888planes[0].getBuffer().get(out, 0, imageSize);
-
-      ByteBuffer uBuffer = yuv420888planes[1].getBuffer();
-      ByteBuffer vBuffer = yuv420888planes[2].getBuffer();
-      // Get the first V value from the V buffer, since the U buffer does not contain it.
-      vBuffer.get(out, imageSize, 1);
-      // Copy the first U value and the remaining VU values from the U buffer.
-      uBuffer.get(out, imageSize + 1, 2 * imageSize / 4 - 1);
-    } else {
-      // Fallback to copying the UV values one by one, which is slower but also works.
-      // Unpack Y.
-      unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
-      // Unpack U.
-      unpackPlane(yuv420888planes[1], width, height, out, imageSize + 1, 2);
-      // Unpack V.
-      unpackPlane(yuv420888planes[2], width, height, out, imageSize, 2);
-    }
-
+    byte[] out = new byte[nv21BufferSize(width, height)];
+    yuv420ThreePlanesToNV21(yuv420888planes, width, height, out);
     return ByteBuffer.wrap(out);
   }
 
   /**
-   * Copyright 2020 Google LLC. All rights reserved.
-   *
-   * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
-   * except in compliance with the License. You may obtain a copy of the License at
-   *
-   * <p>http://www.apache.org/licenses/LICENSE-2.0
+   * Converts YUV_420_888 to NV21 into a caller-supplied array.
    *
-   * <p>Unless required by applicable law or agreed to in writing, software distributed under the
-   * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
-   * either express or implied. See the License for the specific language governing permissions and
-   * limitations under the License.
+   * <p>Behaves like {@link #yuv420ThreePlanesToNV21(Image.Plane[], int, int)}, but writes into
+   * {@code out} so that the caller can reuse the same array for every frame. {@code out} must be at
+   * least {@link #nv21BufferSize(int, int)} bytes long.
    *
-   * <p>Checks if the UV plane buffers of a YUV_420_888 image are in the NV21 format.
-   *
-   * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
+   * <p>The conversion is done by a {@link Yuv420ToNv21Converter}, which copies rows in bulk rather
+   * than one pixel at a time. Since the converter keeps a scratch row, this method must not be
+   * called from several threads at once.
    */
-  private static boolean areUVPlanesNV21(@NonNull Image.Plane[] planes, int width, int height) {
-    int imageSize = width * height;
-
-    ByteBuffer uBuffer = planes[1].getBuffer();
-    ByteBuffer vBuffer = planes[2].getBuffer();
-
-    // Backup buffer properties.
-    int vBufferPosition = vBuffer.position();
-    int uBufferLimit = uBuffer.limit();
-
-    // Advance the V buffer by 1 byte, since the U buffer will not contain the first V value.
-    vBuffer.position(vBufferPosition + 1);
-    // Chop off the last byte of the U buffer, since the V buffer will not contain the last U value.
-    uBuffer.limit(uBufferLimit - 1);
-
-    // Check that the buffers are equal and have the expected number of elements.
-    boolean areNV21 =
-        (vBuffer.remaining() == (2 * imageSize / 4 - 2)) && (vBuffer.compareTo(uBuffer) == 0);
-
-    // Restore buffers to their initial state.
-    vBuffer.position(vBufferPosition);
-    uBuffer.limit(uBufferLimit);
-
-    return areNV21;
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
+    yuv420ThreePlanesToNV21(yuv420888planes, width, height, out, 0);
   }
 
   /**
-   * Copyright 2020 Google LLC. All rights reserved.
-   *
-   * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
-   * except in compliance with the License. You may obtain a copy of the License at
-   *
-   * <p>http://www.apache.org/licenses/LICENSE-2.0
-   *
-   * <p>Unless required by applicable law or agreed to in writing, software distributed under the
-   * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
-   * either express or implied. See the License for the specific language governing permissions and
-   * limitations under the License.
+   * Converts YUV_420_888 to NV21 into a caller-supplied array, starting at {@code outOffset}.
    *
-   * <p>Unpack an image plane into a byte array.
-   *
-   * <p>The input plane data will be copied in 'out', starting at 'offset' and every pixel will be
-   * spaced by 'pixelStride'. Note that there is no row padding on the output.
-   *
-   * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
+   * <p>Behaves like {@link #yuv420ThreePlanesToNV21(Image.Plane[], int, int, byte[])}, but lets the
+   * caller write the image straight into a larger array, such as an {@link ImageStreamEnvelope}.
    */
-  private static void unpackPlane(
-      @NonNull Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride)
-      throws IllegalStateException {
-    ByteBuffer buffer = plane.getBuffer();
-    buffer.rewind();
-
-    // Compute the size of the current plane.
-    // We assume that it has the aspect ratio as the original image.
-    int numRow = (buffer.limit() + plane.getRowStride() - 1) / plane.getRowStride();
-    if (numRow == 0) {
-      return;
-    }
-    int scaleFactor = height / numRow;
-    int numCol = width / scaleFactor;
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes,
+      int width,
+      int height,
+      @NonNull byte[] out,
+      int outOffset) {
+    Image.Plane uPlane = yuv420888planes[1];
+    nv21Converter.convert(
+        yuv420888planes[0].getBuffer(),
+        yuv420888planes[0].getRowStride(),
+        uPlane.getBuffer(),
+        yuv420888planes[2].getBuffer(),
+        uPlane.getRowStride(),
+        uPlane.getPixelStride(),
+        width,
+        height,
+        out,
+        outOffset);
+  }
 
-    // Extract the data in the output buffer.
-    int outputPos = offset;
-    int rowStart = 0;
-    for (int row = 0; row < numRow; row++) {
-      int inputPos = rowStart;
-      for (int col = 0; col < numCol; col++) {
-        out[outputPos] = buffer.get(inputPos);
-        outputPos += pixelStride;
-        inputPos += plane.getPixelStride();
-      }
-      rowStart += plane.getRowStride();
-    }
+  /** Returns the number of bytes an NV21 image of the given size occupies. */
+  public static int nv21BufferSize(int width, int height) {
+    int imageSize = width * height;
+    return imageSize + 2 * (imageSize / 4);
   }
 }
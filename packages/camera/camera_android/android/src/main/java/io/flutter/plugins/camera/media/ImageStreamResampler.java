@@ -0,0 +1,185 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.Rect;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Crops and downscales image planes before they are sent to Dart.
+ *
+ * <p>Scaling uses nearest-neighbor sampling, which keeps the cost proportional to the size of the
+ * output rather than the size of the camera image. Every source row that contributes to the output
+ * is bulk copied into a scratch row first, and copied straight into the output when the plane is
+ * only cropped.
+ *
+ * <p>Instances reuse their scratch row and column table between calls and are not thread safe.
+ */
+public class ImageStreamResampler {
+  /**
+   * The region of a camera image that is streamed, and the size it is scaled to.
+   *
+   * <p>All values are even, so that the chroma planes of a YUV 4:2:0 image can be cropped and
+   * scaled by exactly half of them.
+   */
+  public static final class Geometry {
+    public final int left;
+    public final int top;
+    public final int width;
+    public final int height;
+    public final int outputWidth;
+    public final int outputHeight;
+
+    Geometry(int left, int top, int width, int height, int outputWidth, int outputHeight) {
+      this.left = left;
+      this.top = top;
+      this.width = width;
+      this.height = height;
+      this.outputWidth = outputWidth;
+      this.outputHeight = outputHeight;
+    }
+  }
+
+  private byte[] scratchRow = new byte[0];
+  private int[] columnOffsets = new int[0];
+  private int columnSourceWidth;
+  private int columnOutputWidth;
+  private int columnPixelStride;
+
+  /**
+   * Computes the region and output size for an image of the given size.
+   *
+   * <p>The crop rectangle of {@code options} is clamped to the image. The output size is the target
+   * size of {@code options}, which never scales up, or otherwise the cropped size divided by the
+   * subsample factor.
+   */
+  @NonNull
+  public static Geometry computeGeometry(
+      @NonNull ImageStreamOptions options, int imageWidth, int imageHeight) {
+    int left = 0;
+    int top = 0;
+    int right = imageWidth;
+    int bottom = imageHeight;
+    Rect cropRect = options.cropRect;
+    if (cropRect != null) {
+      left = clamp(cropRect.left, 0, imageWidth - 2);
+      top = clamp(cropRect.top, 0, imageHeight - 2);
+      right = clamp(cropRect.right, left + 2, imageWidth);
+      bottom = clamp(cropRect.bottom, top + 2, imageHeight);
+    }
+    left = evenFloor(left);
+    top = evenFloor(top);
+    int width = Math.max(2, evenFloor(right - left));
+    int height = Math.max(2, evenFloor(bottom - top));
+
+    int outputWidth;
+    int outputHeight;
+    if (options.targetWidth > 0) {
+      outputWidth = Math.min(options.targetWidth, width);
+      outputHeight = Math.min(options.targetHeight, height);
+    } else {
+      outputWidth = width / options.subsampleFactor;
+      outputHeight = height / options.subsampleFactor;
+    }
+    outputWidth = Math.max(2, evenFloor(outputWidth));
+    outputHeight = Math.max(2, evenFloor(outputHeight));
+    return new Geometry(left, top, width, height, outputWidth, outputHeight);
+  }
+
+  /**
+   * Samples a region of a plane into {@code out}.
+   *
+   * @param buffer is the buffer of the plane.
+   * @param rowStride is the row stride of the plane.
+   * @param pixelStride is the pixel stride of the plane.
+   * @param left is the first column of the region, in plane pixels.
+   * @param top is the first row of the region, in plane pixels.
+   * @param width is the width of the region, in plane pixels.
+   * @param height is the height of the region, in plane pixels.
+   * @param outputWidth is the number of samples written per row.
+   * @param outputHeight is the number of rows written.
+   * @param out is the array to write into.
+   * @param outputOffset is the index of the first sample in {@code out}.
+   * @param outputPixelStride is the distance between two samples in {@code out}, which is 2 when
+   *     writing one half of an interleaved chroma plane.
+   */
+  public void resamplePlane(
+      @NonNull ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int width,
+      int height,
+      int outputWidth,
+      int outputHeight,
+      @NonNull byte[] out,
+      int outputOffset,
+      int outputPixelStride) {
+    boolean cropOnly = outputWidth == width && pixelStride == 1 && outputPixelStride == 1;
+    int[] columns = cropOnly ? null : getColumnOffsets(width, outputWidth, pixelStride);
+    int spanStart = left * pixelStride;
+    int spanLength = cropOnly ? width : columns[outputWidth - 1] + 1;
+    byte[] row = cropOnly ? null : getScratchRow(spanLength);
+
+    int position = buffer.position();
+    try {
+      int outputPos = outputOffset;
+      for (int outputRow = 0; outputRow < outputHeight; outputRow++) {
+        int sourceRow = top + (int) ((long) outputRow * height / outputHeight);
+        buffer.position(sourceRow * rowStride + spanStart);
+        if (cropOnly) {
+          buffer.get(out, outputPos, width);
+          outputPos += width;
+          continue;
+        }
+        buffer.get(row, 0, spanLength);
+        for (int column = 0; column < outputWidth; column++) {
+          out[outputPos] = row[columns[column]];
+          outputPos += outputPixelStride;
+        }
+      }
+    } finally {
+      buffer.position(position);
+    }
+  }
+
+  /** Returns the offset of every sampled column within a source row that starts at the region. */
+  @NonNull
+  private int[] getColumnOffsets(int width, int outputWidth, int pixelStride) {
+    if (columnSourceWidth == width
+        && columnOutputWidth == outputWidth
+        && columnPixelStride == pixelStride) {
+      return columnOffsets;
+    }
+    if (columnOffsets.length < outputWidth) {
+      columnOffsets = new int[outputWidth];
+    }
+    for (int column = 0; column < outputWidth; column++) {
+      columnOffsets[column] = (int) ((long) column * width / outputWidth) * pixelStride;
+    }
+    columnSourceWidth = width;
+    columnOutputWidth = outputWidth;
+    columnPixelStride = pixelStride;
+    return columnOffsets;
+  }
+
+  @NonNull
+  private byte[] getScratchRow(int length) {
+    if (scratchRow.length < length) {
+      scratchRow = new byte[length];
+    }
+    return scratchRow;
+  }
+
+  private static int clamp(int value, int min, int max) {
+    return Math.max(min, Math.min(value, max));
+  }
+
+  private static int evenFloor(int value) {
+    return value & ~1;
+  }
+}
@@ -0,0 +1,229 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts the planes of a YUV_420_888 image to NV21 using bulk copies.
+ *
+ * <p>The Y plane is copied one row at a time with {@link ByteBuffer#get(byte[], int, int)}, or in
+ * a single call when it has no row padding. For the chroma planes there are two paths:
+ *
+ * <ul>
+ *   <li>If the V plane, read from its second byte onwards, holds the same bytes as the U plane, the
+ *       planes are semi-planar in NV21 order. Each chroma row is then copied in bulk from the V
+ *       plane, regardless of row padding.
+ *   <li>Otherwise every chroma row is bulk copied into a scratch row and interleaved from there,
+ *       which avoids an absolute {@link ByteBuffer#get(int)} call per pixel.
+ * </ul>
+ *
+ * <p>Buffer positions and limits are restored before returning. Instances reuse their scratch row
+ * between calls and are not thread safe.
+ */
+public class Yuv420ToNv21Converter {
+  private byte[] scratchRow = new byte[0];
+
+  /**
+   * Writes the NV21 representation of the given planes into {@code out}.
+   *
+   * <p>The U and V planes of a YUV_420_888 image always share their row and pixel strides, and the
+   * Y plane always has a pixel stride of 1.
+   *
+   * @param yBuffer is the buffer of the Y plane.
+   * @param yRowStride is the row stride of the Y plane.
+   * @param uBuffer is the buffer of the U plane.
+   * @param vBuffer is the buffer of the V plane.
+   * @param uvRowStride is the row stride of the U and V planes.
+   * @param uvPixelStride is the pixel stride of the U and V planes.
+   * @param width is the width of the image.
+   * @param height is the height of the image.
+   * @param out is the array to write into, at least {@link
+   *     ImageStreamReaderUtils#nv21BufferSize(int, int)} bytes long.
+   */
+  public void convert(
+      @NonNull ByteBuffer yBuffer,
+      int yRowStride,
+      @NonNull ByteBuffer uBuffer,
+      @NonNull ByteBuffer vBuffer,
+      int uvRowStride,
+      int uvPixelStride,
+      int width,
+      int height,
+      @NonNull byte[] out) {
+    convert(
+        yBuffer, yRowStride, uBuffer, vBuffer, uvRowStride, uvPixelStride, width, height, out, 0);
+  }
+
+  /**
+   * Writes the NV21 representation of the given planes into {@code out}, starting at {@code
+   * outOffset}.
+   *
+   * <p>Behaves like {@link #convert(ByteBuffer, int, ByteBuffer, ByteBuffer, int, int, int, int,
+   * byte[])}, but lets the caller write the image into a larger array, such as an {@link
+   * ImageStreamEnvelope}.
+   */
+  public void convert(
+      @NonNull ByteBuffer yBuffer,
+      int yRowStride,
+      @NonNull ByteBuffer uBuffer,
+      @NonNull ByteBuffer vBuffer,
+      int uvRowStride,
+      int uvPixelStride,
+      int width,
+      int height,
+      @NonNull byte[] out,
+      int outOffset) {
+    int imageSize = width * height;
+    if (out.length - outOffset < ImageStreamReaderUtils.nv21BufferSize(width, height)) {
+      throw new IllegalArgumentException(
+          "NV21 output of "
+              + (out.length - outOffset)
+              + " bytes is too small for a "
+              + width
+              + "x"
+              + height
+              + " image");
+    }
+
+    copyLuma(yBuffer, yRowStride, width, height, out, outOffset);
+
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+    if (chromaWidth == 0 || chromaHeight == 0) {
+      return;
+    }
+    int chromaOffset = outOffset + imageSize;
+    if (uvPixelStride == 2 && areChromaPlanesInterleaved(uBuffer, vBuffer)) {
+      copyInterleavedChroma(
+          uBuffer, vBuffer, uvRowStride, chromaWidth, chromaHeight, out, chromaOffset);
+    } else {
+      // NV21 stores the V value of each pixel pair before the U value.
+      copyChroma(
+          vBuffer, uvRowStride, uvPixelStride, chromaWidth, chromaHeight, out, chromaOffset);
+      copyChroma(
+          uBuffer, uvRowStride, uvPixelStride, chromaWidth, chromaHeight, out, chromaOffset + 1);
+    }
+  }
+
+  private static void copyLuma(
+      @NonNull ByteBuffer buffer,
+      int rowStride,
+      int width,
+      int height,
+      @NonNull byte[] out,
+      int offset) {
+    int position = buffer.position();
+    try {
+      if (rowStride == width) {
+        buffer.position(0);
+        buffer.get(out, offset, width * height);
+        return;
+      }
+      int outputPos = offset;
+      for (int row = 0; row < height; row++) {
+        buffer.position(row * rowStride);
+        buffer.get(out, outputPos, width);
+        outputPos += width;
+      }
+    } finally {
+      buffer.position(position);
+    }
+  }
+
+  /**
+   * Returns whether the V buffer, starting from its second byte, holds the same bytes as the U
+   * buffer.
+   *
+   * <p>This is the case when both planes are views of a single interleaved VU buffer. Whenever it
+   * holds, the U value of each pixel pair can be read from the V buffer, so the check is exact even
+   * if the buffers merely happen to have equal contents.
+   */
+  private static boolean areChromaPlanesInterleaved(
+      @NonNull ByteBuffer uBuffer, @NonNull ByteBuffer vBuffer) {
+    int uPosition = uBuffer.position();
+    int uLimit = uBuffer.limit();
+    int vPosition = vBuffer.position();
+    int vLimit = vBuffer.limit();
+    try {
+      int length = Math.min(uLimit, vLimit - 1);
+      if (length <= 0) {
+        return false;
+      }
+      uBuffer.position(0);
+      uBuffer.limit(length);
+      vBuffer.position(1);
+      vBuffer.limit(length + 1);
+      return vBuffer.equals(uBuffer);
+    } finally {
+      uBuffer.limit(uLimit);
+      uBuffer.position(uPosition);
+      vBuffer.limit(vLimit);
+      vBuffer.position(vPosition);
+    }
+  }
+
+  private static void copyInterleavedChroma(
+      @NonNull ByteBuffer uBuffer,
+      @NonNull ByteBuffer vBuffer,
+      int rowStride,
+      int chromaWidth,
+      int chromaHeight,
+      @NonNull byte[] out,
+      int offset) {
+    // Every V row holds the VU pairs of the row except for the final U value, which only the U
+    // buffer is guaranteed to contain.
+    int vRowLength = 2 * chromaWidth - 1;
+    int lastUOffset = 2 * (chromaWidth - 1);
+    int position = vBuffer.position();
+    try {
+      int outputPos = offset;
+      for (int row = 0; row < chromaHeight; row++) {
+        int rowStart = row * rowStride;
+        vBuffer.position(rowStart);
+        vBuffer.get(out, outputPos, vRowLength);
+        out[outputPos + vRowLength] = uBuffer.get(rowStart + lastUOffset);
+        outputPos += 2 * chromaWidth;
+      }
+    } finally {
+      vBuffer.position(position);
+    }
+  }
+
+  private void copyChroma(
+      @NonNull ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int chromaWidth,
+      int chromaHeight,
+      @NonNull byte[] out,
+      int offset) {
+    int rowLength = (chromaWidth - 1) * pixelStride + 1;
+    byte[] row = getScratchRow(rowLength);
+    int position = buffer.position();
+    try {
+      int outputPos = offset;
+      for (int rowIndex = 0; rowIndex < chromaHeight; rowIndex++) {
+        buffer.position(rowIndex * rowStride);
+        buffer.get(row, 0, rowLength);
+        for (int inputPos = 0; inputPos < rowLength; inputPos += pixelStride) {
+          out[outputPos] = row[inputPos];
+          outputPos += 2;
+        }
+      }
+    } finally {
+      buffer.position(position);
+    }
+  }
+
+  @NonNull
+  private byte[] getScratchRow(int length) {
+    if (scratchRow.length < length) {
+      scratchRow = new byte[length];
+    }
+    return scratchRow;
+  }
+}
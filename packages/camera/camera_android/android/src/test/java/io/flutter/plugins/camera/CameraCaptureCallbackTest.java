@@ -87,4 +87,18 @@ public class CameraCaptureCallbackTest {
     verify(mockResult, times(1)).get(CaptureResult.CONTROL_AE_STATE);
     verify(mockResult, times(1)).get(CaptureResult.CONTROL_AF_STATE);
   }
+
+  @Test
+  public void onCaptureCompleted_runsNextCaptureCompletedListenerOnce() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    Runnable mockListener = mock(Runnable.class);
+
+    cameraCaptureCallback.setOnNextCaptureCompleted(mockListener);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockListener, times(1)).run();
+  }
 }
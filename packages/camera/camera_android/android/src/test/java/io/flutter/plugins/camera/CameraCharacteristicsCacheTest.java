@@ -0,0 +1,107 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CameraCharacteristicsCacheTest {
+  private CameraManager mockCameraManager;
+  private CameraCharacteristics mockBackCharacteristics;
+  private CameraCharacteristics mockExternalCharacteristics;
+  private CameraCharacteristicsCache cache;
+
+  @Before
+  public void before() throws CameraAccessException {
+    mockCameraManager = mock(CameraManager.class);
+    mockBackCharacteristics = mock(CameraCharacteristics.class);
+    mockExternalCharacteristics = mock(CameraCharacteristics.class);
+    when(mockBackCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_BACK);
+    when(mockExternalCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_EXTERNAL);
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0", "2"});
+    when(mockCameraManager.getCameraCharacteristics("0")).thenReturn(mockBackCharacteristics);
+    when(mockCameraManager.getCameraCharacteristics("2")).thenReturn(mockExternalCharacteristics);
+
+    cache = new CameraCharacteristicsCache(mockCameraManager);
+  }
+
+  @Test
+  public void getCameraIdList_readsFromCameraManagerOnce() throws CameraAccessException {
+    assertArrayEquals(new String[] {"0", "2"}, cache.getCameraIdList());
+    assertArrayEquals(new String[] {"0", "2"}, cache.getCameraIdList());
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+  }
+
+  @Test
+  public void getCameraCharacteristics_readsEachCameraOnce() throws CameraAccessException {
+    assertSame(mockBackCharacteristics, cache.getCameraCharacteristics("0"));
+    assertSame(mockBackCharacteristics, cache.getCameraCharacteristics("0"));
+    assertSame(mockExternalCharacteristics, cache.getCameraCharacteristics("2"));
+
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("2");
+  }
+
+  @Test
+  public void onCameraAvailable_keepsCacheForKnownCameras() throws CameraAccessException {
+    cache.getCameraIdList();
+
+    cache.availabilityCallback.onCameraAvailable("0");
+    cache.getCameraIdList();
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+  }
+
+  @Test
+  public void onCameraAvailable_invalidatesIdListForNewCameras() throws CameraAccessException {
+    cache.getCameraIdList();
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0", "2", "3"});
+
+    cache.availabilityCallback.onCameraAvailable("3");
+
+    assertArrayEquals(new String[] {"0", "2", "3"}, cache.getCameraIdList());
+    verify(mockCameraManager, times(2)).getCameraIdList();
+  }
+
+  @Test
+  public void onCameraUnavailable_keepsCacheForBuiltInCameras() throws CameraAccessException {
+    cache.getCameraIdList();
+    cache.getCameraCharacteristics("0");
+
+    cache.availabilityCallback.onCameraUnavailable("0");
+    cache.getCameraIdList();
+    cache.getCameraCharacteristics("0");
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+  }
+
+  @Test
+  public void onCameraUnavailable_invalidatesExternalCameras() throws CameraAccessException {
+    cache.getCameraIdList();
+    cache.getCameraCharacteristics("2");
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0"});
+
+    cache.availabilityCallback.onCameraUnavailable("2");
+
+    assertArrayEquals(new String[] {"0"}, cache.getCameraIdList());
+    cache.getCameraCharacteristics("2");
+    verify(mockCameraManager, times(2)).getCameraCharacteristics("2");
+  }
+}
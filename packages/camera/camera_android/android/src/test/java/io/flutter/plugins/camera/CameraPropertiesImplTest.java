@@ -279,6 +279,18 @@ public class CameraPropertiesImplTest {
     assertEquals(actualOrientation, expectedOrientation);
   }
 
+  @Test
+  public void getSensorInfoTimestampSourceTest() {
+    int expectedSource = CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME;
+    when(mockCharacteristics.get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE))
+        .thenReturn(expectedSource);
+
+    int actualSource = cameraProperties.getSensorInfoTimestampSource();
+
+    verify(mockCharacteristics, times(1)).get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE);
+    assertEquals(actualSource, expectedSource);
+  }
+
   @Test
   public void getHardwareLevelTest() {
     int expectedLevel = 42;
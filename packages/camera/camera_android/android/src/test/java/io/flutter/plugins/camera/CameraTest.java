@@ -7,7 +7,10 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -51,6 +54,8 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamBufferPool;
+import io.flutter.plugins.camera.media.ImageStreamLatencyTracker;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.view.TextureRegistry;
 import java.io.Closeable;
@@ -64,6 +69,7 @@ import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.mockito.MockedConstruction;
@@ -857,6 +863,178 @@ public class CameraTest {
         .getSurface(); // stream pulled from regular imageReader's surface.
   }
 
+  @Test
+  public void persistentImageStreamSession_shouldOnlyToggleTheStreamTarget()
+      throws InterruptedException, CameraAccessException {
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    Surface mockImageStreamSurface = mock(Surface.class);
+    when(mockImageStreamReader.getSurface()).thenReturn(mockImageStreamSurface);
+    CameraDeviceWrapper mockCameraDevice = mock(CameraDeviceWrapper.class);
+    camera.recordingVideo = false;
+    camera.cameraDevice = mockCameraDevice;
+    camera.imageStreamReader = mockImageStreamReader;
+    camera.imageStreamSurfaceConfigured = true;
+
+    camera.setPersistentImageStreamSession(true);
+    camera.startPreviewWithImageStream(mock(EventChannel.class));
+    camera.stopImageStream();
+
+    InOrder inOrder = inOrder(mockPreviewRequestBuilder, mockCaptureSession);
+    inOrder.verify(mockPreviewRequestBuilder).addTarget(mockImageStreamSurface);
+    inOrder.verify(mockCaptureSession).setRepeatingRequest(any(), any(), any());
+    inOrder.verify(mockPreviewRequestBuilder).removeTarget(mockImageStreamSurface);
+    inOrder.verify(mockCaptureSession).setRepeatingRequest(any(), any(), any());
+    verify(mockCameraDevice, never()).createCaptureRequest(anyInt());
+    verify(mockCaptureSession, never()).close();
+  }
+
+  @Test
+  public void stopImageStream_shouldRestartPreviewWithoutPersistentSession()
+      throws InterruptedException, CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    SurfaceTexture mockSurfaceTexture = mock(SurfaceTexture.class);
+    Size mockSize = mock(Size.class);
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    camera.recordingVideo = false;
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.imageStreamReader = mock(ImageStreamReader.class);
+    camera.imageStreamSurfaceConfigured = true;
+    CameraDeviceWrapper fakeCamera = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.cameraDevice = fakeCamera;
+
+    TextureRegistry.SurfaceTextureEntry cameraFlutterTexture = camera.flutterTexture;
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+
+    when(cameraFlutterTexture.surfaceTexture()).thenReturn(mockSurfaceTexture);
+    when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+
+    camera.stopImageStream();
+
+    verify(mockPreviewRequestBuilder, never()).removeTarget(any());
+    verify(mockPictureImageReader, times(2)) // the regular preview was started again.
+        .getSurface();
+    assertSame(mockRequestBuilders.get(0), camera.previewRequestBuilder);
+  }
+
+  @Test
+  public void stopImageStream_shouldCloseTheGpuStage()
+      throws InterruptedException, CameraAccessException {
+    ImageStreamGpuStage mockGpuStage = mock(ImageStreamGpuStage.class);
+    camera.imageStreamGpuStage = mockGpuStage;
+    camera.imageStreamReader = mock(ImageStreamReader.class);
+    camera.imageStreamSurfaceConfigured = true;
+    camera.setPersistentImageStreamSession(true);
+
+    camera.stopImageStream();
+
+    verify(mockGpuStage, times(1)).close();
+    assertNull(camera.imageStreamGpuStage);
+    // The stage's surface is not part of a persistent session, so the preview is started again.
+    verify(mockPreviewRequestBuilder, never()).removeTarget(any());
+  }
+
+  @Test
+  public void setPersistentImageStreamSession_shouldAddTheStreamSurfaceWhileIdle()
+      throws InterruptedException, CameraAccessException {
+    CameraDeviceWrapper mockCameraDevice = setUpSessionRebuild();
+
+    camera.setPersistentImageStreamSession(true);
+
+    verify(mockCameraDevice, times(1)).createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+    assertTrue(camera.imageStreamSurfaceConfigured);
+    verify(mockPreviewRequestBuilder, never()).addTarget(camera.imageStreamReader.getSurface());
+  }
+
+  @Test
+  public void setPersistentImageStreamSession_shouldRemoveTheStreamSurfaceWhileIdle()
+      throws InterruptedException, CameraAccessException {
+    CameraDeviceWrapper mockCameraDevice = setUpSessionRebuild();
+    camera.setPersistentImageStreamSession(true);
+
+    camera.setPersistentImageStreamSession(false);
+
+    verify(mockCameraDevice, times(2)).createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+    assertFalse(camera.imageStreamSurfaceConfigured);
+  }
+
+  @Test
+  public void setPersistentImageStreamSession_shouldKeepAStreamRunningWhenEnabled()
+      throws InterruptedException, CameraAccessException {
+    CameraDeviceWrapper mockCameraDevice = setUpSessionRebuild();
+    Surface imageStreamSurface = camera.imageStreamReader.getSurface();
+    camera.startPreviewWithImageStream(mock(EventChannel.class));
+    verify(mockCameraDevice, times(1)).createCaptureRequest(CameraDevice.TEMPLATE_RECORD);
+
+    camera.setPersistentImageStreamSession(true);
+
+    verify(mockCameraDevice, times(1)).createCaptureRequest(anyInt());
+    verify(mockPreviewRequestBuilder, never()).removeTarget(any());
+
+    // The streaming session already holds the stream surface, so stopping only removes the target.
+    camera.stopImageStream();
+
+    verify(mockPreviewRequestBuilder, times(1)).removeTarget(imageStreamSurface);
+    verify(mockCameraDevice, times(1)).createCaptureRequest(anyInt());
+  }
+
+  @Test
+  public void setPersistentImageStreamSession_shouldKeepAStreamRunningWhenDisabled()
+      throws InterruptedException, CameraAccessException {
+    CameraDeviceWrapper mockCameraDevice = setUpSessionRebuild();
+    camera.setPersistentImageStreamSession(true);
+    camera.startPreviewWithImageStream(mock(EventChannel.class));
+    verify(mockPreviewRequestBuilder, times(1)).addTarget(camera.imageStreamReader.getSurface());
+
+    camera.setPersistentImageStreamSession(false);
+
+    verify(mockCameraDevice, times(1)).createCaptureRequest(anyInt());
+    verify(mockPreviewRequestBuilder, never()).removeTarget(any());
+
+    // Stopping the stream then rebuilds the session without the stream surface.
+    camera.stopImageStream();
+
+    verify(mockCameraDevice, times(2)).createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+    verify(mockPreviewRequestBuilder, never()).removeTarget(any());
+    assertFalse(camera.imageStreamSurfaceConfigured);
+  }
+
+  /** Sets up the camera so that restarting the preview rebuilds the capture session. */
+  private CameraDeviceWrapper setUpSessionRebuild() throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> requestBuilders = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      requestBuilders.add(mockPreviewRequestBuilder);
+    }
+    CameraDeviceWrapper mockCameraDevice =
+        spy(new FakeCameraDeviceWrapper(requestBuilders, mockCaptureSession));
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    when(mockImageStreamReader.getSurface()).thenReturn(mock(Surface.class));
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    when(camera.flutterTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(mockCameraFeatureFactory.mockResolutionFeature.getPreviewSize())
+        .thenReturn(mock(Size.class));
+    camera.recordingVideo = false;
+    camera.cameraDevice = mockCameraDevice;
+    camera.imageStreamReader = mockImageStreamReader;
+    camera.pictureImageReader = mockPictureImageReader;
+    return mockCameraDevice;
+  }
+
+  @Test
+  public void getImageStreamStatistics_shouldReadFromTheGpuStage() {
+    ImageStreamReader mockGpuReader = mock(ImageStreamReader.class);
+    when(mockGpuReader.getDeliveredFrameCount()).thenReturn(12L);
+    when(mockGpuReader.getBufferPool()).thenReturn(mock(ImageStreamBufferPool.class));
+    ImageStreamGpuStage mockGpuStage = mock(ImageStreamGpuStage.class);
+    when(mockGpuStage.getImageStreamReader()).thenReturn(mockGpuReader);
+    camera.imageStreamGpuStage = mockGpuStage;
+    camera.imageStreamReader = mock(ImageStreamReader.class);
+
+    assertEquals(12L, (long) camera.getImageStreamStatistics().getDeliveredFrames());
+  }
+
   @Test
   public void setDescriptionWhileRecording_shouldErrorWhenNotRecording() {
     camera.recordingVideo = false;
@@ -866,6 +1044,110 @@ public class CameraTest {
         () -> camera.setDescriptionWhileRecording(newCameraProperties));
   }
 
+  @Test
+  public void switchCamera_shouldErrorWhileRecording() {
+    camera.recordingVideo = true;
+    @SuppressWarnings("unchecked")
+    final Messages.Result<Long> mockResult = mock(Messages.Result.class);
+
+    camera.switchCamera(mock(CameraProperties.class), mockResult);
+
+    verify(mockResult, times(1))
+        .error(
+            argThat(
+                new FlutterErrorMatcher(
+                    "switchCameraFailed",
+                    "Use setDescriptionWhileRecording while recording",
+                    null)));
+  }
+
+  @Test
+  public void switchCamera_shouldOnlyReopenTheCameraDevice() throws CameraAccessException {
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    DeviceOrientationManager mockDeviceOrientationManager = mock(DeviceOrientationManager.class);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mockDeviceOrientationManager);
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+    when(resolutionFeature.checkIsSupported()).thenReturn(true);
+    Size mockSize = mock(Size.class);
+    when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
+    when(resolutionFeature.getCaptureSize()).thenReturn(mockSize);
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    when(mockImageStreamReader.getLatencyTracker()).thenReturn(new ImageStreamLatencyTracker());
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.imageStreamReader = mockImageStreamReader;
+    CameraManager mockCameraManager = mock(CameraManager.class);
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE)).thenReturn(mockCameraManager);
+    CameraProperties newCameraProperties = mock(CameraProperties.class);
+    when(newCameraProperties.getCameraName()).thenReturn("2");
+    @SuppressWarnings("unchecked")
+    final Messages.Result<Long> mockResult = mock(Messages.Result.class);
+
+    camera.switchCamera(newCameraProperties, mockResult);
+
+    verify(mockCameraManager, times(1)).openCamera(eq("2"), any(), any(Handler.class));
+    verify(mockDeviceOrientationManager, times(1)).stop();
+    verify(mockHandlerThread, never()).quitSafely();
+    verify(mockPictureImageReader, never()).close();
+    verify(mockImageStreamReader, never()).close();
+    assertSame(mockPictureImageReader, camera.pictureImageReader);
+    assertSame(mockImageStreamReader, camera.imageStreamReader);
+    verify(mockResult, never()).success(any());
+    verify(mockResult, never()).error(any());
+  }
+
+  @Test
+  public void switchCamera_shouldResumeARunningImageStreamOnTheNewCamera()
+      throws CameraAccessException {
+    CameraDeviceWrapper previousCameraDevice = setUpSessionRebuild();
+    ImageStreamReader mockImageStreamReader = camera.imageStreamReader;
+    Surface imageStreamSurface = mockImageStreamReader.getSurface();
+    when(mockImageStreamReader.getLatencyTracker()).thenReturn(new ImageStreamLatencyTracker());
+    EventChannel mockEventChannel = mock(EventChannel.class);
+    EventChannel.EventSink mockSink = mock(EventChannel.EventSink.class);
+    camera.startPreviewWithImageStream(mockEventChannel);
+    ArgumentCaptor<EventChannel.StreamHandler> streamHandlerCaptor =
+        ArgumentCaptor.forClass(EventChannel.StreamHandler.class);
+    verify(mockEventChannel).setStreamHandler(streamHandlerCaptor.capture());
+    streamHandlerCaptor.getValue().onListen(null, mockSink);
+    verify(previousCameraDevice, times(1)).createCaptureRequest(CameraDevice.TEMPLATE_RECORD);
+
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+    when(resolutionFeature.checkIsSupported()).thenReturn(true);
+    when(resolutionFeature.getCaptureSize()).thenReturn(resolutionFeature.getPreviewSize());
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mock(DeviceOrientationManager.class));
+    CameraManager mockCameraManager = mock(CameraManager.class);
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE)).thenReturn(mockCameraManager);
+    CameraProperties newCameraProperties = mock(CameraProperties.class);
+    when(newCameraProperties.getCameraName()).thenReturn("2");
+    @SuppressWarnings("unchecked")
+    final Messages.Result<Long> mockResult = mock(Messages.Result.class);
+
+    camera.switchCamera(newCameraProperties, mockResult);
+
+    // Frames of the previous camera are no longer delivered.
+    verify(mockImageStreamReader, times(1)).removeListener(any());
+    ArgumentCaptor<CameraDevice.StateCallback> stateCallbackCaptor =
+        ArgumentCaptor.forClass(CameraDevice.StateCallback.class);
+    verify(mockCameraManager)
+        .openCamera(eq("2"), stateCallbackCaptor.capture(), any(Handler.class));
+
+    CameraDevice mockNewCameraDevice = mock(CameraDevice.class);
+    when(mockNewCameraDevice.createCaptureRequest(anyInt())).thenReturn(mockPreviewRequestBuilder);
+    stateCallbackCaptor.getValue().onOpened(mockNewCameraDevice);
+
+    // The new camera streams to the sink Dart is still listening to.
+    verify(mockNewCameraDevice, times(1)).createCaptureRequest(CameraDevice.TEMPLATE_RECORD);
+    verify(mockNewCameraDevice, never()).createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+    verify(mockPreviewRequestBuilder, times(2)).addTarget(imageStreamSurface);
+    verify(mockImageStreamReader, times(2)).subscribeListener(any(), eq(mockSink), any());
+  }
+
   @Test
   public void
       resumeVideoRecording_shouldSendVideoRecordingFailedErrorWhenVersionCodeSmallerThanN() {
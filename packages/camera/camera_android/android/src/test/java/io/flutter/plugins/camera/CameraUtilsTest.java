@@ -5,6 +5,8 @@
 package io.flutter.plugins.camera;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -22,6 +24,7 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamOptions;
 import java.util.List;
 import org.junit.Test;
 
@@ -171,4 +174,39 @@ public class CameraUtilsTest {
     assertEquals(
         CameraUtils.flashModeFromPigeon(Messages.PlatformFlashMode.TORCH), FlashMode.torch);
   }
+
+  @Test
+  public void imageStreamOptionsFromPigeonTest() {
+    ImageStreamOptions unlimited =
+        CameraUtils.imageStreamOptionsFromPigeon(
+            new Messages.PlatformImageStreamOptions.Builder()
+                .setDropPolicy(Messages.PlatformImageStreamDropPolicy.DROP_OLDEST)
+                .setLumaOnly(false)
+                .setCompactEncoding(false)
+                .setGpuTransform(false)
+                .setRotationDegrees(0L)
+                .build());
+    assertEquals(unlimited.maxFramesInFlight, ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT);
+    assertEquals(unlimited.dropPolicy, ImageStreamOptions.FrameDropPolicy.DROP_OLDEST);
+    assertFalse(unlimited.lumaOnly);
+    assertFalse(unlimited.compactEncoding);
+    assertFalse(unlimited.gpuTransform);
+
+    ImageStreamOptions limited =
+        CameraUtils.imageStreamOptionsFromPigeon(
+            new Messages.PlatformImageStreamOptions.Builder()
+                .setMaxFramesInFlight(2L)
+                .setDropPolicy(Messages.PlatformImageStreamDropPolicy.DROP_NEWEST)
+                .setLumaOnly(true)
+                .setCompactEncoding(true)
+                .setGpuTransform(true)
+                .setRotationDegrees(270L)
+                .build());
+    assertEquals(limited.maxFramesInFlight, 2);
+    assertEquals(limited.dropPolicy, ImageStreamOptions.FrameDropPolicy.DROP_NEWEST);
+    assertTrue(limited.lumaOnly);
+    assertTrue(limited.compactEncoding);
+    assertTrue(limited.gpuTransform);
+    assertEquals(limited.rotationDegrees, 270);
+  }
 }
@@ -4,8 +4,11 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -14,16 +17,17 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.media.Image;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
-import org.mockito.invocation.InvocationOnMock;
-import org.mockito.stubbing.Answer;
 
 public class ImageSaverTests {
 
@@ -32,46 +36,51 @@ public class ImageSaverTests {
   ImageSaver.Callback mockCallback;
   ImageSaver imageSaver;
   Image.Plane mockPlane;
-  ByteBuffer mockBuffer;
+  ByteBuffer buffer;
   MockedStatic<ImageSaver.FileOutputStreamFactory> mockFileOutputStreamFactory;
   FileOutputStream mockFileOutputStream;
+  FileChannel mockFileChannel;
+  ByteArrayOutputStream writtenBytes;
 
   @Before
-  public void setup() {
+  public void setup() throws IOException {
     // Set up mocked file dependency
     mockFile = mock(File.class);
     when(mockFile.getAbsolutePath()).thenReturn("absolute/path");
     mockPlane = mock(Image.Plane.class);
-    mockBuffer = mock(ByteBuffer.class);
-    when(mockBuffer.remaining()).thenReturn(3);
-    when(mockBuffer.get(any()))
-        .thenAnswer(
-            new Answer<Object>() {
-              @Override
-              public Object answer(InvocationOnMock invocation) throws Throwable {
-                byte[] bytes = invocation.getArgument(0);
-                bytes[0] = 0x42;
-                bytes[1] = 0x00;
-                bytes[2] = 0x13;
-                return mockBuffer;
-              }
-            });
+    buffer = ByteBuffer.allocateDirect(3);
+    buffer.put(new byte[] {0x42, 0x00, 0x13});
+    buffer.flip();
 
     // Set up mocked image dependency
     mockImage = mock(Image.class);
-    when(mockPlane.getBuffer()).thenReturn(mockBuffer);
+    when(mockPlane.getBuffer()).thenReturn(buffer);
     when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {mockPlane});
 
     // Set up mocked FileOutputStream
     mockFileOutputStreamFactory = mockStatic(ImageSaver.FileOutputStreamFactory.class);
     mockFileOutputStream = mock(FileOutputStream.class);
+    mockFileChannel = mock(FileChannel.class);
+    writtenBytes = new ByteArrayOutputStream();
+    when(mockFileOutputStream.getChannel()).thenReturn(mockFileChannel);
+    // Write at most two bytes per call, to check that partial writes are continued.
+    when(mockFileChannel.write(any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              ByteBuffer source = invocation.getArgument(0);
+              int length = Math.min(2, source.remaining());
+              for (int i = 0; i < length; i++) {
+                writtenBytes.write(source.get());
+              }
+              return length;
+            });
     mockFileOutputStreamFactory
         .when(() -> ImageSaver.FileOutputStreamFactory.create(any()))
         .thenReturn(mockFileOutputStream);
 
     // Set up testable ImageSaver instance
     mockCallback = mock(ImageSaver.Callback.class);
-    imageSaver = new ImageSaver(mockImage, mockFile, mockCallback);
+    imageSaver = new ImageSaver(mockImage, mockFile, false, mockCallback);
   }
 
   @After
@@ -83,14 +92,54 @@ public class ImageSaverTests {
   public void runWritesBytesToFileAndFinishesWithPath() throws IOException {
     imageSaver.run();
 
-    verify(mockFileOutputStream, times(1)).write(new byte[] {0x42, 0x00, 0x13});
+    assertArrayEquals(new byte[] {0x42, 0x00, 0x13}, writtenBytes.toByteArray());
+    verify(mockFileOutputStream, never()).write(any());
     verify(mockCallback, times(1)).onComplete("absolute/path");
     verify(mockCallback, never()).onError(any(), any());
   }
 
+  @Test
+  public void runDoesNotForceFileToStorageByDefault() throws IOException {
+    imageSaver.run();
+
+    verify(mockFileChannel, never()).force(anyBoolean());
+  }
+
+  @Test
+  public void runForcesFileToStorageBeforeFinishingWhenSyncToDiskIsSet() throws IOException {
+    imageSaver = new ImageSaver(mockImage, mockFile, true, mockCallback);
+
+    imageSaver.run();
+
+    InOrder inOrder = inOrder(mockFileChannel, mockCallback);
+    inOrder.verify(mockFileChannel, times(1)).force(true);
+    inOrder.verify(mockCallback, times(1)).onComplete("absolute/path");
+  }
+
+  @Test
+  public void runClosesImageAfterWriting() {
+    imageSaver.run();
+
+    verify(mockImage, times(1)).close();
+  }
+
+  @Test
+  public void copyImageClosesImageAndRunWritesCopiedBytes() {
+    imageSaver.copyImage();
+    verify(mockImage, times(1)).close();
+    // The buffer of a closed image must not be read anymore.
+    buffer.put(0, (byte) 0x7f);
+
+    imageSaver.run();
+
+    assertArrayEquals(new byte[] {0x42, 0x00, 0x13}, writtenBytes.toByteArray());
+    verify(mockImage, times(1)).close();
+    verify(mockCallback, times(1)).onComplete("absolute/path");
+  }
+
   @Test
   public void runCallsErrorOnWriteIoexception() throws IOException {
-    doThrow(new IOException()).when(mockFileOutputStream).write(any());
+    doThrow(new IOException()).when(mockFileChannel).write(any(ByteBuffer.class));
     imageSaver.run();
     verify(mockCallback, times(1)).onError("IOError", "Failed saving image");
     verify(mockCallback, never()).onComplete(any());
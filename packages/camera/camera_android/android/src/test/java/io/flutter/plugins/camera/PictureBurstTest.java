@@ -0,0 +1,164 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class PictureBurstTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private PictureBurst.Callback mockCallback;
+
+  @Before
+  public void setUp() {
+    mockCallback = mock(PictureBurst.Callback.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsEmptyBursts() {
+    new PictureBurst(0, temporaryFolder.getRoot(), false, mockCallback);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void onImageAvailable_completesWithPathsInCaptureOrder() throws IOException {
+    PictureBurst burst = new PictureBurst(2, temporaryFolder.getRoot(), false, mockCallback);
+
+    ImageSaver firstSaver = burst.onImageAvailable(createJpegImage((byte) 1));
+    ImageSaver secondSaver = burst.onImageAvailable(createJpegImage((byte) 2));
+    assertNotNull(firstSaver);
+    assertNotNull(secondSaver);
+    assertTrue(burst.isCaptureComplete());
+
+    // Pictures may finish saving in any order.
+    secondSaver.run();
+    verify(mockCallback, never()).onComplete(any());
+    firstSaver.run();
+
+    ArgumentCaptor<List<String>> pathsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(mockCallback, times(1)).onComplete(pathsCaptor.capture());
+    verify(mockCallback, never()).onError(anyString(), any());
+    List<String> paths = pathsCaptor.getValue();
+    assertEquals(2, paths.size());
+    assertArrayEquals(new byte[] {1}, Files.readAllBytes(new File(paths.get(0)).toPath()));
+    assertArrayEquals(new byte[] {2}, Files.readAllBytes(new File(paths.get(1)).toPath()));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void onImageAvailable_savesBurstsLargerThanTheJpegReader() throws IOException {
+    int count = Camera.MAX_PENDING_PICTURES + 2;
+    PictureBurst burst = new PictureBurst(count, temporaryFolder.getRoot(), false, mockCallback);
+    PictureImageBudget budget = new PictureImageBudget(Camera.MAX_PENDING_PICTURES);
+    List<Runnable> savers = new ArrayList<>();
+
+    // Storage lags behind, so no picture is saved before the whole burst has arrived.
+    for (int i = 0; i < count; i++) {
+      ImageSaver saver = burst.onImageAvailable(createJpegImage((byte) i));
+      assertNotNull(saver);
+      savers.add(budget.prepare(saver));
+      // The reader always keeps a buffer free for the next picture.
+      assertTrue(budget.getOpenImageCount() < Camera.MAX_PENDING_PICTURES);
+    }
+    for (Runnable saver : savers) {
+      saver.run();
+    }
+
+    ArgumentCaptor<List<String>> pathsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(mockCallback, times(1)).onComplete(pathsCaptor.capture());
+    List<String> paths = pathsCaptor.getValue();
+    assertEquals(count, paths.size());
+    for (int i = 0; i < count; i++) {
+      assertArrayEquals(new byte[] {(byte) i}, Files.readAllBytes(new File(paths.get(i)).toPath()));
+    }
+  }
+
+  @Test
+  public void onImageAvailable_closesImagesBeyondTheRequestedCount() {
+    PictureBurst burst = new PictureBurst(1, temporaryFolder.getRoot(), false, mockCallback);
+    burst.onImageAvailable(createJpegImage((byte) 1));
+    Image extraImage = createJpegImage((byte) 2);
+
+    assertNull(burst.onImageAvailable(extraImage));
+    verify(extraImage).close();
+  }
+
+  @Test
+  public void onCaptureFailed_reportsErrorOnceOtherPicturesAreSaved() {
+    PictureBurst burst = new PictureBurst(2, temporaryFolder.getRoot(), false, mockCallback);
+    ImageSaver saver = burst.onImageAvailable(createJpegImage((byte) 1));
+
+    burst.onCaptureFailed("Capture failed with reason 0");
+    assertTrue(burst.isCaptureComplete());
+    verify(mockCallback, never()).onError(anyString(), any());
+
+    assertNotNull(saver);
+    saver.run();
+    verify(mockCallback, times(1)).onError("captureFailed", "Capture failed with reason 0");
+    verify(mockCallback, never()).onComplete(any());
+  }
+
+  @Test
+  public void onError_failsPicturesThatHaveNotArrived() {
+    PictureBurst burst = new PictureBurst(3, temporaryFolder.getRoot(), false, mockCallback);
+    ImageSaver saver = burst.onImageAvailable(createJpegImage((byte) 1));
+
+    burst.onError("cameraAccess", "Camera was closed");
+    assertTrue(burst.isCaptureComplete());
+    assertNull(burst.onImageAvailable(createJpegImage((byte) 2)));
+
+    assertNotNull(saver);
+    saver.run();
+    verify(mockCallback, times(1)).onError(eq("cameraAccess"), eq("Camera was closed"));
+    verify(mockCallback, never()).onComplete(any());
+  }
+
+  @Test
+  public void isCaptureComplete_isFalseWhilePicturesAreOutstanding() {
+    PictureBurst burst = new PictureBurst(3, temporaryFolder.getRoot(), false, mockCallback);
+    burst.onImageAvailable(createJpegImage((byte) 1));
+
+    assertFalse(burst.isCaptureComplete());
+    assertEquals(3, burst.getCount());
+    verify(mockCallback, never()).onComplete(any());
+  }
+
+  private static Image createJpegImage(byte content) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1);
+    buffer.put(content);
+    buffer.flip();
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    Image image = mock(Image.class);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return image;
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PictureImageBudgetTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsReadersWithoutImages() {
+    new PictureImageBudget(0);
+  }
+
+  @Test
+  public void prepare_keepsImagesOpenWhileABufferRemainsFree() throws IOException {
+    PictureImageBudget budget = new PictureImageBudget(3);
+    Image first = createJpegImage((byte) 1);
+    Image second = createJpegImage((byte) 2);
+
+    Runnable firstSaver = budget.prepare(createSaver(first, "first.jpg"));
+    Runnable secondSaver = budget.prepare(createSaver(second, "second.jpg"));
+
+    verify(first, never()).close();
+    verify(second, never()).close();
+    assertEquals(2, budget.getOpenImageCount());
+
+    firstSaver.run();
+    secondSaver.run();
+    verify(first, times(1)).close();
+    verify(second, times(1)).close();
+    assertEquals(0, budget.getOpenImageCount());
+    assertArrayEquals(new byte[] {1}, readFile("first.jpg"));
+    assertArrayEquals(new byte[] {2}, readFile("second.jpg"));
+  }
+
+  @Test
+  public void prepare_copiesPictureThatWouldTakeTheLastFreeBuffer() throws IOException {
+    PictureImageBudget budget = new PictureImageBudget(2);
+    Runnable firstSaver = budget.prepare(createSaver(createJpegImage((byte) 1), "first.jpg"));
+    Image second = createJpegImage((byte) 2);
+
+    Runnable secondSaver = budget.prepare(createSaver(second, "second.jpg"));
+
+    // The reader can hand out the next image even though the first one is still open.
+    verify(second, times(1)).close();
+    assertEquals(1, budget.getOpenImageCount());
+
+    secondSaver.run();
+    verify(second, times(1)).close();
+    assertArrayEquals(new byte[] {2}, readFile("second.jpg"));
+
+    // Once the first picture has been saved, its buffer is free again.
+    firstSaver.run();
+    Image third = createJpegImage((byte) 3);
+    budget.prepare(createSaver(third, "third.jpg"));
+    verify(third, never()).close();
+  }
+
+  private ImageSaver createSaver(Image image, String fileName) {
+    return new ImageSaver(
+        image,
+        new File(temporaryFolder.getRoot(), fileName),
+        false,
+        mock(ImageSaver.Callback.class));
+  }
+
+  private byte[] readFile(String fileName) throws IOException {
+    return Files.readAllBytes(new File(temporaryFolder.getRoot(), fileName).toPath());
+  }
+
+  private static Image createJpegImage(byte value) {
+    Image.Plane plane = mock(Image.Plane.class);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1);
+    buffer.put(value);
+    buffer.flip();
+    when(plane.getBuffer()).thenReturn(buffer);
+    Image image = mock(Image.class);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return image;
+  }
+}
@@ -0,0 +1,60 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class VideoRendererTest {
+  private static final long FRAME_INTERVAL = 33_000_000L;
+
+  @Test
+  public void frameCounters_countRenderedFrames() {
+    VideoRenderer.FrameCounters counters = new VideoRenderer.FrameCounters();
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(counters.onFrameLatched(i * FRAME_INTERVAL));
+      counters.onFrameRendered(FRAME_INTERVAL / 4);
+    }
+
+    assertEquals(3, counters.getRenderedFrames());
+    assertEquals(0, counters.getDroppedFrames());
+    assertEquals(0, counters.getLateFrames());
+  }
+
+  @Test
+  public void frameCounters_countFramesReplacedBeforeTheyWereLatched() {
+    VideoRenderer.FrameCounters counters = new VideoRenderer.FrameCounters();
+    assertTrue(counters.onFrameLatched(0));
+    counters.onFrameRendered(FRAME_INTERVAL / 4);
+
+    // Two frames arrived, but the first latch already returned the second one.
+    assertTrue(counters.onFrameLatched(2 * FRAME_INTERVAL));
+    counters.onFrameRendered(FRAME_INTERVAL / 4);
+    assertFalse(counters.onFrameLatched(2 * FRAME_INTERVAL));
+
+    assertEquals(2, counters.getRenderedFrames());
+    assertEquals(1, counters.getDroppedFrames());
+  }
+
+  @Test
+  public void frameCounters_countFramesThatTookLongerThanTheFrameInterval() {
+    VideoRenderer.FrameCounters counters = new VideoRenderer.FrameCounters();
+    // The first frame has no interval to compare against.
+    assertTrue(counters.onFrameLatched(0));
+    counters.onFrameRendered(2 * FRAME_INTERVAL);
+
+    assertTrue(counters.onFrameLatched(FRAME_INTERVAL));
+    counters.onFrameRendered(FRAME_INTERVAL / 2);
+    assertTrue(counters.onFrameLatched(2 * FRAME_INTERVAL));
+    counters.onFrameRendered(FRAME_INTERVAL + 1);
+
+    assertEquals(3, counters.getRenderedFrames());
+    assertEquals(1, counters.getLateFrames());
+  }
+}
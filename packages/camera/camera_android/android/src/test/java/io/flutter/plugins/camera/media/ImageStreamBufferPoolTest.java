@@ -0,0 +1,112 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ImageStreamBufferPoolTest {
+  @Test
+  public void acquire_reusesReleasedFrames() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(2);
+
+    ImageStreamBufferPool.Frame first = pool.acquire();
+    pool.release(first);
+    ImageStreamBufferPool.Frame second = pool.acquire();
+
+    assertSame(first, second);
+    assertEquals(1, pool.getFrameAllocationCount());
+    assertEquals(1, pool.getReusedFrameCount());
+  }
+
+  @Test
+  public void acquire_allocatesTransientFramesBeyondCapacity() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+
+    ImageStreamBufferPool.Frame pooled = pool.acquire();
+    ImageStreamBufferPool.Frame transientFrame = pool.acquire();
+    pool.release(transientFrame);
+    pool.release(pooled);
+
+    assertTrue(pooled.isPooled());
+    assertFalse(transientFrame.isPooled());
+    assertSame(pooled, pool.acquire());
+    assertEquals(2, pool.getFrameAllocationCount());
+  }
+
+  @Test
+  public void release_ignoresDuplicateReleases() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(2);
+
+    ImageStreamBufferPool.Frame frame = pool.acquire();
+    pool.release(frame);
+    pool.release(frame);
+
+    assertSame(frame, pool.acquire());
+    assertNotSame(frame, pool.acquire());
+  }
+
+  @Test
+  public void release_dropsFramesAcquiredBeforeClear() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+
+    ImageStreamBufferPool.Frame inFlight = pool.acquire();
+    pool.clear();
+    ImageStreamBufferPool.Frame current = pool.acquire();
+    pool.release(inFlight);
+    pool.release(current);
+
+    assertSame(current, pool.acquire());
+    // The frame from before the clear did not grow the ring past its capacity.
+    assertFalse(pool.acquire().isPooled());
+  }
+
+  @Test
+  public void getPlaneBuffer_onlyReallocatesWhenSizeChanges() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+    ImageStreamBufferPool.Frame frame = pool.acquire();
+
+    byte[] buffer = frame.getPlaneBuffer(0, 16);
+    assertSame(buffer, frame.getPlaneBuffer(0, 16));
+    assertEquals(1, pool.getBufferAllocationCount());
+
+    byte[] resized = frame.getPlaneBuffer(0, 32);
+    assertEquals(32, resized.length);
+    assertEquals(2, pool.getBufferAllocationCount());
+  }
+
+  @Test
+  public void getPlanes_resizesPlaneList() {
+    ImageStreamBufferPool.Frame frame = new ImageStreamBufferPool(1).acquire();
+
+    List<Map<String, Object>> planes = frame.getPlanes(3);
+    assertEquals(3, planes.size());
+    Map<String, Object> firstPlane = planes.get(0);
+
+    assertEquals(1, frame.getPlanes(1).size());
+    assertSame(firstPlane, frame.getPlanes(1).get(0));
+  }
+
+  @Test
+  public void putInt_keepsExistingBoxWhenValueIsUnchanged() {
+    Map<String, Object> map = new HashMap<>();
+    ImageStreamBufferPool.Frame.putInt(map, "width", 1920);
+    Object boxed = map.get("width");
+
+    ImageStreamBufferPool.Frame.putInt(map, "width", 1920);
+    assertSame(boxed, map.get("width"));
+
+    ImageStreamBufferPool.Frame.putInt(map, "width", 1280);
+    assertEquals(1280, map.get("width"));
+  }
+}
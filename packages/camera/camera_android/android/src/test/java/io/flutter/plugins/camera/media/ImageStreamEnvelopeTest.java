@@ -0,0 +1,72 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Test;
+
+public class ImageStreamEnvelopeTest {
+  @Test
+  public void putHeader_writesHeaderAndPlaneHeaders() {
+    ImageStreamBufferPool.Frame frame = new ImageStreamBufferPool(1).acquire();
+
+    ByteBuffer envelope =
+        ImageStreamEnvelope.putHeader(frame, 17, 4, 1, 123456789L, 1.8f, 9991324L, 92, 2, 6);
+    ImageStreamEnvelope.putPlaneHeader(envelope, 4, 1, 4);
+    ImageStreamEnvelope.putPlaneHeader(envelope, 2, 2, 2);
+
+    assertEquals(
+        ImageStreamEnvelope.HEADER_SIZE + 2 * ImageStreamEnvelope.PLANE_HEADER_SIZE,
+        envelope.position());
+    assertEquals(
+        ImageStreamEnvelope.HEADER_SIZE + 2 * ImageStreamEnvelope.PLANE_HEADER_SIZE + 6,
+        envelope.capacity());
+    ByteBuffer buffer = ByteBuffer.wrap(envelope.array()).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(ImageStreamEnvelope.VERSION, buffer.getInt());
+    assertEquals(17, buffer.getInt());
+    assertEquals(4, buffer.getInt());
+    assertEquals(1, buffer.getInt());
+    assertEquals(123456789L, buffer.getLong());
+    assertEquals(9991324L, buffer.getLong());
+    assertEquals(1.8f, buffer.getDouble(), 1e-6);
+    assertEquals(92.0, buffer.getDouble(), 0);
+    assertEquals(2, buffer.getInt());
+    assertEquals(4, buffer.getInt());
+    assertEquals(1, buffer.getInt());
+    assertEquals(4, buffer.getInt());
+    assertEquals(2, buffer.getInt());
+    assertEquals(2, buffer.getInt());
+    assertEquals(2, buffer.getInt());
+  }
+
+  @Test
+  public void putHeader_marksMissingCapturePropertiesAsUnknown() {
+    ImageStreamBufferPool.Frame frame = new ImageStreamBufferPool(1).acquire();
+
+    ByteBuffer envelope = ImageStreamEnvelope.putHeader(frame, 35, 2, 2, 0, null, null, null, 1, 4);
+
+    ByteBuffer buffer = ByteBuffer.wrap(envelope.array()).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(-1L, buffer.getLong(24));
+    assertTrue(Double.isNaN(buffer.getDouble(32)));
+    assertTrue(Double.isNaN(buffer.getDouble(40)));
+  }
+
+  @Test
+  public void putHeader_reusesEnvelopeOfFrame() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+    ImageStreamBufferPool.Frame frame = pool.acquire();
+
+    ByteBuffer first = ImageStreamEnvelope.putHeader(frame, 35, 2, 2, 0, null, null, null, 1, 4);
+    ByteBuffer second = ImageStreamEnvelope.putHeader(frame, 35, 2, 2, 1, null, null, null, 1, 4);
+
+    assertSame(first.array(), second.array());
+    assertEquals(1, pool.getBufferAllocationCount());
+  }
+}
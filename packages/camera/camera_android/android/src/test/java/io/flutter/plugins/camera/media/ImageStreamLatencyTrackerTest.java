@@ -0,0 +1,73 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import io.flutter.plugins.camera.media.ImageStreamLatencyTracker.Stage;
+import org.junit.Test;
+
+public class ImageStreamLatencyTrackerTest {
+  @Test
+  public void getPercentiles_returnsNullBeforeFirstFrame() {
+    ImageStreamLatencyTracker tracker = new ImageStreamLatencyTracker();
+
+    assertNull(tracker.getPercentiles(Stage.SENSOR_TO_DELIVERED));
+    assertEquals(0, tracker.getRecordedFrameCount());
+  }
+
+  @Test
+  public void record_computesEveryStage() {
+    ImageStreamLatencyTracker tracker = new ImageStreamLatencyTracker();
+
+    tracker.record(1000, 1100, 1300, 1350, 1600);
+
+    assertEquals(100, tracker.getPercentiles(Stage.SENSOR_TO_ACQUIRE).p50);
+    assertEquals(200, tracker.getPercentiles(Stage.ACQUIRE_TO_CONVERTED).p50);
+    assertEquals(50, tracker.getPercentiles(Stage.CONVERTED_TO_POSTED).p50);
+    assertEquals(250, tracker.getPercentiles(Stage.POSTED_TO_DELIVERED).p50);
+    assertEquals(600, tracker.getPercentiles(Stage.SENSOR_TO_DELIVERED).p50);
+    assertEquals(1, tracker.getRecordedFrameCount());
+  }
+
+  @Test
+  public void getPercentiles_usesNearestRank() {
+    ImageStreamLatencyTracker tracker = new ImageStreamLatencyTracker();
+    // Records conversions taking 1 to 100 nanoseconds, in reverse order.
+    for (int duration = 100; duration >= 1; duration--) {
+      tracker.record(0, 0, duration, duration, duration);
+    }
+
+    ImageStreamLatencyTracker.Percentiles percentiles =
+        tracker.getPercentiles(Stage.ACQUIRE_TO_CONVERTED);
+    assertEquals(100, percentiles.sampleCount);
+    assertEquals(50, percentiles.p50);
+    assertEquals(90, percentiles.p90);
+    assertEquals(99, percentiles.p99);
+    assertEquals(100, percentiles.max);
+  }
+
+  @Test
+  public void record_onlyKeepsMostRecentFramesInWindow() {
+    ImageStreamLatencyTracker tracker = new ImageStreamLatencyTracker(2);
+
+    tracker.record(0, 0, 1000, 1000, 1000);
+    tracker.record(0, 0, 10, 10, 10);
+    tracker.record(0, 0, 20, 20, 20);
+
+    ImageStreamLatencyTracker.Percentiles percentiles =
+        tracker.getPercentiles(Stage.ACQUIRE_TO_CONVERTED);
+    assertEquals(2, percentiles.sampleCount);
+    assertEquals(20, percentiles.max);
+    assertEquals(3, tracker.getRecordedFrameCount());
+  }
+
+  @Test
+  public void constructor_rejectsEmptyWindow() {
+    assertThrows(IllegalArgumentException.class, () -> new ImageStreamLatencyTracker(0));
+  }
+}
@@ -5,21 +5,34 @@
 package io.flutter.plugins.camera.media;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.graphics.ImageFormat;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
 import android.media.Image;
 import android.media.ImageReader;
+import android.os.Handler;
+import android.os.Looper;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
@@ -43,6 +56,13 @@ public class ImageStreamReaderTest {
     assertEquals(result, ImageFormat.YUV_420_888);
   }
 
+  /** Luma-only frames are taken from the Y plane of YUV420 images. */
+  @Test
+  public void computeStreamImageFormat_computesCorrectStreamFormatY8() {
+    int result = ImageStreamReader.computeStreamImageFormat(ImageStreamReader.IMAGE_FORMAT_Y8);
+    assertEquals(result, ImageFormat.YUV_420_888);
+  }
+
   /**
    * If we are requesting NV21, then the planes should be processed and converted to NV21 before
    * being sent to dart. We make sure yuv420ThreePlanesToNV21 is called when we are requesting
@@ -57,10 +77,6 @@ public class ImageStreamReaderTest {
     ImageStreamReader imageStreamReader =
         new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
 
-    ByteBuffer mockBytes = ByteBuffer.allocate(0);
-    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
-        .thenReturn(mockBytes);
-
     // The image format as streamed from the camera
     int imageFormat = ImageFormat.YUV_420_888;
 
@@ -102,7 +118,11 @@ public class ImageStreamReaderTest {
 
     // Make sure we processed the frame with parsePlanesForNv21
     verify(mockImageStreamReaderUtils)
-        .yuv420ThreePlanesToNV21(planes, mockImage.getWidth(), mockImage.getHeight());
+        .yuv420ThreePlanesToNV21(
+            eq(planes),
+            eq(mockImage.getWidth()),
+            eq(mockImage.getHeight()),
+            any(byte[].class));
   }
 
   /** If we are requesting YUV420, then we should send the 3-plane image as it is. */
@@ -161,5 +181,489 @@ public class ImageStreamReaderTest {
 
     // Make sure we processed the frame with parsePlanesForYuvOrJpeg
     verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
+    verify(mockImageStreamReaderUtils, never())
+        .yuv420ThreePlanesToNV21(any(), anyInt(), anyInt(), any(byte[].class));
+  }
+
+  /** Once a frame has been delivered, its plane buffers should be reused for the next frame. */
+  @Test
+  public void onImageAvailable_reusesPlaneBuffersAfterDelivery() {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(2);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mockImageReader,
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            bufferPool);
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+    long allocationsAfterFirstFrame = bufferPool.getBufferAllocationCount();
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertEquals(allocationsAfterFirstFrame, bufferPool.getBufferAllocationCount());
+    assertEquals(1, bufferPool.getReusedFrameCount());
+    verify(mockEventSink, times(2)).success(any());
+  }
+
+  /** A frame whose conversion fails should go back to the ring, and its image be closed. */
+  @Test
+  public void onImageAvailable_releasesFrameWhenConversionFails() {
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(1);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            bufferPool);
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    Image failingImage = mock(Image.class);
+    when(failingImage.getWidth()).thenReturn(4);
+    when(failingImage.getHeight()).thenReturn(4);
+    when(failingImage.getPlanes()).thenThrow(new UnsupportedOperationException("planes"));
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> imageStreamReader.onImageAvailable(failingImage, mockCaptureProps, mockEventSink));
+    verify(failingImage).close();
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertEquals(1, bufferPool.getReusedFrameCount());
+    assertEquals(1, bufferPool.getFrameAllocationCount());
+    verify(mockEventSink, times(1)).success(any());
+  }
+
+  /** With DROP_NEWEST, frames arriving while the limit is reached should not be converted. */
+  @Test
+  public void onImageAvailable_dropsNewestFramesWhenLimitReached() {
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mockImageStreamReaderUtils,
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(1, ImageStreamOptions.FrameDropPolicy.DROP_NEWEST));
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    Image droppedImage = createYuvImage();
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(droppedImage, mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(droppedImage).close();
+    verify(droppedImage, never()).getPlanes();
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1, imageStreamReader.getDeliveredFrameCount());
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+  }
+
+  /** Only frames that reached the event sink should be recorded by the latency tracker. */
+  @Test
+  public void onImageAvailable_recordsLatencyOfDeliveredFrames() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(1, ImageStreamOptions.FrameDropPolicy.DROP_NEWEST));
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ImageStreamLatencyTracker tracker = imageStreamReader.getLatencyTracker();
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    assertEquals(0, tracker.getRecordedFrameCount());
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertEquals(1, tracker.getRecordedFrameCount());
+    assertEquals(
+        1, tracker.getPercentiles(ImageStreamLatencyTracker.Stage.SENSOR_TO_DELIVERED).sampleCount);
+  }
+
+  /** With DROP_OLDEST, only the most recent frames should be delivered once the limit is hit. */
+  @Test
+  public void onImageAvailable_dropsOldestFramesWhenLimitReached() {
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(3);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            bufferPool);
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(1, ImageStreamOptions.FrameDropPolicy.DROP_OLDEST));
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1, imageStreamReader.getDeliveredFrameCount());
+    assertEquals(2, imageStreamReader.getDroppedFrameCount());
+    // Evicted frames are returned to the pool, so the third frame reuses one of them.
+    assertEquals(2, bufferPool.getFrameAllocationCount());
+  }
+
+  /** A delivered frame should keep its slot until Dart acknowledges it. */
+  @Test
+  public void onImageAvailable_dropsNewestFramesUntilDeliveredFrameIsAcknowledged() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(1, ImageStreamOptions.FrameDropPolicy.DROP_NEWEST));
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+
+    imageStreamReader.acknowledgeFrame();
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(2)).success(any());
+    assertEquals(2, imageStreamReader.getDeliveredFrameCount());
+  }
+
+  /**
+   * With DROP_OLDEST, the newest frame arriving while Dart handles a frame should be delivered once
+   * Dart acknowledges it.
+   */
+  @Test
+  public void acknowledgeFrame_deliversNewestFrameKeptBack() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(1, ImageStreamOptions.FrameDropPolicy.DROP_OLDEST));
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(createYuvImage(), mockCaptureProps, mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+
+    imageStreamReader.acknowledgeFrame();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(2)).success(any());
+    assertEquals(2, imageStreamReader.getDeliveredFrameCount());
+  }
+
+  /** Frames still waiting for delivery should be discarded when the listener is removed. */
+  @Test
+  public void removeListener_discardsPendingFrames() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    imageStreamReader.onImageAvailable(
+        createYuvImage(), mock(CameraCaptureProperties.class), mockEventSink);
+    imageStreamReader.removeListener(mock(Handler.class));
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, never()).success(any());
+    assertEquals(0, imageStreamReader.getDeliveredFrameCount());
+  }
+
+  /** Cropped and scaled frames should only contain the requested region at the target size. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_cropsAndScalesFrames() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.NV21,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(
+            ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+            ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+            new Rect(16, 8, 48, 40),
+            16,
+            16,
+            1));
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Map<String, Object>> frameCaptor = ArgumentCaptor.forClass(Map.class);
+
+    imageStreamReader.onImageAvailable(
+        createYuvImage(), mock(CameraCaptureProperties.class), mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink).success(frameCaptor.capture());
+    Map<String, Object> frame = frameCaptor.getValue();
+    assertEquals(16, frame.get("width"));
+    assertEquals(16, frame.get("height"));
+    List<Map<String, Object>> planes = (List<Map<String, Object>>) frame.get("planes");
+    assertEquals(1, planes.size());
+    assertEquals(16, planes.get(0).get("bytesPerRow"));
+    byte[] bytes = (byte[]) planes.get(0).get("bytes");
+    assertEquals(ImageStreamReaderUtils.nv21BufferSize(16, 16), bytes.length);
+  }
+
+  /** Frames transformed on the GPU already have their final size and should be sent as-is. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsGpuTransformedFramesUnchanged() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            PixelFormat.RGBA_8888,
+            mock(ImageStreamReaderUtils.class),
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(
+            ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+            ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+            new Rect(16, 8, 48, 40),
+            16,
+            16,
+            1,
+            true,
+            false,
+            true,
+            90));
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Map<String, Object>> frameCaptor = ArgumentCaptor.forClass(Map.class);
+
+    imageStreamReader.onImageAvailable(
+        createRgbaImage(), mock(CameraCaptureProperties.class), mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink).success(frameCaptor.capture());
+    Map<String, Object> frame = frameCaptor.getValue();
+    assertEquals(PixelFormat.RGBA_8888, frame.get("format"));
+    assertEquals(16, frame.get("width"));
+    assertEquals(24, frame.get("height"));
+    List<Map<String, Object>> planes = (List<Map<String, Object>>) frame.get("planes");
+    assertEquals(1, planes.size());
+    assertEquals(16 * 4, planes.get(0).get("bytesPerRow"));
+    assertEquals(16 * 24 * 4, ((byte[]) planes.get(0).get("bytes")).length);
+  }
+
+  /** With lumaOnly set, only the Y plane should be copied and sent as a Y8 frame. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsOnlyLumaPlaneWhenLumaOnly() {
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.NV21,
+            mockImageStreamReaderUtils,
+            new ImageStreamBufferPool(3));
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(
+            ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+            ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+            null,
+            0,
+            0,
+            1,
+            true));
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Map<String, Object>> frameCaptor = ArgumentCaptor.forClass(Map.class);
+    Image image = createYuvImage();
+
+    imageStreamReader.onImageAvailable(image, mock(CameraCaptureProperties.class), mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink).success(frameCaptor.capture());
+    Map<String, Object> frame = frameCaptor.getValue();
+    assertEquals(ImageStreamReader.IMAGE_FORMAT_Y8, frame.get("format"));
+    List<Map<String, Object>> planes = (List<Map<String, Object>>) frame.get("planes");
+    assertEquals(1, planes.size());
+    assertEquals(64, planes.get(0).get("bytesPerRow"));
+    assertEquals(64 * 48, ((byte[]) planes.get(0).get("bytes")).length);
+    verify(mockImageStreamReaderUtils, never())
+        .yuv420ThreePlanesToNV21(any(), anyInt(), anyInt(), any(byte[].class));
+    verify(image.getPlanes()[1], never()).getBuffer();
+  }
+
+  /**
+   * With compactEncoding set, each frame should be sent as a single envelope byte array that the
+   * planes are copied into directly.
+   */
+  @Test
+  public void onImageAvailable_sendsEnvelopeWhenCompactEncoding() {
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(3);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            bufferPool);
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(
+            ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+            ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+            null,
+            0,
+            0,
+            1,
+            false,
+            true));
+    Image image = createYuvImage();
+    when(image.getTimestamp()).thenReturn(123456789L);
+    Image.Plane planeV = image.getPlanes()[2];
+    when(planeV.getBuffer())
+        .thenAnswer(
+            invocation -> {
+              byte[] bytes = new byte[64 * 24 - 1];
+              bytes[0] = 7;
+              return ByteBuffer.wrap(bytes);
+            });
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Object> frameCaptor = ArgumentCaptor.forClass(Object.class);
+
+    imageStreamReader.onImageAvailable(image, mock(CameraCaptureProperties.class), mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink).success(frameCaptor.capture());
+    ByteBuffer envelope =
+        ByteBuffer.wrap((byte[]) frameCaptor.getValue()).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(ImageStreamEnvelope.VERSION, envelope.getInt(0));
+    assertEquals(ImageFormat.YUV_420_888, envelope.getInt(4));
+    assertEquals(64, envelope.getInt(8));
+    assertEquals(48, envelope.getInt(12));
+    assertEquals(123456789L, envelope.getLong(16));
+    assertEquals(3, envelope.getInt(48));
+    int planeData = ImageStreamEnvelope.HEADER_SIZE + 3 * ImageStreamEnvelope.PLANE_HEADER_SIZE;
+    assertEquals(planeData + 64 * 48 + 2 * (64 * 24 - 1), envelope.capacity());
+    assertEquals(7, envelope.get(planeData + 64 * 48 + (64 * 24 - 1)));
+    // Only the envelope is allocated, the planes are not copied into plane buffers first.
+    assertEquals(1, bufferPool.getBufferAllocationCount());
+  }
+
+  /** Converted NV21 frames should also be written into the envelope directly. */
+  @Test
+  public void onImageAvailable_convertsNv21IntoEnvelope() {
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(3);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.NV21, mockImageStreamReaderUtils, bufferPool);
+    imageStreamReader.setOptions(
+        new ImageStreamOptions(
+            ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+            ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+            null,
+            0,
+            0,
+            1,
+            false,
+            true));
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Object> frameCaptor = ArgumentCaptor.forClass(Object.class);
+
+    imageStreamReader.onImageAvailable(
+        createYuvImage(), mock(CameraCaptureProperties.class), mockEventSink);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink).success(frameCaptor.capture());
+    byte[] envelope = (byte[]) frameCaptor.getValue();
+    int planeData = ImageStreamEnvelope.HEADER_SIZE + ImageStreamEnvelope.PLANE_HEADER_SIZE;
+    assertEquals(planeData + ImageStreamReaderUtils.nv21BufferSize(64, 48), envelope.length);
+    verify(mockImageStreamReaderUtils)
+        .yuv420ThreePlanesToNV21(any(), eq(64), eq(48), eq(envelope), eq(planeData));
+    assertEquals(1, bufferPool.getBufferAllocationCount());
+  }
+
+  /** Plane maps and byte arrays handed out by the same frame should be the same objects. */
+  @Test
+  public void parsePlanesForYuvOrJpeg_writesIntoFrameBuffers() {
+    ImageStreamBufferPool bufferPool = new ImageStreamBufferPool(1);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class),
+            ImageFormat.YUV_420_888,
+            mock(ImageStreamReaderUtils.class),
+            bufferPool);
+    ImageStreamBufferPool.Frame frame = bufferPool.acquire();
+
+    List<Map<String, Object>> planes =
+        imageStreamReader.parsePlanesForYuvOrJpeg(createYuvImage(), frame);
+
+    assertSame(frame.getPlaneBuffer(0, 64 * 48), planes.get(0).get("bytes"));
+    assertEquals(64, planes.get(0).get("bytesPerRow"));
+    assertEquals(2, planes.get(1).get("bytesPerPixel"));
+  }
+
+  private static Image createYuvImage() {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(64);
+    when(mockImage.getHeight()).thenReturn(48);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+
+    Image.Plane planeY = mock(Image.Plane.class);
+    Image.Plane planeU = mock(Image.Plane.class);
+    Image.Plane planeV = mock(Image.Plane.class);
+    // Every call to getBuffer() returns a fresh, fully readable buffer.
+    when(planeY.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(64 * 48));
+    when(planeU.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(64 * 24 - 1));
+    when(planeV.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(64 * 24 - 1));
+    when(planeY.getRowStride()).thenReturn(64);
+    when(planeU.getRowStride()).thenReturn(64);
+    when(planeV.getRowStride()).thenReturn(64);
+    when(planeY.getPixelStride()).thenReturn(1);
+    when(planeU.getPixelStride()).thenReturn(2);
+    when(planeV.getPixelStride()).thenReturn(2);
+
+    Image.Plane[] planes = {planeY, planeU, planeV};
+    when(mockImage.getPlanes()).thenReturn(planes);
+    return mockImage;
+  }
+
+  private static Image createRgbaImage() {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(16);
+    when(mockImage.getHeight()).thenReturn(24);
+    when(mockImage.getFormat()).thenReturn(PixelFormat.RGBA_8888);
+
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16 * 24 * 4));
+    when(plane.getRowStride()).thenReturn(16 * 4);
+    when(plane.getPixelStride()).thenReturn(4);
+
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return mockImage;
   }
 }
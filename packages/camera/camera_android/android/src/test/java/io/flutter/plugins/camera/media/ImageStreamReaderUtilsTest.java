@@ -96,4 +96,20 @@ public class ImageStreamReaderUtilsTest {
         ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
         result.limit());
   }
+
+  /** Ensure that converting into a caller-supplied array fills the whole NV21 buffer. */
+  @Test
+  public void yuv420ThreePlanesToNV21_writesIntoSuppliedBuffer() {
+    Image mockImage = getImage(160, 120, 16);
+    int imageWidth = mockImage.getWidth();
+    int imageHeight = mockImage.getHeight();
+    byte[] out = new byte[ImageStreamReaderUtils.nv21BufferSize(imageWidth, imageHeight)];
+
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+        mockImage.getPlanes(), imageWidth, imageHeight, out);
+
+    Assert.assertEquals(
+        ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
+        out.length);
+  }
 }
@@ -0,0 +1,118 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import android.graphics.Rect;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamResamplerTest {
+  private static ImageStreamOptions options(
+      Rect cropRect, int targetWidth, int targetHeight, int subsampleFactor) {
+    return new ImageStreamOptions(
+        ImageStreamOptions.UNLIMITED_FRAMES_IN_FLIGHT,
+        ImageStreamOptions.FrameDropPolicy.DROP_OLDEST,
+        cropRect,
+        targetWidth,
+        targetHeight,
+        subsampleFactor);
+  }
+
+  /** Creates a plane whose samples hold their row in the high nibble and column in the low one. */
+  private static ByteBuffer createPlane(int width, int height, int rowStride, int pixelStride) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(rowStride * (height - 1) + width * pixelStride);
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        buffer.put(row * rowStride + column * pixelStride, (byte) ((row << 4) | column));
+      }
+    }
+    return buffer;
+  }
+
+  @Test
+  public void computeGeometry_usesCropRect() {
+    ImageStreamResampler.Geometry geometry =
+        ImageStreamResampler.computeGeometry(
+            options(new Rect(480, 200, 800, 520), 0, 0, 1), 1280, 720);
+
+    assertEquals(480, geometry.left);
+    assertEquals(200, geometry.top);
+    assertEquals(320, geometry.width);
+    assertEquals(320, geometry.height);
+    assertEquals(320, geometry.outputWidth);
+    assertEquals(320, geometry.outputHeight);
+  }
+
+  @Test
+  public void computeGeometry_clampsCropRectToImageAndAlignsToEvenValues() {
+    ImageStreamResampler.Geometry geometry =
+        ImageStreamResampler.computeGeometry(
+            options(new Rect(-10, 101, 2000, 333), 0, 0, 1), 1280, 720);
+
+    assertEquals(0, geometry.left);
+    assertEquals(100, geometry.top);
+    assertEquals(1280, geometry.width);
+    assertEquals(232, geometry.height);
+  }
+
+  @Test
+  public void computeGeometry_scalesDownToTargetSizeWithoutScalingUp() {
+    ImageStreamResampler.Geometry downscaled =
+        ImageStreamResampler.computeGeometry(options(null, 320, 180, 1), 1280, 720);
+    ImageStreamResampler.Geometry notUpscaled =
+        ImageStreamResampler.computeGeometry(options(null, 4000, 3000, 1), 1280, 720);
+
+    assertEquals(320, downscaled.outputWidth);
+    assertEquals(180, downscaled.outputHeight);
+    assertEquals(1280, notUpscaled.outputWidth);
+    assertEquals(720, notUpscaled.outputHeight);
+  }
+
+  @Test
+  public void computeGeometry_dividesBySubsampleFactor() {
+    ImageStreamResampler.Geometry geometry =
+        ImageStreamResampler.computeGeometry(options(null, 0, 0, 4), 1280, 720);
+
+    assertEquals(320, geometry.outputWidth);
+    assertEquals(180, geometry.outputHeight);
+  }
+
+  @Test
+  public void resamplePlane_copiesCroppedRegion() {
+    ByteBuffer plane = createPlane(8, 8, 12, 1);
+    byte[] out = new byte[4];
+
+    new ImageStreamResampler().resamplePlane(plane, 12, 1, 2, 3, 2, 2, 2, 2, out, 0, 1);
+
+    assertArrayEquals(new byte[] {0x32, 0x33, 0x42, 0x43}, out);
+    assertEquals(0, plane.position());
+  }
+
+  @Test
+  public void resamplePlane_subsamplesRegion() {
+    ByteBuffer plane = createPlane(8, 8, 8, 1);
+    byte[] out = new byte[4];
+
+    new ImageStreamResampler().resamplePlane(plane, 8, 1, 0, 0, 8, 8, 2, 2, out, 0, 1);
+
+    assertArrayEquals(new byte[] {0x00, 0x04, 0x40, 0x44}, out);
+  }
+
+  @Test
+  public void resamplePlane_readsAndWritesWithPixelStrides() {
+    ByteBuffer plane = createPlane(4, 4, 10, 2);
+    byte[] out = new byte[8];
+
+    new ImageStreamResampler().resamplePlane(plane, 10, 2, 2, 2, 2, 2, 2, 2, out, 1, 2);
+
+    assertArrayEquals(new byte[] {0, 0x22, 0, 0x23, 0, 0x32, 0, 0x33}, out);
+  }
+}
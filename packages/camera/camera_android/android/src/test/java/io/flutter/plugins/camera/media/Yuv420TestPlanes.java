@@ -0,0 +1,131 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Synthetic YUV_420_888 planes for converter tests, together with a reference NV21 conversion that
+ * reads one pixel at a time.
+ */
+final class Yuv420TestPlanes {
+  /** How the chroma samples are laid out in memory. */
+  enum Layout {
+    /** Separate U and V planes with a pixel stride of 1 (I420). */
+    PLANAR,
+    /** U and V planes that are views of one interleaved VU buffer with a pixel stride of 2. */
+    SEMI_PLANAR,
+    /** Separate U and V buffers, each with a pixel stride of 2. */
+    SEMI_PLANAR_SEPARATE,
+  }
+
+  final int width;
+  final int height;
+  final int yRowStride;
+  final int uvRowStride;
+  final int uvPixelStride;
+  final ByteBuffer yBuffer;
+  final ByteBuffer uBuffer;
+  final ByteBuffer vBuffer;
+
+  private Yuv420TestPlanes(
+      int width,
+      int height,
+      int yRowStride,
+      int uvRowStride,
+      int uvPixelStride,
+      ByteBuffer yBuffer,
+      ByteBuffer uBuffer,
+      ByteBuffer vBuffer) {
+    this.width = width;
+    this.height = height;
+    this.yRowStride = yRowStride;
+    this.uvRowStride = uvRowStride;
+    this.uvPixelStride = uvPixelStride;
+    this.yBuffer = yBuffer;
+    this.uBuffer = uBuffer;
+    this.vBuffer = vBuffer;
+  }
+
+  /**
+   * Creates planes filled with random samples, using direct buffers like an {@link
+   * android.media.ImageReader}.
+   *
+   * <p>Rows are padded by {@code rowPadding} bytes, and the last row of every plane is not padded.
+   */
+  static Yuv420TestPlanes create(int width, int height, int rowPadding, Layout layout, long seed) {
+    Random random = new Random(seed);
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+
+    int yRowStride = width + rowPadding;
+    ByteBuffer yBuffer = randomDirectBuffer(yRowStride * (height - 1) + width, random);
+
+    int uvPixelStride = layout == Layout.PLANAR ? 1 : 2;
+    int uvRowStride = chromaWidth * uvPixelStride + rowPadding;
+    int uvSize = uvRowStride * (chromaHeight - 1) + (chromaWidth - 1) * uvPixelStride + 1;
+    ByteBuffer uBuffer;
+    ByteBuffer vBuffer;
+    if (layout == Layout.SEMI_PLANAR) {
+      ByteBuffer vu = randomDirectBuffer(uvSize + 1, random);
+      vu.limit(uvSize);
+      vBuffer = vu.slice();
+      vu.limit(uvSize + 1);
+      vu.position(1);
+      uBuffer = vu.slice();
+    } else {
+      uBuffer = randomDirectBuffer(uvSize, random);
+      vBuffer = randomDirectBuffer(uvSize, random);
+    }
+    return new Yuv420TestPlanes(
+        width, height, yRowStride, uvRowStride, uvPixelStride, yBuffer, uBuffer, vBuffer);
+  }
+
+  /** Converts the planes with {@code converter}. */
+  void convert(Yuv420ToNv21Converter converter, byte[] out) {
+    converter.convert(
+        yBuffer, yRowStride, uBuffer, vBuffer, uvRowStride, uvPixelStride, width, height, out);
+  }
+
+  /** Converts the planes one pixel at a time, as a reference for {@link Yuv420ToNv21Converter}. */
+  void convertPerPixel(byte[] out) {
+    int imageSize = width * height;
+    unpackPlane(yBuffer, yRowStride, 1, width, height, out, 0, 1);
+    unpackPlane(uBuffer, uvRowStride, uvPixelStride, width / 2, height / 2, out, imageSize + 1, 2);
+    unpackPlane(vBuffer, uvRowStride, uvPixelStride, width / 2, height / 2, out, imageSize, 2);
+  }
+
+  private static void unpackPlane(
+      ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int numCol,
+      int numRow,
+      byte[] out,
+      int offset,
+      int outputPixelStride) {
+    int outputPos = offset;
+    int rowStart = 0;
+    for (int row = 0; row < numRow; row++) {
+      int inputPos = rowStart;
+      for (int col = 0; col < numCol; col++) {
+        out[outputPos] = buffer.get(inputPos);
+        outputPos += outputPixelStride;
+        inputPos += pixelStride;
+      }
+      rowStart += rowStride;
+    }
+  }
+
+  private static ByteBuffer randomDirectBuffer(int size, Random random) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+    buffer.put(bytes);
+    buffer.rewind();
+    return buffer;
+  }
+}
@@ -0,0 +1,204 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+//
+// Note: the previous NV21 conversion below is adapted from the official Google MLKit example:
+// https://github.com/googlesamples/mlkit
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * Compares {@link ImageStreamReaderUtils#yuv420ThreePlanesToNV21(Image.Plane[], int, int, byte[])}
+ * with the conversion it replaced, which copied the chroma planes one pixel at a time unless they
+ * were already laid out as unpadded NV21.
+ *
+ * <p>This runs on the host JVM, so the absolute numbers differ from a device, but the ratio between
+ * the two conversions is a useful guide. It is excluded from the unit tests unless the {@code
+ * cameraBenchmark} Gradle property is set:
+ *
+ * <pre>./gradlew testDebugUnitTest --tests '*Yuv420ToNv21ConverterBenchmark' -PcameraBenchmark
+ * </pre>
+ */
+public class Yuv420ToNv21ConverterBenchmark {
+  private static final int WARMUP_ITERATIONS = 50;
+  private static final int MEASURED_ITERATIONS = 200;
+  private static final int ROW_PADDING = 64;
+
+  private static final int[][] RESOLUTIONS = {{640, 480}, {1280, 720}, {1920, 1080}};
+
+  @Test
+  public void planar() {
+    run(Yuv420TestPlanes.Layout.PLANAR);
+  }
+
+  @Test
+  public void semiPlanar() {
+    run(Yuv420TestPlanes.Layout.SEMI_PLANAR);
+  }
+
+  @Test
+  public void semiPlanarSeparate() {
+    run(Yuv420TestPlanes.Layout.SEMI_PLANAR_SEPARATE);
+  }
+
+  private static void run(Yuv420TestPlanes.Layout layout) {
+    for (int[] resolution : RESOLUTIONS) {
+      int width = resolution[0];
+      int height = resolution[1];
+      Image.Plane[] planes =
+          createImagePlanes(
+              Yuv420TestPlanes.create(width, height, ROW_PADDING, layout, width * height));
+      ImageStreamReaderUtils utils = new ImageStreamReaderUtils();
+      byte[] expected = new byte[ImageStreamReaderUtils.nv21BufferSize(width, height)];
+      byte[] actual = new byte[expected.length];
+
+      double previousNanos =
+          measure(() -> PreviousNv21Conversion.convert(planes, width, height, expected));
+      double currentNanos =
+          measure(() -> utils.yuv420ThreePlanesToNV21(planes, width, height, actual));
+      assertArrayEquals(expected, actual);
+
+      System.out.println(
+          String.format(
+              Locale.ROOT,
+              "%s %dx%d: previous %.3f ms, current %.3f ms, speedup %.1fx",
+              layout,
+              width,
+              height,
+              previousNanos / 1e6,
+              currentNanos / 1e6,
+              previousNanos / currentNanos));
+    }
+  }
+
+  /** Returns the mean duration of {@code conversion} in nanoseconds. */
+  private static double measure(Runnable conversion) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      conversion.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      conversion.run();
+    }
+    return (System.nanoTime() - start) / (double) MEASURED_ITERATIONS;
+  }
+
+  private static Image.Plane[] createImagePlanes(Yuv420TestPlanes planes) {
+    return new Image.Plane[] {
+      createImagePlane(planes.yBuffer, planes.yRowStride, 1),
+      createImagePlane(planes.uBuffer, planes.uvRowStride, planes.uvPixelStride),
+      createImagePlane(planes.vBuffer, planes.uvRowStride, planes.uvPixelStride),
+    };
+  }
+
+  private static Image.Plane createImagePlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  /**
+   * The NV21 conversion of {@link ImageStreamReaderUtils} before it delegated to {@link
+   * Yuv420ToNv21Converter}.
+   *
+   * <p>The only changes are that buffers are rewound before every conversion, so that the fast
+   * path can run repeatedly, and that the strides of a plane are read once per plane instead of
+   * once per pixel, which the JIT does for real planes anyway but not for mocked ones.
+   */
+  private static final class PreviousNv21Conversion {
+    static void convert(Image.Plane[] yuv420888planes, int width, int height, byte[] out) {
+      for (Image.Plane plane : yuv420888planes) {
+        plane.getBuffer().rewind();
+      }
+      int imageSize = width * height;
+
+      if (areUVPlanesNV21(yuv420888planes, width, height)) {
+        // Copy the Y values.
+        yuv420888planes[0].getBuffer().get(out, 0, imageSize);
+
+        ByteBuffer uBuffer = yuv420888planes[1].getBuffer();
+        ByteBuffer vBuffer = yuv420888planes[2].getBuffer();
+        // Get the first V value from the V buffer, since the U buffer does not contain it.
+        vBuffer.get(out, imageSize, 1);
+        // Copy the first U value and the remaining VU values from the U buffer.
+        uBuffer.get(out, imageSize + 1, 2 * imageSize / 4 - 1);
+      } else {
+        // Fallback to copying the UV values one by one, which is slower but also works.
+        // Unpack Y.
+        unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
+        // Unpack U.
+        unpackPlane(yuv420888planes[1], width, height, out, imageSize + 1, 2);
+        // Unpack V.
+        unpackPlane(yuv420888planes[2], width, height, out, imageSize, 2);
+      }
+    }
+
+    private static boolean areUVPlanesNV21(Image.Plane[] planes, int width, int height) {
+      int imageSize = width * height;
+
+      ByteBuffer uBuffer = planes[1].getBuffer();
+      ByteBuffer vBuffer = planes[2].getBuffer();
+
+      // Backup buffer properties.
+      int vBufferPosition = vBuffer.position();
+      int uBufferLimit = uBuffer.limit();
+
+      // Advance the V buffer by 1 byte, since the U buffer will not contain the first V value.
+      vBuffer.position(vBufferPosition + 1);
+      // Chop off the last byte of the U buffer, since the V buffer will not contain the last U
+      // value.
+      uBuffer.limit(uBufferLimit - 1);
+
+      // Check that the buffers are equal and have the expected number of elements.
+      boolean areNV21 =
+          (vBuffer.remaining() == (2 * imageSize / 4 - 2)) && (vBuffer.compareTo(uBuffer) == 0);
+
+      // Restore buffers to their initial state.
+      vBuffer.position(vBufferPosition);
+      uBuffer.limit(uBufferLimit);
+
+      return areNV21;
+    }
+
+    private static void unpackPlane(
+        Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride) {
+      ByteBuffer buffer = plane.getBuffer();
+      buffer.rewind();
+      int rowStride = plane.getRowStride();
+      int inputPixelStride = plane.getPixelStride();
+
+      // Compute the size of the current plane.
+      // We assume that it has the aspect ratio as the original image.
+      int numRow = (buffer.limit() + rowStride - 1) / rowStride;
+      if (numRow == 0) {
+        return;
+      }
+      int scaleFactor = height / numRow;
+      int numCol = width / scaleFactor;
+
+      // Extract the data in the output buffer.
+      int outputPos = offset;
+      int rowStart = 0;
+      for (int row = 0; row < numRow; row++) {
+        int inputPos = rowStart;
+        for (int col = 0; col < numCol; col++) {
+          out[outputPos] = buffer.get(inputPos);
+          outputPos += pixelStride;
+          inputPos += inputPixelStride;
+        }
+        rowStart += rowStride;
+      }
+    }
+  }
+}
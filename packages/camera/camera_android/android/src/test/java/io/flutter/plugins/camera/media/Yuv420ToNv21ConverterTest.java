@@ -0,0 +1,108 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class Yuv420ToNv21ConverterTest {
+  private static byte[] convert(Yuv420TestPlanes planes) {
+    byte[] out = new byte[ImageStreamReaderUtils.nv21BufferSize(planes.width, planes.height)];
+    planes.convert(new Yuv420ToNv21Converter(), out);
+    return out;
+  }
+
+  private static byte[] convertPerPixel(Yuv420TestPlanes planes) {
+    byte[] out = new byte[ImageStreamReaderUtils.nv21BufferSize(planes.width, planes.height)];
+    planes.convertPerPixel(out);
+    return out;
+  }
+
+  @Test
+  public void convert_matchesPerPixelConversionForPlanarImages() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 0, Yuv420TestPlanes.Layout.PLANAR, 1);
+
+    assertArrayEquals(convertPerPixel(planes), convert(planes));
+  }
+
+  @Test
+  public void convert_matchesPerPixelConversionForPaddedPlanarImages() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 16, Yuv420TestPlanes.Layout.PLANAR, 2);
+
+    assertArrayEquals(convertPerPixel(planes), convert(planes));
+  }
+
+  @Test
+  public void convert_matchesPerPixelConversionForSemiPlanarImages() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 0, Yuv420TestPlanes.Layout.SEMI_PLANAR, 3);
+
+    assertArrayEquals(convertPerPixel(planes), convert(planes));
+  }
+
+  @Test
+  public void convert_matchesPerPixelConversionForPaddedSemiPlanarImages() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 16, Yuv420TestPlanes.Layout.SEMI_PLANAR, 4);
+
+    assertArrayEquals(convertPerPixel(planes), convert(planes));
+  }
+
+  @Test
+  public void convert_matchesPerPixelConversionForSeparateSemiPlanarImages() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 16, Yuv420TestPlanes.Layout.SEMI_PLANAR_SEPARATE, 5);
+
+    assertArrayEquals(convertPerPixel(planes), convert(planes));
+  }
+
+  @Test
+  public void convert_restoresBufferPositionsAndLimits() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 16, Yuv420TestPlanes.Layout.SEMI_PLANAR, 6);
+    int uLimit = planes.uBuffer.limit();
+    int vLimit = planes.vBuffer.limit();
+
+    convert(planes);
+
+    assertEquals(0, planes.yBuffer.position());
+    assertEquals(0, planes.uBuffer.position());
+    assertEquals(0, planes.vBuffer.position());
+    assertEquals(uLimit, planes.uBuffer.limit());
+    assertEquals(vLimit, planes.vBuffer.limit());
+  }
+
+  @Test
+  public void convert_canReuseConverterAcrossImageSizes() {
+    Yuv420ToNv21Converter converter = new Yuv420ToNv21Converter();
+    Yuv420TestPlanes small =
+        Yuv420TestPlanes.create(32, 24, 8, Yuv420TestPlanes.Layout.PLANAR, 7);
+    Yuv420TestPlanes large =
+        Yuv420TestPlanes.create(128, 96, 8, Yuv420TestPlanes.Layout.PLANAR, 8);
+    byte[] smallOut = new byte[ImageStreamReaderUtils.nv21BufferSize(32, 24)];
+    byte[] largeOut = new byte[ImageStreamReaderUtils.nv21BufferSize(128, 96)];
+
+    small.convert(converter, smallOut);
+    large.convert(converter, largeOut);
+
+    assertArrayEquals(convertPerPixel(small), smallOut);
+    assertArrayEquals(convertPerPixel(large), largeOut);
+  }
+
+  @Test
+  public void convert_throwsIfOutputIsTooSmall() {
+    Yuv420TestPlanes planes =
+        Yuv420TestPlanes.create(64, 48, 0, Yuv420TestPlanes.Layout.PLANAR, 9);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> planes.convert(new Yuv420ToNv21Converter(), new byte[64 * 48]));
+  }
+}
@@ -4,12 +4,14 @@
 
 import 'dart:async';
 import 'dart:math';
+import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'image_stream_options.dart';
 import 'messages.g.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
@@ -60,6 +62,10 @@ class AndroidCamera extends CameraPlatform {
   // The stream for vending frames to platform interface clients.
   StreamController<CameraImageData>? _frameStreamController;
 
+  // Whether each frame must be acknowledged once it has been handled, which is
+  // the case for streams with an in-flight limit.
+  bool _acknowledgeStreamedFrames = false;
+
   Stream<CameraEvent> _cameraEvents(int cameraId) =>
       cameraEventStreamController.stream
           .where((CameraEvent event) => event.cameraId == cameraId);
@@ -193,6 +199,23 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// Takes [count] pictures in a row on the camera with the given ID and
+  /// returns them in the order they were captured.
+  ///
+  /// Focus and exposure are only converged once for the whole burst, so this
+  /// is much faster than calling [takePicture] [count] times.
+  ///
+  /// Bursts of any size are supported. Pictures are written to storage while
+  /// the following ones are captured, and pictures that arrive faster than
+  /// they can be written are held in memory until then.
+  Future<List<XFile>> takePictureBurst(int cameraId, int count) async {
+    if (count < 1) {
+      throw ArgumentError.value(count, 'count', 'must be at least 1');
+    }
+    final List<String> paths = await _hostApi.takePictureBurst(count);
+    return paths.map((String path) => XFile(path)).toList();
+  }
+
   // This optimization is unnecessary on Android.
   @override
   Future<void> prepareForVideoRecording() async {}
@@ -209,6 +232,8 @@ class AndroidCamera extends CameraPlatform {
     await _hostApi.startVideoRecording(options.streamCallback != null);
 
     if (options.streamCallback != null) {
+      // Frames streamed while recording have no in-flight limit.
+      _acknowledgeStreamedFrames = false;
       _installStreamController().stream.listen(options.streamCallback);
       _startStreamListener();
     }
@@ -234,13 +259,44 @@ class AndroidCamera extends CameraPlatform {
   @override
   Stream<CameraImageData> onStreamedFrameAvailable(int cameraId,
       {CameraImageStreamOptions? options}) {
-    _installStreamController(onListen: _onFrameStreamListen);
+    final PlatformImageStreamOptions platformOptions =
+        imageStreamOptionsToPlatform(options);
+    _installStreamController(
+      onListen: () => _onFrameStreamListen(platformOptions),
+      acknowledgeFrames: platformOptions.maxFramesInFlight != null,
+    );
     return _frameStreamController!.stream;
   }
 
+  /// Returns counters describing the frames streamed by the camera with the
+  /// given ID since it was initialized.
+  ///
+  /// This can be used to tune [AndroidCameraImageStreamOptions] for a given
+  /// workload, for example by checking how many frames were dropped.
+  Future<AndroidImageStreamStatistics> getImageStreamStatistics(
+      int cameraId) async {
+    return imageStreamStatisticsFromPlatform(
+        await _hostApi.getImageStreamStatistics());
+  }
+
+  /// Returns percentiles of how long recently streamed frames of the camera
+  /// with the given ID took to travel from the sensor to Dart.
+  ///
+  /// This is cheap enough to sample periodically in production builds, and
+  /// shows which stage of the image stream adds latency.
+  Future<AndroidImageStreamLatency> getImageStreamLatency(int cameraId) async {
+    return imageStreamLatencyFromPlatform(
+        await _hostApi.getImageStreamLatency());
+  }
+
   StreamController<CameraImageData> _installStreamController(
-      {void Function()? onListen}) {
+      {void Function()? onListen, bool acknowledgeFrames = false}) {
+    // Frames of streams with an in-flight limit are added at the end of a
+    // platform event, so they can be delivered synchronously. This way a frame
+    // has been handled by the listener once `add` returns, and can be
+    // acknowledged right away. Other streams keep the asynchronous delivery.
     _frameStreamController = StreamController<CameraImageData>(
+      sync: acknowledgeFrames,
       onListen: onListen ?? () {},
       onPause: _onFrameStreamPauseResume,
       onResume: _onFrameStreamPauseResume,
@@ -249,12 +305,14 @@ class AndroidCamera extends CameraPlatform {
     return _frameStreamController!;
   }
 
-  void _onFrameStreamListen() {
-    _startPlatformStream();
+  void _onFrameStreamListen(PlatformImageStreamOptions platformOptions) {
+    _startPlatformStream(platformOptions);
   }
 
-  Future<void> _startPlatformStream() async {
-    await _hostApi.startImageStream();
+  Future<void> _startPlatformStream(
+      PlatformImageStreamOptions platformOptions) async {
+    _acknowledgeStreamedFrames = platformOptions.maxFramesInFlight != null;
+    await _hostApi.startImageStream(platformOptions);
     _startStreamListener();
   }
 
@@ -263,8 +321,14 @@ class AndroidCamera extends CameraPlatform {
         EventChannel('plugins.flutter.io/camera_android/imageStream');
     _platformImageStreamSubscription =
         cameraEventChannel.receiveBroadcastStream().listen((dynamic imageData) {
-      _frameStreamController!
-          .add(cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+      // Streams started with compactEncoding send each frame as one envelope.
+      _frameStreamController!.add(imageData is Uint8List
+          ? cameraImageFromPlatformEnvelope(imageData)
+          : cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+      if (_acknowledgeStreamedFrames) {
+        // Frees the slot of the frame, so that the next one is delivered.
+        _hostApi.acknowledgeImageStreamFrame();
+      }
     });
   }
 
@@ -363,6 +427,49 @@ class AndroidCamera extends CameraPlatform {
     await _hostApi.setDescriptionWhileRecording(description.name);
   }
 
+  /// Switches the camera with the given ID to the camera described by
+  /// [description].
+  ///
+  /// Unlike disposing the camera and creating a new one, this keeps the
+  /// preview texture, the native background thread and any image buffers
+  /// whose size still fits, and only reopens the camera device. A new
+  /// [CameraInitializedEvent] is emitted for the new camera, and an active
+  /// image stream keeps running with the frames of the new camera.
+  ///
+  /// Returns how long the switch took until the first frame of the new camera
+  /// had been captured.
+  Future<Duration> switchCamera(
+      int cameraId, CameraDescription description) async {
+    final int latencyMicros = await _hostApi.switchCamera(description.name);
+    return Duration(microseconds: latencyMicros);
+  }
+
+  /// Sets whether the camera with the given ID keeps its image stream
+  /// buffers attached to the capture session while no image stream is
+  /// active.
+  ///
+  /// With [persistent] set, [onStreamedFrameAvailable] listeners can be added
+  /// and cancelled without rebuilding the capture session, which avoids the
+  /// preview stall that comes with it. The session is rebuilt once when the
+  /// mode changes. While an image stream is running or a video is being
+  /// recorded, the stream keeps running and the change takes effect once it
+  /// stops.
+  Future<void> setPersistentImageStreamSession(
+      int cameraId, bool persistent) async {
+    await _hostApi.setPersistentImageStreamSession(persistent);
+  }
+
+  /// Sets whether the camera with the given ID flushes pictures to storage
+  /// before returning their paths.
+  ///
+  /// By default [takePicture] completes as soon as the picture has been
+  /// written, while the system may still hold it in its caches. With
+  /// [syncToDisk] set, the picture survives a crash or power loss right after
+  /// it was taken, at the cost of a slower capture.
+  Future<void> setSyncPicturesToDisk(int cameraId, bool syncToDisk) async {
+    await _hostApi.setSyncPicturesToDisk(syncToDisk);
+  }
+
   @override
   Widget buildPreview(int cameraId) {
     return Texture(textureId: cameraId);
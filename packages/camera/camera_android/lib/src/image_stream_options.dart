@@ -0,0 +1,272 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// Which frame to discard when too many streamed frames are in flight.
+enum ImageStreamFrameDropPolicy {
+  /// Discards the oldest frame that has not been delivered yet, so that the
+  /// newest one is delivered as soon as the listener is done with a frame.
+  ///
+  /// This keeps latency low, which suits real-time analysis.
+  dropOldest,
+
+  /// Discards the incoming frame and keeps the frames that are already in
+  /// flight.
+  dropNewest,
+}
+
+/// Android-specific options for [CameraPlatform.onStreamedFrameAvailable].
+class AndroidCameraImageStreamOptions extends CameraImageStreamOptions {
+  /// Creates a new set of image stream options.
+  ///
+  /// [maxFramesInFlight] must be positive, or null to deliver every frame.
+  /// [targetWidth] and [targetHeight] must either both be set or both be
+  /// null. [rotationDegrees] must be 0, 90, 180 or 270, and can only be
+  /// non-zero together with [gpuTransform].
+  AndroidCameraImageStreamOptions({
+    this.maxFramesInFlight = 1,
+    this.dropPolicy = ImageStreamFrameDropPolicy.dropOldest,
+    this.cropRect,
+    this.targetWidth,
+    this.targetHeight,
+    this.subsampleFactor = 1,
+    this.lumaOnly = false,
+    this.compactEncoding = false,
+    this.gpuTransform = false,
+    this.rotationDegrees = 0,
+  })  : assert(maxFramesInFlight == null || maxFramesInFlight > 0),
+        assert((targetWidth == null) == (targetHeight == null)),
+        assert(targetWidth == null || targetWidth > 0),
+        assert(targetHeight == null || targetHeight > 0),
+        assert(subsampleFactor > 0),
+        assert(rotationDegrees >= 0 &&
+            rotationDegrees < 360 &&
+            rotationDegrees % 90 == 0),
+        assert(rotationDegrees == 0 || gpuTransform);
+
+  /// The maximum number of frames that may be in flight at the same time.
+  ///
+  /// A frame is in flight from the time it has been converted until the
+  /// listener of the stream has returned from handling it. Once the limit is
+  /// reached, frames are discarded according to [dropPolicy]. If null, every
+  /// frame is delivered, regardless of how far behind the listener is.
+  ///
+  /// A frame counts as handled as soon as the listener returns. Only the
+  /// synchronous part of the listener is waited for, so a listener that hands
+  /// frames off to asynchronous work, such as awaiting inference, does not
+  /// hold a slot while that work is running and should drop frames itself.
+  ///
+  /// To free slots as soon as the listener returns, frames of streams with a
+  /// limit are delivered synchronously from the platform event, rather than
+  /// in a later microtask as for streams without one.
+  final int? maxFramesInFlight;
+
+  /// The frame to discard once [maxFramesInFlight] frames are in flight.
+  final ImageStreamFrameDropPolicy dropPolicy;
+
+  /// The region of the camera image to stream, in pixels of the full image.
+  ///
+  /// The region is clamped to the image and aligned to even coordinates, as
+  /// required by YUV 4:2:0 images. If null, the whole image is streamed.
+  final Rectangle<int>? cropRect;
+
+  /// The width that streamed frames are scaled down to after cropping.
+  ///
+  /// Frames are never scaled up. If null, the size is derived from
+  /// [subsampleFactor] instead.
+  final int? targetWidth;
+
+  /// The height that streamed frames are scaled down to after cropping.
+  ///
+  /// Frames are never scaled up. If null, the size is derived from
+  /// [subsampleFactor] instead.
+  final int? targetHeight;
+
+  /// The factor by which the cropped region is scaled down in both dimensions
+  /// when no target size is set.
+  ///
+  /// For example, a factor of 2 streams every other pixel of every other row.
+  final int subsampleFactor;
+
+  /// Whether only the luminance (Y) plane of each frame is streamed.
+  ///
+  /// This suits consumers that only read brightness, such as OCR or barcode
+  /// scanning, and cuts the bytes sent per frame by a third or more. It only
+  /// applies when the camera was initialized with [ImageFormatGroup.yuv420] or
+  /// [ImageFormatGroup.nv21]. Frames then have a single plane, and their
+  /// [CameraImageFormat.raw] value is [androidImageFormatY8].
+  final bool lumaOnly;
+
+  /// Whether each frame is sent from the platform as a single byte buffer
+  /// instead of a map of fields and planes.
+  ///
+  /// This avoids encoding and decoding the map structure for every frame, and
+  /// the planes of the resulting [CameraImageData] are views into that buffer
+  /// rather than copies. The frames are otherwise identical, except that they
+  /// are [AndroidCameraImageData] and also carry the sensor timestamp.
+  final bool compactEncoding;
+
+  /// Whether frames are cropped, scaled and rotated on the GPU instead of the
+  /// CPU.
+  ///
+  /// The camera then renders into an offscreen buffer that already has the
+  /// size and orientation of the streamed frames, so only the reduced frame
+  /// is copied on the CPU. Frames are streamed as RGBA regardless of the
+  /// [ImageFormatGroup] the camera was initialized with: they have a single
+  /// plane, and their [CameraImageFormat.raw] value is
+  /// [androidImageFormatRgba8888]. [lumaOnly] has no effect on such streams.
+  final bool gpuTransform;
+
+  /// The clockwise rotation applied to frames by [gpuTransform], in degrees.
+  ///
+  /// [cropRect], [targetWidth] and [targetHeight] refer to the frame before it
+  /// is rotated, so with a rotation of 90 or 270 degrees the streamed frames
+  /// have their width and height swapped.
+  final int rotationDegrees;
+}
+
+/// The raw format of frames streamed with
+/// [AndroidCameraImageStreamOptions.lumaOnly], matching Android's
+/// `ImageFormat.Y8`.
+///
+/// The [ImageFormatGroup] of such frames is [ImageFormatGroup.unknown].
+const int androidImageFormatY8 = 0x20203859;
+
+/// The raw format of frames streamed with
+/// [AndroidCameraImageStreamOptions.gpuTransform], matching Android's
+/// `PixelFormat.RGBA_8888`.
+///
+/// The [ImageFormatGroup] of such frames is [ImageFormatGroup.unknown].
+const int androidImageFormatRgba8888 = 1;
+
+/// A streamed frame of a stream started with
+/// [AndroidCameraImageStreamOptions.compactEncoding].
+@immutable
+class AndroidCameraImageData extends CameraImageData {
+  /// Creates a new instance with the given format, planes, and metadata.
+  const AndroidCameraImageData({
+    required super.format,
+    required super.planes,
+    required super.height,
+    required super.width,
+    required this.sensorTimestamp,
+    super.lensAperture,
+    super.sensorExposureTime,
+    super.sensorSensitivity,
+  });
+
+  /// The time the sensor started exposing this image, in nanoseconds.
+  ///
+  /// This is the timestamp reported by `Image.getTimestamp()`, which can be
+  /// matched against the timestamps of capture results and other streams of
+  /// the same camera.
+  final int sensorTimestamp;
+}
+
+/// Counters describing the frames streamed by a camera.
+@immutable
+class AndroidImageStreamStatistics {
+  /// Creates a new set of image stream statistics.
+  const AndroidImageStreamStatistics({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+    required this.frameAllocations,
+    required this.bufferAllocations,
+    required this.reusedFrames,
+  });
+
+  /// The number of frames that were sent to Dart.
+  final int deliveredFrames;
+
+  /// The number of frames that were discarded because of the in-flight limit.
+  final int droppedFrames;
+
+  /// The number of frame buffers that were allocated.
+  final int frameAllocations;
+
+  /// The number of plane byte arrays that were allocated.
+  final int bufferAllocations;
+
+  /// The number of times a previously used frame buffer was reused.
+  final int reusedFrames;
+}
+
+/// Percentiles of one stage of [AndroidImageStreamLatency].
+@immutable
+class AndroidLatencyPercentiles {
+  /// Creates a new set of latency percentiles.
+  const AndroidLatencyPercentiles({
+    required this.sampleCount,
+    required this.p50,
+    required this.p90,
+    required this.p99,
+    required this.max,
+  });
+
+  /// The number of frames the percentiles were computed over.
+  final int sampleCount;
+
+  /// The median duration.
+  final Duration p50;
+
+  /// The duration that 90% of the frames did not exceed.
+  final Duration p90;
+
+  /// The duration that 99% of the frames did not exceed.
+  final Duration p99;
+
+  /// The longest duration.
+  final Duration max;
+}
+
+/// How long recently streamed frames took to travel from the camera sensor to
+/// Dart, split into the stages of the image stream.
+///
+/// Percentiles are computed over a rolling window of the most recently
+/// delivered frames, and are null until the first frame has been delivered.
+/// Frames that were dropped are not included.
+///
+/// Stages that start at the sensor rely on the sensor timestamp of each frame.
+/// On cameras whose timestamps are not based on the realtime clock, they are
+/// approximate.
+@immutable
+class AndroidImageStreamLatency {
+  /// Creates a new set of image stream latencies.
+  const AndroidImageStreamLatency({
+    required this.recordedFrames,
+    this.sensorToAcquire,
+    this.acquireToConverted,
+    this.convertedToPosted,
+    this.postedToDelivered,
+    this.sensorToDelivered,
+  });
+
+  /// The number of frames whose latency was recorded since the camera was
+  /// initialized.
+  final int recordedFrames;
+
+  /// From sensor exposure until the frame was acquired by the plugin.
+  final AndroidLatencyPercentiles? sensorToAcquire;
+
+  /// From acquisition until the frame had been copied and converted.
+  final AndroidLatencyPercentiles? acquireToConverted;
+
+  /// From the end of conversion until the frame was handed to the platform
+  /// main thread.
+  final AndroidLatencyPercentiles? convertedToPosted;
+
+  /// From being handed to the platform main thread until the frame was sent to
+  /// Dart.
+  ///
+  /// This grows when the platform main thread is busy, or when frames are
+  /// produced faster than they can be sent.
+  final AndroidLatencyPercentiles? postedToDelivered;
+
+  /// From sensor exposure until the frame was sent to Dart.
+  final AndroidLatencyPercentiles? sensorToDelivered;
+}
@@ -82,6 +82,12 @@ enum PlatformFlashMode {
   torch,
 }
 
+/// Pigeon equivalent of [ImageStreamFrameDropPolicy].
+enum PlatformImageStreamDropPolicy {
+  dropOldest,
+  dropNewest,
+}
+
 /// Pigeon equivalent of [CameraDescription].
 class PlatformCameraDescription {
   PlatformCameraDescription({
@@ -252,6 +258,219 @@ class PlatformMediaSettings {
   }
 }
 
+/// Pigeon equivalent of [AndroidCameraImageStreamOptions].
+class PlatformImageStreamOptions {
+  PlatformImageStreamOptions({
+    this.maxFramesInFlight,
+    required this.dropPolicy,
+    this.cropLeft,
+    this.cropTop,
+    this.cropWidth,
+    this.cropHeight,
+    this.targetWidth,
+    this.targetHeight,
+    this.subsampleFactor,
+    required this.lumaOnly,
+    required this.compactEncoding,
+    required this.gpuTransform,
+    required this.rotationDegrees,
+  });
+
+  int? maxFramesInFlight;
+
+  PlatformImageStreamDropPolicy dropPolicy;
+
+  int? cropLeft;
+
+  int? cropTop;
+
+  int? cropWidth;
+
+  int? cropHeight;
+
+  int? targetWidth;
+
+  int? targetHeight;
+
+  int? subsampleFactor;
+
+  bool lumaOnly;
+
+  bool compactEncoding;
+
+  bool gpuTransform;
+
+  int rotationDegrees;
+
+  Object encode() {
+    return <Object?>[
+      maxFramesInFlight,
+      dropPolicy,
+      cropLeft,
+      cropTop,
+      cropWidth,
+      cropHeight,
+      targetWidth,
+      targetHeight,
+      subsampleFactor,
+      lumaOnly,
+      compactEncoding,
+      gpuTransform,
+      rotationDegrees,
+    ];
+  }
+
+  static PlatformImageStreamOptions decode(Object result) {
+    result as List<Object?>;
+    return PlatformImageStreamOptions(
+      maxFramesInFlight: result[0] as int?,
+      dropPolicy: result[1]! as PlatformImageStreamDropPolicy,
+      cropLeft: result[2] as int?,
+      cropTop: result[3] as int?,
+      cropWidth: result[4] as int?,
+      cropHeight: result[5] as int?,
+      targetWidth: result[6] as int?,
+      targetHeight: result[7] as int?,
+      subsampleFactor: result[8] as int?,
+      lumaOnly: result[9]! as bool,
+      compactEncoding: result[10]! as bool,
+      gpuTransform: result[11]! as bool,
+      rotationDegrees: result[12]! as int,
+    );
+  }
+}
+
+/// Pigeon equivalent of [AndroidImageStreamStatistics].
+class PlatformImageStreamStatistics {
+  PlatformImageStreamStatistics({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+    required this.frameAllocations,
+    required this.bufferAllocations,
+    required this.reusedFrames,
+  });
+
+  int deliveredFrames;
+
+  int droppedFrames;
+
+  int frameAllocations;
+
+  int bufferAllocations;
+
+  int reusedFrames;
+
+  Object encode() {
+    return <Object?>[
+      deliveredFrames,
+      droppedFrames,
+      frameAllocations,
+      bufferAllocations,
+      reusedFrames,
+    ];
+  }
+
+  static PlatformImageStreamStatistics decode(Object result) {
+    result as List<Object?>;
+    return PlatformImageStreamStatistics(
+      deliveredFrames: result[0]! as int,
+      droppedFrames: result[1]! as int,
+      frameAllocations: result[2]! as int,
+      bufferAllocations: result[3]! as int,
+      reusedFrames: result[4]! as int,
+    );
+  }
+}
+
+/// Pigeon equivalent of [AndroidLatencyPercentiles].
+class PlatformLatencyPercentiles {
+  PlatformLatencyPercentiles({
+    required this.sampleCount,
+    required this.p50Micros,
+    required this.p90Micros,
+    required this.p99Micros,
+    required this.maxMicros,
+  });
+
+  int sampleCount;
+
+  int p50Micros;
+
+  int p90Micros;
+
+  int p99Micros;
+
+  int maxMicros;
+
+  Object encode() {
+    return <Object?>[
+      sampleCount,
+      p50Micros,
+      p90Micros,
+      p99Micros,
+      maxMicros,
+    ];
+  }
+
+  static PlatformLatencyPercentiles decode(Object result) {
+    result as List<Object?>;
+    return PlatformLatencyPercentiles(
+      sampleCount: result[0]! as int,
+      p50Micros: result[1]! as int,
+      p90Micros: result[2]! as int,
+      p99Micros: result[3]! as int,
+      maxMicros: result[4]! as int,
+    );
+  }
+}
+
+/// Pigeon equivalent of [AndroidImageStreamLatency].
+class PlatformImageStreamLatency {
+  PlatformImageStreamLatency({
+    required this.recordedFrames,
+    this.sensorToAcquire,
+    this.acquireToConverted,
+    this.convertedToPosted,
+    this.postedToDelivered,
+    this.sensorToDelivered,
+  });
+
+  int recordedFrames;
+
+  PlatformLatencyPercentiles? sensorToAcquire;
+
+  PlatformLatencyPercentiles? acquireToConverted;
+
+  PlatformLatencyPercentiles? convertedToPosted;
+
+  PlatformLatencyPercentiles? postedToDelivered;
+
+  PlatformLatencyPercentiles? sensorToDelivered;
+
+  Object encode() {
+    return <Object?>[
+      recordedFrames,
+      sensorToAcquire,
+      acquireToConverted,
+      convertedToPosted,
+      postedToDelivered,
+      sensorToDelivered,
+    ];
+  }
+
+  static PlatformImageStreamLatency decode(Object result) {
+    result as List<Object?>;
+    return PlatformImageStreamLatency(
+      recordedFrames: result[0]! as int,
+      sensorToAcquire: result[1] as PlatformLatencyPercentiles?,
+      acquireToConverted: result[2] as PlatformLatencyPercentiles?,
+      convertedToPosted: result[3] as PlatformLatencyPercentiles?,
+      postedToDelivered: result[4] as PlatformLatencyPercentiles?,
+      sensorToDelivered: result[5] as PlatformLatencyPercentiles?,
+    );
+  }
+}
+
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
   @override
@@ -280,20 +499,35 @@ class _PigeonCodec extends StandardMessageCodec {
     } else if (value is PlatformFlashMode) {
       buffer.putUint8(135);
       writeValue(buffer, value.index);
-    } else if (value is PlatformCameraDescription) {
+    } else if (value is PlatformImageStreamDropPolicy) {
       buffer.putUint8(136);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformCameraDescription) {
+      buffer.putUint8(137);
       writeValue(buffer, value.encode());
     } else if (value is PlatformCameraState) {
-      buffer.putUint8(137);
+      buffer.putUint8(138);
       writeValue(buffer, value.encode());
     } else if (value is PlatformSize) {
-      buffer.putUint8(138);
+      buffer.putUint8(139);
       writeValue(buffer, value.encode());
     } else if (value is PlatformPoint) {
-      buffer.putUint8(139);
+      buffer.putUint8(140);
       writeValue(buffer, value.encode());
     } else if (value is PlatformMediaSettings) {
-      buffer.putUint8(140);
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformImageStreamOptions) {
+      buffer.putUint8(142);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformImageStreamStatistics) {
+      buffer.putUint8(143);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformLatencyPercentiles) {
+      buffer.putUint8(144);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformImageStreamLatency) {
+      buffer.putUint8(145);
       writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
@@ -325,15 +559,28 @@ class _PigeonCodec extends StandardMessageCodec {
         final int? value = readValue(buffer) as int?;
         return value == null ? null : PlatformFlashMode.values[value];
       case 136:
-        return PlatformCameraDescription.decode(readValue(buffer)!);
+        final int? value = readValue(buffer) as int?;
+        return value == null
+            ? null
+            : PlatformImageStreamDropPolicy.values[value];
       case 137:
-        return PlatformCameraState.decode(readValue(buffer)!);
+        return PlatformCameraDescription.decode(readValue(buffer)!);
       case 138:
-        return PlatformSize.decode(readValue(buffer)!);
+        return PlatformCameraState.decode(readValue(buffer)!);
       case 139:
-        return PlatformPoint.decode(readValue(buffer)!);
+        return PlatformSize.decode(readValue(buffer)!);
       case 140:
+        return PlatformPoint.decode(readValue(buffer)!);
+      case 141:
         return PlatformMediaSettings.decode(readValue(buffer)!);
+      case 142:
+        return PlatformImageStreamOptions.decode(readValue(buffer)!);
+      case 143:
+        return PlatformImageStreamStatistics.decode(readValue(buffer)!);
+      case 144:
+        return PlatformLatencyPercentiles.decode(readValue(buffer)!);
+      case 145:
+        return PlatformImageStreamLatency.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -550,6 +797,37 @@ class CameraApi {
     }
   }
 
+  /// Takes [count] pictures in a row on the camera with the given ID and
+  /// returns the paths to the resulting files, in capture order.
+  Future<List<String>> takePictureBurst(int count) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.takePictureBurst$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[count]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<String>();
+    }
+  }
+
   /// Starts recording a video on the camera with the given ID.
   Future<void> startVideoRecording(bool enableStream) async {
     final String pigeonVar_channelName =
@@ -657,7 +935,7 @@ class CameraApi {
   }
 
   /// Begins streaming frames from the camera.
-  Future<void> startImageStream() async {
+  Future<void> startImageStream(PlatformImageStreamOptions options) async {
     final String pigeonVar_channelName =
         'dev.flutter.pigeon.camera_android.CameraApi.startImageStream$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel =
@@ -667,7 +945,7 @@ class CameraApi {
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(null) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[options]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -706,6 +984,94 @@ class CameraApi {
     }
   }
 
+  /// Signals that Dart has finished handling a streamed frame, which frees its
+  /// slot of [PlatformImageStreamOptions.maxFramesInFlight].
+  Future<void> acknowledgeImageStreamFrame() async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.acknowledgeImageStreamFrame$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns counters describing the frames streamed since the camera was
+  /// initialized.
+  Future<PlatformImageStreamStatistics> getImageStreamStatistics() async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.getImageStreamStatistics$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlatformImageStreamStatistics?)!;
+    }
+  }
+
+  /// Returns percentiles of how long recently streamed frames took to reach
+  /// Dart.
+  Future<PlatformImageStreamLatency> getImageStreamLatency() async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.getImageStreamLatency$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlatformImageStreamLatency?)!;
+    }
+  }
+
   /// Sets the flash mode of the camera with the given ID.
   Future<void> setFlashMode(PlatformFlashMode flashMode) async {
     final String pigeonVar_channelName =
@@ -1117,6 +1483,94 @@ class CameraApi {
       return;
     }
   }
+
+  /// Switches the camera to the one with the given name, reusing the resources
+  /// of the current camera where possible.
+  ///
+  /// Returns how long the switch took until the first frame of the new camera,
+  /// in microseconds.
+  Future<int> switchCamera(String cameraName) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.switchCamera$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[cameraName]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as int?)!;
+    }
+  }
+
+  /// Sets whether the capture session keeps the image stream surface
+  /// configured while no image stream is active, so that starting and
+  /// stopping the stream only changes the targets of the repeating request.
+  Future<void> setPersistentImageStreamSession(bool persistent) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.setPersistentImageStreamSession$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[persistent]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets whether pictures are flushed to storage before their paths are
+  /// returned, so that they survive a crash or power loss right after being
+  /// taken.
+  Future<void> setSyncPicturesToDisk(bool syncToDisk) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android.CameraApi.setSyncPicturesToDisk$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[syncToDisk]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
 }
 
 /// Handles calls from native side to Dart that are not camera-specific.
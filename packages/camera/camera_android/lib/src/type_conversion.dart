@@ -6,6 +6,8 @@ import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 
+import 'image_stream_options.dart';
+
 /// Converts method channel call [data] for `receivedImageStreamData` to a
 /// [CameraImageData].
 CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
@@ -22,6 +24,55 @@ CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
                   planeData as Map<dynamic, dynamic>))));
 }
 
+/// The version of the frame envelope understood by
+/// [cameraImageFromPlatformEnvelope], matching `ImageStreamEnvelope.VERSION`.
+const int _envelopeVersion = 2;
+const int _envelopeHeaderSize = 52;
+const int _envelopePlaneHeaderSize = 12;
+
+/// Converts a frame [envelope], sent for image streams started with
+/// `compactEncoding`, to an [AndroidCameraImageData].
+///
+/// See `ImageStreamEnvelope` on the Java side for the layout. The planes are
+/// views into [envelope] rather than copies.
+AndroidCameraImageData cameraImageFromPlatformEnvelope(Uint8List envelope) {
+  final ByteData header = ByteData.sublistView(envelope);
+  final int version = header.getInt32(0, Endian.little);
+  if (version != _envelopeVersion) {
+    throw ArgumentError.value(
+        version, 'envelope', 'Unsupported image stream envelope version');
+  }
+  final int sensorTimestamp = header.getInt64(16, Endian.little);
+  final int sensorExposureTime = header.getInt64(24, Endian.little);
+  final double lensAperture = header.getFloat64(32, Endian.little);
+  final double sensorSensitivity = header.getFloat64(40, Endian.little);
+  final int planeCount = header.getInt32(48, Endian.little);
+
+  int planeOffset = _envelopeHeaderSize + planeCount * _envelopePlaneHeaderSize;
+  final List<CameraImagePlane> planes = <CameraImagePlane>[];
+  for (int i = 0; i < planeCount; i++) {
+    final int planeHeader = _envelopeHeaderSize + i * _envelopePlaneHeaderSize;
+    final int length = header.getInt32(planeHeader + 8, Endian.little);
+    planes.add(CameraImagePlane(
+        bytes: Uint8List.sublistView(
+            envelope, planeOffset, planeOffset + length),
+        bytesPerRow: header.getInt32(planeHeader, Endian.little),
+        bytesPerPixel: header.getInt32(planeHeader + 4, Endian.little)));
+    planeOffset += length;
+  }
+
+  return AndroidCameraImageData(
+      format: _cameraImageFormatFromPlatformData(
+          header.getInt32(4, Endian.little)),
+      width: header.getInt32(8, Endian.little),
+      height: header.getInt32(12, Endian.little),
+      sensorTimestamp: sensorTimestamp,
+      lensAperture: lensAperture.isNaN ? null : lensAperture,
+      sensorExposureTime: sensorExposureTime < 0 ? null : sensorExposureTime,
+      sensorSensitivity: sensorSensitivity.isNaN ? null : sensorSensitivity,
+      planes: List<CameraImagePlane>.unmodifiable(planes));
+}
+
 CameraImageFormat _cameraImageFormatFromPlatformData(dynamic data) {
   return CameraImageFormat(_imageFormatGroupFromPlatformData(data), raw: data);
 }
@@ -7,6 +7,7 @@ import 'dart:math';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
 
+import 'image_stream_options.dart';
 import 'messages.g.dart';
 
 /// Converts a [PlatformCameraLensDirection] to [CameraLensDirection].
@@ -159,3 +160,83 @@ PlatformFlashMode flashModeToPlatform(FlashMode mode) {
 /// Null becomes null.
 PlatformPoint? pointToPlatform(Point<double>? point) =>
     (point != null) ? PlatformPoint(x: point.x, y: point.y) : null;
+
+/// Converts an [ImageStreamFrameDropPolicy] to [PlatformImageStreamDropPolicy].
+PlatformImageStreamDropPolicy imageStreamDropPolicyToPlatform(
+        ImageStreamFrameDropPolicy policy) =>
+    switch (policy) {
+      ImageStreamFrameDropPolicy.dropOldest =>
+        PlatformImageStreamDropPolicy.dropOldest,
+      ImageStreamFrameDropPolicy.dropNewest =>
+        PlatformImageStreamDropPolicy.dropNewest,
+    };
+
+/// Converts [CameraImageStreamOptions] to [PlatformImageStreamOptions].
+///
+/// Options that are not [AndroidCameraImageStreamOptions], including null,
+/// deliver every frame.
+PlatformImageStreamOptions imageStreamOptionsToPlatform(
+    CameraImageStreamOptions? options) {
+  if (options is AndroidCameraImageStreamOptions) {
+    return PlatformImageStreamOptions(
+        maxFramesInFlight: options.maxFramesInFlight,
+        dropPolicy: imageStreamDropPolicyToPlatform(options.dropPolicy),
+        cropLeft: options.cropRect?.left,
+        cropTop: options.cropRect?.top,
+        cropWidth: options.cropRect?.width,
+        cropHeight: options.cropRect?.height,
+        targetWidth: options.targetWidth,
+        targetHeight: options.targetHeight,
+        subsampleFactor: options.subsampleFactor,
+        lumaOnly: options.lumaOnly,
+        compactEncoding: options.compactEncoding,
+        gpuTransform: options.gpuTransform,
+        rotationDegrees: options.rotationDegrees);
+  }
+  return PlatformImageStreamOptions(
+      dropPolicy: PlatformImageStreamDropPolicy.dropOldest,
+      lumaOnly: false,
+      compactEncoding: false,
+      gpuTransform: false,
+      rotationDegrees: 0);
+}
+
+/// Converts a [PlatformImageStreamStatistics] to
+/// [AndroidImageStreamStatistics].
+AndroidImageStreamStatistics imageStreamStatisticsFromPlatform(
+        PlatformImageStreamStatistics statistics) =>
+    AndroidImageStreamStatistics(
+        deliveredFrames: statistics.deliveredFrames,
+        droppedFrames: statistics.droppedFrames,
+        frameAllocations: statistics.frameAllocations,
+        bufferAllocations: statistics.bufferAllocations,
+        reusedFrames: statistics.reusedFrames);
+
+/// Converts a [PlatformImageStreamLatency] to [AndroidImageStreamLatency].
+AndroidImageStreamLatency imageStreamLatencyFromPlatform(
+        PlatformImageStreamLatency latency) =>
+    AndroidImageStreamLatency(
+        recordedFrames: latency.recordedFrames,
+        sensorToAcquire:
+            _latencyPercentilesFromPlatform(latency.sensorToAcquire),
+        acquireToConverted:
+            _latencyPercentilesFromPlatform(latency.acquireToConverted),
+        convertedToPosted:
+            _latencyPercentilesFromPlatform(latency.convertedToPosted),
+        postedToDelivered:
+            _latencyPercentilesFromPlatform(latency.postedToDelivered),
+        sensorToDelivered:
+            _latencyPercentilesFromPlatform(latency.sensorToDelivered));
+
+AndroidLatencyPercentiles? _latencyPercentilesFromPlatform(
+    PlatformLatencyPercentiles? percentiles) {
+  if (percentiles == null) {
+    return null;
+  }
+  return AndroidLatencyPercentiles(
+      sampleCount: percentiles.sampleCount,
+      p50: Duration(microseconds: percentiles.p50Micros),
+      p90: Duration(microseconds: percentiles.p90Micros),
+      p99: Duration(microseconds: percentiles.p99Micros),
+      max: Duration(microseconds: percentiles.maxMicros));
+}
@@ -122,6 +122,94 @@ enum PlatformFlashMode {
   torch,
 }
 
+/// Pigeon equivalent of [ImageStreamFrameDropPolicy].
+enum PlatformImageStreamDropPolicy {
+  dropOldest,
+  dropNewest,
+}
+
+/// Pigeon equivalent of [AndroidCameraImageStreamOptions].
+class PlatformImageStreamOptions {
+  PlatformImageStreamOptions(
+      {this.maxFramesInFlight,
+      required this.dropPolicy,
+      this.cropLeft,
+      this.cropTop,
+      this.cropWidth,
+      this.cropHeight,
+      this.targetWidth,
+      this.targetHeight,
+      this.subsampleFactor,
+      required this.lumaOnly,
+      required this.compactEncoding,
+      required this.gpuTransform,
+      required this.rotationDegrees});
+
+  final int? maxFramesInFlight;
+  final PlatformImageStreamDropPolicy dropPolicy;
+  final int? cropLeft;
+  final int? cropTop;
+  final int? cropWidth;
+  final int? cropHeight;
+  final int? targetWidth;
+  final int? targetHeight;
+  final int? subsampleFactor;
+  final bool lumaOnly;
+  final bool compactEncoding;
+  final bool gpuTransform;
+  final int rotationDegrees;
+}
+
+/// Pigeon equivalent of [AndroidImageStreamStatistics].
+class PlatformImageStreamStatistics {
+  PlatformImageStreamStatistics(
+      {required this.deliveredFrames,
+      required this.droppedFrames,
+      required this.frameAllocations,
+      required this.bufferAllocations,
+      required this.reusedFrames});
+
+  final int deliveredFrames;
+  final int droppedFrames;
+  final int frameAllocations;
+  final int bufferAllocations;
+  final int reusedFrames;
+}
+
+/// Pigeon equivalent of [AndroidLatencyPercentiles].
+class PlatformLatencyPercentiles {
+  PlatformLatencyPercentiles(
+      {required this.sampleCount,
+      required this.p50Micros,
+      required this.p90Micros,
+      required this.p99Micros,
+      required this.maxMicros});
+
+  final int sampleCount;
+  final int p50Micros;
+  final int p90Micros;
+  final int p99Micros;
+  final int maxMicros;
+}
+
+/// Pigeon equivalent of [AndroidImageStreamLatency].
+class PlatformImageStreamLatency {
+  PlatformImageStreamLatency(
+      {required this.recordedFrames,
+      this.sensorToAcquire,
+      this.acquireToConverted,
+      this.convertedToPosted,
+      this.postedToDelivered,
+      this.sensorToDelivered});
+
+  final int recordedFrames;
+  final PlatformLatencyPercentiles? sensorToAcquire;
+  final PlatformLatencyPercentiles? acquireToConverted;
+  final PlatformLatencyPercentiles? convertedToPosted;
+  final PlatformLatencyPercentiles? postedToDelivered;
+  final PlatformLatencyPercentiles? sensorToDelivered;
+}
+
 /// Handles calls from Dart to the native side.
 @HostApi()
 abstract class CameraApi {
@@ -149,6 +237,11 @@ abstract class CameraApi {
   @async
   String takePicture();
 
+  /// Takes [count] pictures in a row on the camera with the given ID and
+  /// returns the paths to the resulting files, in capture order.
+  @async
+  List<String> takePictureBurst(int count);
+
   /// Starts recording a video on the camera with the given ID.
   void startVideoRecording(bool enableStream);
 
@@ -163,11 +256,23 @@ abstract class CameraApi {
   void resumeVideoRecording();
 
   /// Begins streaming frames from the camera.
-  void startImageStream();
+  void startImageStream(PlatformImageStreamOptions options);
 
   /// Stops streaming frames from the camera.
   void stopImageStream();
 
+  /// Signals that Dart has finished handling a streamed frame, which frees its
+  /// slot of [PlatformImageStreamOptions.maxFramesInFlight].
+  void acknowledgeImageStreamFrame();
+
+  /// Returns counters describing the frames streamed since the camera was
+  /// initialized.
+  PlatformImageStreamStatistics getImageStreamStatistics();
+
+  /// Returns percentiles of how long recently streamed frames took to reach
+  /// Dart.
+  PlatformImageStreamLatency getImageStreamLatency();
+
   /// Sets the flash mode of the camera with the given ID.
   @async
   void setFlashMode(PlatformFlashMode flashMode);
@@ -225,6 +330,24 @@ abstract class CameraApi {
   ///
   /// This should be called only while video recording is active.
   void setDescriptionWhileRecording(String description);
+
+  /// Switches the camera to the one with the given name, reusing the resources
+  /// of the current camera where possible.
+  ///
+  /// Returns how long the switch took until the first frame of the new camera,
+  /// in microseconds.
+  @async
+  int switchCamera(String cameraName);
+
+  /// Sets whether the capture session keeps the image stream surface
+  /// configured while no image stream is active, so that starting and
+  /// stopping the stream only changes the targets of the repeating request.
+  void setPersistentImageStreamSession(bool persistent);
+
+  /// Sets whether pictures are flushed to storage before their paths are
+  /// returned, so that they survive a crash or power loss right after being
+  /// taken.
+  void setSyncPicturesToDisk(bool syncToDisk);
 }
 
 /// Handles calls from native side to Dart that are not camera-specific.
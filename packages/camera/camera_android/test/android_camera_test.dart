@@ -4,9 +4,11 @@
 
 import 'dart:async';
 import 'dart:math';
+import 'dart:typed_data';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/messages.g.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
@@ -464,6 +466,28 @@ void main() {
       expect(file.path, '/test/path.jpg');
     });
 
+    test('Should take a burst of pictures and return XFile instances',
+        () async {
+      // Arrange
+      when(mockCameraApi.takePictureBurst(3)).thenAnswer((_) async =>
+          <String>['/test/path1.jpg', '/test/path2.jpg', '/test/path3.jpg']);
+
+      // Act
+      final List<XFile> files = await camera.takePictureBurst(cameraId, 3);
+
+      // Assert
+      expect(files.map((XFile file) => file.path), <String>[
+        '/test/path1.jpg',
+        '/test/path2.jpg',
+        '/test/path3.jpg',
+      ]);
+    });
+
+    test('Should reject a burst without pictures', () async {
+      expect(() => camera.takePictureBurst(cameraId, 0), throwsArgumentError);
+      verifyNever(mockCameraApi.takePictureBurst(any));
+    });
+
     test('Should start recording a video', () async {
       // Arrange
       // Act
@@ -533,6 +557,40 @@ void main() {
           .called(1);
     });
 
+    test('Should switch the camera and return the switch latency', () async {
+      // Arrange
+      const CameraDescription camera2Description = CameraDescription(
+          name: 'Test2',
+          lensDirection: CameraLensDirection.front,
+          sensorOrientation: 0);
+      when(mockCameraApi.switchCamera(camera2Description.name))
+          .thenAnswer((_) async => 185000);
+
+      // Act
+      final Duration latency =
+          await camera.switchCamera(cameraId, camera2Description);
+
+      // Assert
+      expect(latency, const Duration(milliseconds: 185));
+      verify(mockCameraApi.switchCamera(camera2Description.name)).called(1);
+    });
+
+    test('Should set the persistent image stream session', () async {
+      // Act
+      await camera.setPersistentImageStreamSession(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setPersistentImageStreamSession(true)).called(1);
+    });
+
+    test('Should set whether pictures are synced to disk', () async {
+      // Act
+      await camera.setSyncPicturesToDisk(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setSyncPicturesToDisk(true)).called(1);
+    });
+
     test('Should set the flash mode', () async {
       // Arrange
       // Act
@@ -738,11 +796,162 @@ void main() {
           .listen((CameraImageData imageData) {});
 
       // Assert
-      verify(mockCameraApi.startImageStream()).called(1);
+      final PlatformImageStreamOptions options =
+          verify(mockCameraApi.startImageStream(captureAny)).captured.single
+              as PlatformImageStreamOptions;
+      expect(options.maxFramesInFlight, isNull);
+      expect(options.dropPolicy, PlatformImageStreamDropPolicy.dropOldest);
+
+      await subscription.cancel();
+    });
+
+    test('Should pass Android image stream options when streaming', () async {
+      // Arrange
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  maxFramesInFlight: 2,
+                  dropPolicy: ImageStreamFrameDropPolicy.dropNewest))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      final PlatformImageStreamOptions options =
+          verify(mockCameraApi.startImageStream(captureAny)).captured.single
+              as PlatformImageStreamOptions;
+      expect(options.maxFramesInFlight, 2);
+      expect(options.dropPolicy, PlatformImageStreamDropPolicy.dropNewest);
+
+      await subscription.cancel();
+    });
+
+    test('Should acknowledge frames once the listener has handled them',
+        () async {
+      // Arrange
+      const EventChannel imageStreamChannel =
+          EventChannel('plugins.flutter.io/camera_android/imageStream');
+      final List<String> events = <String>[];
+      when(mockCameraApi.acknowledgeImageStreamFrame()).thenAnswer((_) async {
+        events.add('acknowledged');
+      });
+      TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .setMockStreamHandler(
+              imageStreamChannel,
+              MockStreamHandler.inline(
+                  onListen: (Object? arguments, MockStreamHandlerEventSink sink) {
+        sink.success(<String, Object?>{
+          'format': 35,
+          'width': 1,
+          'height': 1,
+          'planes': <Object?>[
+            <String, Object?>{
+              'bytes': Uint8List(1),
+              'bytesPerRow': 1,
+              'bytesPerPixel': 1,
+            },
+          ],
+        });
+      }));
+      addTearDown(() => TestDefaultBinaryMessengerBinding
+          .instance.defaultBinaryMessenger
+          .setMockStreamHandler(imageStreamChannel, null));
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(maxFramesInFlight: 1))
+          .listen((CameraImageData imageData) => events.add('handled'));
+      await pumpEventQueue();
+
+      // Assert
+      expect(events, <String>['handled', 'acknowledged']);
 
       await subscription.cancel();
     });
 
+    test('Should not acknowledge frames of streams without an in-flight limit',
+        () async {
+      // Arrange
+      const EventChannel imageStreamChannel =
+          EventChannel('plugins.flutter.io/camera_android/imageStream');
+      TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .setMockStreamHandler(
+              imageStreamChannel,
+              MockStreamHandler.inline(
+                  onListen: (Object? arguments, MockStreamHandlerEventSink sink) {
+        sink.success(<String, Object?>{
+          'format': 35,
+          'width': 1,
+          'height': 1,
+          'planes': <Object?>[],
+        });
+      }));
+      addTearDown(() => TestDefaultBinaryMessengerBinding
+          .instance.defaultBinaryMessenger
+          .setMockStreamHandler(imageStreamChannel, null));
+      int handledFrames = 0;
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) => handledFrames++);
+      await pumpEventQueue();
+
+      // Assert
+      expect(handledFrames, 1);
+      verifyNever(mockCameraApi.acknowledgeImageStreamFrame());
+
+      await subscription.cancel();
+    });
+
+    test('Should get image stream statistics', () async {
+      // Arrange
+      when(mockCameraApi.getImageStreamStatistics()).thenAnswer((_) async =>
+          PlatformImageStreamStatistics(
+              deliveredFrames: 10,
+              droppedFrames: 2,
+              frameAllocations: 3,
+              bufferAllocations: 9,
+              reusedFrames: 7));
+
+      // Act
+      final AndroidImageStreamStatistics statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(statistics.deliveredFrames, 10);
+      expect(statistics.droppedFrames, 2);
+      expect(statistics.frameAllocations, 3);
+      expect(statistics.bufferAllocations, 9);
+      expect(statistics.reusedFrames, 7);
+    });
+
+    test('Should get image stream latency', () async {
+      // Arrange
+      when(mockCameraApi.getImageStreamLatency()).thenAnswer((_) async =>
+          PlatformImageStreamLatency(
+              recordedFrames: 40,
+              sensorToDelivered: PlatformLatencyPercentiles(
+                  sampleCount: 40,
+                  p50Micros: 30000,
+                  p90Micros: 45000,
+                  p99Micros: 60000,
+                  maxMicros: 70000)));
+
+      // Act
+      final AndroidImageStreamLatency latency =
+          await camera.getImageStreamLatency(cameraId);
+
+      // Assert
+      expect(latency.recordedFrames, 40);
+      expect(latency.sensorToAcquire, isNull);
+      expect(latency.sensorToDelivered!.sampleCount, 40);
+      expect(latency.sensorToDelivered!.p50, const Duration(milliseconds: 30));
+      expect(latency.sensorToDelivered!.p90, const Duration(milliseconds: 45));
+      expect(latency.sensorToDelivered!.p99, const Duration(milliseconds: 60));
+      expect(latency.sensorToDelivered!.max, const Duration(milliseconds: 70));
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       // Act
@@ -752,7 +961,7 @@ void main() {
       await subscription.cancel();
 
       // Assert
-      verify(mockCameraApi.startImageStream()).called(1);
+      verify(mockCameraApi.startImageStream(any)).called(1);
       verify(mockCameraApi.stopImageStream()).called(1);
     });
   });
@@ -22,6 +22,28 @@ import 'package:mockito/src/dummies.dart' as _i3;
 // ignore_for_file: camel_case_types
 // ignore_for_file: subtype_of_sealed_class
 
+class _FakePlatformImageStreamStatistics_0 extends _i1.SmartFake
+    implements _i2.PlatformImageStreamStatistics {
+  _FakePlatformImageStreamStatistics_0(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformImageStreamLatency_1 extends _i1.SmartFake
+    implements _i2.PlatformImageStreamLatency {
+  _FakePlatformImageStreamLatency_1(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
 /// A class which mocks [CameraApi].
 ///
 /// See the documentation for Mockito's code generation for more information.
@@ -136,6 +158,16 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
         )),
       ) as _i4.Future<String>);
 
+  @override
+  _i4.Future<List<String>> takePictureBurst(int? count) => (super.noSuchMethod(
+        Invocation.method(
+          #takePictureBurst,
+          [count],
+        ),
+        returnValue: _i4.Future<List<String>>.value(<String>[]),
+        returnValueForMissingStub: _i4.Future<List<String>>.value(<String>[]),
+      ) as _i4.Future<List<String>>);
+
   @override
   _i4.Future<void> startVideoRecording(bool? enableStream) =>
       (super.noSuchMethod(
@@ -191,10 +223,12 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
       ) as _i4.Future<void>);
 
   @override
-  _i4.Future<void> startImageStream() => (super.noSuchMethod(
+  _i4.Future<void> startImageStream(
+          _i2.PlatformImageStreamOptions? options) =>
+      (super.noSuchMethod(
         Invocation.method(
           #startImageStream,
-          [],
+          [options],
         ),
         returnValue: _i4.Future<void>.value(),
         returnValueForMissingStub: _i4.Future<void>.value(),
@@ -210,6 +244,68 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
         returnValueForMissingStub: _i4.Future<void>.value(),
       ) as _i4.Future<void>);
 
+  @override
+  _i4.Future<void> acknowledgeImageStreamFrame() => (super.noSuchMethod(
+        Invocation.method(
+          #acknowledgeImageStreamFrame,
+          [],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<_i2.PlatformImageStreamStatistics> getImageStreamStatistics() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getImageStreamStatistics,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformImageStreamStatistics>.value(
+            _FakePlatformImageStreamStatistics_0(
+          this,
+          Invocation.method(
+            #getImageStreamStatistics,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformImageStreamStatistics>.value(
+                _FakePlatformImageStreamStatistics_0(
+          this,
+          Invocation.method(
+            #getImageStreamStatistics,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformImageStreamStatistics>);
+
+  @override
+  _i4.Future<_i2.PlatformImageStreamLatency> getImageStreamLatency() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getImageStreamLatency,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformImageStreamLatency>.value(
+            _FakePlatformImageStreamLatency_1(
+          this,
+          Invocation.method(
+            #getImageStreamLatency,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformImageStreamLatency>.value(
+                _FakePlatformImageStreamLatency_1(
+          this,
+          Invocation.method(
+            #getImageStreamLatency,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformImageStreamLatency>);
+
   @override
   _i4.Future<void> setFlashMode(_i2.PlatformFlashMode? flashMode) =>
       (super.noSuchMethod(
@@ -365,4 +461,36 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
         returnValue: _i4.Future<void>.value(),
         returnValueForMissingStub: _i4.Future<void>.value(),
       ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<int> switchCamera(String? cameraName) => (super.noSuchMethod(
+        Invocation.method(
+          #switchCamera,
+          [cameraName],
+        ),
+        returnValue: _i4.Future<int>.value(0),
+        returnValueForMissingStub: _i4.Future<int>.value(0),
+      ) as _i4.Future<int>);
+
+  @override
+  _i4.Future<void> setPersistentImageStreamSession(bool? persistent) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setPersistentImageStreamSession,
+          [persistent],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setSyncPicturesToDisk(bool? syncToDisk) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setSyncPicturesToDisk,
+          [syncToDisk],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
 }
@@ -4,6 +4,7 @@
 
 import 'dart:typed_data';
 
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/type_conversion.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter_test/flutter_test.dart';
@@ -77,4 +78,71 @@ void main() {
     });
     expect(cameraImage.format.group, ImageFormatGroup.nv21);
   });
+
+  test('CameraImageData keeps the raw format of luma-only frames', () {
+    final CameraImageData cameraImage =
+        cameraImageFromPlatformData(<dynamic, dynamic>{
+      'format': androidImageFormatY8,
+      'height': 1,
+      'width': 4,
+      'lensAperture': 1.8,
+      'sensorExposureTime': 9991324,
+      'sensorSensitivity': 92.0,
+      'planes': <dynamic>[
+        <dynamic, dynamic>{
+          'bytes': Uint8List.fromList(<int>[1, 2, 3, 4]),
+          'bytesPerPixel': 1,
+          'bytesPerRow': 4,
+        }
+      ]
+    });
+    expect(cameraImage.format.group, ImageFormatGroup.unknown);
+    expect(cameraImage.format.raw, androidImageFormatY8);
+    expect(cameraImage.planes.length, 1);
+  });
+  test('CameraImageData can be created from an envelope', () {
+    final ByteData envelope = ByteData(52 + 2 * 12 + 6);
+    envelope.setInt32(0, 2, Endian.little);
+    envelope.setInt32(4, 17, Endian.little);
+    envelope.setInt32(8, 4, Endian.little);
+    envelope.setInt32(12, 1, Endian.little);
+    envelope.setInt64(16, 123456789, Endian.little);
+    envelope.setInt64(24, 9991324, Endian.little);
+    envelope.setFloat64(32, 1.8, Endian.little);
+    envelope.setFloat64(40, double.nan, Endian.little);
+    envelope.setInt32(48, 2, Endian.little);
+    envelope.setInt32(52, 4, Endian.little);
+    envelope.setInt32(56, 1, Endian.little);
+    envelope.setInt32(60, 4, Endian.little);
+    envelope.setInt32(64, 2, Endian.little);
+    envelope.setInt32(68, 2, Endian.little);
+    envelope.setInt32(72, 2, Endian.little);
+    final Uint8List bytes = envelope.buffer.asUint8List();
+    bytes.setAll(76, <int>[1, 2, 3, 4, 5, 6]);
+
+    final AndroidCameraImageData cameraImage =
+        cameraImageFromPlatformEnvelope(bytes);
+
+    expect(cameraImage.format.group, ImageFormatGroup.nv21);
+    expect(cameraImage.width, 4);
+    expect(cameraImage.height, 1);
+    expect(cameraImage.sensorTimestamp, 123456789);
+    expect(cameraImage.lensAperture, 1.8);
+    expect(cameraImage.sensorExposureTime, 9991324);
+    expect(cameraImage.sensorSensitivity, isNull);
+    expect(cameraImage.planes.length, 2);
+    expect(cameraImage.planes[0].bytes, <int>[1, 2, 3, 4]);
+    expect(cameraImage.planes[0].bytesPerRow, 4);
+    expect(cameraImage.planes[0].bytesPerPixel, 1);
+    expect(cameraImage.planes[1].bytes, <int>[5, 6]);
+    expect(cameraImage.planes[1].bytesPerRow, 2);
+    expect(cameraImage.planes[1].bytesPerPixel, 2);
+  });
+
+  test('cameraImageFromPlatformEnvelope rejects unknown versions', () {
+    final Uint8List bytes = Uint8List(52);
+    bytes[0] = 1;
+
+    expect(() => cameraImageFromPlatformEnvelope(bytes), throwsArgumentError);
+  });
 }
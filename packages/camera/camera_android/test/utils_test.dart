@@ -2,6 +2,9 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:math';
+
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/messages.g.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
@@ -55,5 +58,62 @@ void main() {
       expect(focusModeFromPlatform(PlatformFocusMode.auto), FocusMode.auto);
       expect(focusModeFromPlatform(PlatformFocusMode.locked), FocusMode.locked);
     });
+
+    test('imageStreamOptionsToPlatform() should convert correctly', () {
+      final PlatformImageStreamOptions defaults =
+          imageStreamOptionsToPlatform(null);
+      expect(defaults.maxFramesInFlight, isNull);
+      expect(defaults.dropPolicy, PlatformImageStreamDropPolicy.dropOldest);
+      expect(defaults.lumaOnly, isFalse);
+      expect(defaults.compactEncoding, isFalse);
+      expect(defaults.gpuTransform, isFalse);
+      expect(defaults.rotationDegrees, 0);
+
+      final PlatformImageStreamOptions options = imageStreamOptionsToPlatform(
+          AndroidCameraImageStreamOptions(
+              maxFramesInFlight: 3,
+              dropPolicy: ImageStreamFrameDropPolicy.dropNewest,
+              compactEncoding: true));
+      expect(options.maxFramesInFlight, 3);
+      expect(options.dropPolicy, PlatformImageStreamDropPolicy.dropNewest);
+      expect(options.cropWidth, isNull);
+      expect(options.targetWidth, isNull);
+      expect(options.subsampleFactor, 1);
+      expect(options.compactEncoding, isTrue);
+    });
+
+    test('imageStreamOptionsToPlatform() should convert crop and scale', () {
+      final PlatformImageStreamOptions options = imageStreamOptionsToPlatform(
+          AndroidCameraImageStreamOptions(
+              cropRect: const Rectangle<int>(480, 200, 320, 320),
+              targetWidth: 160,
+              targetHeight: 160,
+              subsampleFactor: 2,
+              lumaOnly: true));
+
+      expect(options.cropLeft, 480);
+      expect(options.cropTop, 200);
+      expect(options.cropWidth, 320);
+      expect(options.cropHeight, 320);
+      expect(options.targetWidth, 160);
+      expect(options.targetHeight, 160);
+      expect(options.subsampleFactor, 2);
+      expect(options.lumaOnly, isTrue);
+    });
+
+    test('imageStreamOptionsToPlatform() should convert the GPU transform',
+        () {
+      final PlatformImageStreamOptions options = imageStreamOptionsToPlatform(
+          AndroidCameraImageStreamOptions(
+              targetWidth: 640,
+              targetHeight: 480,
+              gpuTransform: true,
+              rotationDegrees: 90));
+
+      expect(options.targetWidth, 640);
+      expect(options.targetHeight, 480);
+      expect(options.gpuTransform, isTrue);
+      expect(options.rotationDegrees, 90);
+    });
   });
 }
@@ -34,6 +34,8 @@ class AnalyzerProxyApi extends PigeonApiAnalyzer {
 
     @Override
     public void analyze(@NonNull androidx.camera.core.ImageProxy image) {
+      // Copy the planes here on the analysis thread rather than on the platform thread.
+      api.getPigeonRegistrar().getPigeonApiImageProxy().snapshotPlaneBuffers(image);
       api.getPigeonRegistrar()
           .runOnMainThread(
               new ProxyApiRegistrar.FlutterMethodRunnable() {
@@ -40,6 +40,7 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     if (proxyApiRegistrar != null) {
       proxyApiRegistrar.setIgnoreCallsToDart(true);
       proxyApiRegistrar.tearDown();
+      proxyApiRegistrar.shutDownExecutors();
       proxyApiRegistrar.getInstanceManager().stopFinalizationListener();
       proxyApiRegistrar = null;
     }
@@ -579,6 +579,12 @@ abstract class CameraXLibraryPigeonProxyApiRegistrar(val binaryMessenger: Binary
    */
   abstract fun getPigeonApiAnalyzer(): PigeonApiAnalyzer
 
+  /**
+   * An implementation of [PigeonApiFrameStatisticsAnalyzer] used to add a new Dart instance of
+   * `FrameStatisticsAnalyzer` to the Dart `InstanceManager`.
+   */
+  abstract fun getPigeonApiFrameStatisticsAnalyzer(): PigeonApiFrameStatisticsAnalyzer
+
   /**
    * An implementation of [PigeonApiCameraStateStateError] used to add a new Dart instance of
    * `CameraStateStateError` to the Dart `InstanceManager`.
@@ -736,6 +742,8 @@ abstract class CameraXLibraryPigeonProxyApiRegistrar(val binaryMessenger: Binary
         binaryMessenger, getPigeonApiAspectRatioStrategy())
     PigeonApiImageAnalysis.setUpMessageHandlers(binaryMessenger, getPigeonApiImageAnalysis())
     PigeonApiAnalyzer.setUpMessageHandlers(binaryMessenger, getPigeonApiAnalyzer())
+    PigeonApiFrameStatisticsAnalyzer.setUpMessageHandlers(
+        binaryMessenger, getPigeonApiFrameStatisticsAnalyzer())
     PigeonApiLiveData.setUpMessageHandlers(binaryMessenger, getPigeonApiLiveData())
     PigeonApiImageProxy.setUpMessageHandlers(binaryMessenger, getPigeonApiImageProxy())
     PigeonApiQualitySelector.setUpMessageHandlers(binaryMessenger, getPigeonApiQualitySelector())
@@ -783,6 +791,7 @@ abstract class CameraXLibraryPigeonProxyApiRegistrar(val binaryMessenger: Binary
     PigeonApiAspectRatioStrategy.setUpMessageHandlers(binaryMessenger, null)
     PigeonApiImageAnalysis.setUpMessageHandlers(binaryMessenger, null)
     PigeonApiAnalyzer.setUpMessageHandlers(binaryMessenger, null)
+    PigeonApiFrameStatisticsAnalyzer.setUpMessageHandlers(binaryMessenger, null)
     PigeonApiLiveData.setUpMessageHandlers(binaryMessenger, null)
     PigeonApiImageProxy.setUpMessageHandlers(binaryMessenger, null)
     PigeonApiQualitySelector.setUpMessageHandlers(binaryMessenger, null)
@@ -908,6 +917,8 @@ private class CameraXLibraryPigeonProxyApiBaseCodec(
       registrar.getPigeonApiImageAnalysis().pigeon_newInstance(value) {}
     } else if (value is androidx.camera.core.UseCase) {
       registrar.getPigeonApiUseCase().pigeon_newInstance(value) {}
+    } else if (value is FrameStatisticsAnalyzer) {
+      registrar.getPigeonApiFrameStatisticsAnalyzer().pigeon_newInstance(value) {}
     } else if (value is androidx.camera.core.ImageAnalysis.Analyzer) {
       registrar.getPigeonApiAnalyzer().pigeon_newInstance(value) {}
     } else if (value is androidx.camera.core.CameraState.StateError) {
@@ -3895,6 +3906,12 @@ abstract class PigeonApiImageCapture(
       callback: (Result<String>) -> Unit
   )
 
+  /** Captures a new still image and returns its encoded bytes without saving it to a file. */
+  abstract fun takePictureToMemory(
+      pigeon_instance: androidx.camera.core.ImageCapture,
+      callback: (Result<ByteArray>) -> Unit
+  )
+
   /** Sets the desired rotation of the output image. */
   abstract fun setTargetRotation(pigeon_instance: androidx.camera.core.ImageCapture, rotation: Long)
 
@@ -3980,6 +3997,30 @@ abstract class PigeonApiImageCapture(
           channel.setMessageHandler(null)
         }
       }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android_camerax.ImageCapture.takePictureToMemory",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val pigeon_instanceArg = args[0] as androidx.camera.core.ImageCapture
+            api.takePictureToMemory(pigeon_instanceArg) { result: Result<ByteArray> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(CameraXLibraryPigeonUtils.wrapError(error))
+              } else {
+                val data = result.getOrNull()
+                reply.reply(CameraXLibraryPigeonUtils.wrapResult(data))
+              }
+            }
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
       run {
         val channel =
             BasicMessageChannel<Any?>(
@@ -4729,7 +4770,11 @@ abstract class PigeonApiImageAnalysis(
 ) {
   abstract fun pigeon_defaultConstructor(
       resolutionSelector: androidx.camera.core.resolutionselector.ResolutionSelector?,
-      targetRotation: Long?
+      targetRotation: Long?,
+      backpressureStrategy: Long?,
+      imageQueueDepth: Long?,
+      outputImageFormat: Long?,
+      outputImageRotationEnabled: Boolean?
   ): androidx.camera.core.ImageAnalysis
 
   abstract fun resolutionSelector(
@@ -4742,6 +4787,12 @@ abstract class PigeonApiImageAnalysis(
       analyzer: androidx.camera.core.ImageAnalysis.Analyzer
   )
 
+  /** Sets an analyzer that only sends the statistics of images. */
+  abstract fun setFrameStatisticsAnalyzer(
+      pigeon_instance: androidx.camera.core.ImageAnalysis,
+      analyzer: FrameStatisticsAnalyzer
+  )
+
   /** Removes a previously set analyzer. */
   abstract fun clearAnalyzer(pigeon_instance: androidx.camera.core.ImageAnalysis)
 
@@ -4768,10 +4819,20 @@ abstract class PigeonApiImageAnalysis(
             val resolutionSelectorArg =
                 args[1] as androidx.camera.core.resolutionselector.ResolutionSelector?
             val targetRotationArg = args[2] as Long?
+            val backpressureStrategyArg = args[3] as Long?
+            val imageQueueDepthArg = args[4] as Long?
+            val outputImageFormatArg = args[5] as Long?
+            val outputImageRotationEnabledArg = args[6] as Boolean?
             val wrapped: List<Any?> =
                 try {
                   api.pigeonRegistrar.instanceManager.addDartCreatedInstance(
-                      api.pigeon_defaultConstructor(resolutionSelectorArg, targetRotationArg),
+                      api.pigeon_defaultConstructor(
+                          resolutionSelectorArg,
+                          targetRotationArg,
+                          backpressureStrategyArg,
+                          imageQueueDepthArg,
+                          outputImageFormatArg,
+                          outputImageRotationEnabledArg),
                       pigeon_identifierArg)
                   listOf(null)
                 } catch (exception: Throwable) {
@@ -4807,6 +4868,30 @@ abstract class PigeonApiImageAnalysis(
           channel.setMessageHandler(null)
         }
       }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android_camerax.ImageAnalysis.setFrameStatisticsAnalyzer",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val pigeon_instanceArg = args[0] as androidx.camera.core.ImageAnalysis
+            val analyzerArg = args[1] as FrameStatisticsAnalyzer
+            val wrapped: List<Any?> =
+                try {
+                  api.setFrameStatisticsAnalyzer(pigeon_instanceArg, analyzerArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  CameraXLibraryPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
       run {
         val channel =
             BasicMessageChannel<Any?>(
@@ -4989,6 +5074,111 @@ abstract class PigeonApiAnalyzer(open val pigeonRegistrar: CameraXLibraryPigeonP
     }
   }
 }
+/**
+ * Analyzer that computes luma statistics of every image on the analysis thread and only sends those
+ * to Dart.
+ */
+@Suppress("UNCHECKED_CAST")
+abstract class PigeonApiFrameStatisticsAnalyzer(
+    open val pigeonRegistrar: CameraXLibraryPigeonProxyApiRegistrar
+) {
+  abstract fun pigeon_defaultConstructor(frameMotionThreshold: Double?): FrameStatisticsAnalyzer
+
+  companion object {
+    @Suppress("LocalVariableName")
+    fun setUpMessageHandlers(
+        binaryMessenger: BinaryMessenger,
+        api: PigeonApiFrameStatisticsAnalyzer?
+    ) {
+      val codec = api?.pigeonRegistrar?.codec ?: CameraXLibraryPigeonCodec()
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.pigeon_defaultConstructor",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val pigeon_identifierArg = args[0] as Long
+            val frameMotionThresholdArg = args[1] as Double?
+            val wrapped: List<Any?> =
+                try {
+                  api.pigeonRegistrar.instanceManager.addDartCreatedInstance(
+                      api.pigeon_defaultConstructor(frameMotionThresholdArg), pigeon_identifierArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  CameraXLibraryPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+    }
+  }
+
+  @Suppress("LocalVariableName", "FunctionName")
+  /** Creates a Dart instance of FrameStatisticsAnalyzer and attaches it to [pigeon_instanceArg]. */
+  fun pigeon_newInstance(
+      pigeon_instanceArg: FrameStatisticsAnalyzer,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    if (pigeonRegistrar.ignoreCallsToDart) {
+      callback(
+          Result.failure(
+              CameraXError("ignore-calls-error", "Calls to Dart are being ignored.", "")))
+    } else if (pigeonRegistrar.instanceManager.containsInstance(pigeon_instanceArg)) {
+      callback(Result.success(Unit))
+    } else {
+      callback(
+          Result.failure(
+              CameraXError(
+                  "new-instance-error",
+                  "Attempting to create a new Dart instance of FrameStatisticsAnalyzer, but the class has a nonnull callback method.",
+                  "")))
+    }
+  }
+
+  /**
+   * Receives the statistics of an image, along with the image itself when its motion score reached
+   * the frame motion threshold.
+   */
+  fun onStatistics(
+      pigeon_instanceArg: FrameStatisticsAnalyzer,
+      meanLumaArg: Double,
+      lumaHistogramArg: List<Long>,
+      motionScoreArg: Double,
+      imageArg: androidx.camera.core.ImageProxy?,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    if (pigeonRegistrar.ignoreCallsToDart) {
+      callback(
+          Result.failure(
+              CameraXError("ignore-calls-error", "Calls to Dart are being ignored.", "")))
+      return
+    }
+    val binaryMessenger = pigeonRegistrar.binaryMessenger
+    val codec = pigeonRegistrar.codec
+    val channelName =
+        "dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics"
+    val channel = BasicMessageChannel<Any?>(binaryMessenger, channelName, codec)
+    channel.send(
+        listOf(pigeon_instanceArg, meanLumaArg, lumaHistogramArg, motionScoreArg, imageArg)) {
+          if (it is List<*>) {
+            if (it.size > 1) {
+              callback(
+                  Result.failure(CameraXError(it[0] as String, it[1] as String, it[2] as String?)))
+            } else {
+              callback(Result.success(Unit))
+            }
+          } else {
+            callback(Result.failure(CameraXLibraryPigeonUtils.createConnectionError(channelName)))
+          }
+        }
+  }
+}
 /**
  * Error that the camera has encountered.
  *
@@ -5202,11 +5392,33 @@ abstract class PigeonApiImageProxy(
   /** The image height. */
   abstract fun height(pigeon_instance: androidx.camera.core.ImageProxy): Long
 
+  /**
+   * The rotation, in degrees, that would make the image match the target rotation of the use case.
+   */
+  abstract fun rotationDegrees(pigeon_instance: androidx.camera.core.ImageProxy): Long
+
+  /** The timestamp of the image in nanoseconds. */
+  abstract fun timestamp(pigeon_instance: androidx.camera.core.ImageProxy): Long
+
+  /** The pixel strides of all planes, in plane order. */
+  abstract fun planePixelStrides(pigeon_instance: androidx.camera.core.ImageProxy): List<Long>
+
+  /** The row strides of all planes, in plane order. */
+  abstract fun planeRowStrides(pigeon_instance: androidx.camera.core.ImageProxy): List<Long>
+
   /** Returns the array of planes. */
   abstract fun getPlanes(
       pigeon_instance: androidx.camera.core.ImageProxy
   ): List<androidx.camera.core.ImageProxy.PlaneProxy>
 
+  /**
+   * Returns the pixel buffers of all planes, in plane order.
+   *
+   * Unlike reading the buffer of each plane from [getPlanes], this reads a whole frame with a
+   * single message.
+   */
+  abstract fun getPlaneBuffers(pigeon_instance: androidx.camera.core.ImageProxy): List<ByteArray>
+
   /** Closes the underlying `android.media.Image`. */
   abstract fun close(pigeon_instance: androidx.camera.core.ImageProxy)
 
@@ -5236,6 +5448,28 @@ abstract class PigeonApiImageProxy(
           channel.setMessageHandler(null)
         }
       }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.camera_android_camerax.ImageProxy.getPlaneBuffers",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val pigeon_instanceArg = args[0] as androidx.camera.core.ImageProxy
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.getPlaneBuffers(pigeon_instanceArg))
+                } catch (exception: Throwable) {
+                  CameraXLibraryPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
       run {
         val channel =
             BasicMessageChannel<Any?>(
@@ -5280,22 +5514,36 @@ abstract class PigeonApiImageProxy(
       val formatArg = format(pigeon_instanceArg)
       val widthArg = width(pigeon_instanceArg)
       val heightArg = height(pigeon_instanceArg)
+      val rotationDegreesArg = rotationDegrees(pigeon_instanceArg)
+      val timestampArg = timestamp(pigeon_instanceArg)
+      val planePixelStridesArg = planePixelStrides(pigeon_instanceArg)
+      val planeRowStridesArg = planeRowStrides(pigeon_instanceArg)
       val binaryMessenger = pigeonRegistrar.binaryMessenger
       val codec = pigeonRegistrar.codec
       val channelName = "dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance"
       val channel = BasicMessageChannel<Any?>(binaryMessenger, channelName, codec)
-      channel.send(listOf(pigeon_identifierArg, formatArg, widthArg, heightArg)) {
-        if (it is List<*>) {
-          if (it.size > 1) {
-            callback(
-                Result.failure(CameraXError(it[0] as String, it[1] as String, it[2] as String?)))
-          } else {
-            callback(Result.success(Unit))
+      channel.send(
+          listOf(
+              pigeon_identifierArg,
+              formatArg,
+              widthArg,
+              heightArg,
+              rotationDegreesArg,
+              timestampArg,
+              planePixelStridesArg,
+              planeRowStridesArg)) {
+            if (it is List<*>) {
+              if (it.size > 1) {
+                callback(
+                    Result.failure(
+                        CameraXError(it[0] as String, it[1] as String, it[2] as String?)))
+              } else {
+                callback(Result.success(Unit))
+              }
+            } else {
+              callback(Result.failure(CameraXLibraryPigeonUtils.createConnectionError(channelName)))
+            }
           }
-        } else {
-          callback(Result.failure(CameraXLibraryPigeonUtils.createConnectionError(channelName)))
-        }
-      }
     }
   }
 }
@@ -0,0 +1,147 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.graphics.PixelFormat;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ImageAnalysis.Analyzer} that computes luma statistics of every frame on the analysis
+ * thread.
+ *
+ * <p>Only the statistics are handed to {@link #onStatistics}, so consumers that monitor exposure or
+ * detect motion do not need to receive every full frame. A frame is only handed over as well when
+ * its motion score reaches the frame motion threshold.
+ */
+public abstract class FrameStatisticsAnalyzer implements ImageAnalysis.Analyzer {
+  /** Number of bins of the luma histogram, each covering four consecutive luma values. */
+  static final int HISTOGRAM_BINS = 64;
+
+  /** Number of cells per side of the grid of mean lumas that frames are compared on for motion. */
+  static final int MOTION_GRID_SIZE = 16;
+
+  /** Distance between sampled pixels, in both directions. */
+  private static final int SAMPLE_STEP = 2;
+
+  @Nullable private final Double frameMotionThreshold;
+  @Nullable private double[] previousMotionGrid;
+  private int previousWidth;
+  private int previousHeight;
+
+  /**
+   * Creates an analyzer.
+   *
+   * @param frameMotionThreshold is the motion score from which frames are handed to {@link
+   *     #onStatistics}, or null to never hand them over.
+   */
+  protected FrameStatisticsAnalyzer(@Nullable Double frameMotionThreshold) {
+    this.frameMotionThreshold = frameMotionThreshold;
+  }
+
+  /**
+   * Receives the statistics of a frame.
+   *
+   * @param meanLuma is the mean luma of the frame, between 0 and 255.
+   * @param lumaHistogram is the number of sampled pixels in each of the {@link #HISTOGRAM_BINS}
+   *     luma ranges.
+   * @param motionScore is the mean luma difference to the previous frame on a coarse grid, between
+   *     0 and 1.
+   * @param image is the frame if its motion score reached the frame motion threshold, which must
+   *     then be closed by the receiver, or null otherwise.
+   */
+  public abstract void onStatistics(
+      double meanLuma,
+      @NonNull List<Long> lumaHistogram,
+      double motionScore,
+      @Nullable ImageProxy image);
+
+  @Override
+  public void analyze(@NonNull ImageProxy image) {
+    final int width = image.getWidth();
+    final int height = image.getHeight();
+    // YUV frames carry luma in their first plane. RGBA frames have a single plane of interleaved
+    // red, green, blue and alpha bytes, from which luma is computed.
+    final boolean rgba = image.getFormat() == PixelFormat.RGBA_8888;
+    final ImageProxy.PlaneProxy plane = image.getPlanes()[0];
+    final ByteBuffer buffer = plane.getBuffer();
+    final int rowStride = plane.getRowStride();
+    final int pixelStride = plane.getPixelStride();
+
+    final long[] histogram = new long[HISTOGRAM_BINS];
+    final double[] motionGrid = new double[MOTION_GRID_SIZE * MOTION_GRID_SIZE];
+    final int[] motionGridCounts = new int[MOTION_GRID_SIZE * MOTION_GRID_SIZE];
+    long lumaSum = 0;
+    long sampleCount = 0;
+    for (int y = 0; y < height; y += SAMPLE_STEP) {
+      final int rowStart = y * rowStride;
+      final int gridRowStart = y * MOTION_GRID_SIZE / height * MOTION_GRID_SIZE;
+      for (int x = 0; x < width; x += SAMPLE_STEP) {
+        final int offset = rowStart + x * pixelStride;
+        final int luma = rgba ? getRgbaLuma(buffer, offset) : buffer.get(offset) & 0xFF;
+        histogram[luma * HISTOGRAM_BINS / 256]++;
+        lumaSum += luma;
+        sampleCount++;
+
+        final int cell = gridRowStart + x * MOTION_GRID_SIZE / width;
+        motionGrid[cell] += luma;
+        motionGridCounts[cell]++;
+      }
+    }
+
+    // Frames smaller than the grid leave some cells without samples, which are skipped.
+    int sampledCells = 0;
+    for (int cell = 0; cell < motionGrid.length; cell++) {
+      if (motionGridCounts[cell] > 0) {
+        motionGrid[cell] /= motionGridCounts[cell];
+        sampledCells++;
+      }
+    }
+    final double motionScore;
+    if (previousMotionGrid == null
+        || previousWidth != width
+        || previousHeight != height
+        || sampledCells == 0) {
+      motionScore = 0;
+    } else {
+      double difference = 0;
+      for (int cell = 0; cell < motionGrid.length; cell++) {
+        if (motionGridCounts[cell] > 0) {
+          difference += Math.abs(motionGrid[cell] - previousMotionGrid[cell]);
+        }
+      }
+      motionScore = difference / (sampledCells * 255.0);
+    }
+    previousMotionGrid = motionGrid;
+    previousWidth = width;
+    previousHeight = height;
+
+    final List<Long> lumaHistogram = new ArrayList<>(HISTOGRAM_BINS);
+    for (long count : histogram) {
+      lumaHistogram.add(count);
+    }
+    final double meanLuma = sampleCount == 0 ? 0 : (double) lumaSum / sampleCount;
+
+    final boolean handsOverImage =
+        frameMotionThreshold != null && motionScore >= frameMotionThreshold;
+    if (!handsOverImage) {
+      image.close();
+    }
+    onStatistics(meanLuma, lumaHistogram, motionScore, handsOverImage ? image : null);
+  }
+
+  /** Returns the BT.601 luma of the RGBA pixel at {@code offset}, between 0 and 255. */
+  private static int getRgbaLuma(@NonNull ByteBuffer buffer, int offset) {
+    final int red = buffer.get(offset) & 0xFF;
+    final int green = buffer.get(offset + 1) & 0xFF;
+    final int blue = buffer.get(offset + 2) & 0xFF;
+    return (77 * red + 150 * green + 29 * blue) >> 8;
+  }
+}
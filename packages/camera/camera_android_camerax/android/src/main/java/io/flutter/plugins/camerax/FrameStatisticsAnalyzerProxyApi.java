@@ -0,0 +1,82 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageProxy;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ProxyApi implementation for {@link FrameStatisticsAnalyzer}. This class may handle instantiating
+ * native object instances that are attached to a Dart instance or handle method calls on the
+ * associated native class or an instance of that class.
+ */
+class FrameStatisticsAnalyzerProxyApi extends PigeonApiFrameStatisticsAnalyzer {
+  FrameStatisticsAnalyzerProxyApi(@NonNull ProxyApiRegistrar pigeonRegistrar) {
+    super(pigeonRegistrar);
+  }
+
+  @NonNull
+  @Override
+  public ProxyApiRegistrar getPigeonRegistrar() {
+    return (ProxyApiRegistrar) super.getPigeonRegistrar();
+  }
+
+  /**
+   * Implementation of {@link FrameStatisticsAnalyzer} that passes arguments of callback methods to
+   * Dart.
+   */
+  static class FrameStatisticsAnalyzerImpl extends FrameStatisticsAnalyzer {
+    final FrameStatisticsAnalyzerProxyApi api;
+
+    FrameStatisticsAnalyzerImpl(
+        @NonNull FrameStatisticsAnalyzerProxyApi api, @Nullable Double frameMotionThreshold) {
+      super(frameMotionThreshold);
+      this.api = api;
+    }
+
+    @Override
+    public void onStatistics(
+        double meanLuma,
+        @NonNull List<Long> lumaHistogram,
+        double motionScore,
+        @Nullable ImageProxy image) {
+      if (image != null) {
+        // Copy the planes here on the analysis thread rather than on the platform thread.
+        api.getPigeonRegistrar().getPigeonApiImageProxy().snapshotPlaneBuffers(image);
+      }
+      api.getPigeonRegistrar()
+          .runOnMainThread(
+              new ProxyApiRegistrar.FlutterMethodRunnable() {
+                @Override
+                public void run() {
+                  api.onStatistics(
+                      FrameStatisticsAnalyzerImpl.this,
+                      meanLuma,
+                      lumaHistogram,
+                      motionScore,
+                      image,
+                      ResultCompat.asCompatCallback(
+                          result -> {
+                            if (result.isFailure()) {
+                              onFailure(
+                                  "FrameStatisticsAnalyzer.onStatistics",
+                                  Objects.requireNonNull(result.exceptionOrNull()));
+                            }
+                            return null;
+                          }));
+                }
+              });
+    }
+  }
+
+  @NonNull
+  @Override
+  public FrameStatisticsAnalyzer pigeon_defaultConstructor(@Nullable Double frameMotionThreshold) {
+    return new FrameStatisticsAnalyzerImpl(this, frameMotionThreshold);
+  }
+}
@@ -8,7 +8,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
-import androidx.core.content.ContextCompat;
 
 /**
  * ProxyApi implementation for {@link ImageAnalysis}. This class may handle instantiating native
@@ -16,12 +15,15 @@ import androidx.core.content.ContextCompat;
  * native class or an instance of that class.
  */
 class ImageAnalysisProxyApi extends PigeonApiImageAnalysis {
-  static final long CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS = 1000;
-
   @NonNull
   @Override
   public ImageAnalysis pigeon_defaultConstructor(
-      @Nullable ResolutionSelector resolutionSelector, @Nullable Long targetRotation) {
+      @Nullable ResolutionSelector resolutionSelector,
+      @Nullable Long targetRotation,
+      @Nullable Long backpressureStrategy,
+      @Nullable Long imageQueueDepth,
+      @Nullable Long outputImageFormat,
+      @Nullable Boolean outputImageRotationEnabled) {
     final ImageAnalysis.Builder builder = new ImageAnalysis.Builder();
     if (resolutionSelector != null) {
       builder.setResolutionSelector(resolutionSelector);
@@ -29,6 +31,19 @@ class ImageAnalysisProxyApi extends PigeonApiImageAnalysis {
     if (targetRotation != null) {
       builder.setTargetRotation(targetRotation.intValue());
     }
+    if (backpressureStrategy != null) {
+      builder.setBackpressureStrategy(backpressureStrategy.intValue());
+    }
+    if (imageQueueDepth != null) {
+      // Only used by ImageAnalysis.STRATEGY_BLOCK_PRODUCER.
+      builder.setImageQueueDepth(imageQueueDepth.intValue());
+    }
+    if (outputImageFormat != null) {
+      builder.setOutputImageFormat(outputImageFormat.intValue());
+    }
+    if (outputImageRotationEnabled != null) {
+      builder.setOutputImageRotationEnabled(outputImageRotationEnabled);
+    }
     return builder.build();
   }
 
@@ -45,21 +60,18 @@ class ImageAnalysisProxyApi extends PigeonApiImageAnalysis {
   @Override
   public void setAnalyzer(
       ImageAnalysis pigeonInstance, @NonNull androidx.camera.core.ImageAnalysis.Analyzer analyzer) {
-    getPigeonRegistrar()
-        .getInstanceManager()
-        .setClearFinalizedWeakReferencesInterval(
-            CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS);
-    pigeonInstance.setAnalyzer(
-        ContextCompat.getMainExecutor(getPigeonRegistrar().getContext()), analyzer);
+    pigeonInstance.setAnalyzer(getPigeonRegistrar().getAnalysisExecutor(), analyzer);
+  }
+
+  @Override
+  public void setFrameStatisticsAnalyzer(
+      ImageAnalysis pigeonInstance, @NonNull FrameStatisticsAnalyzer analyzer) {
+    pigeonInstance.setAnalyzer(getPigeonRegistrar().getAnalysisExecutor(), analyzer);
   }
 
   @Override
   public void clearAnalyzer(ImageAnalysis pigeonInstance) {
     pigeonInstance.clearAnalyzer();
-    getPigeonRegistrar()
-        .getInstanceManager()
-        .setClearFinalizedWeakReferencesInterval(
-            getPigeonRegistrar().getDefaultClearFinalizedWeakReferencesInterval());
   }
 
   @Override
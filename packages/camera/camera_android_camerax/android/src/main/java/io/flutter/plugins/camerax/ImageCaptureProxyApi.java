@@ -8,10 +8,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.Executors;
+import java.nio.ByteBuffer;
 import kotlin.Result;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
@@ -101,7 +102,15 @@ class ImageCaptureProxyApi extends PigeonApiImageCapture {
         createOnImageSavedCallback(temporaryCaptureFile, callback);
 
     pigeonInstance.takePicture(
-        outputFileOptions, Executors.newSingleThreadExecutor(), onImageSavedCallback);
+        outputFileOptions, getPigeonRegistrar().getCaptureExecutor(), onImageSavedCallback);
+  }
+
+  @Override
+  public void takePictureToMemory(
+      @NonNull ImageCapture pigeonInstance,
+      @NonNull Function1<? super Result<byte[]>, Unit> callback) {
+    pigeonInstance.takePicture(
+        getPigeonRegistrar().getCaptureExecutor(), createOnImageCapturedCallback(callback));
   }
 
   @Override
@@ -134,4 +143,30 @@ class ImageCaptureProxyApi extends PigeonApiImageCapture {
       }
     };
   }
+
+  @NonNull
+  ImageCapture.OnImageCapturedCallback createOnImageCapturedCallback(
+      @NonNull Function1<? super Result<byte[]>, Unit> callback) {
+    return new ImageCapture.OnImageCapturedCallback() {
+      @Override
+      public void onCaptureSuccess(@NonNull ImageProxy image) {
+        // Captures are JPEG encoded, so the single plane holds the whole file including its EXIF
+        // data.
+        final byte[] bytes;
+        try {
+          final ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+          bytes = new byte[buffer.remaining()];
+          buffer.get(bytes, 0, bytes.length);
+        } finally {
+          image.close();
+        }
+        ResultCompat.success(bytes, callback);
+      }
+
+      @Override
+      public void onError(@NonNull ImageCaptureException exception) {
+        ResultCompat.failure(exception, callback);
+      }
+    };
+  }
 }
@@ -4,11 +4,17 @@
 
 package io.flutter.plugins.camerax;
 
+import android.graphics.PixelFormat;
 import androidx.annotation.NonNull;
 import androidx.camera.core.ImageProxy;
 import androidx.camera.core.ImageProxy.PlaneProxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * ProxyApi implementation for {@link ImageProxy}. This class may handle instantiating native object
@@ -16,6 +22,12 @@ import java.util.List;
  * class or an instance of that class.
  */
 class ImageProxyProxyApi extends PigeonApiImageProxy {
+  // Plane buffers copied on the analysis thread, so that handing them to Dart does not copy a full
+  // frame on the platform thread. Weak keys drop a snapshot whose image is never read or closed.
+  @NonNull
+  private final Map<ImageProxy, List<byte[]>> planeBufferSnapshots =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   ImageProxyProxyApi(@NonNull ProxyApiRegistrar pigeonRegistrar) {
     super(pigeonRegistrar);
   }
@@ -35,14 +47,110 @@ class ImageProxyProxyApi extends PigeonApiImageProxy {
     return pigeonInstance.getHeight();
   }
 
+  @Override
+  public long rotationDegrees(ImageProxy pigeonInstance) {
+    return pigeonInstance.getImageInfo().getRotationDegrees();
+  }
+
+  @Override
+  public long timestamp(ImageProxy pigeonInstance) {
+    return pigeonInstance.getImageInfo().getTimestamp();
+  }
+
+  /**
+   * Copies the plane buffers of an analyzed {@code image} for a later call to {@link
+   * #getPlaneBuffers(ImageProxy)}.
+   *
+   * <p>Analyzers call this on the analysis thread before passing the image to Dart.
+   */
+  void snapshotPlaneBuffers(@NonNull ImageProxy image) {
+    planeBufferSnapshots.put(image, copyPlaneBuffers(image));
+  }
+
+  @NonNull
+  private static List<byte[]> copyPlaneBuffers(@NonNull ImageProxy image) {
+    final PlaneProxy[] planes = image.getPlanes();
+    if (hasPaddedRgbaRows(image, planes)) {
+      return Collections.singletonList(copyRgbaPixelsTightly(image, planes[0]));
+    }
+    final List<byte[]> buffers = new ArrayList<>(planes.length);
+    for (PlaneProxy plane : planes) {
+      // Read through a duplicate so that the position of the plane buffer is left untouched.
+      final ByteBuffer buffer = plane.getBuffer().duplicate();
+      final byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes, 0, bytes.length);
+      buffers.add(bytes);
+    }
+    return buffers;
+  }
+
+  @NonNull
+  @Override
+  public List<Long> planePixelStrides(ImageProxy pigeonInstance) {
+    final PlaneProxy[] planes = pigeonInstance.getPlanes();
+    final List<Long> pixelStrides = new ArrayList<>(planes.length);
+    for (PlaneProxy plane : planes) {
+      pixelStrides.add((long) plane.getPixelStride());
+    }
+    return pixelStrides;
+  }
+
+  @NonNull
+  @Override
+  public List<Long> planeRowStrides(ImageProxy pigeonInstance) {
+    final PlaneProxy[] planes = pigeonInstance.getPlanes();
+    if (hasPaddedRgbaRows(pigeonInstance, planes)) {
+      return Collections.singletonList(
+          (long) pigeonInstance.getWidth() * planes[0].getPixelStride());
+    }
+    final List<Long> rowStrides = new ArrayList<>(planes.length);
+    for (PlaneProxy plane : planes) {
+      rowStrides.add((long) plane.getRowStride());
+    }
+    return rowStrides;
+  }
+
+  /**
+   * Returns whether the rows of an RGBA image are padded, which is removed while copying so that
+   * Dart receives the pixels as a single tightly packed buffer.
+   */
+  private static boolean hasPaddedRgbaRows(
+      @NonNull ImageProxy image, @NonNull PlaneProxy[] planes) {
+    return image.getFormat() == PixelFormat.RGBA_8888
+        && planes.length == 1
+        && planes[0].getRowStride() > image.getWidth() * planes[0].getPixelStride();
+  }
+
+  @NonNull
+  private static byte[] copyRgbaPixelsTightly(
+      @NonNull ImageProxy image, @NonNull PlaneProxy plane) {
+    final int rowLength = image.getWidth() * plane.getPixelStride();
+    final int height = image.getHeight();
+    final ByteBuffer buffer = plane.getBuffer().duplicate();
+    final byte[] bytes = new byte[rowLength * height];
+    for (int row = 0; row < height; row++) {
+      buffer.position(row * plane.getRowStride());
+      buffer.get(bytes, row * rowLength, rowLength);
+    }
+    return bytes;
+  }
+
   @NonNull
   @Override
   public List<PlaneProxy> getPlanes(ImageProxy pigeonInstance) {
     return Arrays.asList(pigeonInstance.getPlanes());
   }
 
+  @NonNull
+  @Override
+  public List<byte[]> getPlaneBuffers(ImageProxy pigeonInstance) {
+    final List<byte[]> snapshot = planeBufferSnapshots.remove(pigeonInstance);
+    return snapshot != null ? snapshot : copyPlaneBuffers(pigeonInstance);
+  }
+
   @Override
   public void close(ImageProxy pigeonInstance) {
+    planeBufferSnapshots.remove(pigeonInstance);
     pigeonInstance.close();
   }
 }
@@ -18,6 +18,9 @@ import androidx.annotation.Nullable;
 import androidx.lifecycle.LifecycleOwner;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.view.TextureRegistry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
   @NonNull
@@ -62,6 +65,17 @@ public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
   // PreviewProxyApi maintains a state to track SurfaceProducers provided by the Flutter engine.
   @NonNull private final PreviewProxyApi previewProxyApi = new PreviewProxyApi(this);
 
+  // ImageProxyProxyApi holds the plane buffers that analyzers copy before passing a frame to Dart.
+  @NonNull private final ImageProxyProxyApi imageProxyProxyApi = new ImageProxyProxyApi(this);
+
+  // Image analysis runs on its own thread so that acquiring and dispatching frames does not compete
+  // with the UI thread. Created on first use and shared by all ImageAnalysis instances.
+  @Nullable private ExecutorService analysisExecutor;
+
+  // Still captures are saved or copied on a single shared thread. CameraX processes one capture
+  // request at a time, so more threads would only sit idle.
+  @Nullable private ExecutorService captureExecutor;
+
   public ProxyApiRegistrar(
       @NonNull BinaryMessenger binaryMessenger,
       @NonNull Context context,
@@ -71,6 +85,36 @@ public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
     this.textureRegistry = textureRegistry;
   }
 
+  /** Returns the executor that image analyzers run on. */
+  @NonNull
+  synchronized Executor getAnalysisExecutor() {
+    if (analysisExecutor == null) {
+      analysisExecutor = Executors.newSingleThreadExecutor();
+    }
+    return analysisExecutor;
+  }
+
+  /** Returns the executor that still capture callbacks run on. */
+  @NonNull
+  synchronized Executor getCaptureExecutor() {
+    if (captureExecutor == null) {
+      captureExecutor = Executors.newSingleThreadExecutor();
+    }
+    return captureExecutor;
+  }
+
+  /** Stops the background threads created by this registrar. */
+  synchronized void shutDownExecutors() {
+    if (analysisExecutor != null) {
+      analysisExecutor.shutdown();
+      analysisExecutor = null;
+    }
+    if (captureExecutor != null) {
+      captureExecutor.shutdown();
+      captureExecutor = null;
+    }
+  }
+
   // Interface for an injectable SDK version checker.
   @ChecksSdkIntAtLeast(parameter = 0)
   boolean sdkIsAtLeast(int version) {
@@ -136,10 +180,6 @@ public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
     return textureRegistry;
   }
 
-  long getDefaultClearFinalizedWeakReferencesInterval() {
-    return 3000;
-  }
-
   @SuppressWarnings("deprecation")
   @Nullable
   Display getDisplay() {
@@ -307,6 +347,12 @@ public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
     return new AnalyzerProxyApi(this);
   }
 
+  @NonNull
+  @Override
+  public PigeonApiFrameStatisticsAnalyzer getPigeonApiFrameStatisticsAnalyzer() {
+    return new FrameStatisticsAnalyzerProxyApi(this);
+  }
+
   @NonNull
   @Override
   public PigeonApiCameraStateStateError getPigeonApiCameraStateStateError() {
@@ -321,8 +367,8 @@ public class ProxyApiRegistrar extends CameraXLibraryPigeonProxyApiRegistrar {
 
   @NonNull
   @Override
-  public PigeonApiImageProxy getPigeonApiImageProxy() {
-    return new ImageProxyProxyApi(this);
+  public ImageProxyProxyApi getPigeonApiImageProxy() {
+    return imageProxyProxyApi;
   }
 
   @NonNull
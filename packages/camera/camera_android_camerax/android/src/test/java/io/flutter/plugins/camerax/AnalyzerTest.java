@@ -4,6 +4,7 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
@@ -12,6 +13,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import androidx.camera.core.ImageProxy;
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
 public class AnalyzerTest {
@@ -29,8 +31,28 @@ public class AnalyzerTest {
 
     final AnalyzerProxyApi.AnalyzerImpl instance = new AnalyzerProxyApi.AnalyzerImpl(mockApi);
     final androidx.camera.core.ImageProxy image = mock(ImageProxy.class);
+    when(image.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {});
     instance.analyze(image);
 
     verify(mockApi).analyze(eq(instance), eq(image), any());
   }
+
+  @Test
+  public void analyze_copiesPlaneBuffersBeforeCallingDart() {
+    final TestProxyApiRegistrar registrar = new TestProxyApiRegistrar();
+    final AnalyzerProxyApi mockApi = mock(AnalyzerProxyApi.class);
+    when(mockApi.getPigeonRegistrar()).thenReturn(registrar);
+
+    final AnalyzerProxyApi.AnalyzerImpl instance = new AnalyzerProxyApi.AnalyzerImpl(mockApi);
+    final ImageProxy image = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy plane = mock(ImageProxy.PlaneProxy.class);
+    final ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2});
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(image.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {plane});
+    instance.analyze(image);
+    buffer.put(0, (byte) 9);
+
+    assertArrayEquals(
+        new byte[] {1, 2}, registrar.getPigeonApiImageProxy().getPlaneBuffers(image).get(0));
+  }
 }
@@ -0,0 +1,152 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.PixelFormat;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageProxy;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class FrameStatisticsAnalyzerTest {
+  @Test
+  public void pigeon_defaultConstructor_createsFrameStatisticsAnalyzerImpl() {
+    final PigeonApiFrameStatisticsAnalyzer api =
+        new TestProxyApiRegistrar().getPigeonApiFrameStatisticsAnalyzer();
+
+    assertTrue(
+        api.pigeon_defaultConstructor(0.5)
+            instanceof FrameStatisticsAnalyzerProxyApi.FrameStatisticsAnalyzerImpl);
+  }
+
+  @Test
+  public void onStatistics_makesCallToDartOnStatistics() {
+    final FrameStatisticsAnalyzerProxyApi mockApi = mock(FrameStatisticsAnalyzerProxyApi.class);
+    when(mockApi.getPigeonRegistrar()).thenReturn(new TestProxyApiRegistrar());
+
+    final FrameStatisticsAnalyzerProxyApi.FrameStatisticsAnalyzerImpl instance =
+        new FrameStatisticsAnalyzerProxyApi.FrameStatisticsAnalyzerImpl(mockApi, null);
+    final List<Long> histogram = Arrays.asList(1L, 2L);
+    instance.onStatistics(12.0, histogram, 0.5, null);
+
+    verify(mockApi).onStatistics(eq(instance), eq(12.0), eq(histogram), eq(0.5), isNull(), any());
+  }
+
+  @Test
+  public void analyze_computesLumaStatisticsAndClosesImage() {
+    final RecordingAnalyzer analyzer = new RecordingAnalyzer(null);
+    // Sampled pixels are at even coordinates: two with luma 0 and two with luma 200.
+    final ImageProxy image =
+        createImage(
+            4,
+            4,
+            new byte[] {0, 9, 0, 9, 9, 9, 9, 9, (byte) 200, 9, (byte) 200, 9, 9, 9, 9, 9});
+
+    analyzer.analyze(image);
+
+    assertEquals(100.0, analyzer.meanLuma, 0.0001);
+    assertEquals(FrameStatisticsAnalyzer.HISTOGRAM_BINS, analyzer.lumaHistogram.size());
+    assertEquals(Long.valueOf(2), analyzer.lumaHistogram.get(0));
+    assertEquals(Long.valueOf(2), analyzer.lumaHistogram.get(200 / 4));
+    assertEquals(0.0, analyzer.motionScore, 0.0);
+    assertNull(analyzer.image);
+    verify(image).close();
+  }
+
+  @Test
+  public void analyze_computesLumaOfRgbaFrames() {
+    final RecordingAnalyzer analyzer = new RecordingAnalyzer(null);
+    // A single pure red pixel, whose red channel would read as a luma of 255.
+    final ImageProxy image = createImage(1, 1, new byte[] {(byte) 255, 0, 0, (byte) 255});
+    final ImageProxy.PlaneProxy plane = image.getPlanes()[0];
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(4);
+    when(image.getFormat()).thenReturn(PixelFormat.RGBA_8888);
+
+    analyzer.analyze(image);
+
+    assertEquals(76.0, analyzer.meanLuma, 0.0001);
+    assertEquals(Long.valueOf(1), analyzer.lumaHistogram.get(76 / 4));
+  }
+
+  @Test
+  public void analyze_scoresMotionAgainstPreviousFrame() {
+    final RecordingAnalyzer analyzer = new RecordingAnalyzer(null);
+    final byte[] dark = new byte[16];
+    final byte[] bright = new byte[16];
+    Arrays.fill(bright, (byte) 255);
+
+    analyzer.analyze(createImage(4, 4, dark));
+    analyzer.analyze(createImage(4, 4, dark));
+    assertEquals(0.0, analyzer.motionScore, 0.0);
+
+    analyzer.analyze(createImage(4, 4, bright));
+    assertEquals(1.0, analyzer.motionScore, 0.0001);
+  }
+
+  @Test
+  public void analyze_handsOverImagesThatReachTheFrameMotionThreshold() {
+    final RecordingAnalyzer analyzer = new RecordingAnalyzer(0.5);
+    final byte[] bright = new byte[16];
+    Arrays.fill(bright, (byte) 255);
+
+    analyzer.analyze(createImage(4, 4, new byte[16]));
+    final ImageProxy movedImage = createImage(4, 4, bright);
+    analyzer.analyze(movedImage);
+
+    assertSame(movedImage, analyzer.image);
+    verify(movedImage, never()).close();
+  }
+
+  private static ImageProxy createImage(int width, int height, byte[] luma) {
+    final ImageProxy.PlaneProxy plane = mock(ImageProxy.PlaneProxy.class);
+    when(plane.getBuffer()).thenReturn(ByteBuffer.wrap(luma));
+    when(plane.getRowStride()).thenReturn(width);
+    when(plane.getPixelStride()).thenReturn(1);
+    final ImageProxy image = mock(ImageProxy.class);
+    when(image.getWidth()).thenReturn(width);
+    when(image.getHeight()).thenReturn(height);
+    when(image.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {plane});
+    return image;
+  }
+
+  private static class RecordingAnalyzer extends FrameStatisticsAnalyzer {
+    double meanLuma;
+    List<Long> lumaHistogram;
+    double motionScore;
+    @Nullable ImageProxy image;
+
+    RecordingAnalyzer(@Nullable Double frameMotionThreshold) {
+      super(frameMotionThreshold);
+    }
+
+    @Override
+    public void onStatistics(
+        double meanLuma,
+        @NonNull List<Long> lumaHistogram,
+        double motionScore,
+        @Nullable ImageProxy image) {
+      this.meanLuma = meanLuma;
+      this.lumaHistogram = lumaHistogram;
+      this.motionScore = motionScore;
+      this.image = image;
+    }
+  }
+}
@@ -5,23 +5,23 @@
 package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.any;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import android.os.Looper;
 import android.view.Surface;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageAnalysis.Analyzer;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
-import androidx.core.content.ContextCompat;
 import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
-import org.mockito.stubbing.Answer;
 import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
@@ -33,12 +33,37 @@ public class ImageAnalysisTest {
     final ResolutionSelector mockResolutionSelector = new ResolutionSelector.Builder().build();
     final long targetResolution = Surface.ROTATION_0;
     final ImageAnalysis imageAnalysis =
-        api.pigeon_defaultConstructor(mockResolutionSelector, targetResolution);
+        api.pigeon_defaultConstructor(
+            mockResolutionSelector, targetResolution, null, null, null, null);
 
     assertEquals(imageAnalysis.getResolutionSelector(), mockResolutionSelector);
     assertEquals(imageAnalysis.getTargetRotation(), Surface.ROTATION_0);
   }
 
+  @Test
+  public void pigeon_defaultConstructor_setsBackpressureStrategyAndImageQueueDepth() {
+    final PigeonApiImageAnalysis api = new TestProxyApiRegistrar().getPigeonApiImageAnalysis();
+
+    final ImageAnalysis imageAnalysis =
+        api.pigeon_defaultConstructor(
+            null, null, (long) ImageAnalysis.STRATEGY_BLOCK_PRODUCER, 4L, null, null);
+
+    assertEquals(ImageAnalysis.STRATEGY_BLOCK_PRODUCER, imageAnalysis.getBackpressureStrategy());
+    assertEquals(4, imageAnalysis.getImageQueueDepth());
+  }
+
+  @Test
+  public void pigeon_defaultConstructor_setsOutputImageFormatAndRotation() {
+    final PigeonApiImageAnalysis api = new TestProxyApiRegistrar().getPigeonApiImageAnalysis();
+
+    final ImageAnalysis imageAnalysis =
+        api.pigeon_defaultConstructor(
+            null, null, null, null, (long) ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888, true);
+
+    assertEquals(ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888, imageAnalysis.getOutputImageFormat());
+    assertTrue(imageAnalysis.isOutputImageRotationEnabled());
+  }
+
   @Test
   public void resolutionSelector_returnsExpectedResolutionSelector() {
     final PigeonApiImageAnalysis api = new TestProxyApiRegistrar().getPigeonApiImageAnalysis();
@@ -53,21 +78,41 @@ public class ImageAnalysisTest {
 
   @Test
   public void setAnalyzer_makesCallToSetAnalyzerOnExpectedImageAnalysisInstance() {
-    final PigeonApiImageAnalysis api = new TestProxyApiRegistrar().getPigeonApiImageAnalysis();
+    final TestProxyApiRegistrar registrar = new TestProxyApiRegistrar();
+    final PigeonApiImageAnalysis api = registrar.getPigeonApiImageAnalysis();
 
     final ImageAnalysis instance = mock(ImageAnalysis.class);
     final androidx.camera.core.ImageAnalysis.Analyzer analyzer = mock(Analyzer.class);
 
-    try (MockedStatic<ContextCompat> mockedContextCompat =
-        Mockito.mockStatic(ContextCompat.class)) {
-      mockedContextCompat
-          .when(() -> ContextCompat.getMainExecutor(any()))
-          .thenAnswer((Answer<Executor>) invocation -> mock(Executor.class));
+    api.setAnalyzer(instance, analyzer);
+
+    verify(instance).setAnalyzer(eq(registrar.getAnalysisExecutor()), eq(analyzer));
+  }
+
+  @Test
+  public void setAnalyzer_runsAnalyzerOffTheMainThread() throws Exception {
+    final TestProxyApiRegistrar registrar = new TestProxyApiRegistrar();
+
+    final Executor executor = registrar.getAnalysisExecutor();
+    final FutureTask<Thread> task = new FutureTask<>(Thread::currentThread);
+    executor.execute(task);
+
+    assertSame(executor, registrar.getAnalysisExecutor());
+    assertNotSame(Looper.getMainLooper().getThread(), task.get());
+    registrar.shutDownExecutors();
+  }
+
+  @Test
+  public void setFrameStatisticsAnalyzer_setsAnalyzerOnTheAnalysisExecutor() {
+    final TestProxyApiRegistrar registrar = new TestProxyApiRegistrar();
+    final PigeonApiImageAnalysis api = registrar.getPigeonApiImageAnalysis();
+
+    final ImageAnalysis instance = mock(ImageAnalysis.class);
+    final FrameStatisticsAnalyzer analyzer = mock(FrameStatisticsAnalyzer.class);
 
-      api.setAnalyzer(instance, analyzer);
+    api.setFrameStatisticsAnalyzer(instance, analyzer);
 
-      verify(instance).setAnalyzer(any(), eq(analyzer));
-    }
+    verify(instance).setAnalyzer(eq(registrar.getAnalysisExecutor()), eq(analyzer));
   }
 
   @Test
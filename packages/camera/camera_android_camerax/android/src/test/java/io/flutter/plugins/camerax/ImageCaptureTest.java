@@ -4,10 +4,13 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -17,9 +20,11 @@ import android.view.Surface;
 import androidx.annotation.NonNull;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Executor;
 import kotlin.Result;
 import kotlin.Unit;
@@ -76,6 +81,7 @@ public class ImageCaptureTest {
     final File mockOutputDir = mock(File.class);
     when(mockContext.getCacheDir()).thenReturn(mockOutputDir);
     when(mockApiRegistrar.getContext()).thenReturn(mockContext);
+    when(mockApiRegistrar.getCaptureExecutor()).thenReturn(mock(Executor.class));
 
     final String filename = "myFile.jpg";
     final ImageCaptureProxyApi api =
@@ -173,6 +179,7 @@ public class ImageCaptureTest {
     final File mockOutputDir = mock(File.class);
     when(mockContext.getCacheDir()).thenReturn(mockOutputDir);
     when(mockApiRegistrar.getContext()).thenReturn(mockContext);
+    when(mockApiRegistrar.getCaptureExecutor()).thenReturn(mock(Executor.class));
 
     final ImageCaptureException captureException = mock(ImageCaptureException.class);
     final ImageCaptureProxyApi api =
@@ -224,6 +231,65 @@ public class ImageCaptureTest {
     }
   }
 
+  @Test
+  public void takePictureToMemory_takesPictureOnSharedCaptureExecutor() {
+    final TestProxyApiRegistrar registrar = new TestProxyApiRegistrar();
+    final PigeonApiImageCapture api = registrar.getPigeonApiImageCapture();
+
+    final ImageCapture instance = mock(ImageCapture.class);
+    api.takePictureToMemory(instance, ResultCompat.asCompatCallback(reply -> null));
+    api.takePictureToMemory(instance, ResultCompat.asCompatCallback(reply -> null));
+
+    verify(instance, times(2))
+        .takePicture(
+            eq(registrar.getCaptureExecutor()), any(ImageCapture.OnImageCapturedCallback.class));
+    registrar.shutDownExecutors();
+  }
+
+  @Test
+  public void takePictureToMemory_onCaptureSuccessSendsEncodedBytesAndClosesImage() {
+    final ImageCaptureProxyApi api =
+        (ImageCaptureProxyApi) new TestProxyApiRegistrar().getPigeonApiImageCapture();
+
+    final byte[][] result = {null};
+    final ImageCapture.OnImageCapturedCallback capturedCallback =
+        api.createOnImageCapturedCallback(
+            ResultCompat.asCompatCallback(
+                reply -> {
+                  result[0] = reply.getOrNull();
+                  return null;
+                }));
+
+    final ImageProxy mockImage = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy mockPlane = mock(ImageProxy.PlaneProxy.class);
+    when(mockPlane.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    when(mockImage.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlane});
+    capturedCallback.onCaptureSuccess(mockImage);
+
+    assertArrayEquals(new byte[] {1, 2, 3}, result[0]);
+    verify(mockImage).close();
+  }
+
+  @Test
+  public void takePictureToMemory_onErrorSendsError() {
+    final ImageCaptureProxyApi api =
+        (ImageCaptureProxyApi) new TestProxyApiRegistrar().getPigeonApiImageCapture();
+
+    final Throwable[] result = {null};
+    final ImageCapture.OnImageCapturedCallback capturedCallback =
+        api.createOnImageCapturedCallback(
+            ResultCompat.asCompatCallback(
+                reply -> {
+                  result[0] = reply.exceptionOrNull();
+                  return null;
+                }));
+
+    final ImageCaptureException captureException = mock(ImageCaptureException.class);
+    capturedCallback.onError(captureException);
+
+    assertEquals(captureException, result[0]);
+  }
+
   @Test
   public void setTargetRotation_makesCallToSetTargetRotation() {
     final PigeonApiImageCapture api = new TestProxyApiRegistrar().getPigeonApiImageCapture();
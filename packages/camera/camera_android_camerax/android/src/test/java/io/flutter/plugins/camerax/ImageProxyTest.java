@@ -4,13 +4,18 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import android.graphics.PixelFormat;
+import androidx.camera.core.ImageInfo;
 import androidx.camera.core.ImageProxy;
 import androidx.camera.core.ImageProxy.PlaneProxy;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.junit.Test;
@@ -49,6 +54,111 @@ public class ImageProxyTest {
     assertEquals(value, api.height(instance));
   }
 
+  @Test
+  public void rotationDegrees_returnsExpectedRotationDegrees() {
+    final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final ImageInfo imageInfo = mock(ImageInfo.class);
+    final long value = 90;
+    when(instance.getImageInfo()).thenReturn(imageInfo);
+    when(imageInfo.getRotationDegrees()).thenReturn((int) value);
+
+    assertEquals(value, api.rotationDegrees(instance));
+  }
+
+  @Test
+  public void timestamp_returnsExpectedTimestamp() {
+    final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final ImageInfo imageInfo = mock(ImageInfo.class);
+    final long value = 123456789L;
+    when(instance.getImageInfo()).thenReturn(imageInfo);
+    when(imageInfo.getTimestamp()).thenReturn(value);
+
+    assertEquals(value, api.timestamp(instance));
+  }
+
+  @Test
+  public void getPlaneBuffers_returnsCopiesOfAllPlanes() {
+    final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final ByteBuffer firstBuffer = ByteBuffer.wrap(new byte[] {1, 2, 3});
+    final ByteBuffer secondBuffer = ByteBuffer.wrap(new byte[] {4, 5});
+    final PlaneProxy firstPlane = mock(PlaneProxy.class);
+    final PlaneProxy secondPlane = mock(PlaneProxy.class);
+    when(firstPlane.getBuffer()).thenReturn(firstBuffer);
+    when(secondPlane.getBuffer()).thenReturn(secondBuffer);
+    when(instance.getPlanes()).thenReturn(new PlaneProxy[] {firstPlane, secondPlane});
+
+    final List<byte[]> buffers = api.getPlaneBuffers(instance);
+
+    assertEquals(2, buffers.size());
+    assertArrayEquals(new byte[] {1, 2, 3}, buffers.get(0));
+    assertArrayEquals(new byte[] {4, 5}, buffers.get(1));
+    assertEquals(0, firstBuffer.position());
+  }
+
+  @Test
+  public void getPlaneBuffers_packsPaddedRgbaRowsTightly() {
+    final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final PlaneProxy plane = mock(PlaneProxy.class);
+    // Two rows of one RGBA pixel, each followed by four bytes of padding.
+    when(plane.getBuffer())
+        .thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 0, 0, 0, 0, 5, 6, 7, 8, 0, 0, 0, 0}));
+    when(plane.getPixelStride()).thenReturn(4);
+    when(plane.getRowStride()).thenReturn(8);
+    when(instance.getFormat()).thenReturn(PixelFormat.RGBA_8888);
+    when(instance.getWidth()).thenReturn(1);
+    when(instance.getHeight()).thenReturn(2);
+    when(instance.getPlanes()).thenReturn(new PlaneProxy[] {plane});
+
+    final List<byte[]> buffers = api.getPlaneBuffers(instance);
+
+    assertEquals(1, buffers.size());
+    assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, buffers.get(0));
+    assertEquals(Collections.singletonList(4L), api.planeRowStrides(instance));
+  }
+
+  @Test
+  public void getPlaneBuffers_returnsPlanesCopiedOnTheAnalysisThread() {
+    final ImageProxyProxyApi api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3});
+    final PlaneProxy plane = mock(PlaneProxy.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(instance.getPlanes()).thenReturn(new PlaneProxy[] {plane});
+
+    api.snapshotPlaneBuffers(instance);
+    // Overwriting the plane afterwards must not change the planes passed to Dart.
+    buffer.put(0, (byte) 9);
+
+    assertArrayEquals(new byte[] {1, 2, 3}, api.getPlaneBuffers(instance).get(0));
+    assertArrayEquals(new byte[] {9, 2, 3}, api.getPlaneBuffers(instance).get(0));
+  }
+
+  @Test
+  public void planeStrides_returnExpectedStridesOfAllPlanes() {
+    final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
+
+    final ImageProxy instance = mock(ImageProxy.class);
+    final PlaneProxy firstPlane = mock(PlaneProxy.class);
+    final PlaneProxy secondPlane = mock(PlaneProxy.class);
+    when(firstPlane.getPixelStride()).thenReturn(1);
+    when(firstPlane.getRowStride()).thenReturn(640);
+    when(secondPlane.getPixelStride()).thenReturn(2);
+    when(secondPlane.getRowStride()).thenReturn(320);
+    when(instance.getPlanes()).thenReturn(new PlaneProxy[] {firstPlane, secondPlane});
+
+    assertEquals(Arrays.asList(1L, 2L), api.planePixelStrides(instance));
+    assertEquals(Arrays.asList(640L, 320L), api.planeRowStrides(instance));
+  }
+
   @Test
   public void getPlanes_returnsExpectedPlanes() {
     final PigeonApiImageProxy api = new TestProxyApiRegistrar().getPigeonApiImageProxy();
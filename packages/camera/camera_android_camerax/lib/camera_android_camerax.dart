@@ -3,3 +3,4 @@
 // found in the LICENSE file.
 
 export 'src/android_camera_camerax.dart';
+export 'src/camera_frame_statistics.dart';
@@ -8,9 +8,10 @@ import 'dart:math' show Point;
 import 'package:async/async.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart'
-    show DeviceOrientation, PlatformException;
+    show DeviceOrientation, PlatformException, Uint8List;
 import 'package:flutter/widgets.dart' show Texture, Widget, visibleForTesting;
 import 'package:stream_transform/stream_transform.dart';
+import 'camera_frame_statistics.dart';
 import 'camerax_library.dart';
 import 'camerax_proxy.dart';
 import 'rotated_preview.dart';
@@ -174,6 +175,10 @@ class AndroidCameraCameraX extends CameraPlatform {
   @visibleForTesting
   StreamController<CameraImageData>? cameraImageDataStreamController;
 
+  /// The controller we need to stream frame statistics.
+  @visibleForTesting
+  StreamController<CameraFrameStatistics>? frameStatisticsStreamController;
+
   /// Constant representing the multi-plane Android YUV 420 image format.
   ///
   /// See https://developer.android.com/reference/android/graphics/ImageFormat#YUV_420_888.
@@ -391,10 +396,13 @@ class AndroidCameraCameraX extends CameraPlatform {
     );
 
     // Configure ImageAnalysis instance.
-    // Defaults to YUV_420_888 image format.
+    // Defaults to YUV_420_888 image format. Frames that arrive while the
+    // previous one is still being streamed are dropped, so that a slow
+    // stream listener does not hold up the camera.
     imageAnalysis = proxy.newImageAnalysis(
       resolutionSelector: presetResolutionSelector,
       /* use CameraX default target rotation */ targetRotation: null,
+      backpressureStrategy: BackpressureStrategy.keepOnlyLatest,
     );
 
     // Configure VideoCapture and Recorder instances.
@@ -949,6 +957,29 @@ class AndroidCameraCameraX extends CameraPlatform {
   /// [cameraId] is not used.
   @override
   Future<XFile> takePicture(int cameraId) async {
+    await _prepareImageCapture(cameraId);
+
+    final String picturePath = await imageCapture!.takePicture();
+    return XFile(picturePath);
+  }
+
+  /// Captures an image and returns it as an in-memory JPEG file.
+  ///
+  /// Unlike [takePicture], the picture is never written to disk, which saves a
+  /// file write and read for pictures that are uploaded or decoded right away.
+  /// The orientation of the picture is stored in its EXIF data.
+  ///
+  /// [cameraId] is not used.
+  Future<XFile> takePictureToMemory(int cameraId) async {
+    await _prepareImageCapture(cameraId);
+
+    final Uint8List bytes = await imageCapture!.takePictureToMemory();
+    return XFile.fromData(bytes, mimeType: 'image/jpeg');
+  }
+
+  /// Binds and configures [imageCapture] for capturing a picture with the
+  /// current flash mode and orientation.
+  Future<void> _prepareImageCapture(int cameraId) async {
     await _bindUseCaseToLifecycle(imageCapture!, cameraId);
     // Set flash mode.
     if (_currentFlashMode != null) {
@@ -966,9 +997,6 @@ class AndroidCameraCameraX extends CameraPlatform {
         await deviceOrientationManager.getDefaultDisplayRotation(),
       );
     }
-
-    final String picturePath = await imageCapture!.takePicture();
-    return XFile(picturePath);
   }
 
   /// Sets the flash mode for the selected camera.
@@ -1204,6 +1232,31 @@ class AndroidCameraCameraX extends CameraPlatform {
     return cameraImageDataStreamController!.stream;
   }
 
+  /// Statistics of a new streamed frame are available.
+  ///
+  /// Unlike [onStreamedFrameAvailable], frames are not sent to Dart. Their
+  /// luma histogram, mean luma and motion score are computed on the native
+  /// side instead, which suits exposure monitoring and motion triggers. Frames
+  /// whose motion score reaches [frameMotionThreshold] are sent along with
+  /// their statistics; no frames are sent if it is null.
+  ///
+  /// Listening to this stream will start streaming, and canceling will stop.
+  /// Both this stream and [onStreamedFrameAvailable] analyze frames of the
+  /// same use case, so only one of them should be listened to at a time.
+  ///
+  /// [cameraId] is not used.
+  Stream<CameraFrameStatistics> onStreamedFrameStatisticsAvailable(
+    int cameraId, {
+    double? frameMotionThreshold,
+  }) {
+    frameStatisticsStreamController = StreamController<CameraFrameStatistics>(
+      onListen: () async =>
+          _configureFrameStatisticsAnalysis(cameraId, frameMotionThreshold),
+      onCancel: _onFrameStreamCancel,
+    );
+    return frameStatisticsStreamController!.stream;
+  }
+
   // Methods for binding UseCases to the lifecycle of the camera controlled
   // by a ProcessCameraProvider instance:
 
@@ -1231,8 +1284,9 @@ class AndroidCameraCameraX extends CameraPlatform {
     await _updateCameraInfoAndLiveCameraState(cameraId);
   }
 
-  /// Configures the [imageAnalysis] instance for image streaming.
-  Future<void> _configureImageAnalysis(int cameraId) async {
+  /// Binds the [imageAnalysis] instance and sets its target rotation before
+  /// an analyzer is set.
+  Future<void> _prepareImageAnalysis(int cameraId) async {
     await _bindUseCaseToLifecycle(imageAnalysis!, cameraId);
 
     // Set target rotation to default CameraX rotation only if capture
@@ -1242,38 +1296,21 @@ class AndroidCameraCameraX extends CameraPlatform {
         await deviceOrientationManager.getDefaultDisplayRotation(),
       );
     }
+  }
+
+  /// Configures the [imageAnalysis] instance for image streaming.
+  Future<void> _configureImageAnalysis(int cameraId) async {
+    await _prepareImageAnalysis(cameraId);
 
     // Create and set Analyzer that can read image data for image streaming.
     final WeakReference<AndroidCameraCameraX> weakThis =
         WeakReference<AndroidCameraCameraX>(this);
     Future<void> analyze(ImageProxy imageProxy) async {
-      final List<PlaneProxy> planes = await imageProxy.getPlanes();
-      final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
-      for (final PlaneProxy plane in planes) {
-        cameraImagePlanes.add(
-          CameraImagePlane(
-            bytes: plane.buffer,
-            bytesPerRow: plane.rowStride,
-            bytesPerPixel: plane.pixelStride,
-          ),
-        );
-      }
-
-      final int format = imageProxy.format;
-      final CameraImageFormat cameraImageFormat = CameraImageFormat(
-        _imageFormatGroupFromPlatformData(format),
-        raw: format,
-      );
-
-      final CameraImageData cameraImageData = CameraImageData(
-        format: cameraImageFormat,
-        planes: cameraImagePlanes,
-        height: imageProxy.height,
-        width: imageProxy.width,
-      );
-
+      final CameraImageData cameraImageData =
+          await _cameraImageDataFromImageProxy(imageProxy);
       weakThis.target!.cameraImageDataStreamController!.add(cameraImageData);
       await imageProxy.close();
+      _releaseImageProxy(imageProxy);
     }
 
     await imageAnalysis!.setAnalyzer(
@@ -1281,6 +1318,99 @@ class AndroidCameraCameraX extends CameraPlatform {
     );
   }
 
+  /// Configures the [imageAnalysis] instance for streaming frame statistics.
+  Future<void> _configureFrameStatisticsAnalysis(
+    int cameraId,
+    double? frameMotionThreshold,
+  ) async {
+    await _prepareImageAnalysis(cameraId);
+
+    final WeakReference<AndroidCameraCameraX> weakThis =
+        WeakReference<AndroidCameraCameraX>(this);
+    Future<void> onStatistics(
+      double meanLuma,
+      List<int> lumaHistogram,
+      double motionScore,
+      ImageProxy? imageProxy,
+    ) async {
+      final CameraImageData? cameraImageData = imageProxy == null
+          ? null
+          : await _cameraImageDataFromImageProxy(imageProxy);
+      weakThis.target!.frameStatisticsStreamController!.add(
+        CameraFrameStatistics(
+          meanLuma: meanLuma,
+          lumaHistogram: lumaHistogram,
+          motionScore: motionScore,
+          image: cameraImageData,
+        ),
+      );
+      if (imageProxy != null) {
+        await imageProxy.close();
+        _releaseImageProxy(imageProxy);
+      }
+    }
+
+    await imageAnalysis!.setFrameStatisticsAnalyzer(
+      proxy.newFrameStatisticsAnalyzer(
+        frameMotionThreshold: frameMotionThreshold,
+        onStatistics: (
+          _,
+          double meanLuma,
+          List<int> lumaHistogram,
+          double motionScore,
+          ImageProxy? image,
+        ) =>
+            onStatistics(meanLuma, lumaHistogram, motionScore, image),
+      ),
+    );
+  }
+
+  /// Creates the [CameraImageData] of a streamed [imageProxy].
+  Future<CameraImageData> _cameraImageDataFromImageProxy(
+    ImageProxy imageProxy,
+  ) async {
+    // The buffers of all planes are read with a single message instead of one
+    // per plane. The native side copies them before the frame is sent.
+    final List<Uint8List> planeBuffers = await imageProxy.getPlaneBuffers();
+    final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
+    for (int i = 0; i < planeBuffers.length; i++) {
+      cameraImagePlanes.add(
+        CameraImagePlane(
+          bytes: planeBuffers[i],
+          bytesPerRow: imageProxy.planeRowStrides[i],
+          bytesPerPixel: imageProxy.planePixelStrides[i],
+        ),
+      );
+    }
+
+    final int format = imageProxy.format;
+    final CameraImageFormat cameraImageFormat = CameraImageFormat(
+      _imageFormatGroupFromPlatformData(format),
+      raw: format,
+    );
+
+    return CameraImageData(
+      format: cameraImageFormat,
+      planes: cameraImagePlanes,
+      height: imageProxy.height,
+      width: imageProxy.width,
+    );
+  }
+
+  /// Releases the references both sides keep to a closed [imageProxy].
+  ///
+  /// Frames arrive at the frame rate and hold a copy of their plane data, so
+  /// waiting for garbage collection to release them would keep several frames
+  /// alive on both sides at once.
+  void _releaseImageProxy(ImageProxy imageProxy) {
+    final PigeonInstanceManager instanceManager =
+        imageProxy.pigeon_instanceManager;
+    final int? identifier = instanceManager.removeWeakReference(imageProxy);
+    if (identifier != null) {
+      instanceManager.remove<ImageProxy>(identifier);
+    }
+  }
+
   /// Unbinds [useCase] from camera lifecycle controlled by the
   /// [processCameraProvider] if not already unbound.
   Future<void> _unbindUseCaseFromLifecycle(UseCase useCase) async {
@@ -1294,8 +1424,8 @@ class AndroidCameraCameraX extends CameraPlatform {
 
   // Methods for configuring image streaming:
 
-  /// The [onCancel] callback for the stream controller used for image
-  /// streaming.
+  /// The [onCancel] callback for the stream controllers used for image and
+  /// frame statistics streaming.
   ///
   /// Removes the previously set analyzer on the [imageAnalysis] instance, since
   /// image information should no longer be streamed.
@@ -0,0 +1,34 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart' show immutable;
+
+/// Luma statistics of a streamed frame, computed on the native side.
+///
+/// See `AndroidCameraCameraX.onStreamedFrameStatisticsAvailable`.
+@immutable
+class CameraFrameStatistics {
+  /// Creates the statistics of a frame.
+  const CameraFrameStatistics({
+    required this.meanLuma,
+    required this.lumaHistogram,
+    required this.motionScore,
+    this.image,
+  });
+
+  /// The mean luma of the frame, between 0 and 255.
+  final double meanLuma;
+
+  /// The number of sampled pixels in each of 64 luma ranges, each covering four
+  /// consecutive luma values.
+  final List<int> lumaHistogram;
+
+  /// The mean luma difference to the previous frame on a coarse grid, between 0
+  /// and 1.
+  final double motionScore;
+
+  /// The frame itself, if its [motionScore] reached the frame motion threshold.
+  final CameraImageData? image;
+}
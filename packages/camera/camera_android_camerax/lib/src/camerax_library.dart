@@ -76,6 +76,39 @@ class Surface {
   static const int rotation270 = 3;
 }
 
+/// Strategies an [camerax.ImageAnalysis] uses to deliver frames when the
+/// analyzer is slower than the camera.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST().
+class BackpressureStrategy {
+  /// Only the latest frame is kept while the analyzer is busy and older frames
+  /// are dropped.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST().
+  static const int keepOnlyLatest = 0;
+
+  /// Frames are queued up to the image queue depth, after which the camera
+  /// stops producing frames until the analyzer catches up.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_BLOCK_PRODUCER().
+  static const int blockProducer = 1;
+}
+
+/// Formats an [camerax.ImageAnalysis] can deliver frames in.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#OUTPUT_IMAGE_FORMAT_YUV_420_888().
+class OutputImageFormat {
+  /// Frames are delivered as three YUV_420_888 planes, which is the default.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#OUTPUT_IMAGE_FORMAT_YUV_420_888().
+  static const int yuv420_888 = 1;
+
+  /// Frames are converted natively and delivered as a single RGBA_8888 plane.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#OUTPUT_IMAGE_FORMAT_RGBA_8888().
+  static const int rgba8888 = 2;
+}
+
 /// An interface for retrieving camera information.
 ///
 /// See https://developer.android.com/reference/androidx/camera/core/CameraInfo.
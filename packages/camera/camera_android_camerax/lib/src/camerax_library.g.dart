@@ -200,6 +200,8 @@ class PigeonInstanceManager {
         pigeon_instanceManager: instanceManager);
     Analyzer.pigeon_setUpMessageHandlers(
         pigeon_instanceManager: instanceManager);
+    FrameStatisticsAnalyzer.pigeon_setUpMessageHandlers(
+        pigeon_instanceManager: instanceManager);
     CameraStateStateError.pigeon_setUpMessageHandlers(
         pigeon_instanceManager: instanceManager);
     LiveData.pigeon_setUpMessageHandlers(
@@ -4517,6 +4519,42 @@ class ImageCapture extends UseCase {
     }
   }
 
+  /// Captures a new still image and returns its encoded bytes without saving
+  /// it to a file.
+  Future<Uint8List> takePictureToMemory() async {
+    final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
+        _pigeonVar_codecImageCapture;
+    final BinaryMessenger? pigeonVar_binaryMessenger = pigeon_binaryMessenger;
+    const String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android_camerax.ImageCapture.takePictureToMemory';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture =
+        pigeonVar_channel.send(<Object?>[this]);
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as Uint8List?)!;
+    }
+  }
+
   /// Sets the desired rotation of the output image.
   Future<void> setTargetRotation(int rotation) async {
     final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
@@ -5524,6 +5562,10 @@ class ImageAnalysis extends UseCase {
     super.pigeon_instanceManager,
     this.resolutionSelector,
     int? targetRotation,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
+    int? outputImageFormat,
+    bool? outputImageRotationEnabled,
   }) : super.pigeon_detached() {
     final int pigeonVar_instanceIdentifier =
         pigeon_instanceManager.addDartCreatedInstance(this);
@@ -5542,7 +5584,11 @@ class ImageAnalysis extends UseCase {
         .send(<Object?>[
       pigeonVar_instanceIdentifier,
       resolutionSelector,
-      targetRotation
+      targetRotation,
+      backpressureStrategy,
+      imageQueueDepth,
+      outputImageFormat,
+      outputImageRotationEnabled
     ]);
     () async {
       final List<Object?>? pigeonVar_replyList =
@@ -5660,6 +5706,37 @@ class ImageAnalysis extends UseCase {
     }
   }
 
+  /// Sets an analyzer that only sends the statistics of images.
+  Future<void> setFrameStatisticsAnalyzer(
+      FrameStatisticsAnalyzer analyzer) async {
+    final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
+        _pigeonVar_codecImageAnalysis;
+    final BinaryMessenger? pigeonVar_binaryMessenger = pigeon_binaryMessenger;
+    const String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android_camerax.ImageAnalysis.setFrameStatisticsAnalyzer';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture =
+        pigeonVar_channel.send(<Object?>[this, analyzer]);
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
   /// Removes a previously set analyzer.
   Future<void> clearAnalyzer() async {
     final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
@@ -5866,6 +5943,164 @@ class Analyzer extends PigeonInternalProxyApiBaseClass {
   }
 }
 
+/// Analyzer that computes luma statistics of every image on the analysis
+/// thread and only sends those to Dart.
+class FrameStatisticsAnalyzer extends PigeonInternalProxyApiBaseClass {
+  FrameStatisticsAnalyzer({
+    super.pigeon_binaryMessenger,
+    super.pigeon_instanceManager,
+    required this.onStatistics,
+    double? frameMotionThreshold,
+  }) {
+    final int pigeonVar_instanceIdentifier =
+        pigeon_instanceManager.addDartCreatedInstance(this);
+    final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
+        _pigeonVar_codecFrameStatisticsAnalyzer;
+    final BinaryMessenger? pigeonVar_binaryMessenger = pigeon_binaryMessenger;
+    const String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.pigeon_defaultConstructor';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel
+        .send(<Object?>[pigeonVar_instanceIdentifier, frameMotionThreshold]);
+    () async {
+      final List<Object?>? pigeonVar_replyList =
+          await pigeonVar_sendFuture as List<Object?>?;
+      if (pigeonVar_replyList == null) {
+        throw _createConnectionError(pigeonVar_channelName);
+      } else if (pigeonVar_replyList.length > 1) {
+        throw PlatformException(
+          code: pigeonVar_replyList[0]! as String,
+          message: pigeonVar_replyList[1] as String?,
+          details: pigeonVar_replyList[2],
+        );
+      } else {
+        return;
+      }
+    }();
+  }
+
+  /// Constructs [FrameStatisticsAnalyzer] without creating the associated native object.
+  ///
+  /// This should only be used by subclasses created by this library or to
+  /// create copies for an [PigeonInstanceManager].
+  @protected
+  FrameStatisticsAnalyzer.pigeon_detached({
+    super.pigeon_binaryMessenger,
+    super.pigeon_instanceManager,
+    required this.onStatistics,
+  });
+
+  late final _PigeonInternalProxyApiBaseCodec
+      _pigeonVar_codecFrameStatisticsAnalyzer =
+      _PigeonInternalProxyApiBaseCodec(pigeon_instanceManager);
+
+  /// Receives the statistics of an image, along with the image itself when its
+  /// motion score reached the frame motion threshold.
+  ///
+  /// For the associated Native object to be automatically garbage collected,
+  /// it is required that the implementation of this `Function` doesn't have a
+  /// strong reference to the encapsulating class instance. When this `Function`
+  /// references a non-local variable, it is strongly recommended to access it
+  /// with a `WeakReference`:
+  ///
+  /// ```dart
+  /// final WeakReference weakMyVariable = WeakReference(myVariable);
+  /// final FrameStatisticsAnalyzer instance = FrameStatisticsAnalyzer(
+  ///  onStatistics: (FrameStatisticsAnalyzer pigeon_instance, ...) {
+  ///    print(weakMyVariable?.target);
+  ///  },
+  /// );
+  /// ```
+  ///
+  /// Alternatively, [PigeonInstanceManager.removeWeakReference] can be used to
+  /// release the associated Native object manually.
+  final void Function(
+    FrameStatisticsAnalyzer pigeon_instance,
+    double meanLuma,
+    List<int> lumaHistogram,
+    double motionScore,
+    ImageProxy? image,
+  ) onStatistics;
+
+  static void pigeon_setUpMessageHandlers({
+    bool pigeon_clearHandlers = false,
+    BinaryMessenger? pigeon_binaryMessenger,
+    PigeonInstanceManager? pigeon_instanceManager,
+    void Function(
+      FrameStatisticsAnalyzer pigeon_instance,
+      double meanLuma,
+      List<int> lumaHistogram,
+      double motionScore,
+      ImageProxy? image,
+    )? onStatistics,
+  }) {
+    final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
+        _PigeonInternalProxyApiBaseCodec(
+            pigeon_instanceManager ?? PigeonInstanceManager.instance);
+    final BinaryMessenger? binaryMessenger = pigeon_binaryMessenger;
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (pigeon_clearHandlers) {
+        pigeonVar_channel.setMessageHandler(null);
+      } else {
+        pigeonVar_channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final FrameStatisticsAnalyzer? arg_pigeon_instance =
+              (args[0] as FrameStatisticsAnalyzer?);
+          assert(arg_pigeon_instance != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics was null, expected non-null FrameStatisticsAnalyzer.');
+          final double? arg_meanLuma = (args[1] as double?);
+          assert(arg_meanLuma != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics was null, expected non-null double.');
+          final List<int>? arg_lumaHistogram =
+              (args[2] as List<Object?>?)?.cast<int>();
+          assert(arg_lumaHistogram != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics was null, expected non-null List<int>.');
+          final double? arg_motionScore = (args[3] as double?);
+          assert(arg_motionScore != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.FrameStatisticsAnalyzer.onStatistics was null, expected non-null double.');
+          final ImageProxy? arg_image = (args[4] as ImageProxy?);
+          try {
+            (onStatistics ?? arg_pigeon_instance!.onStatistics).call(
+                arg_pigeon_instance!,
+                arg_meanLuma!,
+                arg_lumaHistogram!,
+                arg_motionScore!,
+                arg_image);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+  }
+
+  @override
+  FrameStatisticsAnalyzer pigeon_copy() {
+    return FrameStatisticsAnalyzer.pigeon_detached(
+      pigeon_binaryMessenger: pigeon_binaryMessenger,
+      pigeon_instanceManager: pigeon_instanceManager,
+      onStatistics: onStatistics,
+    );
+  }
+}
+
 /// Error that the camera has encountered.
 ///
 /// See https://developer.android.com/reference/androidx/camera/core/CameraState.StateError.
@@ -6144,6 +6379,10 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
     required this.format,
     required this.width,
     required this.height,
+    required this.rotationDegrees,
+    required this.timestamp,
+    required this.planePixelStrides,
+    required this.planeRowStrides,
   });
 
   late final _PigeonInternalProxyApiBaseCodec _pigeonVar_codecImageProxy =
@@ -6158,6 +6397,19 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
   /// The image height.
   final int height;
 
+  /// The rotation, in degrees, that would make the image match the target
+  /// rotation of the use case.
+  final int rotationDegrees;
+
+  /// The timestamp of the image in nanoseconds.
+  final int timestamp;
+
+  /// The pixel strides of all planes, in plane order.
+  final List<int> planePixelStrides;
+
+  /// The row strides of all planes, in plane order.
+  final List<int> planeRowStrides;
+
   static void pigeon_setUpMessageHandlers({
     bool pigeon_clearHandlers = false,
     BinaryMessenger? pigeon_binaryMessenger,
@@ -6166,6 +6418,10 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
       int format,
       int width,
       int height,
+      int rotationDegrees,
+      int timestamp,
+      List<int> planePixelStrides,
+      List<int> planeRowStrides,
     )? pigeon_newInstance,
   }) {
     final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
@@ -6198,16 +6454,41 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
           final int? arg_height = (args[3] as int?);
           assert(arg_height != null,
               'Argument for dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance was null, expected non-null int.');
+          final int? arg_rotationDegrees = (args[4] as int?);
+          assert(arg_rotationDegrees != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance was null, expected non-null int.');
+          final int? arg_timestamp = (args[5] as int?);
+          assert(arg_timestamp != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance was null, expected non-null int.');
+          final List<int>? arg_planePixelStrides =
+              (args[6] as List<Object?>?)?.cast<int>();
+          assert(arg_planePixelStrides != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance was null, expected non-null List<int>.');
+          final List<int>? arg_planeRowStrides =
+              (args[7] as List<Object?>?)?.cast<int>();
+          assert(arg_planeRowStrides != null,
+              'Argument for dev.flutter.pigeon.camera_android_camerax.ImageProxy.pigeon_newInstance was null, expected non-null List<int>.');
           try {
             (pigeon_instanceManager ?? PigeonInstanceManager.instance)
                 .addHostCreatedInstance(
-              pigeon_newInstance?.call(arg_format!, arg_width!, arg_height!) ??
+              pigeon_newInstance?.call(
+                      arg_format!,
+                      arg_width!,
+                      arg_height!,
+                      arg_rotationDegrees!,
+                      arg_timestamp!,
+                      arg_planePixelStrides!,
+                      arg_planeRowStrides!) ??
                   ImageProxy.pigeon_detached(
                     pigeon_binaryMessenger: pigeon_binaryMessenger,
                     pigeon_instanceManager: pigeon_instanceManager,
                     format: arg_format!,
                     width: arg_width!,
                     height: arg_height!,
+                    rotationDegrees: arg_rotationDegrees!,
+                    timestamp: arg_timestamp!,
+                    planePixelStrides: arg_planePixelStrides!,
+                    planeRowStrides: arg_planeRowStrides!,
                   ),
               arg_pigeon_instanceIdentifier!,
             );
@@ -6258,6 +6539,44 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
     }
   }
 
+  /// Returns the pixel buffers of all planes, in plane order.
+  ///
+  /// Unlike reading the buffer of each plane from [getPlanes], this reads a
+  /// whole frame with a single message.
+  Future<List<Uint8List>> getPlaneBuffers() async {
+    final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
+        _pigeonVar_codecImageProxy;
+    final BinaryMessenger? pigeonVar_binaryMessenger = pigeon_binaryMessenger;
+    const String pigeonVar_channelName =
+        'dev.flutter.pigeon.camera_android_camerax.ImageProxy.getPlaneBuffers';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture =
+        pigeonVar_channel.send(<Object?>[this]);
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<Uint8List>();
+    }
+  }
+
   /// Closes the underlying `android.media.Image`.
   Future<void> close() async {
     final _PigeonInternalProxyApiBaseCodec pigeonChannelCodec =
@@ -6296,6 +6615,10 @@ class ImageProxy extends PigeonInternalProxyApiBaseClass {
       format: format,
       width: width,
       height: height,
+      rotationDegrees: rotationDegrees,
+      timestamp: timestamp,
+      planePixelStrides: planePixelStrides,
+      planeRowStrides: planeRowStrides,
     );
   }
 }
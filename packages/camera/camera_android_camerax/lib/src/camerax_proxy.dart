@@ -37,6 +37,7 @@ class CameraXProxy {
     this.newAspectRatioStrategy = AspectRatioStrategy.new,
     this.newImageAnalysis = ImageAnalysis.new,
     this.newAnalyzer = Analyzer.new,
+    this.newFrameStatisticsAnalyzer = FrameStatisticsAnalyzer.new,
     this.fromQualitySelector = QualitySelector.from,
     this.fromOrderedListQualitySelector = QualitySelector.fromOrderedList,
     this.higherQualityOrLowerThanFallbackStrategy =
@@ -191,6 +192,10 @@ class CameraXProxy {
   /// Constructs [ImageAnalysis].
   final ImageAnalysis Function({
     int? targetRotation,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
+    int? outputImageFormat,
+    bool? outputImageRotationEnabled,
     ResolutionSelector? resolutionSelector,
     BinaryMessenger? pigeon_binaryMessenger,
     PigeonInstanceManager? pigeon_instanceManager,
@@ -203,6 +208,20 @@ class CameraXProxy {
     PigeonInstanceManager? pigeon_instanceManager,
   }) newAnalyzer;
 
+  /// Constructs [FrameStatisticsAnalyzer].
+  final FrameStatisticsAnalyzer Function({
+    required void Function(
+      FrameStatisticsAnalyzer,
+      double,
+      List<int>,
+      double,
+      ImageProxy?,
+    ) onStatistics,
+    double? frameMotionThreshold,
+    BinaryMessenger? pigeon_binaryMessenger,
+    PigeonInstanceManager? pigeon_instanceManager,
+  }) newFrameStatisticsAnalyzer;
+
   /// Constructs [QualitySelector].
   final QualitySelector Function({
     required VideoQuality quality,
@@ -587,6 +587,11 @@ abstract class ImageCapture extends UseCase {
   @async
   String takePicture();
 
+  /// Captures a new still image and returns its encoded bytes without saving
+  /// it to a file.
+  @async
+  Uint8List takePictureToMemory();
+
   /// Sets the desired rotation of the output image.
   void setTargetRotation(int rotation);
 }
@@ -787,13 +792,22 @@ abstract class ZoomState {
   ),
 )
 abstract class ImageAnalysis extends UseCase {
-  ImageAnalysis(int? targetRotation);
+  ImageAnalysis(
+    int? targetRotation,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
+    int? outputImageFormat,
+    bool? outputImageRotationEnabled,
+  );
 
   late final ResolutionSelector? resolutionSelector;
 
   /// Sets an analyzer to receive and analyze images.
   void setAnalyzer(Analyzer analyzer);
 
+  /// Sets an analyzer that only sends the statistics of images.
+  void setFrameStatisticsAnalyzer(FrameStatisticsAnalyzer analyzer);
+
   /// Removes a previously set analyzer.
   void clearAnalyzer();
 
@@ -816,6 +830,22 @@ abstract class Analyzer {
   late void Function(ImageProxy image) analyze;
 }
 
+/// Analyzer that computes luma statistics of every image on the analysis
+/// thread and only sends those to Dart.
+@ProxyApi()
+abstract class FrameStatisticsAnalyzer {
+  FrameStatisticsAnalyzer(double? frameMotionThreshold);
+
+  /// Receives the statistics of an image, along with the image itself when its
+  /// motion score reached the frame motion threshold.
+  late void Function(
+    double meanLuma,
+    List<int> lumaHistogram,
+    double motionScore,
+    ImageProxy? image,
+  ) onStatistics;
+}
+
 /// Code for a `CameraState` error.
 ///
 /// https://developer.android.com/reference/androidx/camera/core/CameraState#ERROR_CAMERA_DISABLED()
@@ -911,9 +941,28 @@ abstract class ImageProxy {
   /// The image height.
   late int height;
 
+  /// The rotation, in degrees, that would make the image match the target
+  /// rotation of the use case.
+  late int rotationDegrees;
+
+  /// The timestamp of the image in nanoseconds.
+  late int timestamp;
+
+  /// The pixel strides of all planes, in plane order.
+  late List<int> planePixelStrides;
+
+  /// The row strides of all planes, in plane order.
+  late List<int> planeRowStrides;
+
   /// Returns the array of planes.
   List<PlaneProxy> getPlanes();
 
+  /// Returns the pixel buffers of all planes, in plane order.
+  ///
+  /// Unlike reading the buffer of each plane from [getPlanes], this reads a
+  /// whole frame with a single message.
+  List<Uint8List> getPlaneBuffers();
+
   /// Closes the underlying `android.media.Image`.
   void close();
 }
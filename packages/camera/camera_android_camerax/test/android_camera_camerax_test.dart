@@ -237,6 +237,10 @@ void main() {
       },
       newImageAnalysis: ({
         int? targetRotation,
+        int? backpressureStrategy,
+        int? imageQueueDepth,
+        int? outputImageFormat,
+        bool? outputImageRotationEnabled,
         ResolutionSelector? resolutionSelector,
         // ignore: non_constant_identifier_names
         BinaryMessenger? pigeon_binaryMessenger,
@@ -836,6 +840,10 @@ void main() {
         },
         newImageAnalysis: ({
           int? targetRotation,
+          int? backpressureStrategy,
+          int? imageQueueDepth,
+          int? outputImageFormat,
+          bool? outputImageRotationEnabled,
           ResolutionSelector? resolutionSelector,
           // ignore: non_constant_identifier_names
           BinaryMessenger? pigeon_binaryMessenger,
@@ -1068,6 +1076,7 @@ void main() {
       final MockCameraSelector mockBackCameraSelector = MockCameraSelector();
       final MockImageCapture mockImageCapture = MockImageCapture();
       final MockImageAnalysis mockImageAnalysis = MockImageAnalysis();
+      int? imageAnalysisBackpressureStrategy;
       final MockRecorder mockRecorder = MockRecorder();
       final MockVideoCapture mockVideoCapture = MockVideoCapture();
       final MockCamera mockCamera = MockCamera();
@@ -1150,12 +1159,17 @@ void main() {
         },
         newImageAnalysis: ({
           int? targetRotation,
+          int? backpressureStrategy,
+          int? imageQueueDepth,
+          int? outputImageFormat,
+          bool? outputImageRotationEnabled,
           ResolutionSelector? resolutionSelector,
           // ignore: non_constant_identifier_names
           BinaryMessenger? pigeon_binaryMessenger,
           // ignore: non_constant_identifier_names
           PigeonInstanceManager? pigeon_instanceManager,
         }) {
+          imageAnalysisBackpressureStrategy = backpressureStrategy;
           return mockImageAnalysis;
         },
         newResolutionStrategy: ({
@@ -1326,6 +1340,12 @@ void main() {
       // Verify preview has been marked as bound to the camera lifecycle by
       // createCamera.
       expect(camera.previewInitiallyBound, isTrue);
+
+      // Verify frames are dropped while a streamed frame is being processed.
+      expect(
+        imageAnalysisBackpressureStrategy,
+        BackpressureStrategy.keepOnlyLatest,
+      );
     },
   );
 
@@ -2027,6 +2047,10 @@ void main() {
           MockVideoCapture(),
       newImageAnalysis: ({
         int? targetRotation,
+        int? backpressureStrategy,
+        int? imageQueueDepth,
+        int? outputImageFormat,
+        bool? outputImageRotationEnabled,
         ResolutionSelector? resolutionSelector,
         // ignore: non_constant_identifier_names
         BinaryMessenger? pigeon_binaryMessenger,
@@ -3459,6 +3483,67 @@ void main() {
     },
   );
 
+  test(
+    'takePictureToMemory binds ImageCapture to lifecycle and returns the captured bytes',
+    () async {
+      final AndroidCameraCameraX camera = AndroidCameraCameraX();
+      final MockProcessCameraProvider mockProcessCameraProvider =
+          MockProcessCameraProvider();
+      final MockCamera mockCamera = MockCamera();
+      final MockCameraInfo mockCameraInfo = MockCameraInfo();
+      final Uint8List testPictureBytes = Uint8List.fromList(<int>[1, 2, 3]);
+
+      // Set directly for test versus calling createCamera.
+      camera.imageCapture = MockImageCapture();
+      camera.processCameraProvider = mockProcessCameraProvider;
+      camera.cameraSelector = MockCameraSelector();
+
+      // Ignore setting target rotation for this test; tested seprately.
+      camera.captureOrientationLocked = true;
+
+      // Tell plugin to create detached camera state observers.
+      camera.proxy = CameraXProxy(
+        newObserver: <T>({
+          required void Function(Observer<T>, T) onChanged,
+          // ignore: non_constant_identifier_names
+          BinaryMessenger? pigeon_binaryMessenger,
+          // ignore: non_constant_identifier_names
+          PigeonInstanceManager? pigeon_instanceManager,
+        }) {
+          return Observer<T>.detached(
+            onChanged: onChanged,
+            pigeon_instanceManager: PigeonInstanceManager(
+              onWeakReferenceRemoved: (_) {},
+            ),
+          );
+        },
+      );
+
+      when(
+        mockProcessCameraProvider.isBound(camera.imageCapture),
+      ).thenAnswer((_) async => false);
+      when(
+        mockProcessCameraProvider.bindToLifecycle(
+          camera.cameraSelector,
+          <UseCase>[camera.imageCapture!],
+        ),
+      ).thenAnswer((_) async => mockCamera);
+      when(mockCamera.getCameraInfo()).thenAnswer((_) async => mockCameraInfo);
+      when(
+        mockCameraInfo.getCameraState(),
+      ).thenAnswer((_) async => MockLiveCameraState());
+      when(
+        camera.imageCapture!.takePictureToMemory(),
+      ).thenAnswer((_) async => testPictureBytes);
+
+      final XFile imageFile = await camera.takePictureToMemory(3);
+
+      expect(await imageFile.readAsBytes(), equals(testPictureBytes));
+      expect(imageFile.mimeType, equals('image/jpeg'));
+      verifyNever(camera.imageCapture!.takePicture());
+    },
+  );
+
   test(
     'takePicture sets ImageCapture target rotation to currrent photo rotation when orientation unlocked',
     () async {
@@ -3948,8 +4033,6 @@ void main() {
       final Camera mockCamera = MockCamera();
       final CameraInfo mockCameraInfo = MockCameraInfo();
       final MockImageProxy mockImageProxy = MockImageProxy();
-      final MockPlaneProxy mockPlane = MockPlaneProxy();
-      final List<MockPlaneProxy> mockPlanes = <MockPlaneProxy>[mockPlane];
       final Uint8List buffer = Uint8List(0);
       const int pixelStride = 27;
       const int rowStride = 58;
@@ -4010,15 +4093,25 @@ void main() {
         mockCameraInfo.getCameraState(),
       ).thenAnswer((_) async => MockLiveCameraState());
       when(
-        mockImageProxy.getPlanes(),
-      ).thenAnswer((_) async => Future<List<PlaneProxy>>.value(mockPlanes));
-      when(mockPlane.buffer).thenReturn(buffer);
-      when(mockPlane.rowStride).thenReturn(rowStride);
-      when(mockPlane.pixelStride).thenReturn(pixelStride);
+        mockImageProxy.getPlaneBuffers(),
+      ).thenAnswer((_) async => <Uint8List>[buffer]);
+      when(mockImageProxy.planeRowStrides).thenReturn(<int>[rowStride]);
+      when(mockImageProxy.planePixelStrides).thenReturn(<int>[pixelStride]);
       when(mockImageProxy.format).thenReturn(imageFormat);
       when(mockImageProxy.height).thenReturn(imageHeight);
       when(mockImageProxy.width).thenReturn(imageWidth);
 
+      const int imageProxyIdentifier = 65536;
+      final List<int> removedIdentifiers = <int>[];
+      final PigeonInstanceManager instanceManager = PigeonInstanceManager(
+        onWeakReferenceRemoved: removedIdentifiers.add,
+      );
+      instanceManager.addHostCreatedInstance(
+        mockImageProxy,
+        imageProxyIdentifier,
+      );
+      when(mockImageProxy.pigeon_instanceManager).thenReturn(instanceManager);
+
       final Completer<CameraImageData> imageDataCompleter =
           Completer<CameraImageData>();
       final StreamSubscription<CameraImageData>
@@ -4039,6 +4132,8 @@ void main() {
       final CameraImageData imageData = await imageDataCompleter.future;
 
       // Test Analyzer correctly process ImageProxy instances.
+      verify(mockImageProxy.getPlaneBuffers());
+      verifyNever(mockImageProxy.getPlanes());
       expect(imageData.planes.length, equals(1));
       expect(imageData.planes[0].bytes, equals(buffer));
       expect(imageData.planes[0].bytesPerRow, equals(rowStride));
@@ -4047,10 +4142,159 @@ void main() {
       expect(imageData.height, equals(imageHeight));
       expect(imageData.width, equals(imageWidth));
 
+      // Test the ImageProxy is released once it is closed.
+      await untilCalled(mockImageProxy.close());
+      await pumpEventQueue();
+      expect(removedIdentifiers, equals(<int>[imageProxyIdentifier]));
+      expect(instanceManager.containsIdentifier(imageProxyIdentifier), isFalse);
+
       await onStreamedFrameAvailableSubscription.cancel();
     },
   );
 
+  test(
+    'onStreamedFrameStatisticsAvailable emits statistics and frames that reach the motion threshold',
+    () async {
+      final AndroidCameraCameraX camera = AndroidCameraCameraX();
+      const int cameraId = 34;
+      const double frameMotionThreshold = 0.2;
+      final ProcessCameraProvider mockProcessCameraProvider =
+          MockProcessCameraProvider();
+      final CameraSelector mockCameraSelector = MockCameraSelector();
+      final MockImageAnalysis mockImageAnalysis = MockImageAnalysis();
+      final Camera mockCamera = MockCamera();
+      final CameraInfo mockCameraInfo = MockCameraInfo();
+      final MockImageProxy mockImageProxy = MockImageProxy();
+      final Uint8List buffer = Uint8List(0);
+      const int imageFormat = 35;
+      const int imageHeight = 100;
+      const int imageWidth = 200;
+      final List<int> lumaHistogram = List<int>.filled(64, 2);
+      double? capturedFrameMotionThreshold;
+
+      // Tell plugin to create detached FrameStatisticsAnalyzer for testing.
+      camera.proxy = CameraXProxy(
+        newFrameStatisticsAnalyzer: ({
+          required void Function(
+            FrameStatisticsAnalyzer,
+            double,
+            List<int>,
+            double,
+            ImageProxy?,
+          ) onStatistics,
+          double? frameMotionThreshold,
+          // ignore: non_constant_identifier_names
+          BinaryMessenger? pigeon_binaryMessenger,
+          // ignore: non_constant_identifier_names
+          PigeonInstanceManager? pigeon_instanceManager,
+        }) {
+          capturedFrameMotionThreshold = frameMotionThreshold;
+          return FrameStatisticsAnalyzer.pigeon_detached(
+            onStatistics: onStatistics,
+            pigeon_instanceManager: PigeonInstanceManager(
+              onWeakReferenceRemoved: (_) {},
+            ),
+          );
+        },
+        newObserver: <T>({
+          required void Function(Observer<T>, T) onChanged,
+          // ignore: non_constant_identifier_names
+          BinaryMessenger? pigeon_binaryMessenger,
+          // ignore: non_constant_identifier_names
+          PigeonInstanceManager? pigeon_instanceManager,
+        }) {
+          return Observer<T>.detached(
+            onChanged: onChanged,
+            pigeon_instanceManager: PigeonInstanceManager(
+              onWeakReferenceRemoved: (_) {},
+            ),
+          );
+        },
+      );
+
+      // Set directly for test versus calling createCamera.
+      camera.processCameraProvider = mockProcessCameraProvider;
+      camera.cameraSelector = mockCameraSelector;
+      camera.imageAnalysis = mockImageAnalysis;
+
+      // Ignore setting target rotation for this test; tested seprately.
+      camera.captureOrientationLocked = true;
+
+      when(
+        mockProcessCameraProvider.isBound(mockImageAnalysis),
+      ).thenAnswer((_) async => false);
+      when(
+        mockProcessCameraProvider.bindToLifecycle(mockCameraSelector, <UseCase>[
+          mockImageAnalysis,
+        ]),
+      ).thenAnswer((_) async => mockCamera);
+      when(mockCamera.getCameraInfo()).thenAnswer((_) async => mockCameraInfo);
+      when(
+        mockCameraInfo.getCameraState(),
+      ).thenAnswer((_) async => MockLiveCameraState());
+      when(
+        mockImageProxy.getPlaneBuffers(),
+      ).thenAnswer((_) async => <Uint8List>[buffer]);
+      when(mockImageProxy.planeRowStrides).thenReturn(<int>[imageWidth]);
+      when(mockImageProxy.planePixelStrides).thenReturn(<int>[1]);
+      when(mockImageProxy.format).thenReturn(imageFormat);
+      when(mockImageProxy.height).thenReturn(imageHeight);
+      when(mockImageProxy.width).thenReturn(imageWidth);
+      when(mockImageProxy.pigeon_instanceManager).thenReturn(
+        PigeonInstanceManager(onWeakReferenceRemoved: (_) {}),
+      );
+
+      final List<CameraFrameStatistics> emittedStatistics =
+          <CameraFrameStatistics>[];
+      final StreamSubscription<CameraFrameStatistics> subscription = camera
+          .onStreamedFrameStatisticsAvailable(
+            cameraId,
+            frameMotionThreshold: frameMotionThreshold,
+          )
+          .listen(emittedStatistics.add);
+
+      // Test ImageAnalysis use case is bound and the analyzer is set.
+      await untilCalled(mockImageAnalysis.setFrameStatisticsAnalyzer(any));
+      final FrameStatisticsAnalyzer capturedAnalyzer = verify(
+        mockImageAnalysis.setFrameStatisticsAnalyzer(captureAny),
+      ).captured.single as FrameStatisticsAnalyzer;
+      expect(capturedFrameMotionThreshold, frameMotionThreshold);
+      verifyNever(mockImageAnalysis.setAnalyzer(any));
+
+      capturedAnalyzer.onStatistics(
+        capturedAnalyzer,
+        120.5,
+        lumaHistogram,
+        0.1,
+        null,
+      );
+      capturedAnalyzer.onStatistics(
+        capturedAnalyzer,
+        98.0,
+        lumaHistogram,
+        0.3,
+        mockImageProxy,
+      );
+      await untilCalled(mockImageProxy.close());
+      await pumpEventQueue();
+
+      expect(emittedStatistics.length, 2);
+      expect(emittedStatistics[0].meanLuma, 120.5);
+      expect(emittedStatistics[0].lumaHistogram, lumaHistogram);
+      expect(emittedStatistics[0].motionScore, 0.1);
+      expect(emittedStatistics[0].image, isNull);
+      expect(emittedStatistics[1].motionScore, 0.3);
+      final CameraImageData image = emittedStatistics[1].image!;
+      expect(image.format.group, ImageFormatGroup.yuv420);
+      expect(image.planes.single.bytes, buffer);
+      expect(image.height, imageHeight);
+      expect(image.width, imageWidth);
+
+      await subscription.cancel();
+      verify(mockImageAnalysis.clearAnalyzer());
+    },
+  );
+
   test(
     'onStreamedFrameAvailable returns stream that responds expectedly to being canceled',
     () async {
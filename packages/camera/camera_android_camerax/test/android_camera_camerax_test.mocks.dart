@@ -2501,6 +2501,15 @@ class MockImageAnalysis extends _i1.Mock implements _i2.ImageAnalysis {
         returnValueForMissingStub: _i5.Future<void>.value(),
       ) as _i5.Future<void>);
 
+  @override
+  _i5.Future<void> setFrameStatisticsAnalyzer(
+          _i2.FrameStatisticsAnalyzer? analyzer) =>
+      (super.noSuchMethod(
+        Invocation.method(#setFrameStatisticsAnalyzer, [analyzer]),
+        returnValue: _i5.Future<void>.value(),
+        returnValueForMissingStub: _i5.Future<void>.value(),
+      ) as _i5.Future<void>);
+
   @override
   _i5.Future<void> clearAnalyzer() => (super.noSuchMethod(
         Invocation.method(#clearAnalyzer, []),
@@ -2565,6 +2574,15 @@ class MockImageCapture extends _i1.Mock implements _i2.ImageCapture {
         ),
       ) as _i5.Future<String>);
 
+  @override
+  _i5.Future<_i9.Uint8List> takePictureToMemory() => (super.noSuchMethod(
+        Invocation.method(#takePictureToMemory, []),
+        returnValue: _i5.Future<_i9.Uint8List>.value(_i9.Uint8List(0)),
+        returnValueForMissingStub: _i5.Future<_i9.Uint8List>.value(
+          _i9.Uint8List(0),
+        ),
+      ) as _i5.Future<_i9.Uint8List>);
+
   @override
   _i5.Future<void> setTargetRotation(int? rotation) => (super.noSuchMethod(
         Invocation.method(#setTargetRotation, [rotation]),
@@ -2611,6 +2629,34 @@ class MockImageProxy extends _i1.Mock implements _i2.ImageProxy {
         returnValueForMissingStub: 0,
       ) as int);
 
+  @override
+  int get rotationDegrees => (super.noSuchMethod(
+        Invocation.getter(#rotationDegrees),
+        returnValue: 0,
+        returnValueForMissingStub: 0,
+      ) as int);
+
+  @override
+  int get timestamp => (super.noSuchMethod(
+        Invocation.getter(#timestamp),
+        returnValue: 0,
+        returnValueForMissingStub: 0,
+      ) as int);
+
+  @override
+  List<int> get planePixelStrides => (super.noSuchMethod(
+        Invocation.getter(#planePixelStrides),
+        returnValue: <int>[],
+        returnValueForMissingStub: <int>[],
+      ) as List<int>);
+
+  @override
+  List<int> get planeRowStrides => (super.noSuchMethod(
+        Invocation.getter(#planeRowStrides),
+        returnValue: <int>[],
+        returnValueForMissingStub: <int>[],
+      ) as List<int>);
+
   @override
   _i2.PigeonInstanceManager get pigeon_instanceManager => (super.noSuchMethod(
         Invocation.getter(#pigeon_instanceManager),
@@ -2635,6 +2681,17 @@ class MockImageProxy extends _i1.Mock implements _i2.ImageProxy {
         ),
       ) as _i5.Future<List<_i2.PlaneProxy>>);
 
+  @override
+  _i5.Future<List<_i9.Uint8List>> getPlaneBuffers() => (super.noSuchMethod(
+        Invocation.method(#getPlaneBuffers, []),
+        returnValue: _i5.Future<List<_i9.Uint8List>>.value(
+          <_i9.Uint8List>[],
+        ),
+        returnValueForMissingStub: _i5.Future<List<_i9.Uint8List>>.value(
+          <_i9.Uint8List>[],
+        ),
+      ) as _i5.Future<List<_i9.Uint8List>>);
+
   @override
   _i5.Future<void> close() => (super.noSuchMethod(
         Invocation.method(#close, []),
@@ -127,6 +127,10 @@ void main() {
         },
         newImageAnalysis: ({
           int? targetRotation,
+          int? backpressureStrategy,
+          int? imageQueueDepth,
+          int? outputImageFormat,
+          bool? outputImageRotationEnabled,
           ResolutionSelector? resolutionSelector,
           // ignore: non_constant_identifier_names
           BinaryMessenger? pigeon_binaryMessenger,
@@ -0,0 +1,163 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Least recently used cache of the BitmapDescriptors created from decoded images, bounded by the
+ * number of bytes of the images they hold.
+ *
+ * <p>Icons are keyed by their content or asset name together with everything that affects their
+ * scaling, so that identical icons of many markers are only decoded, scaled and handed to the Maps
+ * SDK once.
+ */
+class BitmapDescriptorCache {
+  static final int DEFAULT_MAX_SIZE_BYTES = 8 * 1024 * 1024;
+
+  private final LruCache<Key, Entry> cache;
+
+  BitmapDescriptorCache(int maxSizeBytes) {
+    cache =
+        new LruCache<Key, Entry>(maxSizeBytes) {
+          @Override
+          protected int sizeOf(@NonNull Key key, @NonNull Entry entry) {
+            return entry.byteCount + key.contentByteCount();
+          }
+        };
+  }
+
+  /** Returns the BitmapDescriptor cached for the given key, or null if there is none. */
+  @Nullable
+  BitmapDescriptor get(@NonNull Key key) {
+    final Entry entry = cache.get(key);
+    return entry == null ? null : entry.bitmapDescriptor;
+  }
+
+  /**
+   * Caches a BitmapDescriptor.
+   *
+   * @param key the key of the image the BitmapDescriptor was created from.
+   * @param bitmapDescriptor the BitmapDescriptor to cache.
+   * @param byteCount the number of bytes of the bitmap the BitmapDescriptor was created from.
+   */
+  void put(@NonNull Key key, @NonNull BitmapDescriptor bitmapDescriptor, int byteCount) {
+    cache.put(key, new Entry(bitmapDescriptor, byteCount));
+  }
+
+  /** Returns the number of bytes currently held by the cache. */
+  int sizeBytes() {
+    return cache.size();
+  }
+
+  /** Returns the number of lookups that found a cached BitmapDescriptor. */
+  int hitCount() {
+    return cache.hitCount();
+  }
+
+  /** Returns the number of lookups that did not find a cached BitmapDescriptor. */
+  int missCount() {
+    return cache.missCount();
+  }
+
+  private static final class Entry {
+    final BitmapDescriptor bitmapDescriptor;
+    final int byteCount;
+
+    Entry(BitmapDescriptor bitmapDescriptor, int byteCount) {
+      this.bitmapDescriptor = bitmapDescriptor;
+      this.byteCount = byteCount;
+    }
+  }
+
+  /** Identifies a scaled image by its content or asset name and its scaling parameters. */
+  static final class Key {
+    private final @Nullable byte[] content;
+    private final @Nullable String assetName;
+    private final Messages.PlatformMapBitmapScaling bitmapScaling;
+    private final @Nullable Double imagePixelRatio;
+    private final @Nullable Double width;
+    private final @Nullable Double height;
+    private final float density;
+    private final int hashCode;
+
+    private Key(
+        @Nullable byte[] content,
+        @Nullable String assetName,
+        @NonNull Messages.PlatformMapBitmapScaling bitmapScaling,
+        @Nullable Double imagePixelRatio,
+        @Nullable Double width,
+        @Nullable Double height,
+        float density) {
+      this.content = content;
+      this.assetName = assetName;
+      this.bitmapScaling = bitmapScaling;
+      this.imagePixelRatio = imagePixelRatio;
+      this.width = width;
+      this.height = height;
+      this.density = density;
+      this.hashCode =
+          31 * Arrays.hashCode(content)
+              + Objects.hash(assetName, bitmapScaling, imagePixelRatio, width, height, density);
+    }
+
+    /** Creates the key of an image decoded from bytes. */
+    static @NonNull Key forBytes(@NonNull Messages.PlatformBitmapBytesMap bytesMap, float density) {
+      return new Key(
+          bytesMap.getByteData(),
+          null,
+          bytesMap.getBitmapScaling(),
+          bytesMap.getImagePixelRatio(),
+          bytesMap.getWidth(),
+          bytesMap.getHeight(),
+          density);
+    }
+
+    /** Creates the key of an image decoded from an asset. */
+    static @NonNull Key forAsset(@NonNull Messages.PlatformBitmapAssetMap assetMap, float density) {
+      return new Key(
+          null,
+          assetMap.getAssetName(),
+          assetMap.getBitmapScaling(),
+          assetMap.getImagePixelRatio(),
+          assetMap.getWidth(),
+          assetMap.getHeight(),
+          density);
+    }
+
+    private int contentByteCount() {
+      return content == null ? 0 : content.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return hashCode == other.hashCode
+          && Float.compare(density, other.density) == 0
+          && bitmapScaling == other.bitmapScaling
+          && Objects.equals(assetName, other.assetName)
+          && Objects.equals(imagePixelRatio, other.imagePixelRatio)
+          && Objects.equals(width, other.width)
+          && Objects.equals(height, other.height)
+          && Arrays.equals(content, other.content);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
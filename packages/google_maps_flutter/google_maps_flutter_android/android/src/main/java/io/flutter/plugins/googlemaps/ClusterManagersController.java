@@ -16,6 +16,9 @@ import com.google.maps.android.clustering.ClusterManager;
 import com.google.maps.android.clustering.view.DefaultClusterRenderer;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -122,22 +125,55 @@ class ClusterManagersController
 
   /** Adds item to the ClusterManager it belongs to. */
   public void addItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.addItem(item);
-      clusterManager.cluster();
-    }
+    addItems(Collections.singletonList(item));
   }
 
   /** Removes item from the ClusterManager it belongs to. */
   public void removeItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.removeItem(item);
-      clusterManager.cluster();
+    removeItems(Collections.singletonList(item));
+  }
+
+  /**
+   * Adds items to the ClusterManagers they belong to. Each affected ClusterManager is re-clustered
+   * once, however many of its items are added.
+   */
+  public void addItems(@NonNull Collection<MarkerBuilder> items) {
+    for (Map.Entry<String, List<MarkerBuilder>> entry : groupItemsByClusterManagerId(items)) {
+      ClusterManager<MarkerBuilder> clusterManager = clusterManagerIdToManager.get(entry.getKey());
+      if (clusterManager != null) {
+        clusterManager.addItems(entry.getValue());
+        clusterManager.cluster();
+      }
+    }
+  }
+
+  /**
+   * Removes items from the ClusterManagers they belong to. Each affected ClusterManager is
+   * re-clustered once, however many of its items are removed.
+   */
+  public void removeItems(@NonNull Collection<MarkerBuilder> items) {
+    for (Map.Entry<String, List<MarkerBuilder>> entry : groupItemsByClusterManagerId(items)) {
+      ClusterManager<MarkerBuilder> clusterManager = clusterManagerIdToManager.get(entry.getKey());
+      if (clusterManager != null) {
+        clusterManager.removeItems(entry.getValue());
+        clusterManager.cluster();
+      }
+    }
+  }
+
+  private static Set<Map.Entry<String, List<MarkerBuilder>>> groupItemsByClusterManagerId(
+      @NonNull Collection<MarkerBuilder> items) {
+    final Map<String, List<MarkerBuilder>> itemsByClusterManagerId = new HashMap<>();
+    for (MarkerBuilder item : items) {
+      final String clusterManagerId = item.clusterManagerId();
+      List<MarkerBuilder> clusterManagerItems = itemsByClusterManagerId.get(clusterManagerId);
+      if (clusterManagerItems == null) {
+        clusterManagerItems = new ArrayList<>();
+        itemsByClusterManagerId.put(clusterManagerId, clusterManagerItems);
+      }
+      clusterManagerItems.add(item);
     }
+    return itemsByClusterManagerId.entrySet();
   }
 
   /** Called when ClusterRenderer has rendered new visible marker to the map. */
@@ -73,6 +73,15 @@ class Convert {
       AssetManager assetManager,
       float density,
       BitmapDescriptorFactoryWrapper wrapper) {
+    return toBitmapDescriptor(platformBitmap, assetManager, density, wrapper, null);
+  }
+
+  static BitmapDescriptor toBitmapDescriptor(
+      Messages.PlatformBitmap platformBitmap,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
     Object bitmap = platformBitmap.getBitmap();
     if (bitmap instanceof Messages.PlatformBitmapDefaultMarker) {
       Messages.PlatformBitmapDefaultMarker typedBitmap =
@@ -111,11 +120,11 @@ class Convert {
     if (bitmap instanceof Messages.PlatformBitmapAssetMap) {
       Messages.PlatformBitmapAssetMap typedBitmap = (Messages.PlatformBitmapAssetMap) bitmap;
       return getBitmapFromAsset(
-          typedBitmap, assetManager, density, wrapper, new FlutterInjectorWrapper());
+          typedBitmap, assetManager, density, wrapper, new FlutterInjectorWrapper(), cache);
     }
     if (bitmap instanceof Messages.PlatformBitmapBytesMap) {
       Messages.PlatformBitmapBytesMap typedBitmap = (Messages.PlatformBitmapBytesMap) bitmap;
-      return getBitmapFromBytes(typedBitmap, density, wrapper);
+      return getBitmapFromBytes(typedBitmap, density, wrapper, cache);
     }
     throw new IllegalArgumentException("PlatformBitmap did not contain a supported subtype.");
   }
@@ -150,38 +159,48 @@ class Convert {
       Messages.PlatformBitmapBytesMap bytesMap,
       float density,
       BitmapDescriptorFactoryWrapper bitmapDescriptorFactory) {
+    return getBitmapFromBytes(bytesMap, density, bitmapDescriptorFactory, null);
+  }
+
+  /**
+   * Creates a BitmapDescriptor object from bytes data, reusing the one cached for identical bytes
+   * and scaling if there is one.
+   *
+   * @param cache the cache of BitmapDescriptors, or null to always decode the bytes.
+   * @see #getBitmapFromBytes(Messages.PlatformBitmapBytesMap, float,
+   *     BitmapDescriptorFactoryWrapper)
+   */
+  @VisibleForTesting
+  public static BitmapDescriptor getBitmapFromBytes(
+      Messages.PlatformBitmapBytesMap bytesMap,
+      float density,
+      BitmapDescriptorFactoryWrapper bitmapDescriptorFactory,
+      @Nullable BitmapDescriptorCache cache) {
+    final BitmapDescriptorCache.Key cacheKey =
+        cache == null ? null : BitmapDescriptorCache.Key.forBytes(bytesMap, density);
+    if (cacheKey != null) {
+      final BitmapDescriptor cachedDescriptor = cache.get(cacheKey);
+      if (cachedDescriptor != null) {
+        return cachedDescriptor;
+      }
+    }
     try {
       Bitmap bitmap = toBitmap(bytesMap.getByteData());
       Messages.PlatformMapBitmapScaling scalingMode = bytesMap.getBitmapScaling();
       switch (scalingMode) {
         case AUTO:
-          final Double width = bytesMap.getWidth();
-          final Double height = bytesMap.getHeight();
-
-          if (width != null || height != null) {
-            int targetWidth = width != null ? toInt(width * density) : bitmap.getWidth();
-            int targetHeight = height != null ? toInt(height * density) : bitmap.getHeight();
-
-            if (width != null && height == null) {
-              // If only width is provided, calculate height based on aspect ratio.
-              double aspectRatio = (double) bitmap.getHeight() / bitmap.getWidth();
-              targetHeight = (int) (targetWidth * aspectRatio);
-            } else if (height != null && width == null) {
-              // If only height is provided, calculate width based on aspect ratio.
-              double aspectRatio = (double) bitmap.getWidth() / bitmap.getHeight();
-              targetWidth = (int) (targetHeight * aspectRatio);
-            }
-            return bitmapDescriptorFactory.fromBitmap(
-                toScaledBitmap(bitmap, targetWidth, targetHeight));
-          } else {
-            // Scale image using given scale ratio
-            final float scale = density / bytesMap.getImagePixelRatio().floatValue();
-            return bitmapDescriptorFactory.fromBitmap(toScaledBitmap(bitmap, scale));
-          }
+          bitmap =
+              toAutoScaledBitmap(
+                  bitmap,
+                  bytesMap.getWidth(),
+                  bytesMap.getHeight(),
+                  bytesMap.getImagePixelRatio(),
+                  density);
+          break;
         case NONE:
           break;
       }
-      return bitmapDescriptorFactory.fromBitmap(bitmap);
+      return createCachedBitmapDescriptor(bitmap, bitmapDescriptorFactory, cache, cacheKey);
     } catch (Exception e) {
       throw new IllegalArgumentException("Unable to interpret bytes as a valid image.", e);
     }
@@ -214,39 +233,51 @@ class Convert {
       float density,
       BitmapDescriptorFactoryWrapper bitmapDescriptorFactory,
       FlutterInjectorWrapper flutterInjector) {
+    return getBitmapFromAsset(
+        assetMap, assetManager, density, bitmapDescriptorFactory, flutterInjector, null);
+  }
+
+  /**
+   * Creates a BitmapDescriptor object from asset, reusing the one cached for the same asset and
+   * scaling if there is one.
+   *
+   * @param cache the cache of BitmapDescriptors, or null to always decode the asset.
+   * @see #getBitmapFromAsset(Messages.PlatformBitmapAssetMap, AssetManager, float,
+   *     BitmapDescriptorFactoryWrapper, FlutterInjectorWrapper)
+   */
+  @VisibleForTesting
+  public static BitmapDescriptor getBitmapFromAsset(
+      Messages.PlatformBitmapAssetMap assetMap,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper bitmapDescriptorFactory,
+      FlutterInjectorWrapper flutterInjector,
+      @Nullable BitmapDescriptorCache cache) {
     final String assetName = assetMap.getAssetName();
     final String assetKey = flutterInjector.getLookupKeyForAsset(assetName);
 
     Messages.PlatformMapBitmapScaling scalingMode = assetMap.getBitmapScaling();
     switch (scalingMode) {
       case AUTO:
-        final Double width = assetMap.getWidth();
-        final Double height = assetMap.getHeight();
+        final BitmapDescriptorCache.Key cacheKey =
+            cache == null ? null : BitmapDescriptorCache.Key.forAsset(assetMap, density);
+        if (cacheKey != null) {
+          final BitmapDescriptor cachedDescriptor = cache.get(cacheKey);
+          if (cachedDescriptor != null) {
+            return cachedDescriptor;
+          }
+        }
         InputStream inputStream = null;
         try {
           inputStream = assetManager.open(assetKey);
-          Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-
-          if (width != null || height != null) {
-            int targetWidth = width != null ? toInt(width * density) : bitmap.getWidth();
-            int targetHeight = height != null ? toInt(height * density) : bitmap.getHeight();
-
-            if (width != null && height == null) {
-              // If only width is provided, calculate height based on aspect ratio.
-              double aspectRatio = (double) bitmap.getHeight() / bitmap.getWidth();
-              targetHeight = (int) (targetWidth * aspectRatio);
-            } else if (height != null && width == null) {
-              // If only height is provided, calculate width based on aspect ratio.
-              double aspectRatio = (double) bitmap.getWidth() / bitmap.getHeight();
-              targetWidth = (int) (targetHeight * aspectRatio);
-            }
-            return bitmapDescriptorFactory.fromBitmap(
-                toScaledBitmap(bitmap, targetWidth, targetHeight));
-          } else {
-            // Scale image using given scale.
-            final float scale = density / assetMap.getImagePixelRatio().floatValue();
-            return bitmapDescriptorFactory.fromBitmap(toScaledBitmap(bitmap, scale));
-          }
+          Bitmap bitmap =
+              toAutoScaledBitmap(
+                  BitmapFactory.decodeStream(inputStream),
+                  assetMap.getWidth(),
+                  assetMap.getHeight(),
+                  assetMap.getImagePixelRatio(),
+                  density);
+          return createCachedBitmapDescriptor(bitmap, bitmapDescriptorFactory, cache, cacheKey);
         } catch (Exception e) {
           throw new IllegalArgumentException("'asset' cannot open asset: " + assetName, e);
         } finally {
@@ -265,6 +296,50 @@ class Convert {
     return bitmapDescriptorFactory.fromAsset(assetKey);
   }
 
+  /**
+   * Scales a bitmap to the given logical `width` and/or `height`, keeping its aspect ratio if only
+   * one of them is given, or by the ratio of the display density to the `imagePixelRatio` if
+   * neither is given.
+   */
+  private static Bitmap toAutoScaledBitmap(
+      Bitmap bitmap,
+      @Nullable Double width,
+      @Nullable Double height,
+      Double imagePixelRatio,
+      float density) {
+    if (width != null || height != null) {
+      int targetWidth = width != null ? toInt(width * density) : bitmap.getWidth();
+      int targetHeight = height != null ? toInt(height * density) : bitmap.getHeight();
+
+      if (width != null && height == null) {
+        // If only width is provided, calculate height based on aspect ratio.
+        double aspectRatio = (double) bitmap.getHeight() / bitmap.getWidth();
+        targetHeight = (int) (targetWidth * aspectRatio);
+      } else if (height != null && width == null) {
+        // If only height is provided, calculate width based on aspect ratio.
+        double aspectRatio = (double) bitmap.getWidth() / bitmap.getHeight();
+        targetWidth = (int) (targetHeight * aspectRatio);
+      }
+      return toScaledBitmap(bitmap, targetWidth, targetHeight);
+    } else {
+      // Scale image using given scale ratio.
+      final float scale = density / imagePixelRatio.floatValue();
+      return toScaledBitmap(bitmap, scale);
+    }
+  }
+
+  private static BitmapDescriptor createCachedBitmapDescriptor(
+      Bitmap bitmap,
+      BitmapDescriptorFactoryWrapper bitmapDescriptorFactory,
+      @Nullable BitmapDescriptorCache cache,
+      @Nullable BitmapDescriptorCache.Key cacheKey) {
+    final BitmapDescriptor bitmapDescriptor = bitmapDescriptorFactory.fromBitmap(bitmap);
+    if (cache != null && cacheKey != null && bitmap != null && bitmapDescriptor != null) {
+      cache.put(cacheKey, bitmapDescriptor, bitmap.getAllocationByteCount());
+    }
+    return bitmapDescriptor;
+  }
+
   static @NonNull CameraPosition cameraPositionFromPigeon(
       @NonNull Messages.PlatformCameraPosition position) {
     final CameraPosition.Builder builder = CameraPosition.builder();
@@ -591,12 +666,39 @@ class Convert {
       AssetManager assetManager,
       float density,
       BitmapDescriptorFactoryWrapper wrapper) {
+    interpretMarkerOptions(marker, sink, assetManager, density, wrapper, null);
+  }
+
+  /**
+   * Set the options in the given object to marker options sink, reusing the icons cached in the
+   * given cache.
+   */
+  static void interpretMarkerOptions(
+      Messages.PlatformMarker marker,
+      MarkerOptionsSink sink,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache bitmapDescriptorCache) {
+    interpretMarkerOptions(
+        marker,
+        sink,
+        toBitmapDescriptor(
+            marker.getIcon(), assetManager, density, wrapper, bitmapDescriptorCache));
+  }
+
+  /**
+   * Set the options in the given object to marker options sink, using an icon that has already
+   * been created from the marker's bitmap.
+   */
+  static void interpretMarkerOptions(
+      Messages.PlatformMarker marker, MarkerOptionsSink sink, BitmapDescriptor icon) {
     sink.setAlpha(marker.getAlpha().floatValue());
     sink.setAnchor(marker.getAnchor().getX().floatValue(), marker.getAnchor().getY().floatValue());
     sink.setConsumeTapEvents(marker.getConsumeTapEvents());
     sink.setDraggable(marker.getDraggable());
     sink.setFlat(marker.getFlat());
-    sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper));
+    sink.setIcon(icon);
     interpretInfoWindowOptions(sink, marker.getInfoWindow());
     sink.setPosition(toLatLng(marker.getPosition().toList()));
     sink.setRotation(marker.getRotation().floatValue());
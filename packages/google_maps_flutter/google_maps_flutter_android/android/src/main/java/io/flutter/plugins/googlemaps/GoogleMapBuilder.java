@@ -32,6 +32,7 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
   private List<Messages.PlatformGroundOverlay> initialGroundOverlays;
   private Rect padding = new Rect(0, 0, 0, 0);
   private @Nullable String style;
+  private boolean cacheTilesOnDisk = false;
 
   GoogleMapController build(
       int id,
@@ -39,7 +40,8 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
       BinaryMessenger binaryMessenger,
       LifecycleProvider lifecycleProvider) {
     final GoogleMapController controller =
-        new GoogleMapController(id, context, binaryMessenger, lifecycleProvider, options);
+        new GoogleMapController(
+            id, context, binaryMessenger, lifecycleProvider, options, cacheTilesOnDisk);
     controller.init();
     controller.setMyLocationEnabled(myLocationEnabled);
     controller.setMyLocationButtonEnabled(myLocationButtonEnabled);
@@ -68,6 +70,10 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
     options.mapId(mapId);
   }
 
+  void setCacheTilesOnDisk(boolean cacheTilesOnDisk) {
+    this.cacheTilesOnDisk = cacheTilesOnDisk;
+  }
+
   @Override
   public void setCompassEnabled(boolean compassEnabled) {
     options.compassEnabled(compassEnabled);
@@ -51,6 +51,7 @@ import io.flutter.plugins.googlemaps.Messages.MapsApi;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import io.flutter.plugins.googlemaps.Messages.MapsInspectorApi;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -70,6 +71,8 @@ class GoogleMapController
         PlatformView {
 
   private static final String TAG = "GoogleMapController";
+  // Directory in the app's cache directory that tiles of tile overlays are cached in.
+  private static final String TILE_CACHE_DIRECTORY_NAME = "google_maps_flutter_tiles";
   private final int id;
   private final MapsCallbackApi flutterApi;
   private final BinaryMessenger binaryMessenger;
@@ -116,7 +119,8 @@ class GoogleMapController
       Context context,
       BinaryMessenger binaryMessenger,
       LifecycleProvider lifecycleProvider,
-      GoogleMapOptions options) {
+      GoogleMapOptions options,
+      boolean cacheTilesOnDisk) {
     this.id = id;
     this.context = context;
     this.options = options;
@@ -140,7 +144,15 @@ class GoogleMapController
     this.polylinesController = new PolylinesController(flutterApi, assetManager, density);
     this.circlesController = new CirclesController(flutterApi, density);
     this.heatmapsController = new HeatmapsController();
-    this.tileOverlaysController = new TileOverlaysController(flutterApi);
+    this.tileOverlaysController =
+        new TileOverlaysController(
+            flutterApi,
+            new TileCache(
+                TileCache.DEFAULT_MEMORY_SIZE_BYTES,
+                cacheTilesOnDisk
+                    ? new File(context.getCacheDir(), TILE_CACHE_DIRECTORY_NAME + "/" + id)
+                    : null,
+                TileCache.DEFAULT_DISK_SIZE_BYTES));
     this.groundOverlaysController = new GroundOverlaysController(flutterApi, assetManager, density);
   }
 
@@ -340,6 +352,7 @@ class GoogleMapController
   @Override
   public void onCameraIdle() {
     clusterManagersController.onCameraIdle();
+    tileOverlaysController.prefetchTilesAroundVisibleRegion();
     flutterApi.onCameraIdle(new NoOpVoidResult());
   }
 
@@ -393,6 +406,7 @@ class GoogleMapController
     MapsInspectorApi.setUp(binaryMessenger, Integer.toString(id), null);
     setGoogleMapListener(null);
     setMarkerCollectionListener(null);
+    markersController.dispose();
     setClusterItemClickListener(null);
     setClusterItemRenderedListener(null);
     destroyMapViewIfNecessary();
@@ -885,10 +899,9 @@ class GoogleMapController
   public void updateMarkers(
       @NonNull List<Messages.PlatformMarker> toAdd,
       @NonNull List<Messages.PlatformMarker> toChange,
-      @NonNull List<String> idsToRemove) {
-    markersController.addMarkers(toAdd);
-    markersController.changeMarkers(toChange);
-    markersController.removeMarkers(idsToRemove);
+      @NonNull List<String> idsToRemove,
+      @NonNull Messages.VoidResult result) {
+    markersController.updateMarkers(toAdd, toChange, idsToRemove, result);
   }
 
   @Override
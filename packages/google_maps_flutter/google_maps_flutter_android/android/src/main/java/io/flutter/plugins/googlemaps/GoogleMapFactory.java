@@ -47,6 +47,7 @@ public class GoogleMapFactory extends PlatformViewFactory {
     builder.setInitialHeatmaps(params.getInitialHeatmaps());
     builder.setInitialTileOverlays(params.getInitialTileOverlays());
     builder.setInitialGroundOverlays(params.getInitialGroundOverlays());
+    builder.setCacheTilesOnDisk(params.getCacheTilesOnDisk());
 
     final String cloudMapId = mapConfig.getCloudMapId();
     if (cloudMapId != null) {
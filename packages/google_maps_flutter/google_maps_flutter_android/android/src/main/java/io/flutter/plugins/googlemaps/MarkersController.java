@@ -5,26 +5,54 @@
 package io.flutter.plugins.googlemaps;
 
 import android.content.res.AssetManager;
+import android.view.Choreographer;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 class MarkersController {
+  /** Time spent per frame applying prepared markers to the map. */
+  private static final long DEFAULT_FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+
   private final HashMap<String, MarkerBuilder> markerIdToMarkerBuilder;
   private final HashMap<String, MarkerController> markerIdToController;
   private final HashMap<String, String> googleMapsMarkerIdToDartMarkerId;
+  // Cluster items are collected while markers are updated, and handed to their cluster managers
+  // together afterwards so that each cluster manager only re-clusters once per update.
+  private final Set<MarkerBuilder> clusterItemsToAdd = new LinkedHashSet<>();
+  private final Set<MarkerBuilder> clusterItemsToRemove = new LinkedHashSet<>();
   private final @NonNull MapsCallbackApi flutterApi;
   private MarkerManager.Collection markerCollection;
   private final ClusterManagersController clusterManagersController;
   private final AssetManager assetManager;
   private final float density;
   private final Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper;
+  private final BitmapDescriptorCache bitmapDescriptorCache;
+  private final Executor markerPreparationExecutor;
+  private final Choreographer choreographer;
+  private final long frameBudgetNanos;
+  // Updates that have not been fully applied yet, oldest first. Only the oldest one is prepared or
+  // applied at a time, so that updates land on the map in the order they were made.
+  private final ArrayDeque<MarkerUpdate> pendingUpdates = new ArrayDeque<>();
+  private boolean disposed;
 
   MarkersController(
       @NonNull MapsCallbackApi flutterApi,
@@ -32,6 +60,27 @@ class MarkersController {
       AssetManager assetManager,
       float density,
       Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper) {
+    this(
+        flutterApi,
+        clusterManagersController,
+        assetManager,
+        density,
+        bitmapDescriptorFactoryWrapper,
+        new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES),
+        Executors.newSingleThreadExecutor(),
+        DEFAULT_FRAME_BUDGET_NANOS);
+  }
+
+  @VisibleForTesting
+  MarkersController(
+      @NonNull MapsCallbackApi flutterApi,
+      ClusterManagersController clusterManagersController,
+      AssetManager assetManager,
+      float density,
+      Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper,
+      @NonNull BitmapDescriptorCache bitmapDescriptorCache,
+      @NonNull Executor markerPreparationExecutor,
+      long frameBudgetNanos) {
     this.markerIdToMarkerBuilder = new HashMap<>();
     this.markerIdToController = new HashMap<>();
     this.googleMapsMarkerIdToDartMarkerId = new HashMap<>();
@@ -40,6 +89,10 @@ class MarkersController {
     this.assetManager = assetManager;
     this.density = density;
     this.bitmapDescriptorFactoryWrapper = bitmapDescriptorFactoryWrapper;
+    this.bitmapDescriptorCache = bitmapDescriptorCache;
+    this.markerPreparationExecutor = markerPreparationExecutor;
+    this.choreographer = Choreographer.getInstance();
+    this.frameBudgetNanos = frameBudgetNanos;
   }
 
   void setCollection(MarkerManager.Collection markerCollection) {
@@ -47,21 +100,105 @@ class MarkersController {
   }
 
   void addMarkers(@NonNull List<Messages.PlatformMarker> markersToAdd) {
-    for (Messages.PlatformMarker markerToAdd : markersToAdd) {
-      addMarker(markerToAdd);
-    }
+    updateMarkers(markersToAdd, Collections.emptyList(), Collections.emptyList());
   }
 
   void changeMarkers(@NonNull List<Messages.PlatformMarker> markersToChange) {
-    for (Messages.PlatformMarker markerToChange : markersToChange) {
-      changeMarker(markerToChange);
-    }
+    updateMarkers(Collections.emptyList(), markersToChange, Collections.emptyList());
   }
 
   void removeMarkers(@NonNull List<String> markerIdsToRemove) {
+    updateMarkers(Collections.emptyList(), Collections.emptyList(), markerIdsToRemove);
+  }
+
+  /**
+   * Adds, changes and removes markers. Clustered markers are added to and removed from their
+   * cluster managers in one batch, so that each cluster manager re-clusters only once.
+   */
+  void updateMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToAdd,
+      @NonNull List<Messages.PlatformMarker> markersToChange,
+      @NonNull List<String> markerIdsToRemove) {
+    for (Messages.PlatformMarker markerToAdd : markersToAdd) {
+      addMarker(markerToAdd);
+    }
+    for (Messages.PlatformMarker markerToChange : markersToChange) {
+      changeMarker(markerToChange);
+    }
     for (String markerId : markerIdsToRemove) {
       removeMarker(markerId);
     }
+    updateClusterItems();
+  }
+
+  /**
+   * Adds, changes and removes markers without blocking the platform thread.
+   *
+   * <p>Marker icons are created and MarkerBuilders are prepared on a background thread, and then
+   * applied to the map a few markers per frame. The result is completed once all markers of this
+   * update, and of all updates made before it, have been applied.
+   */
+  void updateMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToAdd,
+      @NonNull List<Messages.PlatformMarker> markersToChange,
+      @NonNull List<String> markerIdsToRemove,
+      @NonNull Messages.VoidResult result) {
+    final MarkerUpdate update =
+        new MarkerUpdate(markersToAdd, markersToChange, markerIdsToRemove, result);
+    pendingUpdates.add(update);
+    if (pendingUpdates.size() == 1) {
+      prepareUpdate(update);
+    }
+  }
+
+  /** Stops applying pending updates, whose results are completed with an error. */
+  void dispose() {
+    disposed = true;
+    final MarkerUpdate update = pendingUpdates.peek();
+    if (update != null) {
+      choreographer.removeFrameCallback(update);
+    }
+    for (MarkerUpdate pendingUpdate : pendingUpdates) {
+      pendingUpdate.result.error(
+          new Messages.FlutterError(
+              "GoogleMap disposed", "updateMarkers called on a map that was disposed", null));
+    }
+    pendingUpdates.clear();
+    if (markerPreparationExecutor instanceof ExecutorService) {
+      ((ExecutorService) markerPreparationExecutor).shutdownNow();
+    }
+  }
+
+  private void prepareUpdate(MarkerUpdate update) {
+    markerPreparationExecutor.execute(
+        () -> {
+          update.prepare();
+          choreographer.postFrameCallback(update);
+        });
+  }
+
+  private void finishUpdate(MarkerUpdate update, @Nullable Throwable error) {
+    pendingUpdates.remove(update);
+    if (error == null) {
+      update.result.success();
+    } else {
+      update.result.error(error);
+    }
+    final MarkerUpdate nextUpdate = pendingUpdates.peek();
+    if (nextUpdate != null) {
+      prepareUpdate(nextUpdate);
+    }
+  }
+
+  private void updateClusterItems() {
+    if (!clusterItemsToRemove.isEmpty()) {
+      clusterManagersController.removeItems(new ArrayList<>(clusterItemsToRemove));
+      clusterItemsToRemove.clear();
+    }
+    if (!clusterItemsToAdd.isEmpty()) {
+      clusterManagersController.addItems(new ArrayList<>(clusterItemsToAdd));
+      clusterItemsToAdd.clear();
+    }
   }
 
   private void removeMarker(String markerId) {
@@ -72,8 +209,10 @@ class MarkersController {
     final MarkerController markerController = markerIdToController.remove(markerId);
     final String clusterManagerId = markerBuilder.clusterManagerId();
     if (clusterManagerId != null) {
-      // Remove marker from clusterManager.
-      clusterManagersController.removeItem(markerBuilder);
+      // Remove marker from clusterManager, unless it has not been handed to it yet.
+      if (!clusterItemsToAdd.remove(markerBuilder)) {
+        clusterItemsToRemove.add(markerBuilder);
+      }
     } else if (markerController != null && this.markerCollection != null) {
       // Remove marker from map and markerCollection
       markerController.removeFromCollection(markerCollection);
@@ -172,12 +311,22 @@ class MarkersController {
   }
 
   private void addMarker(@NonNull Messages.PlatformMarker marker) {
-    String markerId = marker.getMarkerId();
-    String clusterManagerId = marker.getClusterManagerId();
-    MarkerBuilder markerBuilder = new MarkerBuilder(markerId, clusterManagerId);
-    Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
-    addMarker(markerBuilder);
+    addMarker(prepareMarker(marker).markerBuilder);
+  }
+
+  /** Creates the icon and the MarkerBuilder of a marker, which is safe off the main thread. */
+  private PreparedMarker prepareMarker(@NonNull Messages.PlatformMarker marker) {
+    final BitmapDescriptor icon =
+        Convert.toBitmapDescriptor(
+            marker.getIcon(),
+            assetManager,
+            density,
+            bitmapDescriptorFactoryWrapper,
+            bitmapDescriptorCache);
+    final MarkerBuilder markerBuilder =
+        new MarkerBuilder(marker.getMarkerId(), marker.getClusterManagerId());
+    Convert.interpretMarkerOptions(marker, markerBuilder, icon);
+    return new PreparedMarker(marker, icon, markerBuilder);
   }
 
   private void addMarker(MarkerBuilder markerBuilder) {
@@ -203,7 +352,7 @@ class MarkersController {
   }
 
   private void addMarkerBuilderForCluster(MarkerBuilder markerBuilder) {
-    clusterManagersController.addItem(markerBuilder);
+    clusterItemsToAdd.add(markerBuilder);
   }
 
   private void createControllerForMarker(String markerId, Marker marker, boolean consumeTapEvents) {
@@ -213,6 +362,11 @@ class MarkersController {
   }
 
   private void changeMarker(@NonNull Messages.PlatformMarker marker) {
+    changeMarker(prepareMarker(marker));
+  }
+
+  private void changeMarker(@NonNull PreparedMarker preparedMarker) {
+    final Messages.PlatformMarker marker = preparedMarker.marker;
     String markerId = marker.getMarkerId();
 
     MarkerBuilder markerBuilder = markerIdToMarkerBuilder.get(markerId);
@@ -227,19 +381,119 @@ class MarkersController {
     // be removed and re-added to update its cluster manager state.
     if (!(Objects.equals(clusterManagerId, oldClusterManagerId))) {
       removeMarker(markerId);
-      addMarker(marker);
+      addMarker(preparedMarker.markerBuilder);
       return;
     }
 
     // Update marker builder.
-    Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+    Convert.interpretMarkerOptions(marker, markerBuilder, preparedMarker.icon);
 
     // Update existing marker on map.
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
-      Convert.interpretMarkerOptions(
-          marker, markerController, assetManager, density, bitmapDescriptorFactoryWrapper);
+      Convert.interpretMarkerOptions(marker, markerController, preparedMarker.icon);
+    }
+  }
+
+  /** A marker whose icon and MarkerBuilder have been created. */
+  private static final class PreparedMarker {
+    final Messages.PlatformMarker marker;
+    final BitmapDescriptor icon;
+    final MarkerBuilder markerBuilder;
+
+    PreparedMarker(
+        Messages.PlatformMarker marker, BitmapDescriptor icon, MarkerBuilder markerBuilder) {
+      this.marker = marker;
+      this.icon = icon;
+      this.markerBuilder = markerBuilder;
+    }
+  }
+
+  /**
+   * The markers of an {@link #updateMarkers(List, List, List, Messages.VoidResult)} call, which are
+   * prepared on the marker preparation thread and then applied within the frame budget of each
+   * frame.
+   */
+  private final class MarkerUpdate implements Choreographer.FrameCallback {
+    final List<Messages.PlatformMarker> markersToAdd;
+    final List<Messages.PlatformMarker> markersToChange;
+    final List<String> markerIdsToRemove;
+    final Messages.VoidResult result;
+    final List<PreparedMarker> preparedMarkersToAdd = new ArrayList<>();
+    final List<PreparedMarker> preparedMarkersToChange = new ArrayList<>();
+    @Nullable Throwable preparationError;
+    int appliedOperationCount;
+
+    MarkerUpdate(
+        List<Messages.PlatformMarker> markersToAdd,
+        List<Messages.PlatformMarker> markersToChange,
+        List<String> markerIdsToRemove,
+        Messages.VoidResult result) {
+      this.markersToAdd = markersToAdd;
+      this.markersToChange = markersToChange;
+      this.markerIdsToRemove = markerIdsToRemove;
+      this.result = result;
+    }
+
+    void prepare() {
+      try {
+        for (Messages.PlatformMarker markerToAdd : markersToAdd) {
+          preparedMarkersToAdd.add(prepareMarker(markerToAdd));
+        }
+        for (Messages.PlatformMarker markerToChange : markersToChange) {
+          preparedMarkersToChange.add(prepareMarker(markerToChange));
+        }
+      } catch (Throwable e) {
+        preparationError = e;
+      }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      if (disposed) {
+        return;
+      }
+      if (preparationError != null) {
+        finishUpdate(this, preparationError);
+        return;
+      }
+      final int operationCount =
+          preparedMarkersToAdd.size() + preparedMarkersToChange.size() + markerIdsToRemove.size();
+      final long deadlineNanos = System.nanoTime() + frameBudgetNanos;
+      try {
+        // At least one marker is applied per frame, so that updates progress however small the
+        // budget is.
+        boolean appliedAny = false;
+        while (appliedOperationCount < operationCount
+            && (!appliedAny || System.nanoTime() < deadlineNanos)) {
+          applyOperation(appliedOperationCount++);
+          appliedAny = true;
+        }
+      } catch (Throwable e) {
+        updateClusterItems();
+        finishUpdate(this, e);
+        return;
+      }
+      if (appliedOperationCount < operationCount) {
+        choreographer.postFrameCallback(this);
+        return;
+      }
+      updateClusterItems();
+      finishUpdate(this, null);
+    }
+
+    private void applyOperation(int index) {
+      if (index < preparedMarkersToAdd.size()) {
+        addMarker(preparedMarkersToAdd.get(index).markerBuilder);
+        return;
+      }
+      index -= preparedMarkersToAdd.size();
+      if (index < preparedMarkersToChange.size()) {
+        changeMarker(preparedMarkersToChange.get(index));
+        return;
+      }
+      index -= preparedMarkersToChange.size();
+      removeMarker(markerIdsToRemove.get(index));
     }
   }
 }
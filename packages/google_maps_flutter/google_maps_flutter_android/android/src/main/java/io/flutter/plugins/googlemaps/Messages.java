@@ -3202,6 +3202,20 @@ public class Messages {
       this.tileSize = setterArg;
     }
 
+    /**
+     * If set, tiles are fetched natively from this provider instead of being requested through
+     * [MapsCallbackApi.getTileOverlayTile].
+     */
+    private @Nullable PlatformUrlTileProvider urlTileProvider;
+
+    public @Nullable PlatformUrlTileProvider getUrlTileProvider() {
+      return urlTileProvider;
+    }
+
+    public void setUrlTileProvider(@Nullable PlatformUrlTileProvider setterArg) {
+      this.urlTileProvider = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformTileOverlay() {}
 
@@ -3219,12 +3233,14 @@ public class Messages {
           && transparency.equals(that.transparency)
           && zIndex.equals(that.zIndex)
           && visible.equals(that.visible)
-          && tileSize.equals(that.tileSize);
+          && tileSize.equals(that.tileSize)
+          && Objects.equals(urlTileProvider, that.urlTileProvider);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(tileOverlayId, fadeIn, transparency, zIndex, visible, tileSize);
+      return Objects.hash(
+          tileOverlayId, fadeIn, transparency, zIndex, visible, tileSize, urlTileProvider);
     }
 
     public static final class Builder {
@@ -3277,6 +3293,14 @@ public class Messages {
         return this;
       }
 
+      private @Nullable PlatformUrlTileProvider urlTileProvider;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setUrlTileProvider(@Nullable PlatformUrlTileProvider setterArg) {
+        this.urlTileProvider = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformTileOverlay build() {
         PlatformTileOverlay pigeonReturn = new PlatformTileOverlay();
         pigeonReturn.setTileOverlayId(tileOverlayId);
@@ -3285,19 +3309,21 @@ public class Messages {
         pigeonReturn.setZIndex(zIndex);
         pigeonReturn.setVisible(visible);
         pigeonReturn.setTileSize(tileSize);
+        pigeonReturn.setUrlTileProvider(urlTileProvider);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(6);
+      ArrayList<Object> toListResult = new ArrayList<>(7);
       toListResult.add(tileOverlayId);
       toListResult.add(fadeIn);
       toListResult.add(transparency);
       toListResult.add(zIndex);
       toListResult.add(visible);
       toListResult.add(tileSize);
+      toListResult.add(urlTileProvider);
       return toListResult;
     }
 
@@ -3315,6 +3341,8 @@ public class Messages {
       pigeonResult.setVisible((Boolean) visible);
       Object tileSize = pigeonVar_list.get(5);
       pigeonResult.setTileSize((Long) tileSize);
+      Object urlTileProvider = pigeonVar_list.get(6);
+      pigeonResult.setUrlTileProvider((PlatformUrlTileProvider) urlTileProvider);
       return pigeonResult;
     }
   }
@@ -4367,6 +4395,20 @@ public class Messages {
       this.initialGroundOverlays = setterArg;
     }
 
+    /** Whether the tiles of tile overlays are cached on disk as well as in memory. */
+    private @NonNull Boolean cacheTilesOnDisk;
+
+    public @NonNull Boolean getCacheTilesOnDisk() {
+      return cacheTilesOnDisk;
+    }
+
+    public void setCacheTilesOnDisk(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"cacheTilesOnDisk\" is null.");
+      }
+      this.cacheTilesOnDisk = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformMapViewCreationParams() {}
 
@@ -4388,7 +4430,8 @@ public class Messages {
           && initialHeatmaps.equals(that.initialHeatmaps)
           && initialTileOverlays.equals(that.initialTileOverlays)
           && initialClusterManagers.equals(that.initialClusterManagers)
-          && initialGroundOverlays.equals(that.initialGroundOverlays);
+          && initialGroundOverlays.equals(that.initialGroundOverlays)
+          && cacheTilesOnDisk.equals(that.cacheTilesOnDisk);
     }
 
     @Override
@@ -4403,7 +4446,8 @@ public class Messages {
           initialHeatmaps,
           initialTileOverlays,
           initialClusterManagers,
-          initialGroundOverlays);
+          initialGroundOverlays,
+          cacheTilesOnDisk);
     }
 
     public static final class Builder {
@@ -4490,6 +4534,14 @@ public class Messages {
         return this;
       }
 
+      private @Nullable Boolean cacheTilesOnDisk;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCacheTilesOnDisk(@NonNull Boolean setterArg) {
+        this.cacheTilesOnDisk = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformMapViewCreationParams build() {
         PlatformMapViewCreationParams pigeonReturn = new PlatformMapViewCreationParams();
         pigeonReturn.setInitialCameraPosition(initialCameraPosition);
@@ -4502,13 +4554,14 @@ public class Messages {
         pigeonReturn.setInitialTileOverlays(initialTileOverlays);
         pigeonReturn.setInitialClusterManagers(initialClusterManagers);
         pigeonReturn.setInitialGroundOverlays(initialGroundOverlays);
+        pigeonReturn.setCacheTilesOnDisk(cacheTilesOnDisk);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(10);
+      ArrayList<Object> toListResult = new ArrayList<>(11);
       toListResult.add(initialCameraPosition);
       toListResult.add(mapConfiguration);
       toListResult.add(initialCircles);
@@ -4519,6 +4572,7 @@ public class Messages {
       toListResult.add(initialTileOverlays);
       toListResult.add(initialClusterManagers);
       toListResult.add(initialGroundOverlays);
+      toListResult.add(cacheTilesOnDisk);
       return toListResult;
     }
 
@@ -4545,6 +4599,8 @@ public class Messages {
       pigeonResult.setInitialClusterManagers((List<PlatformClusterManager>) initialClusterManagers);
       Object initialGroundOverlays = pigeonVar_list.get(9);
       pigeonResult.setInitialGroundOverlays((List<PlatformGroundOverlay>) initialGroundOverlays);
+      Object cacheTilesOnDisk = pigeonVar_list.get(10);
+      pigeonResult.setCacheTilesOnDisk((Boolean) cacheTilesOnDisk);
       return pigeonResult;
     }
   }
@@ -6202,6 +6258,107 @@ public class Messages {
     }
   }
 
+  /**
+   * Pigeon equivalent of [AndroidUrlTileProvider].
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformUrlTileProvider {
+    /**
+     * The URL of each tile, with `{x}`, `{y}` and `{z}` standing for the tile coordinates and
+     * zoom.
+     */
+    private @NonNull String urlTemplate;
+
+    public @NonNull String getUrlTemplate() {
+      return urlTemplate;
+    }
+
+    public void setUrlTemplate(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"urlTemplate\" is null.");
+      }
+      this.urlTemplate = setterArg;
+    }
+
+    /** The HTTP headers sent with each tile request. */
+    private @NonNull Map<String, String> headers;
+
+    public @NonNull Map<String, String> getHeaders() {
+      return headers;
+    }
+
+    public void setHeaders(@NonNull Map<String, String> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"headers\" is null.");
+      }
+      this.headers = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformUrlTileProvider() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformUrlTileProvider that = (PlatformUrlTileProvider) o;
+      return urlTemplate.equals(that.urlTemplate) && headers.equals(that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(urlTemplate, headers);
+    }
+
+    public static final class Builder {
+
+      private @Nullable String urlTemplate;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setUrlTemplate(@NonNull String setterArg) {
+        this.urlTemplate = setterArg;
+        return this;
+      }
+
+      private @Nullable Map<String, String> headers;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHeaders(@NonNull Map<String, String> setterArg) {
+        this.headers = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformUrlTileProvider build() {
+        PlatformUrlTileProvider pigeonReturn = new PlatformUrlTileProvider();
+        pigeonReturn.setUrlTemplate(urlTemplate);
+        pigeonReturn.setHeaders(headers);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(urlTemplate);
+      toListResult.add(headers);
+      return toListResult;
+    }
+
+    static @NonNull PlatformUrlTileProvider fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformUrlTileProvider pigeonResult = new PlatformUrlTileProvider();
+      Object urlTemplate = pigeonVar_list.get(0);
+      pigeonResult.setUrlTemplate((String) urlTemplate);
+      Object headers = pigeonVar_list.get(1);
+      pigeonResult.setHeaders((Map<String, String>) headers);
+      return pigeonResult;
+    }
+  }
+
   private static class PigeonCodec extends StandardMessageCodec {
     public static final PigeonCodec INSTANCE = new PigeonCodec();
 
@@ -6326,6 +6483,8 @@ public class Messages {
           return PlatformBitmapAssetMap.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 174:
           return PlatformBitmapBytesMap.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 175:
+          return PlatformUrlTileProvider.fromList((ArrayList<Object>) readValue(buffer));
         default:
           return super.readValueOfType(type, buffer);
       }
@@ -6471,6 +6630,9 @@ public class Messages {
       } else if (value instanceof PlatformBitmapBytesMap) {
         stream.write(174);
         writeValue(stream, ((PlatformBitmapBytesMap) value).toList());
+      } else if (value instanceof PlatformUrlTileProvider) {
+        stream.write(175);
+        writeValue(stream, ((PlatformUrlTileProvider) value).toList());
       } else {
         super.writeValue(stream, value);
       }
@@ -6531,11 +6693,18 @@ public class Messages {
     /** Updates the set of custer managers for clusters on the map. */
     void updateClusterManagers(
         @NonNull List<PlatformClusterManager> toAdd, @NonNull List<String> idsToRemove);
-    /** Updates the set of markers on the map. */
+    /**
+     * Updates the set of markers on the map.
+     *
+     * <p>Returns once all of the updated markers have been applied to the map. Other calls are not
+     * ordered after pending marker updates, so calls that look up markers or clusters must wait for
+     * this to return.
+     */
     void updateMarkers(
         @NonNull List<PlatformMarker> toAdd,
         @NonNull List<PlatformMarker> toChange,
-        @NonNull List<String> idsToRemove);
+        @NonNull List<String> idsToRemove,
+        @NonNull VoidResult result);
     /** Updates the set of polygonss on the map. */
     void updatePolygons(
         @NonNull List<PlatformPolygon> toAdd,
@@ -6769,13 +6938,20 @@ public class Messages {
                 List<PlatformMarker> toAddArg = (List<PlatformMarker>) args.get(0);
                 List<PlatformMarker> toChangeArg = (List<PlatformMarker>) args.get(1);
                 List<String> idsToRemoveArg = (List<String>) args.get(2);
-                try {
-                  api.updateMarkers(toAddArg, toChangeArg, idsToRemoveArg);
-                  wrapped.add(0, null);
-                } catch (Throwable exception) {
-                  wrapped = wrapError(exception);
-                }
-                reply.reply(wrapped);
+                VoidResult resultCallback =
+                    new VoidResult() {
+                      public void success() {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.updateMarkers(toAddArg, toChangeArg, idsToRemoveArg, resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
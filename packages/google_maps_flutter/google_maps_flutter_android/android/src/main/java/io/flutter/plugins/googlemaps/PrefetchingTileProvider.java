@@ -0,0 +1,16 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.TileProvider;
+
+/** A TileProvider that can fetch tiles into a cache before the map requests them. */
+interface PrefetchingTileProvider extends TileProvider {
+  /**
+   * Fetches a tile into the tile cache, unless it is already cached, without waiting for it. Must
+   * be called on the main thread.
+   */
+  void prefetchTile(int x, int y, int zoom);
+}
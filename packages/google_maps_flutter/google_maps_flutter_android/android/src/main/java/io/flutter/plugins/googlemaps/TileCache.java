@@ -0,0 +1,323 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.Log;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.Tile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of the tiles of tile overlays, keyed by tile overlay id, x, y and zoom.
+ *
+ * <p>Tiles are kept in a least recently used cache in memory, bounded by the number of bytes of
+ * their data. If a disk directory is given, tiles are also written to a second, larger least
+ * recently used tier on disk, which tiles evicted from memory are read back from.
+ *
+ * <p>The disk tier only holds tiles fetched by the current map. Its directory is emptied when the
+ * cache is created and when the tiles of a tile overlay are cleared, so that tiles of a tile
+ * overlay are never served from a previous session.
+ *
+ * <p>All methods are safe to call from any thread. Tiles are written to and deleted from disk on a
+ * background thread, so that caching tiles on the main thread does not block it.
+ */
+class TileCache {
+  private static final String TAG = "TileCache";
+
+  static final int DEFAULT_MEMORY_SIZE_BYTES = 8 * 1024 * 1024;
+  static final long DEFAULT_DISK_SIZE_BYTES = 32 * 1024 * 1024;
+
+  // Shared by all maps, so that each map does not keep a thread alive.
+  private static final Executor DEFAULT_DISK_EXECUTOR = Executors.newSingleThreadExecutor();
+
+  private final LruCache<TileKey, Tile> memoryCache;
+  private final @Nullable File diskDirectory;
+  private final Executor diskExecutor;
+  private final long maxDiskSizeBytes;
+  // Sizes of the tiles on disk, least recently used first.
+  private final LinkedHashMap<TileKey, Integer> diskTileSizes =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private long diskSizeBytes;
+  // Incremented whenever the tiles of a tile overlay are cleared, so that tiles requested before
+  // are not cached afterwards.
+  private final Map<String, Integer> tileOverlayIdToGeneration = new HashMap<>();
+
+  /**
+   * Creates a tile cache.
+   *
+   * @param maxMemorySizeBytes the maximum number of bytes of tile data kept in memory.
+   * @param diskDirectory the directory of the disk tier, or null to only cache tiles in memory.
+   * @param maxDiskSizeBytes the maximum number of bytes of tile data kept on disk.
+   */
+  TileCache(int maxMemorySizeBytes, @Nullable File diskDirectory, long maxDiskSizeBytes) {
+    this(maxMemorySizeBytes, diskDirectory, maxDiskSizeBytes, DEFAULT_DISK_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  TileCache(
+      int maxMemorySizeBytes,
+      @Nullable File diskDirectory,
+      long maxDiskSizeBytes,
+      @NonNull Executor diskExecutor) {
+    this.memoryCache =
+        new LruCache<TileKey, Tile>(maxMemorySizeBytes) {
+          @Override
+          protected int sizeOf(@NonNull TileKey key, @NonNull Tile tile) {
+            return tile.data == null ? 0 : tile.data.length;
+          }
+        };
+    this.diskDirectory = diskDirectory;
+    this.maxDiskSizeBytes = maxDiskSizeBytes;
+    this.diskExecutor = diskExecutor;
+    if (diskDirectory != null) {
+      diskExecutor.execute(() -> deleteRecursively(diskDirectory));
+    }
+  }
+
+  /** Returns the cached tile, or null if it is not cached. */
+  @Nullable
+  Tile get(@NonNull String tileOverlayId, int x, int y, int zoom) {
+    final TileKey key = new TileKey(tileOverlayId, x, y, zoom);
+    final Tile memoryTile = memoryCache.get(key);
+    if (memoryTile != null) {
+      return memoryTile;
+    }
+    final Tile diskTile = readFromDisk(key);
+    if (diskTile != null) {
+      memoryCache.put(key, diskTile);
+    }
+    return diskTile;
+  }
+
+  /** Returns whether the tile is cached, without affecting which tiles are evicted first. */
+  boolean contains(@NonNull String tileOverlayId, int x, int y, int zoom) {
+    final TileKey key = new TileKey(tileOverlayId, x, y, zoom);
+    if (memoryCache.snapshot().containsKey(key)) {
+      return true;
+    }
+    synchronized (this) {
+      return diskTileSizes.containsKey(key);
+    }
+  }
+
+  /**
+   * Returns the current generation of the tiles of a tile overlay, which must be passed to {@link
+   * #put} for tiles that are requested afterwards.
+   */
+  synchronized int getGeneration(@NonNull String tileOverlayId) {
+    final Integer generation = tileOverlayIdToGeneration.get(tileOverlayId);
+    return generation == null ? 0 : generation;
+  }
+
+  /**
+   * Caches a tile, unless it has no data or the tiles of its tile overlay have been cleared since
+   * it was requested.
+   *
+   * @param generation the generation of the tiles of the tile overlay when the tile was requested.
+   */
+  void put(
+      @NonNull String tileOverlayId, int x, int y, int zoom, @NonNull Tile tile, int generation) {
+    if (tile.data == null) {
+      return;
+    }
+    final TileKey key = new TileKey(tileOverlayId, x, y, zoom);
+    synchronized (this) {
+      if (generation != getGeneration(tileOverlayId)) {
+        return;
+      }
+      memoryCache.put(key, tile);
+    }
+    if (diskDirectory != null) {
+      diskExecutor.execute(() -> writeToDisk(key, tile, generation));
+    }
+  }
+
+  /** Removes all tiles of a tile overlay. */
+  void clear(@NonNull String tileOverlayId) {
+    synchronized (this) {
+      tileOverlayIdToGeneration.put(tileOverlayId, getGeneration(tileOverlayId) + 1);
+      for (TileKey key : memoryCache.snapshot().keySet()) {
+        if (key.tileOverlayId.equals(tileOverlayId)) {
+          memoryCache.remove(key);
+        }
+      }
+      final Iterator<Map.Entry<TileKey, Integer>> diskTiles = diskTileSizes.entrySet().iterator();
+      while (diskTiles.hasNext()) {
+        final Map.Entry<TileKey, Integer> diskTile = diskTiles.next();
+        if (diskTile.getKey().tileOverlayId.equals(tileOverlayId)) {
+          diskSizeBytes -= diskTile.getValue();
+          diskTiles.remove();
+        }
+      }
+    }
+    final File tileOverlayDirectory = getTileOverlayDirectory(tileOverlayId);
+    if (tileOverlayDirectory != null) {
+      diskExecutor.execute(() -> deleteRecursively(tileOverlayDirectory));
+    }
+  }
+
+  /** Returns the number of bytes of tile data currently kept in memory. */
+  int getMemorySizeBytes() {
+    return memoryCache.size();
+  }
+
+  /** Returns the number of bytes of tile data currently kept on disk. */
+  synchronized long getDiskSizeBytes() {
+    return diskSizeBytes;
+  }
+
+  @Nullable
+  private Tile readFromDisk(TileKey key) {
+    synchronized (this) {
+      if (diskTileSizes.get(key) == null) {
+        return null;
+      }
+    }
+    final File file = getTileFile(key);
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      final int width = input.readInt();
+      final int height = input.readInt();
+      final byte[] data = new byte[input.readInt()];
+      input.readFully(data);
+      return new Tile(width, height, data);
+    } catch (IOException e) {
+      // The tile was evicted or cleared while it was read.
+      return null;
+    }
+  }
+
+  private void writeToDisk(TileKey key, Tile tile, int generation) {
+    final File file = getTileFile(key);
+    if (file == null || tile.data.length > maxDiskSizeBytes) {
+      return;
+    }
+    final File directory = file.getParentFile();
+    final File temporaryFile = new File(directory, file.getName() + ".tmp");
+    try {
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        return;
+      }
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+        output.writeInt(tile.width);
+        output.writeInt(tile.height);
+        output.writeInt(tile.data.length);
+        output.write(tile.data);
+      }
+      synchronized (this) {
+        if (generation != getGeneration(key.tileOverlayId) || !temporaryFile.renameTo(file)) {
+          temporaryFile.delete();
+          return;
+        }
+        final Integer previousSize = diskTileSizes.put(key, tile.data.length);
+        diskSizeBytes += tile.data.length - (previousSize == null ? 0 : previousSize);
+        trimDisk();
+      }
+    } catch (IOException e) {
+      Log.w(TAG, "Can't write tile to disk cache", e);
+      temporaryFile.delete();
+    }
+  }
+
+  // Must be called while holding the lock of this cache.
+  private void trimDisk() {
+    final Iterator<Map.Entry<TileKey, Integer>> diskTiles = diskTileSizes.entrySet().iterator();
+    while (diskSizeBytes > maxDiskSizeBytes && diskTiles.hasNext()) {
+      final Map.Entry<TileKey, Integer> diskTile = diskTiles.next();
+      diskSizeBytes -= diskTile.getValue();
+      diskTiles.remove();
+      final File file = getTileFile(diskTile.getKey());
+      if (file != null) {
+        file.delete();
+      }
+    }
+  }
+
+  @Nullable
+  private File getTileOverlayDirectory(String tileOverlayId) {
+    if (diskDirectory == null) {
+      return null;
+    }
+    try {
+      // The prefix keeps ids like ".." from naming other directories.
+      return new File(diskDirectory, "overlay_" + URLEncoder.encode(tileOverlayId, "UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Nullable
+  private File getTileFile(TileKey key) {
+    final File tileOverlayDirectory = getTileOverlayDirectory(key.tileOverlayId);
+    if (tileOverlayDirectory == null) {
+      return null;
+    }
+    return new File(tileOverlayDirectory, key.zoom + "_" + key.x + "_" + key.y + ".tile");
+  }
+
+  private static void deleteRecursively(File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static final class TileKey {
+    final String tileOverlayId;
+    final int x;
+    final int y;
+    final int zoom;
+
+    TileKey(String tileOverlayId, int x, int y, int zoom) {
+      this.tileOverlayId = tileOverlayId;
+      this.x = x;
+      this.y = y;
+      this.zoom = zoom;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final TileKey other = (TileKey) o;
+      return x == other.x
+          && y == other.y
+          && zoom == other.zoom
+          && tileOverlayId.equals(other.tileOverlayId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tileOverlayId, x, y, zoom);
+    }
+  }
+}
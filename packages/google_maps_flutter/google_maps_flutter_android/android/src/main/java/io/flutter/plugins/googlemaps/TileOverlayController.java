@@ -4,15 +4,27 @@
 
 package io.flutter.plugins.googlemaps;
 
+import androidx.annotation.Nullable;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileProvider;
 
 class TileOverlayController implements TileOverlaySink {
 
   private final TileOverlay tileOverlay;
+  private final @Nullable PrefetchingTileProvider tileProvider;
+  private final @Nullable Messages.PlatformUrlTileProvider urlTileProvider;
 
   TileOverlayController(TileOverlay tileOverlay) {
+    this(tileOverlay, null, null);
+  }
+
+  TileOverlayController(
+      TileOverlay tileOverlay,
+      @Nullable PrefetchingTileProvider tileProvider,
+      @Nullable Messages.PlatformUrlTileProvider urlTileProvider) {
     this.tileOverlay = tileOverlay;
+    this.tileProvider = tileProvider;
+    this.urlTileProvider = urlTileProvider;
   }
 
   void remove() {
@@ -27,6 +39,17 @@ class TileOverlayController implements TileOverlaySink {
     return tileOverlay;
   }
 
+  @Nullable
+  PrefetchingTileProvider getTileProvider() {
+    return tileProvider;
+  }
+
+  /** Returns the URL tile provider the tiles are fetched from, or null if they come from Dart. */
+  @Nullable
+  Messages.PlatformUrlTileProvider getUrlTileProvider() {
+    return urlTileProvider;
+  }
+
   @Override
   public void setFadeIn(boolean fadeIn) {
     tileOverlay.setFadeIn(fadeIn);
@@ -6,23 +6,37 @@ package io.flutter.plugins.googlemaps;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 class TileOverlaysController {
+  /** Number of rows and columns of tiles around the visible ones that are prefetched. */
+  private static final int PREFETCH_TILE_MARGIN = 1;
+
+  /** Maximum number of tiles prefetched for each tile overlay when the camera becomes idle. */
+  private static final int MAX_PREFETCHED_TILES = 64;
 
   private final Map<String, TileOverlayController> tileOverlayIdToController;
   private final MapsCallbackApi flutterApi;
+  private final @Nullable TileCache tileCache;
   private GoogleMap googleMap;
 
   TileOverlaysController(MapsCallbackApi flutterApi) {
+    this(flutterApi, null);
+  }
+
+  TileOverlaysController(MapsCallbackApi flutterApi, @Nullable TileCache tileCache) {
     this.tileOverlayIdToController = new HashMap<>();
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
   }
 
   void setGoogleMap(GoogleMap googleMap) {
@@ -59,10 +73,79 @@ class TileOverlaysController {
     }
     TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
     if (tileOverlayController != null) {
+      // Clear the native cache first, so that the map requests the tiles from Dart again.
+      if (tileCache != null) {
+        tileCache.clear(tileOverlayId);
+      }
       tileOverlayController.clearTileCache();
     }
   }
 
+  /**
+   * Prefetches the tiles of each tile overlay in a margin around the visible region of the map into
+   * the tile cache, so that they are shown right away when the map is panned.
+   */
+  void prefetchTilesAroundVisibleRegion() {
+    if (tileCache == null || googleMap == null || tileOverlayIdToController.isEmpty()) {
+      return;
+    }
+    final LatLngBounds bounds = googleMap.getProjection().getVisibleRegion().latLngBounds;
+    final int zoom = Math.max(0, (int) Math.floor(googleMap.getCameraPosition().zoom));
+    final int tileCount = 1 << zoom;
+
+    final int visibleMinX = longitudeToTileX(bounds.southwest.longitude, tileCount);
+    int visibleMaxX = longitudeToTileX(bounds.northeast.longitude, tileCount);
+    if (visibleMaxX < visibleMinX) {
+      // The visible region crosses the antimeridian.
+      visibleMaxX += tileCount;
+    }
+    final int visibleMinY = latitudeToTileY(bounds.northeast.latitude, tileCount);
+    final int visibleMaxY = latitudeToTileY(bounds.southwest.latitude, tileCount);
+    int minX = visibleMinX - PREFETCH_TILE_MARGIN;
+    int maxX = visibleMaxX + PREFETCH_TILE_MARGIN;
+    if (maxX - minX + 1 > tileCount) {
+      // The whole width of the world is visible, so there are no columns around it.
+      minX = visibleMinX;
+      maxX = Math.min(visibleMaxX, visibleMinX + tileCount - 1);
+    }
+    final int minY = Math.max(0, visibleMinY - PREFETCH_TILE_MARGIN);
+    final int maxY = Math.min(tileCount - 1, visibleMaxY + PREFETCH_TILE_MARGIN);
+
+    for (TileOverlayController tileOverlayController : tileOverlayIdToController.values()) {
+      final PrefetchingTileProvider tileProvider = tileOverlayController.getTileProvider();
+      if (tileProvider == null) {
+        continue;
+      }
+      int prefetchedTiles = 0;
+      for (int y = minY; y <= maxY && prefetchedTiles < MAX_PREFETCHED_TILES; y++) {
+        for (int x = minX; x <= maxX && prefetchedTiles < MAX_PREFETCHED_TILES; x++) {
+          final boolean visible =
+              x >= visibleMinX && x <= visibleMaxX && y >= visibleMinY && y <= visibleMaxY;
+          if (!visible) {
+            // The map requests visible tiles itself.
+            tileProvider.prefetchTile((x + tileCount) % tileCount, y, zoom);
+            prefetchedTiles++;
+          }
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static int longitudeToTileX(double longitude, int tileCount) {
+    final int x = (int) Math.floor((longitude + 180) / 360 * tileCount);
+    return Math.min(Math.max(x, 0), tileCount - 1);
+  }
+
+  @VisibleForTesting
+  static int latitudeToTileY(double latitude, int tileCount) {
+    final double latitudeRadians = Math.toRadians(latitude);
+    final double mercatorY =
+        Math.log(Math.tan(latitudeRadians) + 1 / Math.cos(latitudeRadians)) / Math.PI;
+    final int y = (int) Math.floor((1 - mercatorY) / 2 * tileCount);
+    return Math.min(Math.max(y, 0), tileCount - 1);
+  }
+
   @Nullable
   TileOverlay getTileOverlay(String tileOverlayId) {
     if (tileOverlayId == null) {
@@ -79,21 +162,40 @@ class TileOverlaysController {
     TileOverlayBuilder tileOverlayOptionsBuilder = new TileOverlayBuilder();
     String tileOverlayId =
         Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayOptionsBuilder);
-    TileProviderController tileProviderController =
-        new TileProviderController(flutterApi, tileOverlayId);
-    tileOverlayOptionsBuilder.setTileProvider(tileProviderController);
+    Messages.PlatformUrlTileProvider urlTileProvider = platformTileOverlay.getUrlTileProvider();
+    PrefetchingTileProvider tileProvider;
+    if (urlTileProvider != null) {
+      tileProvider =
+          new UrlTemplateTileProvider(
+              tileOverlayId,
+              urlTileProvider,
+              platformTileOverlay.getTileSize().intValue(),
+              tileCache);
+    } else {
+      tileProvider = new TileProviderController(flutterApi, tileOverlayId, tileCache);
+    }
+    tileOverlayOptionsBuilder.setTileProvider(tileProvider);
     TileOverlayOptions options = tileOverlayOptionsBuilder.build();
     TileOverlay tileOverlay = googleMap.addTileOverlay(options);
-    TileOverlayController tileOverlayController = new TileOverlayController(tileOverlay);
+    TileOverlayController tileOverlayController =
+        new TileOverlayController(tileOverlay, tileProvider, urlTileProvider);
     tileOverlayIdToController.put(tileOverlayId, tileOverlayController);
   }
 
   private void changeTileOverlay(@NonNull Messages.PlatformTileOverlay platformTileOverlay) {
     String tileOverlayId = platformTileOverlay.getTileOverlayId();
     TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
-    if (tileOverlayController != null) {
-      Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayController);
+    if (tileOverlayController == null) {
+      return;
     }
+    if (!Objects.equals(
+        tileOverlayController.getUrlTileProvider(), platformTileOverlay.getUrlTileProvider())) {
+      // The tile provider of a tile overlay can't be changed, so replace the tile overlay.
+      removeTileOverlay(tileOverlayId);
+      addTileOverlay(platformTileOverlay);
+      return;
+    }
+    Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayController);
   }
 
   private void removeTileOverlay(String tileOverlayId) {
@@ -101,6 +203,9 @@ class TileOverlaysController {
     if (tileOverlayController != null) {
       tileOverlayController.remove();
       tileOverlayIdToController.remove(tileOverlayId);
+      if (tileCache != null) {
+        tileCache.clear(tileOverlayId);
+      }
     }
   }
 
@@ -15,23 +15,74 @@ import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.util.concurrent.CountDownLatch;
 
-class TileProviderController implements TileProvider {
+class TileProviderController implements PrefetchingTileProvider {
 
   private static final String TAG = "TileProviderController";
 
   protected final String tileOverlayId;
   protected final @NonNull MapsCallbackApi flutterApi;
   protected final Handler handler = new Handler(Looper.getMainLooper());
+  private final @Nullable TileCache tileCache;
 
   TileProviderController(@NonNull MapsCallbackApi flutterApi, String tileOverlayId) {
+    this(flutterApi, tileOverlayId, null);
+  }
+
+  TileProviderController(
+      @NonNull MapsCallbackApi flutterApi, String tileOverlayId, @Nullable TileCache tileCache) {
     this.tileOverlayId = tileOverlayId;
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
   }
 
   @Override
   public Tile getTile(final int x, final int y, final int zoom) {
-    Worker worker = new Worker(x, y, zoom);
-    return worker.getTile();
+    if (tileCache == null) {
+      return new Worker(x, y, zoom).getTile();
+    }
+    final Tile cachedTile = tileCache.get(tileOverlayId, x, y, zoom);
+    if (cachedTile != null) {
+      return cachedTile;
+    }
+    final int generation = tileCache.getGeneration(tileOverlayId);
+    final Tile tile = new Worker(x, y, zoom).getTile();
+    if (tile != TileProvider.NO_TILE) {
+      tileCache.put(tileOverlayId, x, y, zoom, tile, generation);
+    }
+    return tile;
+  }
+
+  /** Requests a tile from Dart into the tile cache, unless it is already cached. */
+  @Override
+  public void prefetchTile(final int x, final int y, final int zoom) {
+    if (tileCache == null || tileCache.contains(tileOverlayId, x, y, zoom)) {
+      return;
+    }
+    final int generation = tileCache.getGeneration(tileOverlayId);
+    final Messages.PlatformPoint location =
+        new Messages.PlatformPoint.Builder().setX((long) x).setY((long) y).build();
+    flutterApi.getTileOverlayTile(
+        tileOverlayId,
+        location,
+        (long) zoom,
+        new Messages.Result<Messages.PlatformTile>() {
+          @Override
+          public void success(@NonNull Messages.PlatformTile result) {
+            try {
+              tileCache.put(tileOverlayId, x, y, zoom, Convert.tileFromPigeon(result), generation);
+            } catch (Exception e) {
+              Log.e(TAG, "Can't parse prefetched tile data", e);
+            }
+          }
+
+          @Override
+          public void error(@NonNull Throwable error) {
+            Log.w(
+                TAG,
+                String.format("Can't prefetch tile: x = %d, y= %d, zoom = %d", x, y, zoom),
+                error);
+          }
+        });
   }
 
   private final class Worker implements Messages.Result<Messages.PlatformTile> {
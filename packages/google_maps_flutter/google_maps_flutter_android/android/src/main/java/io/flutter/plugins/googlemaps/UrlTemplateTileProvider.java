@@ -0,0 +1,211 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.Tile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the tiles of a tile overlay by fetching them natively from a URL template, without a
+ * round trip to Dart.
+ *
+ * <p>The map requests tiles from several threads at once, and prefetched tiles are fetched on a
+ * shared pool of threads, so tiles are fetched in parallel. At most {@link #MAX_CONNECTIONS}
+ * requests are in flight at a time across all tile overlays, and responses are read to the end so
+ * that HttpURLConnection returns their connections to its keep-alive pool for reuse.
+ */
+class UrlTemplateTileProvider implements PrefetchingTileProvider {
+  private static final String TAG = "UrlTemplateTileProvider";
+
+  static final int MAX_CONNECTIONS = 4;
+  private static final int CONNECT_TIMEOUT_MILLIS = 15000;
+  private static final int READ_TIMEOUT_MILLIS = 15000;
+
+  private static final Semaphore SHARED_CONNECTION_PERMITS = new Semaphore(MAX_CONNECTIONS);
+  private static final Executor SHARED_PREFETCH_EXECUTOR = createPrefetchExecutor();
+
+  private final String tileOverlayId;
+  private final String urlTemplate;
+  private final Map<String, String> headers;
+  private final int tileSize;
+  private final @Nullable TileCache tileCache;
+  private final Semaphore connectionPermits;
+  private final Executor prefetchExecutor;
+  // Tiles that are being prefetched, so that each of them is only fetched once.
+  private final Set<String> pendingPrefetches = Collections.synchronizedSet(new HashSet<>());
+
+  UrlTemplateTileProvider(
+      @NonNull String tileOverlayId,
+      @NonNull Messages.PlatformUrlTileProvider urlTileProvider,
+      int tileSize,
+      @Nullable TileCache tileCache) {
+    this(
+        tileOverlayId,
+        urlTileProvider,
+        tileSize,
+        tileCache,
+        SHARED_CONNECTION_PERMITS,
+        SHARED_PREFETCH_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  UrlTemplateTileProvider(
+      @NonNull String tileOverlayId,
+      @NonNull Messages.PlatformUrlTileProvider urlTileProvider,
+      int tileSize,
+      @Nullable TileCache tileCache,
+      @NonNull Semaphore connectionPermits,
+      @NonNull Executor prefetchExecutor) {
+    this.tileOverlayId = tileOverlayId;
+    this.urlTemplate = urlTileProvider.getUrlTemplate();
+    this.headers = urlTileProvider.getHeaders();
+    this.tileSize = tileSize;
+    this.tileCache = tileCache;
+    this.connectionPermits = connectionPermits;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  private static Executor createPrefetchExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            MAX_CONNECTIONS, MAX_CONNECTIONS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    // Don't keep threads alive while no tiles are prefetched.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public Tile getTile(int x, int y, int zoom) {
+    if (tileCache == null) {
+      return fetchTile(x, y, zoom);
+    }
+    final Tile cachedTile = tileCache.get(tileOverlayId, x, y, zoom);
+    if (cachedTile != null) {
+      return cachedTile;
+    }
+    final int generation = tileCache.getGeneration(tileOverlayId);
+    final Tile tile = fetchTile(x, y, zoom);
+    if (tile != null && tile != NO_TILE) {
+      tileCache.put(tileOverlayId, x, y, zoom, tile, generation);
+    }
+    return tile;
+  }
+
+  /** Fetches a tile into the tile cache on a background thread, unless it is already cached. */
+  @Override
+  public void prefetchTile(final int x, final int y, final int zoom) {
+    if (tileCache == null || tileCache.contains(tileOverlayId, x, y, zoom)) {
+      return;
+    }
+    final String pendingPrefetch = zoom + "/" + x + "/" + y;
+    if (!pendingPrefetches.add(pendingPrefetch)) {
+      return;
+    }
+    final int generation = tileCache.getGeneration(tileOverlayId);
+    prefetchExecutor.execute(
+        () -> {
+          try {
+            final Tile tile = fetchTile(x, y, zoom);
+            if (tile != null && tile != NO_TILE) {
+              tileCache.put(tileOverlayId, x, y, zoom, tile, generation);
+            }
+          } finally {
+            pendingPrefetches.remove(pendingPrefetch);
+          }
+        });
+  }
+
+  @VisibleForTesting
+  @NonNull
+  String getTileUrl(int x, int y, int zoom) {
+    return urlTemplate
+        .replace("{x}", Integer.toString(x))
+        .replace("{y}", Integer.toString(y))
+        .replace("{z}", Integer.toString(zoom));
+  }
+
+  /**
+   * Fetches a tile.
+   *
+   * @return the tile, {@link #NO_TILE} if the server has no tile at these coordinates, or null if
+   *     the tile can't be fetched right now, in which case the map requests it again later.
+   */
+  @Nullable
+  private Tile fetchTile(int x, int y, int zoom) {
+    final URL url;
+    try {
+      url = new URL(getTileUrl(x, y, zoom));
+    } catch (MalformedURLException e) {
+      Log.e(TAG, "Invalid tile URL template: " + urlTemplate, e);
+      return NO_TILE;
+    }
+    try {
+      connectionPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    try {
+      final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+      connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        connection.setRequestProperty(header.getKey(), header.getValue());
+      }
+      final int responseCode = connection.getResponseCode();
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        // Read the error body too, so that the connection can be reused.
+        readFully(connection.getErrorStream());
+        Log.w(
+            TAG,
+            String.format(
+                "Can't fetch tile: x = %d, y= %d, zoom = %d, responseCode = %d",
+                x, y, zoom, responseCode));
+        // Server errors may be temporary, so let the map request the tile again.
+        return responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR ? null : NO_TILE;
+      }
+      return new Tile(tileSize, tileSize, readFully(connection.getInputStream()));
+    } catch (IOException e) {
+      Log.w(TAG, String.format("Can't fetch tile: x = %d, y= %d, zoom = %d", x, y, zoom), e);
+      return null;
+    } finally {
+      connectionPermits.release();
+    }
+  }
+
+  @NonNull
+  private static byte[] readFully(@Nullable InputStream inputStream) throws IOException {
+    if (inputStream == null) {
+      return new byte[0];
+    }
+    try (InputStream input = inputStream) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+}
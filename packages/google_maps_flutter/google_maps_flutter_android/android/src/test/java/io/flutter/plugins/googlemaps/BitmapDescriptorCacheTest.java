@@ -0,0 +1,91 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BitmapDescriptorCacheTest {
+  private static BitmapDescriptorCache.Key bytesKey(byte[] bytes, float density) {
+    return BitmapDescriptorCache.Key.forBytes(
+        new Messages.PlatformBitmapBytesMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setImagePixelRatio(1.0)
+            .setByteData(bytes)
+            .build(),
+        density);
+  }
+
+  private static BitmapDescriptorCache.Key assetKey(String assetName, Double width) {
+    return BitmapDescriptorCache.Key.forAsset(
+        new Messages.PlatformBitmapAssetMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setImagePixelRatio(1.0)
+            .setAssetName(assetName)
+            .setWidth(width)
+            .build(),
+        1f);
+  }
+
+  @Test
+  public void keysOfIdenticalContentAreEqual() {
+    assertEquals(bytesKey(new byte[] {1, 2, 3}, 1f), bytesKey(new byte[] {1, 2, 3}, 1f));
+    assertEquals(assetKey("icon.png", 10.0), assetKey("icon.png", 10.0));
+  }
+
+  @Test
+  public void keysOfDifferentContentOrScalingDiffer() {
+    assertNotEquals(bytesKey(new byte[] {1, 2, 3}, 1f), bytesKey(new byte[] {1, 2, 4}, 1f));
+    assertNotEquals(bytesKey(new byte[] {1, 2, 3}, 1f), bytesKey(new byte[] {1, 2, 3}, 2f));
+    assertNotEquals(assetKey("icon.png", 10.0), assetKey("other.png", 10.0));
+    assertNotEquals(assetKey("icon.png", 10.0), assetKey("icon.png", 20.0));
+  }
+
+  @Test
+  public void getReturnsCachedBitmapDescriptorAndCountsHitsAndMisses() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache(1024);
+    final BitmapDescriptor bitmapDescriptor = mock(BitmapDescriptor.class);
+
+    assertNull(cache.get(assetKey("icon.png", 10.0)));
+    cache.put(assetKey("icon.png", 10.0), bitmapDescriptor, 100);
+
+    assertSame(bitmapDescriptor, cache.get(assetKey("icon.png", 10.0)));
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+    assertEquals(100, cache.sizeBytes());
+  }
+
+  @Test
+  public void putEvictsLeastRecentlyUsedBitmapDescriptorsBeyondMaxSize() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache(250);
+    cache.put(assetKey("a.png", 10.0), mock(BitmapDescriptor.class), 100);
+    cache.put(assetKey("b.png", 10.0), mock(BitmapDescriptor.class), 100);
+    // Makes b.png the least recently used entry.
+    cache.get(assetKey("a.png", 10.0));
+
+    cache.put(assetKey("c.png", 10.0), mock(BitmapDescriptor.class), 100);
+
+    assertNull(cache.get(assetKey("b.png", 10.0)));
+    assertEquals(200, cache.sizeBytes());
+  }
+
+  @Test
+  public void sizeIncludesTheBytesTheKeysHold() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache(1024);
+
+    cache.put(bytesKey(new byte[10], 1f), mock(BitmapDescriptor.class), 100);
+
+    assertEquals(110, cache.sizeBytes());
+  }
+}
@@ -27,6 +27,7 @@ import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -128,6 +129,51 @@ public class ClusterManagersControllerTest {
     assertEquals("Cluster should contain exactly 2 markers", 2, cluster.getSize());
   }
 
+  @Test
+  public void AddAndRemoveItemsInBatches() {
+    final String clusterManagerId = "cm_1";
+    final String markerId1 = "mid_1";
+    final String markerId2 = "mid_2";
+
+    final List<Double> location = new ArrayList<>();
+    location.add(1.1);
+    location.add(2.2);
+
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).build());
+    Messages.PlatformClusterManager initialClusterManager =
+        new Messages.PlatformClusterManager.Builder().setIdentifier(clusterManagerId).build();
+    controller.addClusterManagers(Collections.singletonList(initialClusterManager));
+
+    MarkerBuilder markerBuilder1 = new MarkerBuilder(markerId1, clusterManagerId);
+    MarkerBuilder markerBuilder2 = new MarkerBuilder(markerId2, clusterManagerId);
+    Convert.interpretMarkerOptions(
+        createPlatformMarker(markerId1, location, clusterManagerId),
+        markerBuilder1,
+        assetManager,
+        density,
+        bitmapFactory);
+    Convert.interpretMarkerOptions(
+        createPlatformMarker(markerId2, location, clusterManagerId),
+        markerBuilder2,
+        assetManager,
+        density,
+        bitmapFactory);
+
+    controller.addItems(Arrays.asList(markerBuilder1, markerBuilder2));
+
+    Set<? extends Cluster<MarkerBuilder>> clusters =
+        controller.getClustersWithClusterManagerId(clusterManagerId);
+    assertEquals("Amount of clusters should be 1", 1, clusters.size());
+    assertEquals(
+        "Cluster should contain exactly 2 markers", 2, clusters.iterator().next().getSize());
+
+    controller.removeItems(Arrays.asList(markerBuilder1, markerBuilder2));
+
+    clusters = controller.getClustersWithClusterManagerId(clusterManagerId);
+    assertTrue("Cluster manager should have no clusters left", clusters.isEmpty());
+  }
+
   @Test
   public void OnClusterClickCallsMethodChannel() {
     String clusterManagerId = "cm_1";
@@ -153,6 +153,43 @@ public class ConvertTest {
     Assert.assertEquals(mockBitmapDescriptor, result);
   }
 
+  @Test
+  public void GetBitmapFromAssetAutoReusesCachedBitmapDescriptor() throws Exception {
+    String fakeAssetName = "fake_asset_name";
+    String fakeAssetKey = "fake_asset_key";
+    final BitmapDescriptorCache cache =
+        new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES);
+
+    when(flutterInjectorWrapper.getLookupKeyForAsset(fakeAssetName)).thenReturn(fakeAssetKey);
+
+    when(assetManager.open(fakeAssetKey)).thenReturn(TestImageUtils.buildImageInputStream());
+
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any())).thenReturn(mockBitmapDescriptor);
+    Messages.PlatformBitmapAssetMap bitmap =
+        new Messages.PlatformBitmapAssetMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setWidth(15.0)
+            .setImagePixelRatio(2.0)
+            .setAssetName(fakeAssetName)
+            .build();
+
+    Convert.getBitmapFromAsset(
+        bitmap, assetManager, 1.0f, bitmapDescriptorFactoryWrapper, flutterInjectorWrapper, cache);
+    BitmapDescriptor result =
+        Convert.getBitmapFromAsset(
+            bitmap,
+            assetManager,
+            1.0f,
+            bitmapDescriptorFactoryWrapper,
+            flutterInjectorWrapper,
+            cache);
+
+    Assert.assertEquals(mockBitmapDescriptor, result);
+    verify(assetManager, times(1)).open(fakeAssetKey);
+    verify(bitmapDescriptorFactoryWrapper, times(1)).fromBitmap(any());
+    Assert.assertEquals(1, cache.hitCount());
+  }
+
   @Test
   public void GetBitmapFromAssetAutoAndWidth() throws Exception {
     String fakeAssetName = "fake_asset_name";
@@ -327,6 +364,55 @@ public class ConvertTest {
     fail("Expected an IllegalArgumentException to be thrown");
   }
 
+  @Test
+  public void GetBitmapFromBytesReusesCachedBitmapDescriptorForIdenticalBytes() {
+    final BitmapDescriptorCache cache =
+        new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES);
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any())).thenReturn(mockBitmapDescriptor);
+    Messages.PlatformBitmapBytesMap bitmap =
+        new Messages.PlatformBitmapBytesMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setImagePixelRatio(2.0)
+            .setByteData(Base64.decode(base64Image, Base64.DEFAULT))
+            .build();
+    Messages.PlatformBitmapBytesMap identicalBitmap =
+        new Messages.PlatformBitmapBytesMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setImagePixelRatio(2.0)
+            .setByteData(Base64.decode(base64Image, Base64.DEFAULT))
+            .build();
+
+    Convert.getBitmapFromBytes(bitmap, 1f, bitmapDescriptorFactoryWrapper, cache);
+    BitmapDescriptor result =
+        Convert.getBitmapFromBytes(identicalBitmap, 1f, bitmapDescriptorFactoryWrapper, cache);
+
+    Assert.assertEquals(mockBitmapDescriptor, result);
+    verify(bitmapDescriptorFactoryWrapper, times(1)).fromBitmap(any());
+    Assert.assertEquals(1, cache.hitCount());
+    Assert.assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void GetBitmapFromBytesDoesNotReuseCachedBitmapDescriptorForOtherScaling() {
+    final BitmapDescriptorCache cache =
+        new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES);
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any())).thenReturn(mockBitmapDescriptor);
+    byte[] bmpData = Base64.decode(base64Image, Base64.DEFAULT);
+    Messages.PlatformBitmapBytesMap bitmap =
+        new Messages.PlatformBitmapBytesMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+            .setImagePixelRatio(2.0)
+            .setByteData(bmpData)
+            .build();
+
+    Convert.getBitmapFromBytes(bitmap, 1f, bitmapDescriptorFactoryWrapper, cache);
+    Convert.getBitmapFromBytes(bitmap, 2f, bitmapDescriptorFactoryWrapper, cache);
+
+    verify(bitmapDescriptorFactoryWrapper, times(2)).fromBitmap(any());
+    Assert.assertEquals(0, cache.hitCount());
+    Assert.assertEquals(2, cache.missCount());
+  }
+
   @Test
   public void interpretMapConfiguration_handlesNulls() {
     final Messages.PlatformMapConfiguration config =
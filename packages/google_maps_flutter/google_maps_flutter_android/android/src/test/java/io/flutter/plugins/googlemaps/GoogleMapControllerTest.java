@@ -71,7 +71,7 @@ public class GoogleMapControllerTest {
   // See getGoogleMapControllerWithMockedDependencies for version with dependency injections.
   public GoogleMapController getGoogleMapController() {
     GoogleMapController googleMapController =
-        new GoogleMapController(0, context, mockMessenger, activity::getLifecycle, null);
+        new GoogleMapController(0, context, mockMessenger, activity::getLifecycle, null, false);
     googleMapController.init();
     return googleMapController;
   }
@@ -8,13 +8,16 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.content.Context;
 import android.content.res.AssetManager;
 import android.graphics.Bitmap;
+import android.os.Looper;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.LatLng;
@@ -24,6 +27,9 @@ import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import org.junit.After;
@@ -31,6 +37,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -201,9 +208,11 @@ public class MarkersControllerTest {
 
     // Add marker and capture the markerBuilder
     controller.addMarkers(Collections.singletonList(builder.build()));
-    ArgumentCaptor<MarkerBuilder> captor = ArgumentCaptor.forClass(MarkerBuilder.class);
-    Mockito.verify(clusterManagersController, times(1)).addItem(captor.capture());
-    MarkerBuilder capturedMarkerBuilder = captor.getValue();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<MarkerBuilder>> captor = ArgumentCaptor.forClass(Collection.class);
+    Mockito.verify(clusterManagersController, times(1)).addItems(captor.capture());
+    assertEquals(1, captor.getValue().size());
+    MarkerBuilder capturedMarkerBuilder = captor.getValue().iterator().next();
     assertEquals(clusterManagerId, capturedMarkerBuilder.clusterManagerId());
 
     // clusterManagersController calls onClusterItemRendered with created marker.
@@ -226,9 +235,47 @@ public class MarkersControllerTest {
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
     Mockito.verify(clusterManagersController, times(1))
-        .removeItem(
+        .removeItems(
             Mockito.argThat(
-                markerBuilder -> markerBuilder.clusterManagerId().equals(clusterManagerId)));
+                markerBuilders ->
+                    markerBuilders.size() == 1
+                        && markerBuilders
+                            .iterator()
+                            .next()
+                            .clusterManagerId()
+                            .equals(clusterManagerId)));
+  }
+
+  @Test
+  public void controller_UpdateMarkersHandsClusterItemsToClusterManagersInOneBatch() {
+    final String clusterManagerId = "cm123";
+    final Messages.PlatformMarker marker1 =
+        defaultMarkerBuilder().setMarkerId("m1").setClusterManagerId(clusterManagerId).build();
+    final Messages.PlatformMarker marker2 =
+        defaultMarkerBuilder().setMarkerId("m2").setClusterManagerId(clusterManagerId).build();
+    final Messages.PlatformMarker marker3 =
+        defaultMarkerBuilder().setMarkerId("m3").setClusterManagerId(clusterManagerId).build();
+    controller.addMarkers(Collections.singletonList(marker1));
+    Mockito.clearInvocations(clusterManagersController);
+
+    // m3 is added and removed by the same update, so it never reaches the cluster manager.
+    controller.updateMarkers(
+        Arrays.asList(marker2, marker3), Collections.emptyList(), Arrays.asList("m1", "m3"));
+
+    Mockito.verify(clusterManagersController, times(1))
+        .addItems(
+            Mockito.argThat(
+                markerBuilders ->
+                    markerBuilders.size() == 1
+                        && markerBuilders.iterator().next().markerId().equals("m2")));
+    Mockito.verify(clusterManagersController, times(1))
+        .removeItems(
+            Mockito.argThat(
+                markerBuilders ->
+                    markerBuilders.size() == 1
+                        && markerBuilders.iterator().next().markerId().equals("m1")));
+    Mockito.verify(clusterManagersController, times(0)).addItem(any());
+    Mockito.verify(clusterManagersController, times(0)).removeItem(any());
   }
 
   @Test
@@ -248,7 +295,7 @@ public class MarkersControllerTest {
     controller.addMarkers(Collections.singletonList(builder.build()));
 
     // clusterManagersController should not be called when adding the marker
-    Mockito.verify(clusterManagersController, times(0)).addItem(any());
+    Mockito.verify(clusterManagersController, times(0)).addItems(any());
 
     Mockito.verify(spyMarkerCollection, times(1)).addMarker(any(MarkerOptions.class));
 
@@ -262,8 +309,120 @@ public class MarkersControllerTest {
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
     // clusterManagersController should not be called when removing the marker
-    Mockito.verify(clusterManagersController, times(0)).removeItem(any());
+    Mockito.verify(clusterManagersController, times(0)).removeItems(any());
 
     Mockito.verify(spyMarkerCollection, times(1)).remove(marker);
   }
+
+  private MarkersController createAsyncController() {
+    // Markers are prepared synchronously, and a single marker is applied per frame.
+    final MarkersController asyncController =
+        new MarkersController(
+            flutterApi,
+            clusterManagersController,
+            assetManager,
+            density,
+            bitmapDescriptorFactoryWrapper,
+            new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES),
+            Runnable::run,
+            0);
+    asyncController.setCollection(markerCollection);
+    return asyncController;
+  }
+
+  @Test
+  public void controller_UpdateMarkersWithResultAppliesMarkersInLaterFrames() {
+    final MarkersController asyncController = createAsyncController();
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(mock(Marker.class));
+    final Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    asyncController.updateMarkers(
+        Arrays.asList(
+            defaultMarkerBuilder().setMarkerId("m1").build(),
+            defaultMarkerBuilder().setMarkerId("m2").build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        result);
+
+    Mockito.verify(googleMap, never()).addMarker(any(MarkerOptions.class));
+    Mockito.verify(result, never()).success();
+
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    Mockito.verify(googleMap, times(2)).addMarker(any(MarkerOptions.class));
+    Mockito.verify(result, times(1)).success();
+  }
+
+  @Test
+  public void controller_UpdateMarkersWithResultCompletesUpdatesInOrder() {
+    final MarkersController asyncController = createAsyncController();
+    final Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn("google_m1");
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+    final Messages.VoidResult addResult = mock(Messages.VoidResult.class);
+    final Messages.VoidResult removeResult = mock(Messages.VoidResult.class);
+
+    asyncController.updateMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("m1").build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        addResult);
+    asyncController.updateMarkers(
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.singletonList("m1"),
+        removeResult);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    final InOrder inOrder = Mockito.inOrder(googleMap, marker, addResult, removeResult);
+    inOrder.verify(googleMap).addMarker(any(MarkerOptions.class));
+    inOrder.verify(addResult).success();
+    inOrder.verify(marker).remove();
+    inOrder.verify(removeResult).success();
+  }
+
+  @Test
+  public void controller_UpdateMarkersWithResultReportsPreparationErrors() {
+    final MarkersController asyncController = createAsyncController();
+    final Messages.PlatformBitmap invalidIcon =
+        new Messages.PlatformBitmap.Builder()
+            .setBitmap(
+                new Messages.PlatformBitmapBytesMap.Builder()
+                    .setByteData(new byte[] {1, 2, 3})
+                    .setImagePixelRatio(1.0)
+                    .setBitmapScaling(Messages.PlatformMapBitmapScaling.NONE)
+                    .build())
+            .build();
+    final Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    asyncController.updateMarkers(
+        Collections.singletonList(
+            defaultMarkerBuilder().setMarkerId("m1").setIcon(invalidIcon).build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        result);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    Mockito.verify(result, times(1)).error(any(IllegalArgumentException.class));
+    Mockito.verify(result, never()).success();
+    Mockito.verify(googleMap, never()).addMarker(any(MarkerOptions.class));
+  }
+
+  @Test
+  public void controller_DisposeFailsPendingUpdates() {
+    final MarkersController asyncController = createAsyncController();
+    final Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    asyncController.updateMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("m1").build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        result);
+    asyncController.dispose();
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    Mockito.verify(googleMap, never()).addMarker(any(MarkerOptions.class));
+    Mockito.verify(result, never()).success();
+    Mockito.verify(result, times(1)).error(any(Messages.FlutterError.class));
+  }
 }
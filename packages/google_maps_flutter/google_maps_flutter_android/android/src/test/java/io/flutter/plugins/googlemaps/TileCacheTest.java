@@ -0,0 +1,138 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.Tile;
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TileCacheTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static Tile createTile(int size) {
+    final byte[] data = new byte[size];
+    data[0] = (byte) size;
+    return new Tile(256, 256, data);
+  }
+
+  @Test
+  public void getReturnsTileOfSameOverlayAndCoordinates() {
+    final TileCache cache = new TileCache(1024, null, 0);
+    final Tile tile = createTile(100);
+
+    cache.put("overlay", 1, 2, 3, tile, cache.getGeneration("overlay"));
+
+    assertSame(tile, cache.get("overlay", 1, 2, 3));
+    assertNull(cache.get("overlay", 2, 1, 3));
+    assertNull(cache.get("overlay", 1, 2, 4));
+    assertNull(cache.get("other_overlay", 1, 2, 3));
+  }
+
+  @Test
+  public void putIgnoresTilesWithoutData() {
+    final TileCache cache = new TileCache(1024, null, 0);
+
+    cache.put("overlay", 0, 0, 0, new Tile(256, 256, null), cache.getGeneration("overlay"));
+
+    assertFalse(cache.contains("overlay", 0, 0, 0));
+  }
+
+  @Test
+  public void memoryTierEvictsLeastRecentlyUsedTilesBeyondMaxSize() {
+    final TileCache cache = new TileCache(250, null, 0);
+    cache.put("overlay", 0, 0, 1, createTile(100), 0);
+    cache.put("overlay", 1, 0, 1, createTile(100), 0);
+    // Makes (1, 0) the least recently used tile.
+    cache.get("overlay", 0, 0, 1);
+
+    cache.put("overlay", 0, 1, 1, createTile(100), 0);
+
+    assertNull(cache.get("overlay", 1, 0, 1));
+    assertEquals(200, cache.getMemorySizeBytes());
+  }
+
+  @Test
+  public void diskTierServesTilesEvictedFromMemory() throws Exception {
+    final TileCache cache =
+        new TileCache(150, temporaryFolder.newFolder("tiles"), 1024, Runnable::run);
+    final Tile tile = createTile(100);
+    cache.put("overlay", 0, 0, 1, tile, 0);
+    cache.put("overlay", 1, 0, 1, createTile(101), 0);
+
+    final Tile diskTile = cache.get("overlay", 0, 0, 1);
+
+    assertNotNull(diskTile);
+    assertEquals(tile.width, diskTile.width);
+    assertEquals(tile.height, diskTile.height);
+    assertArrayEquals(tile.data, diskTile.data);
+    assertEquals(201, cache.getDiskSizeBytes());
+  }
+
+  @Test
+  public void diskTierEvictsLeastRecentlyUsedTilesBeyondMaxSize() throws Exception {
+    final TileCache cache =
+        new TileCache(1, temporaryFolder.newFolder("tiles"), 250, Runnable::run);
+
+    cache.put("overlay", 0, 0, 1, createTile(100), 0);
+    cache.put("overlay", 1, 0, 1, createTile(100), 0);
+    cache.put("overlay", 0, 1, 1, createTile(100), 0);
+
+    assertFalse(cache.contains("overlay", 0, 0, 1));
+    assertTrue(cache.contains("overlay", 1, 0, 1));
+    assertTrue(cache.contains("overlay", 0, 1, 1));
+    assertEquals(200, cache.getDiskSizeBytes());
+  }
+
+  @Test
+  public void creatingCacheDeletesTilesOfPreviousSessions() throws Exception {
+    final File directory = temporaryFolder.newFolder("tiles");
+    new TileCache(1, directory, 1024, Runnable::run).put("overlay", 0, 0, 1, createTile(100), 0);
+
+    final TileCache cache = new TileCache(1, directory, 1024, Runnable::run);
+
+    assertNull(cache.get("overlay", 0, 0, 1));
+    assertFalse(directory.exists());
+  }
+
+  @Test
+  public void clearRemovesOnlyTilesOfTileOverlay() throws Exception {
+    final TileCache cache =
+        new TileCache(1024, temporaryFolder.newFolder("tiles"), 1024, Runnable::run);
+    cache.put("overlay", 0, 0, 1, createTile(100), 0);
+    cache.put("other_overlay", 0, 0, 1, createTile(100), 0);
+
+    cache.clear("overlay");
+
+    assertFalse(cache.contains("overlay", 0, 0, 1));
+    assertNull(cache.get("overlay", 0, 0, 1));
+    assertNotNull(cache.get("other_overlay", 0, 0, 1));
+    assertEquals(100, cache.getMemorySizeBytes());
+    assertEquals(100, cache.getDiskSizeBytes());
+  }
+
+  @Test
+  public void putIgnoresTilesRequestedBeforeClear() {
+    final TileCache cache = new TileCache(1024, null, 0);
+    final int generation = cache.getGeneration("overlay");
+
+    cache.clear("overlay");
+    cache.put("overlay", 0, 0, 1, createTile(100), generation);
+
+    assertNull(cache.get("overlay", 0, 0, 1));
+  }
+}
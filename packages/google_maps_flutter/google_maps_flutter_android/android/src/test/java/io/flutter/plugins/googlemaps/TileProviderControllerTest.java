@@ -0,0 +1,82 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.android.gms.maps.model.Tile;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TileProviderControllerTest {
+  private static final String TILE_OVERLAY_ID = "overlay";
+
+  private final MapsCallbackApi flutterApi = mock(MapsCallbackApi.class);
+  private final TileCache tileCache = new TileCache(1024, null, 0);
+
+  @Test
+  public void getTileReturnsCachedTileWithoutRequestingItFromDart() {
+    final TileProviderController controller =
+        new TileProviderController(flutterApi, TILE_OVERLAY_ID, tileCache);
+    final Tile tile = new Tile(256, 256, new byte[] {1, 2, 3});
+    tileCache.put(TILE_OVERLAY_ID, 1, 2, 3, tile, tileCache.getGeneration(TILE_OVERLAY_ID));
+
+    assertSame(tile, controller.getTile(1, 2, 3));
+    verify(flutterApi, never()).getTileOverlayTile(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void prefetchTileCachesTileFromDart() {
+    final TileProviderController controller =
+        new TileProviderController(flutterApi, TILE_OVERLAY_ID, tileCache);
+    final byte[] data = new byte[] {4, 5, 6};
+    doAnswer(
+            invocation -> {
+              ((Messages.Result<Messages.PlatformTile>) invocation.getArgument(3))
+                  .success(
+                      new Messages.PlatformTile.Builder()
+                          .setWidth(256L)
+                          .setHeight(256L)
+                          .setData(data)
+                          .build());
+              return null;
+            })
+        .when(flutterApi)
+        .getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), eq(3L), any());
+
+    controller.prefetchTile(1, 2, 3);
+    // A cached tile is not requested again.
+    controller.prefetchTile(1, 2, 3);
+
+    verify(flutterApi, times(1)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), eq(3L), any());
+    assertTrue(tileCache.contains(TILE_OVERLAY_ID, 1, 2, 3));
+    assertArrayEquals(data, controller.getTile(1, 2, 3).data);
+  }
+
+  @Test
+  public void tileCoordinatesOfLatLng() {
+    assertEquals(0, TileOverlaysController.longitudeToTileX(-180, 4));
+    assertEquals(2, TileOverlaysController.longitudeToTileX(0, 4));
+    assertEquals(3, TileOverlaysController.longitudeToTileX(180, 4));
+    assertEquals(0, TileOverlaysController.latitudeToTileY(85, 4));
+    assertEquals(2, TileOverlaysController.latitudeToTileY(0, 4));
+    assertEquals(3, TileOverlaysController.latitudeToTileY(-85, 4));
+  }
+}
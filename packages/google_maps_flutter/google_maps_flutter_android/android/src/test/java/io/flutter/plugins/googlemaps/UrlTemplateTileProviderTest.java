@@ -0,0 +1,194 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class UrlTemplateTileProviderTest {
+  private static final String TILE_OVERLAY_ID = "overlay";
+  private static final byte[] TILE_DATA = new byte[] {1, 2, 3};
+
+  private HttpServer server;
+  private final List<String> requestedPaths = Collections.synchronizedList(new ArrayList<>());
+  private final Map<String, String> receivedHeaders = Collections.synchronizedMap(new HashMap<>());
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext(
+        "/tiles",
+        exchange -> {
+          requestedPaths.add(exchange.getRequestURI().getPath());
+          receivedHeaders.put("X-Api-Key", exchange.getRequestHeaders().getFirst("X-Api-Key"));
+          respond(exchange, 200, TILE_DATA);
+        });
+    server.createContext("/missing", exchange -> respond(exchange, 404, new byte[0]));
+    server.createContext("/failing", exchange -> respond(exchange, 503, new byte[0]));
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  private static void respond(HttpExchange exchange, int responseCode, byte[] body)
+      throws IOException {
+    exchange.sendResponseHeaders(responseCode, body.length == 0 ? -1 : body.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+
+  private UrlTemplateTileProvider createProvider(
+      String path, TileCache tileCache, Semaphore connectionPermits) {
+    final Map<String, String> headers = new HashMap<>();
+    headers.put("X-Api-Key", "key");
+    final Messages.PlatformUrlTileProvider urlTileProvider =
+        new Messages.PlatformUrlTileProvider.Builder()
+            .setUrlTemplate(
+                "http://127.0.0.1:" + server.getAddress().getPort() + path + "/{z}/{x}/{y}.png")
+            .setHeaders(headers)
+            .build();
+    return new UrlTemplateTileProvider(
+        TILE_OVERLAY_ID, urlTileProvider, 256, tileCache, connectionPermits, Runnable::run);
+  }
+
+  @Test
+  public void getTileFetchesTileFromUrlTemplateWithHeaders() {
+    final UrlTemplateTileProvider provider = createProvider("/tiles", null, new Semaphore(1));
+
+    final Tile tile = provider.getTile(1, 2, 3);
+
+    assertNotNull(tile);
+    assertEquals(256, tile.width);
+    assertEquals(256, tile.height);
+    assertArrayEquals(TILE_DATA, tile.data);
+    assertEquals(Collections.singletonList("/tiles/3/1/2.png"), requestedPaths);
+    assertEquals("key", receivedHeaders.get("X-Api-Key"));
+  }
+
+  @Test
+  public void getTileReturnsNoTileWhenServerHasNoTile() {
+    final UrlTemplateTileProvider provider = createProvider("/missing", null, new Semaphore(1));
+
+    assertSame(TileProvider.NO_TILE, provider.getTile(1, 2, 3));
+  }
+
+  @Test
+  public void getTileReturnsNullOnServerError() {
+    final UrlTemplateTileProvider provider = createProvider("/failing", null, new Semaphore(1));
+
+    assertNull(provider.getTile(1, 2, 3));
+  }
+
+  @Test
+  public void getTileServesCachedTilesWithoutFetchingThemAgain() {
+    final TileCache tileCache = new TileCache(1024, null, 0);
+    final UrlTemplateTileProvider provider = createProvider("/tiles", tileCache, new Semaphore(1));
+
+    provider.getTile(1, 2, 3);
+    final Tile tile = provider.getTile(1, 2, 3);
+
+    assertArrayEquals(TILE_DATA, tile.data);
+    assertEquals(1, requestedPaths.size());
+  }
+
+  @Test
+  public void prefetchTileStoresTileInCache() {
+    final TileCache tileCache = new TileCache(1024, null, 0);
+    final UrlTemplateTileProvider provider = createProvider("/tiles", tileCache, new Semaphore(1));
+
+    provider.prefetchTile(1, 2, 3);
+
+    assertTrue(tileCache.contains(TILE_OVERLAY_ID, 1, 2, 3));
+    assertArrayEquals(TILE_DATA, provider.getTile(1, 2, 3).data);
+    assertEquals(1, requestedPaths.size());
+  }
+
+  @Test
+  public void getTileFetchesInParallelUpToConnectionLimit() throws Exception {
+    final int maxConnections = 2;
+    final AtomicInteger inFlightRequests = new AtomicInteger();
+    final AtomicInteger maxInFlightRequests = new AtomicInteger();
+    final CountDownLatch limitReached = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    server.createContext(
+        "/slow",
+        exchange -> {
+          final int inFlight = inFlightRequests.incrementAndGet();
+          maxInFlightRequests.accumulateAndGet(inFlight, Math::max);
+          if (inFlight == maxConnections) {
+            limitReached.countDown();
+          }
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          inFlightRequests.decrementAndGet();
+          respond(exchange, 200, TILE_DATA);
+        });
+    final UrlTemplateTileProvider provider =
+        createProvider("/slow", null, new Semaphore(maxConnections));
+    final ExecutorService mapThreads = Executors.newFixedThreadPool(4);
+    final List<Future<Tile>> tiles = new ArrayList<>();
+
+    for (int x = 0; x < 4; x++) {
+      final int tileX = x;
+      tiles.add(mapThreads.submit(() -> provider.getTile(tileX, 0, 2)));
+    }
+    assertTrue(limitReached.await(5, TimeUnit.SECONDS));
+    // Give any request beyond the limit time to reach the server.
+    Thread.sleep(100);
+    release.countDown();
+
+    for (Future<Tile> tile : tiles) {
+      assertArrayEquals(TILE_DATA, tile.get(5, TimeUnit.SECONDS).data);
+    }
+    mapThreads.shutdown();
+    assertEquals(maxConnections, maxInFlightRequests.get());
+  }
+
+  @Test
+  public void getTileUrlReplacesPlaceholders() {
+    final UrlTemplateTileProvider provider = createProvider("/tiles", null, new Semaphore(1));
+
+    assertTrue(provider.getTileUrl(4, 5, 6).endsWith("/tiles/6/4/5.png"));
+  }
+}
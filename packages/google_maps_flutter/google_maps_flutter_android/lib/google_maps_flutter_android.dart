@@ -2,4 +2,5 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+export 'src/android_url_tile_provider.dart';
 export 'src/google_maps_flutter_android.dart';
@@ -0,0 +1,51 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+import 'package:google_maps_flutter_platform_interface/google_maps_flutter_platform_interface.dart';
+
+/// A [TileProvider] whose tiles are fetched natively from a URL template.
+///
+/// On Android, the tiles of a [TileOverlay] with this provider are fetched
+/// directly by the plugin, without a round trip to Dart for each tile. This is
+/// much faster than fetching the tiles from a Dart [TileProvider].
+///
+/// [getTile] is never called on Android, and returns [TileProvider.noTile].
+@immutable
+class AndroidUrlTileProvider implements TileProvider {
+  /// Creates a provider fetching tiles from [urlTemplate].
+  const AndroidUrlTileProvider({
+    required this.urlTemplate,
+    this.headers = const <String, String>{},
+  });
+
+  /// The URL of each tile, in which `{x}`, `{y}` and `{z}` are replaced by the
+  /// coordinates and the zoom of the tile.
+  ///
+  /// For example, `https://tile.example.com/{z}/{x}/{y}.png`.
+  final String urlTemplate;
+
+  /// The HTTP headers sent with each tile request.
+  final Map<String, String> headers;
+
+  @override
+  Future<Tile> getTile(int x, int y, int? zoom) async => TileProvider.noTile;
+
+  @override
+  bool operator ==(Object other) {
+    if (other.runtimeType != runtimeType) {
+      return false;
+    }
+    return other is AndroidUrlTileProvider &&
+        urlTemplate == other.urlTemplate &&
+        mapEquals(headers, other.headers);
+  }
+
+  @override
+  int get hashCode => Object.hash(
+        urlTemplate,
+        Object.hashAllUnordered(headers.entries
+            .map((MapEntry<String, String> e) => Object.hash(e.key, e.value))),
+      );
+}
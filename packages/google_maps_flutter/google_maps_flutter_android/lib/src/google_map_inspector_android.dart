@@ -15,11 +15,17 @@ import 'messages.g.dart';
 class GoogleMapsInspectorAndroid extends GoogleMapsInspectorPlatform {
   /// Creates an inspector API instance for a given map ID from
   /// [inspectorProvider].
+  ///
+  /// If given, [markerUpdatesApplied] is awaited before markers are inspected,
+  /// so that pending marker updates are included.
   GoogleMapsInspectorAndroid(
-      MapsInspectorApi? Function(int mapId) inspectorProvider)
-      : _inspectorProvider = inspectorProvider;
+      MapsInspectorApi? Function(int mapId) inspectorProvider,
+      {Future<void> Function(int mapId)? markerUpdatesApplied})
+      : _inspectorProvider = inspectorProvider,
+        _markerUpdatesApplied = markerUpdatesApplied;
 
   final MapsInspectorApi? Function(int mapId) _inspectorProvider;
+  final Future<void> Function(int mapId)? _markerUpdatesApplied;
 
   @override
   Future<bool> areBuildingsEnabled({required int mapId}) async {
@@ -168,6 +174,7 @@ class GoogleMapsInspectorAndroid extends GoogleMapsInspectorPlatform {
     required int mapId,
     required ClusterManagerId clusterManagerId,
   }) async {
+    await _markerUpdatesApplied?.call(mapId);
     return (await _inspectorProvider(mapId)!
             .getClusters(clusterManagerId.value))
         // See comment in messages.dart for why the force unwrap is okay.
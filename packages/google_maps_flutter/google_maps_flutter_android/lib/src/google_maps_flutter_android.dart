@@ -12,6 +12,7 @@ import 'package:flutter/services.dart';
 import 'package:google_maps_flutter_platform_interface/google_maps_flutter_platform_interface.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'android_url_tile_provider.dart';
 import 'google_map_inspector_android.dart';
 import 'messages.g.dart';
 import 'serialization.dart';
@@ -89,6 +90,25 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return api;
   }
 
+  // The latest marker update of each map. The host applies marker updates over
+  // several frames, in order, so once this completes all earlier updates have
+  // been applied as well.
+  final Map<int, Future<void>> _markerUpdates = <int, Future<void>>{};
+
+  /// Waits until the marker updates made so far for [mapId] have been applied
+  /// to the map, so that calls that look up markers see them.
+  Future<void> _markerUpdatesApplied(int mapId) async {
+    final Future<void>? markerUpdate = _markerUpdates[mapId];
+    if (markerUpdate == null) {
+      return;
+    }
+    try {
+      await markerUpdate;
+    } catch (_) {
+      // The error is reported to the caller of updateMarkers.
+    }
+  }
+
   // Keep a collection of mapId to a map of TileOverlays.
   final Map<int, Map<TileOverlayId, TileOverlay>> _tileOverlays =
       <int, Map<TileOverlayId, TileOverlay>>{};
@@ -133,7 +153,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
 
   @override
   void dispose({required int mapId}) {
-    // Noop!
+    _markerUpdates.remove(mapId);
   }
 
   // The controller we need to broadcast the different events coming
@@ -247,11 +267,13 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     MarkerUpdates markerUpdates, {
     required int mapId,
   }) {
-    return _hostApi(mapId).updateMarkers(
+    final Future<void> markerUpdate = _hostApi(mapId).updateMarkers(
       markerUpdates.markersToAdd.map(_platformMarkerFromMarker).toList(),
       markerUpdates.markersToChange.map(_platformMarkerFromMarker).toList(),
       markerUpdates.markerIdsToRemove.map((MarkerId id) => id.value).toList(),
     );
+    _markerUpdates[mapId] = markerUpdate;
+    return markerUpdate;
   }
 
   @override
@@ -342,7 +364,10 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   Future<void> updateClusterManagers(
     ClusterManagerUpdates clusterManagerUpdates, {
     required int mapId,
-  }) {
+  }) async {
+    // Clustered markers of pending marker updates are handed to their cluster
+    // managers once they are applied.
+    await _markerUpdatesApplied(mapId);
     return _hostApi(mapId).updateClusterManagers(
       clusterManagerUpdates.clusterManagersToAdd
           .map(_platformClusterManagerFromClusterManager)
@@ -456,7 +481,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   Future<void> showMarkerInfoWindow(
     MarkerId markerId, {
     required int mapId,
-  }) {
+  }) async {
+    await _markerUpdatesApplied(mapId);
     return _hostApi(mapId).showInfoWindow(markerId.value);
   }
 
@@ -464,7 +490,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   Future<void> hideMarkerInfoWindow(
     MarkerId markerId, {
     required int mapId,
-  }) {
+  }) async {
+    await _markerUpdatesApplied(mapId);
     return _hostApi(mapId).hideInfoWindow(markerId.value);
   }
 
@@ -472,7 +499,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   Future<bool> isMarkerInfoWindowShown(
     MarkerId markerId, {
     required int mapId,
-  }) {
+  }) async {
+    await _markerUpdatesApplied(mapId);
     return _hostApi(mapId).isInfoWindowShown(markerId.value);
   }
 
@@ -506,6 +534,18 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   /// Currently defaults to false, but the default is subject to change.
   bool useAndroidViewSurface = false;
 
+  /// Whether maps created afterwards also cache the tiles of tile overlays on
+  /// disk.
+  ///
+  /// Tiles are always cached in memory. With a disk cache, tiles that were
+  /// evicted from memory are read back from the app's cache directory instead
+  /// of being requested from the [TileProvider] again. The disk cache of a map
+  /// only holds tiles fetched by that map, and is emptied when the tiles of a
+  /// tile overlay are cleared.
+  ///
+  /// Defaults to false.
+  bool cacheTilesOnDisk = false;
+
   /// Requests Google Map Renderer with [AndroidMapRenderer] type.
   ///
   /// See https://pub.dev/packages/google_maps_flutter_android#map-renderer
@@ -576,6 +616,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       initialGroundOverlays: mapObjects.groundOverlays
           .map(_platformGroundOverlayFromGroundOverlay)
           .toList(),
+      cacheTilesOnDisk: cacheTilesOnDisk,
     );
 
     const String viewType = 'plugins.flutter.dev/google_maps_android';
@@ -710,7 +751,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   void enableDebugInspection() {
     GoogleMapsInspectorPlatform.instance = GoogleMapsInspectorAndroid(
         (int mapId) =>
-            MapsInspectorApi(messageChannelSuffix: mapId.toString()));
+            MapsInspectorApi(messageChannelSuffix: mapId.toString()),
+        markerUpdatesApplied: _markerUpdatesApplied);
   }
 
   /// Converts a Pigeon [PlatformCluster] to the corresponding [Cluster].
@@ -871,6 +913,19 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       zIndex: tileOverlay.zIndex,
       visible: tileOverlay.visible,
       tileSize: tileOverlay.tileSize,
+      urlTileProvider: _platformUrlTileProviderFromTileProvider(
+          tileOverlay.tileProvider),
+    );
+  }
+
+  static PlatformUrlTileProvider? _platformUrlTileProviderFromTileProvider(
+      TileProvider? tileProvider) {
+    if (tileProvider is! AndroidUrlTileProvider) {
+      return null;
+    }
+    return PlatformUrlTileProvider(
+      urlTemplate: tileProvider.urlTemplate,
+      headers: tileProvider.headers,
     );
   }
 
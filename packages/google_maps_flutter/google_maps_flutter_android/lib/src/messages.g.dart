@@ -833,6 +833,7 @@ class PlatformTileOverlay {
     required this.zIndex,
     required this.visible,
     required this.tileSize,
+    this.urlTileProvider,
   });
 
   String tileOverlayId;
@@ -847,6 +848,10 @@ class PlatformTileOverlay {
 
   int tileSize;
 
+  /// If set, tiles are fetched natively from this provider instead of being
+  /// requested through [MapsCallbackApi.getTileOverlayTile].
+  PlatformUrlTileProvider? urlTileProvider;
+
   Object encode() {
     return <Object?>[
       tileOverlayId,
@@ -855,6 +860,7 @@ class PlatformTileOverlay {
       zIndex,
       visible,
       tileSize,
+      urlTileProvider,
     ];
   }
 
@@ -867,6 +873,7 @@ class PlatformTileOverlay {
       zIndex: result[3]! as int,
       visible: result[4]! as bool,
       tileSize: result[5]! as int,
+      urlTileProvider: result[6] as PlatformUrlTileProvider?,
     );
   }
 }
@@ -1114,6 +1121,7 @@ class PlatformMapViewCreationParams {
     required this.initialTileOverlays,
     required this.initialClusterManagers,
     required this.initialGroundOverlays,
+    required this.cacheTilesOnDisk,
   });
 
   PlatformCameraPosition initialCameraPosition;
@@ -1136,6 +1144,10 @@ class PlatformMapViewCreationParams {
 
   List<PlatformGroundOverlay> initialGroundOverlays;
 
+  /// Whether the tiles of tile overlays are cached on disk as well as in
+  /// memory.
+  bool cacheTilesOnDisk;
+
   Object encode() {
     return <Object?>[
       initialCameraPosition,
@@ -1148,6 +1160,7 @@ class PlatformMapViewCreationParams {
       initialTileOverlays,
       initialClusterManagers,
       initialGroundOverlays,
+      cacheTilesOnDisk,
     ];
   }
 
@@ -1167,6 +1180,7 @@ class PlatformMapViewCreationParams {
           (result[8] as List<Object?>?)!.cast<PlatformClusterManager>(),
       initialGroundOverlays:
           (result[9] as List<Object?>?)!.cast<PlatformGroundOverlay>(),
+      cacheTilesOnDisk: result[10]! as bool,
     );
   }
 }
@@ -1608,6 +1622,36 @@ class PlatformBitmapBytesMap {
   }
 }
 
+/// Pigeon equivalent of [AndroidUrlTileProvider].
+class PlatformUrlTileProvider {
+  PlatformUrlTileProvider({
+    required this.urlTemplate,
+    required this.headers,
+  });
+
+  /// The URL of each tile, with `{x}`, `{y}` and `{z}` standing for the tile
+  /// coordinates and zoom.
+  String urlTemplate;
+
+  /// The HTTP headers sent with each tile request.
+  Map<String, String> headers;
+
+  Object encode() {
+    return <Object?>[
+      urlTemplate,
+      headers,
+    ];
+  }
+
+  static PlatformUrlTileProvider decode(Object result) {
+    result as List<Object?>;
+    return PlatformUrlTileProvider(
+      urlTemplate: result[0]! as String,
+      headers: (result[1] as Map<Object?, Object?>?)!.cast<String, String>(),
+    );
+  }
+}
+
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
   @override
@@ -1753,6 +1797,9 @@ class _PigeonCodec extends StandardMessageCodec {
     } else if (value is PlatformBitmapBytesMap) {
       buffer.putUint8(174);
       writeValue(buffer, value.encode());
+    } else if (value is PlatformUrlTileProvider) {
+      buffer.putUint8(175);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -1859,6 +1906,8 @@ class _PigeonCodec extends StandardMessageCodec {
         return PlatformBitmapAssetMap.decode(readValue(buffer)!);
       case 174:
         return PlatformBitmapBytesMap.decode(readValue(buffer)!);
+      case 175:
+        return PlatformUrlTileProvider.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -2015,6 +2064,10 @@ class MapsApi {
   }
 
   /// Updates the set of markers on the map.
+  ///
+  /// Returns once all of the updated markers have been applied to the map.
+  /// Other calls are not ordered after pending marker updates, so calls that
+  /// look up markers or clusters must wait for this to return.
   Future<void> updateMarkers(List<PlatformMarker> toAdd,
       List<PlatformMarker> toChange, List<String> idsToRemove) async {
     final String pigeonVar_channelName =
@@ -329,6 +329,7 @@ class PlatformTileOverlay {
     required this.zIndex,
     required this.visible,
     required this.tileSize,
+    this.urlTileProvider,
   });
 
   final String tileOverlayId;
@@ -337,6 +338,10 @@ class PlatformTileOverlay {
   final int zIndex;
   final bool visible;
   final int tileSize;
+
+  /// If set, tiles are fetched natively from this provider instead of being
+  /// requested through [MapsCallbackApi.getTileOverlayTile].
+  final PlatformUrlTileProvider? urlTileProvider;
 }
 
 /// Pigeon equivalent of Flutter's EdgeInsets.
@@ -439,6 +444,7 @@ class PlatformMapViewCreationParams {
     required this.initialTileOverlays,
     required this.initialClusterManagers,
     required this.initialGroundOverlays,
+    required this.cacheTilesOnDisk,
   });
 
   final PlatformCameraPosition initialCameraPosition;
@@ -451,6 +457,10 @@ class PlatformMapViewCreationParams {
   final List<PlatformTileOverlay> initialTileOverlays;
   final List<PlatformClusterManager> initialClusterManagers;
   final List<PlatformGroundOverlay> initialGroundOverlays;
+
+  /// Whether the tiles of tile overlays are cached on disk as well as in
+  /// memory.
+  final bool cacheTilesOnDisk;
 }
 
 /// Pigeon equivalent of MapConfiguration.
@@ -621,6 +631,18 @@ class PlatformBitmapBytesMap {
   final double? height;
 }
 
+/// Pigeon equivalent of [AndroidUrlTileProvider].
+class PlatformUrlTileProvider {
+  PlatformUrlTileProvider({required this.urlTemplate, required this.headers});
+
+  /// The URL of each tile, with `{x}`, `{y}` and `{z}` standing for the tile
+  /// coordinates and zoom.
+  final String urlTemplate;
+
+  /// The HTTP headers sent with each tile request.
+  final Map<String, String> headers;
+}
+
 /// Interface for non-test interactions with the native SDK.
 ///
 /// For test-only state queries, see [MapsInspectorApi].
@@ -649,6 +671,11 @@ abstract class MapsApi {
       List<PlatformClusterManager> toAdd, List<String> idsToRemove);
 
   /// Updates the set of markers on the map.
+  ///
+  /// Returns once all of the updated markers have been applied to the map.
+  /// Other calls are not ordered after pending marker updates, so calls that
+  /// look up markers or clusters must wait for this to return.
+  @async
   void updateMarkers(List<PlatformMarker> toAdd, List<PlatformMarker> toChange,
       List<String> idsToRemove);
 
@@ -192,6 +192,32 @@ void main() {
     verify(api.showInfoWindow(markedId));
   });
 
+  test('showInfoWindow waits for pending marker updates', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+    final Completer<void> markerUpdate = Completer<void>();
+    when(api.updateMarkers(any, any, any))
+        .thenAnswer((_) => markerUpdate.future);
+
+    const String markedId = 'a_marker';
+    final Future<void> update = maps.updateMarkers(
+        MarkerUpdates.from(const <Marker>{},
+            const <Marker>{Marker(markerId: MarkerId(markedId))}),
+        mapId: mapId);
+    final Future<void> showInfoWindow =
+        maps.showMarkerInfoWindow(const MarkerId(markedId), mapId: mapId);
+    await Future<void>.delayed(Duration.zero);
+
+    verifyNever(api.showInfoWindow(markedId));
+
+    markerUpdate.complete();
+    await update;
+    await showInfoWindow;
+
+    verify(api.showInfoWindow(markedId));
+  });
+
   test('hideInfoWindow calls through', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -653,6 +679,43 @@ void main() {
     expectTileOverlay(toAdd.first, object3);
   });
 
+  test('updateTileOverlays passes URL tile providers', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    const TileOverlay urlTileOverlay = TileOverlay(
+      tileOverlayId: TileOverlayId('1'),
+      tileProvider: AndroidUrlTileProvider(
+        urlTemplate: 'https://tile.example.com/{z}/{x}/{y}.png',
+        headers: <String, String>{'User-Agent': 'test'},
+      ),
+    );
+    const TileOverlay dartTileOverlay =
+        TileOverlay(tileOverlayId: TileOverlayId('2'));
+    await maps.updateTileOverlays(
+        newTileOverlays: <TileOverlay>{urlTileOverlay, dartTileOverlay},
+        mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.updateTileOverlays(captureAny, captureAny, captureAny));
+    final List<PlatformTileOverlay> toAdd =
+        verification.captured[0] as List<PlatformTileOverlay>;
+    final PlatformUrlTileProvider? urlTileProvider = toAdd
+        .firstWhere((PlatformTileOverlay overlay) =>
+            overlay.tileOverlayId == urlTileOverlay.tileOverlayId.value)
+        .urlTileProvider;
+    expect(urlTileProvider?.urlTemplate,
+        'https://tile.example.com/{z}/{x}/{y}.png');
+    expect(urlTileProvider?.headers, <String, String>{'User-Agent': 'test'});
+    expect(
+        toAdd
+            .firstWhere((PlatformTileOverlay overlay) =>
+                overlay.tileOverlayId == dartTileOverlay.tileOverlayId.value)
+            .urlTileProvider,
+        isNull);
+  });
+
   test('updateGroundOverlays passes expected arguments', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -1275,4 +1338,46 @@ void main() {
       reason: 'Should pass cloudMapId on PlatformView creation message',
     );
   });
+
+  testWidgets('cacheTilesOnDisk is passed', (WidgetTester tester) async {
+    final Completer<bool> passedCacheTilesOnDiskCompleter = Completer<bool>();
+
+    TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+        .setMockMethodCallHandler(
+      SystemChannels.platform_views,
+      (MethodCall methodCall) async {
+        if (methodCall.method == 'create') {
+          final Map<String, dynamic> args = Map<String, dynamic>.from(
+              methodCall.arguments as Map<dynamic, dynamic>);
+          if (args.containsKey('params')) {
+            final Uint8List paramsUint8List = args['params'] as Uint8List;
+            final ByteData byteData = ByteData.sublistView(paramsUint8List);
+            final PlatformMapViewCreationParams? creationParams =
+                MapsApi.pigeonChannelCodec.decodeMessage(byteData)
+                    as PlatformMapViewCreationParams?;
+            if (creationParams != null) {
+              passedCacheTilesOnDiskCompleter
+                  .complete(creationParams.cacheTilesOnDisk);
+            }
+          }
+        }
+        return 0;
+      },
+    );
+
+    final GoogleMapsFlutterAndroid maps = GoogleMapsFlutterAndroid();
+    maps.cacheTilesOnDisk = true;
+
+    await tester.pumpWidget(maps.buildViewWithConfiguration(1, (int id) {},
+        widgetConfiguration: const MapWidgetConfiguration(
+            initialCameraPosition:
+                CameraPosition(target: LatLng(0, 0), zoom: 1),
+            textDirection: TextDirection.ltr)));
+
+    expect(
+      await passedCacheTilesOnDiskCompleter.future,
+      isTrue,
+      reason: 'Should pass cacheTilesOnDisk on PlatformView creation message',
+    );
+  });
 }